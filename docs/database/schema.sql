@@ -9,6 +9,8 @@ DROP TABLE Fahrzeug IF EXISTS;
 DROP TABLE Fahrzeugtyp IF EXISTS;
 DROP TABLE Mitarbeiter IF EXISTS;
 DROP TABLE Kunde IF EXISTS;
+DROP SEQUENCE SEQ_Kundennummer IF EXISTS;
+DROP SEQUENCE SEQ_Mietnummer_Knoten IF EXISTS;
 
 -- ==========================================================
 -- 2. TABELLEN ERSTELLEN (建表)
@@ -35,6 +37,10 @@ CREATE TABLE Kunde (
     PRIMARY KEY (ID)
 );
 
+-- Kundennummern werden blockweise vergeben (Hi/Lo): jedes NEXT VALUE reserviert 50 Nummern.
+-- INCREMENT BY muss KundeDao.KUNDENNUMMER_BLOCK entsprechen.
+CREATE SEQUENCE SEQ_Kundennummer AS INTEGER START WITH 1100 INCREMENT BY 50 NO CYCLE;
+
 -- --- Tabelle: Mitarbeiter ---
 CREATE TABLE Mitarbeiter (
     ID INT NOT NULL GENERATED ALWAYS AS IDENTITY (START WITH 1 INCREMENT BY 1),
@@ -72,6 +78,8 @@ CREATE TABLE Fahrzeug (
     Zustand VARCHAR(20),
     TuevDatum DATE,
     Fahrzeugtyp_ID INT NOT NULL,
+    -- Wird bei jeder Buchung erhöht; das UPDATE sperrt die Zeile bis zum Commit
+    Version INT DEFAULT 0 NOT NULL,
     PRIMARY KEY (ID),
     FOREIGN KEY (Fahrzeugtyp_ID) REFERENCES Fahrzeugtyp(ID)
 );
@@ -104,6 +112,13 @@ CREATE TABLE Mietvertrag (
     FOREIGN KEY (Mitarbeiter_ID) REFERENCES Mitarbeiter(ID)
 );
 
+-- Knotenkennung der Mietnummern (MV-JJJJMMTT-KK-ZZZZZ): jede Anwendungsinstanz zieht beim Start
+-- einen Wert. MAXVALUE muss KnotenMietnummerGenerator.MAX_KNOTEN - 1 entsprechen.
+-- NO CYCLE: eine Kennung darf nie an zwei laufende Instanzen gehen. Ist die Sequenz erschöpft,
+-- schlagen Buchungen fehl; nach dem Stoppen ALLER Instanzen kann sie mit
+-- ALTER SEQUENCE SEQ_Mietnummer_Knoten RESTART WITH 0 zurückgesetzt werden.
+CREATE SEQUENCE SEQ_Mietnummer_Knoten AS INTEGER START WITH 0 INCREMENT BY 1 MINVALUE 0 MAXVALUE 1295 NO CYCLE;
+
 -- --- Tabelle: Mietvertrag_Zusatzoption ---
 CREATE TABLE Mietvertrag_Zusatzoption (
     Mietvertrag_ID INT NOT NULL,
@@ -114,7 +129,23 @@ CREATE TABLE Mietvertrag_Zusatzoption (
 );
 
 -- ==========================================================
--- 3. TESTDATEN (测试数据)
+-- 3. INDIZES (索引)
+-- ==========================================================
+
+-- Verfügbarkeits- und Konfliktprüfung pro Fahrzeug (EXISTS / NOT EXISTS)
+CREATE INDEX IX_Mietvertrag_Fahrzeug_Zeitraum
+    ON Mietvertrag (Fahrzeug_ID, Status, StartDatum, EndDatum);
+
+-- Überschneidungsprüfung pro Kunde (EXISTS); abgeschlossene Verträge liegen in eigenen Statusbereichen
+CREATE INDEX IX_Mietvertrag_Kunde_Zeitraum
+    ON Mietvertrag (Kunde_ID, Status, StartDatum, EndDatum);
+
+-- Fällige Statusübergänge (BESTAETIGT -> LAUFEND, LAUFEND -> ABGESCHLOSSEN)
+CREATE INDEX IX_Mietvertrag_Status_Zeitraum
+    ON Mietvertrag (Status, StartDatum, EndDatum);
+
+-- ==========================================================
+-- 4. TESTDATEN (测试数据)
 -- ==========================================================
 
 INSERT INTO Fahrzeugtyp (Hersteller, ModellBezeichnung, Kategorie, StandardTagesPreis, Antriebsart) 
@@ -0,0 +1,359 @@
+package com.carrental.benchmark;
+
+import com.carrental.controller.CarRentalSystem;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.util.DatabaseConfig;
+import com.carrental.util.SchemaSkript;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Eingebettete HSQLDB-Datenbank (Db2-Syntax) für Benchmarks.
+ *
+ * Das Schema wird aus {@code docs/database/schema.sql} (im Benchmark-Profil als Ressource
+ * {@code schema.sql} eingebunden) aufgebaut. Zusätzlich wird eine temporäre
+ * Konfigurationsdatei geschrieben und über {@link CarRentalSystem#CONFIG_PROPERTY}
+ * aktiviert, sodass {@link CarRentalSystem#getInstance()} gegen diese Datenbank arbeitet.
+ *
+ * JMH startet jeden Benchmark in einem eigenen Prozess, daher gibt es pro Prozess
+ * genau eine Datenbank und eine Instanz von {@link CarRentalSystem}.
+ */
+public final class BenchmarkDatenbank implements AutoCloseable {
+
+    /** MVCC statt Tabellensperren, damit sich Transaktionen wie in Db2 nur zeilenweise sperren. */
+    private static final String URL = "jdbc:hsqldb:mem:carrental_benchmark;sql.syntax_db2=true;hsqldb.tx=mvcc";
+    private static final String USER = "benchmark";
+    private static final String PASSWORT = "benchmark";
+
+    private final Connection verbindung;
+    private final Path konfiguration;
+
+    private BenchmarkDatenbank(Connection verbindung, Path konfiguration) {
+        this.verbindung = verbindung;
+        this.konfiguration = konfiguration;
+    }
+
+    /**
+     * Legt die Datenbank an, führt das Schema aus und aktiviert die Benchmark-Konfiguration.
+     *
+     * @return Die gestartete Datenbank
+     * @throws SQLException Bei Fehlern im Schema
+     * @throws IOException Wenn Schema oder Konfiguration nicht gelesen/geschrieben werden können
+     */
+    public static BenchmarkDatenbank starten() throws SQLException, IOException {
+        // Die Verbindung hält die In-Memory-Datenbank für die Dauer des Benchmarks offen
+        Connection verbindung = DriverManager.getConnection(URL, USER, PASSWORT);
+        SchemaSkript.ausfuehren(verbindung);
+
+        Path konfiguration = Files.createTempFile("carrental-benchmark", ".properties");
+        Properties props = new Properties();
+        props.setProperty("db.url", URL);
+        props.setProperty("db.user", USER);
+        props.setProperty("db.password", PASSWORT);
+        props.setProperty("db.ssl", "false");
+        props.setProperty("db.pool.minSize", "1");
+        props.setProperty("db.pool.maxSize", "16");
+        try (Writer writer = Files.newBufferedWriter(konfiguration, StandardCharsets.UTF_8)) {
+            props.store(writer, "Benchmark-Konfiguration");
+        }
+        System.setProperty(CarRentalSystem.CONFIG_PROPERTY, konfiguration.toString());
+
+        return new BenchmarkDatenbank(verbindung, konfiguration);
+    }
+
+    /**
+     * @return Konfiguration für DAOs, die direkt gegen die Benchmark-Datenbank arbeiten
+     */
+    public DatabaseConfig config() {
+        return new DatabaseConfig(URL, USER, PASSWORT, false);
+    }
+
+    /**
+     * @return Eigene Verbindung der Datenbank (nicht schließen)
+     */
+    public Connection verbindung() {
+        return verbindung;
+    }
+
+    /**
+     * Erzeugt eine synthetische Flotte mit der angegebenen Anzahl Mietverträgen.
+     * Pro Fahrzeug werden etwa 20 nicht überlappende Verträge über zwei Jahre um das
+     * heutige Datum verteilt. Der Status ergibt sich aus dem Zeitraum; ein kleiner Anteil
+     * ist überfällig (BESTAETIGT nach Start, LAUFEND nach Ende) und damit für die
+     * Statusaktualisierung fällig.
+     *
+     * @param anzahlVertraege Anzahl anzulegender Mietverträge
+     * @param seed Startwert für reproduzierbare Daten
+     * @return Die angelegten Fahrzeuge (mit ID und Zustand)
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Fahrzeug> flotteAnlegen(int anzahlVertraege, long seed) throws SQLException {
+        Random random = new Random(seed);
+        LocalDate heute = LocalDate.now();
+        int anzahlFahrzeuge = Math.max(10, anzahlVertraege / 20);
+        int anzahlKunden = Math.max(10, anzahlVertraege / 50);
+
+        verbindung.setAutoCommit(false);
+        try {
+            int typId = typAnlegen();
+            List<Integer> kundenIds = kundenAnlegen(anzahlKunden);
+            List<Integer> fahrzeugIds = fahrzeugeAnlegen(anzahlFahrzeuge, typId);
+
+            List<Fahrzeug> fahrzeuge = new ArrayList<>();
+            String sql = "INSERT INTO Mietvertrag (Mietnummer, StartDatum, EndDatum, Status, GesamtPreis, " +
+                         "Kunde_ID, Fahrzeug_ID) VALUES (?, ?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement stmt = verbindung.prepareStatement(sql)) {
+                int nummer = 0;
+                int proFahrzeug = (anzahlVertraege + anzahlFahrzeuge - 1) / anzahlFahrzeuge;
+                for (int f = 0; f < anzahlFahrzeuge && nummer < anzahlVertraege; f++) {
+                    LocalDate start = heute.minusDays(365 + random.nextInt(10));
+                    boolean vermietet = false;
+                    for (int v = 0; v < proFahrzeug && nummer < anzahlVertraege; v++) {
+                        LocalDate ende = start.plusDays(1 + random.nextInt(14));
+                        String status = status(start, ende, heute, random);
+                        vermietet |= status.equals("LAUFEND");
+
+                        stmt.setString(1, String.format("BM-%08d", ++nummer));
+                        stmt.setDate(2, Date.valueOf(start));
+                        stmt.setDate(3, Date.valueOf(ende));
+                        stmt.setString(4, status);
+                        stmt.setDouble(5, 50.0 * (ende.toEpochDay() - start.toEpochDay() + 1));
+                        stmt.setInt(6, kundenIds.get(random.nextInt(kundenIds.size())));
+                        stmt.setInt(7, fahrzeugIds.get(f));
+                        stmt.addBatch();
+                        if (nummer % 1000 == 0) {
+                            stmt.executeBatch();
+                        }
+                        start = ende.plusDays(1 + random.nextInt(20));
+                    }
+
+                    Fahrzeug fahrzeug = new Fahrzeug();
+                    fahrzeug.setId(fahrzeugIds.get(f));
+                    fahrzeug.setKennzeichen(kennzeichen(f));
+                    fahrzeug.setZustand(vermietet ? FahrzeugZustand.VERMIETET : FahrzeugZustand.VERFUEGBAR);
+                    fahrzeuge.add(fahrzeug);
+                }
+                // Ein leerer Batch wird nicht ausgeführt (Anzahl ist ein Vielfaches von 1000)
+                if (nummer % 1000 != 0) {
+                    stmt.executeBatch();
+                }
+            }
+
+            try (PreparedStatement stmt = verbindung.prepareStatement(
+                    "UPDATE Fahrzeug SET Zustand = ? WHERE ID = ?")) {
+                for (Fahrzeug fahrzeug : fahrzeuge) {
+                    stmt.setString(1, fahrzeug.getZustand().name());
+                    stmt.setInt(2, fahrzeug.getId());
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+
+            verbindung.commit();
+            return fahrzeuge;
+        } catch (SQLException e) {
+            verbindung.rollback();
+            throw e;
+        } finally {
+            verbindung.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Legt Fahrzeuge und Kunden ohne Mietverträge an, z.B. für Benchmarks, die selbst buchen.
+     *
+     * @param anzahlFahrzeuge Anzahl anzulegender Fahrzeuge
+     * @param anzahlKunden Anzahl anzulegender Kunden
+     * @return IDs der angelegten Fahrzeuge und Kunden
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Bestand bestandAnlegen(int anzahlFahrzeuge, int anzahlKunden) throws SQLException {
+        verbindung.setAutoCommit(false);
+        try {
+            int typId = typAnlegen();
+            List<Integer> kundenIds = kundenAnlegen(anzahlKunden);
+            List<Integer> fahrzeugIds = fahrzeugeAnlegen(anzahlFahrzeuge, typId);
+            verbindung.commit();
+            return new Bestand(fahrzeugIds, kundenIds);
+        } catch (SQLException e) {
+            verbindung.rollback();
+            throw e;
+        } finally {
+            verbindung.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * IDs der mit {@link #bestandAnlegen(int, int)} angelegten Datensätze.
+     */
+    public record Bestand(List<Integer> fahrzeugIds, List<Integer> kundenIds) {
+    }
+
+    /**
+     * Sichert Vertrags- und Fahrzeugstatus, damit Benchmarks mit schreibenden Operationen
+     * vor jedem Aufruf denselben Ausgangszustand herstellen können.
+     *
+     * @return Der gesicherte Zustand
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Statusstand statusSichern() throws SQLException {
+        List<Integer> vertraege = new ArrayList<>();
+        List<String> vertragsStatus = new ArrayList<>();
+        try (Statement stmt = verbindung.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT ID, Status FROM Mietvertrag " +
+                     "WHERE Status IN ('BESTAETIGT', 'LAUFEND')")) {
+            while (rs.next()) {
+                vertraege.add(rs.getInt(1));
+                vertragsStatus.add(rs.getString(2));
+            }
+        }
+        List<Integer> vermietet = new ArrayList<>();
+        try (Statement stmt = verbindung.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT ID FROM Fahrzeug WHERE Zustand = 'VERMIETET'")) {
+            while (rs.next()) {
+                vermietet.add(rs.getInt(1));
+            }
+        }
+        return new Statusstand(vertraege, vertragsStatus, vermietet);
+    }
+
+    /**
+     * Stellt einen mit {@link #statusSichern()} gesicherten Zustand wieder her.
+     *
+     * @param stand Der gesicherte Zustand
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public void statusWiederherstellen(Statusstand stand) throws SQLException {
+        verbindung.setAutoCommit(false);
+        try {
+            try (PreparedStatement stmt = verbindung.prepareStatement(
+                    "UPDATE Mietvertrag SET Status = ? WHERE ID = ?")) {
+                for (int i = 0; i < stand.vertraege().size(); i++) {
+                    stmt.setString(1, stand.vertragsStatus().get(i));
+                    stmt.setInt(2, stand.vertraege().get(i));
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            try (PreparedStatement stmt = verbindung.prepareStatement(
+                    "UPDATE Fahrzeug SET Zustand = 'VERMIETET' WHERE ID = ?")) {
+                for (int id : stand.vermieteteFahrzeuge()) {
+                    stmt.setInt(1, id);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+            verbindung.commit();
+        } catch (SQLException e) {
+            verbindung.rollback();
+            throw e;
+        } finally {
+            verbindung.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Gesicherter Status aller offenen Verträge und vermieteten Fahrzeuge.
+     */
+    public record Statusstand(List<Integer> vertraege, List<String> vertragsStatus,
+                              List<Integer> vermieteteFahrzeuge) {
+    }
+
+    @Override
+    public void close() throws SQLException, IOException {
+        try (Statement stmt = verbindung.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            verbindung.close();
+            Files.deleteIfExists(konfiguration);
+        }
+    }
+
+    private static String status(LocalDate start, LocalDate ende, LocalDate heute, Random random) {
+        int zufall = random.nextInt(100);
+        if (zufall < 5) {
+            return "STORNIERT";
+        }
+        if (ende.isBefore(heute)) {
+            return zufall < 7 ? "LAUFEND" : "ABGESCHLOSSEN";     // 2 % überfällig
+        }
+        if (!start.isAfter(heute)) {
+            return zufall < 10 ? "BESTAETIGT" : "LAUFEND";       // 5 % überfällig
+        }
+        return zufall < 20 ? "ANGELEGT" : "BESTAETIGT";
+    }
+
+    private int typAnlegen() throws SQLException {
+        String sql = "INSERT INTO Fahrzeugtyp (Hersteller, ModellBezeichnung, Kategorie, StandardTagesPreis, " +
+                     "Sitzplaetze, Antriebsart, ReichweiteKm) VALUES ('Benchmark', 'Flotte', 'Kompakt', 50.00, " +
+                     "5, 'VERBRENNER', 700)";
+        try (PreparedStatement stmt = verbindung.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    private List<Integer> kundenAnlegen(int anzahl) throws SQLException {
+        String sql = "INSERT INTO Kunde (AccountName, Passwort, Vorname, Nachname, Kundennummer) " +
+                     "VALUES (?, 'benchmark', 'Bench', 'Mark', ?)";
+        try (PreparedStatement stmt = verbindung.prepareStatement(sql)) {
+            for (int i = 0; i < anzahl; i++) {
+                stmt.setString(1, "bench" + i);
+                stmt.setInt(2, 900_000 + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return ids("SELECT ID FROM Kunde WHERE AccountName LIKE 'bench%' ORDER BY ID");
+    }
+
+    private List<Integer> fahrzeugeAnlegen(int anzahl, int typId) throws SQLException {
+        String sql = "INSERT INTO Fahrzeug (Kennzeichen, AktuellerKilometerstand, Zustand, TuevDatum, " +
+                     "Fahrzeugtyp_ID) VALUES (?, 10000, 'VERFUEGBAR', ?, ?)";
+        try (PreparedStatement stmt = verbindung.prepareStatement(sql)) {
+            for (int i = 0; i < anzahl; i++) {
+                stmt.setString(1, kennzeichen(i));
+                stmt.setDate(2, Date.valueOf(LocalDate.now().plusYears(1)));
+                stmt.setInt(3, typId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return ids("SELECT ID FROM Fahrzeug WHERE Kennzeichen LIKE 'BM-%' ORDER BY ID");
+    }
+
+    private static String kennzeichen(int index) {
+        return String.format("BM-%06d", index);
+    }
+
+    private List<Integer> ids(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = verbindung.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+}
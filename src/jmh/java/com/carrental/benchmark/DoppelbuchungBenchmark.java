@@ -0,0 +1,118 @@
+package com.carrental.benchmark;
+
+import com.carrental.dao.MietvertragDao;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.model.Kunde;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Durchsatzmessung für {@link MietvertragDao#buchen(Mietvertrag, FahrzeugZustand)} mit vielen
+ * gleichzeitigen Buchungen zufälliger Zeiträume.
+ *
+ * Die Korrektheit (keine Doppelbuchungen) sichert {@code MietvertragDaoBuchungTest} im
+ * normalen Build ab. Der Benchmark prüft nach jeder Iteration nur zusätzlich, dass keine
+ * Überschneidungen entstanden sind, und löscht danach die Verträge der Iteration.
+ *
+ * Bei einem Fahrzeug konkurrieren alle Threads um dieselbe Zeilensperre; mit mehr
+ * Fahrzeugen zeigt der Durchsatz, dass Buchungen verschiedener Fahrzeuge nicht
+ * aufeinander warten.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class DoppelbuchungBenchmark {
+
+    private static final int KUNDEN = 10_000;
+    private static final int ZEITRAUM_TAGE = 365;
+
+    @Param({"1", "16", "256"})
+    private int fahrzeuge;
+
+    private BenchmarkDatenbank datenbank;
+    private MietvertragDao dao;
+    private List<Integer> fahrzeugIds;
+    private List<Integer> kundenIds;
+    private LocalDate basis;
+    private final AtomicLong mietnummer = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        datenbank = BenchmarkDatenbank.starten();
+        BenchmarkDatenbank.Bestand bestand = datenbank.bestandAnlegen(fahrzeuge, KUNDEN);
+        fahrzeugIds = bestand.fahrzeugIds();
+        kundenIds = bestand.kundenIds();
+        dao = new MietvertragDao(datenbank.config());
+        basis = LocalDate.now().plusDays(1);
+    }
+
+    @TearDown(Level.Iteration)
+    public void pruefen() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Mietvertrag a " +
+                     "INNER JOIN Mietvertrag b ON a.Fahrzeug_ID = b.Fahrzeug_ID AND a.ID < b.ID " +
+                     "AND a.StartDatum <= b.EndDatum AND b.StartDatum <= a.EndDatum " +
+                     "WHERE a.Mietnummer LIKE 'DB-%' AND b.Mietnummer LIKE 'DB-%'";
+        try (Statement stmt = datenbank.verbindung().createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                rs.next();
+                int ueberschneidungen = rs.getInt(1);
+                if (ueberschneidungen > 0) {
+                    throw new IllegalStateException(ueberschneidungen + " Doppelbuchungen bei "
+                            + fahrzeuge + " Fahrzeugen");
+                }
+            }
+            stmt.executeUpdate("DELETE FROM Mietvertrag WHERE Mietnummer LIKE 'DB-%'");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        datenbank.close();
+    }
+
+    @Benchmark
+    public MietvertragDao.BuchungsErgebnis buchen() throws SQLException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        int k = random.nextInt(kundenIds.size());
+        Kunde kunde = new Kunde(900_000 + k, "bench" + k, "benchmark", "Bench", "Mark", null);
+        kunde.setId(kundenIds.get(k));
+        Fahrzeug fahrzeug = new Fahrzeug();
+        fahrzeug.setId(fahrzeugIds.get(random.nextInt(fahrzeugIds.size())));
+
+        LocalDate start = basis.plusDays(random.nextInt(ZEITRAUM_TAGE));
+        Mietvertrag vertrag = new Mietvertrag(kunde, fahrzeug, start, start.plusDays(1 + random.nextInt(7)));
+        vertrag.setMietnummer(String.format("DB-%012d", mietnummer.incrementAndGet()));
+        vertrag.setStatus(VertragsStatus.BESTAETIGT);
+
+        return dao.buchen(vertrag, FahrzeugZustand.VERMIETET);
+    }
+}
@@ -0,0 +1,76 @@
+package com.carrental.benchmark;
+
+import com.carrental.controller.BookingController;
+import com.carrental.controller.CarRentalSystem;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.Fahrzeugtyp;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.Zusatzoption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst {@link BookingController#calculateGesamtpreis(Mietvertrag)} für verschiedene
+ * Mietdauern (mit/ohne Rabattstufe) und Anzahl an Zusatzoptionen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PreisBenchmark {
+
+    @Param({"3", "30"})
+    private int tage;
+
+    @Param({"0", "3"})
+    private int optionen;
+
+    private BenchmarkDatenbank datenbank;
+    private BookingController controller;
+    private Mietvertrag vertrag;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        datenbank = BenchmarkDatenbank.starten();
+        controller = new BookingController(CarRentalSystem.getInstance());
+
+        Fahrzeugtyp typ = new Fahrzeugtyp("VW", "Golf 8", 45.0);
+        Fahrzeug fahrzeug = new Fahrzeug();
+        fahrzeug.setFahrzeugtyp(typ);
+
+        LocalDate start = LocalDate.now().plusDays(7);
+        vertrag = new Mietvertrag();
+        vertrag.setFahrzeug(fahrzeug);
+        vertrag.setStartDatum(start);
+        vertrag.setEndDatum(start.plusDays(tage - 1L));
+        for (int i = 0; i < optionen; i++) {
+            vertrag.addZusatzoption(new Zusatzoption("Option " + i, 5.0 + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        datenbank.close();
+    }
+
+    @Benchmark
+    public double calculateGesamtpreis() {
+        return controller.calculateGesamtpreis(vertrag);
+    }
+}
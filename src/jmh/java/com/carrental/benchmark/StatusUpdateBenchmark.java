@@ -0,0 +1,66 @@
+package com.carrental.benchmark;
+
+import com.carrental.controller.CarRentalSystem;
+import com.carrental.controller.ContractStatusUpdater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst einen Lauf von {@link ContractStatusUpdater#updateAllStatuses()}.
+ *
+ * Vor jedem Aufruf wird der ursprüngliche Status der Verträge und Fahrzeuge wiederhergestellt,
+ * sodass jeder Lauf dieselben fälligen Übergänge (ca. 2-5 % der Verträge) ausführt.
+ * Das anschließende Neuladen der Caches läuft im Hintergrund und ist nicht Teil der Messung.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatusUpdateBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int vertraege;
+
+    private BenchmarkDatenbank datenbank;
+    private ContractStatusUpdater updater;
+    private BenchmarkDatenbank.Statusstand ausgangsstand;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        datenbank = BenchmarkDatenbank.starten();
+        datenbank.flotteAnlegen(vertraege, 42L);
+        ausgangsstand = datenbank.statusSichern();
+        updater = new ContractStatusUpdater(CarRentalSystem.getInstance());
+    }
+
+    @Setup(Level.Invocation)
+    public void zuruecksetzen() throws Exception {
+        datenbank.statusWiederherstellen(ausgangsstand);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        updater.stopUpdater();
+        datenbank.close();
+    }
+
+    @Benchmark
+    public int updateAllStatuses() {
+        return updater.updateAllStatuses();
+    }
+}
@@ -0,0 +1,94 @@
+package com.carrental.benchmark;
+
+import com.carrental.controller.BookingController;
+import com.carrental.controller.CarRentalSystem;
+import com.carrental.model.Fahrzeug;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Misst die Verfügbarkeitsprüfung über synthetische Flotten mit 100 bis 100.000 Verträgen.
+ *
+ * {@code isFahrzeugVerfuegbar} beantwortet die Anfrage aus dem Belegungsindex;
+ * {@code konfliktInDatenbank} führt zum Vergleich die verbindliche EXISTS-Abfrage aus,
+ * die bei jeder Buchung zusätzlich läuft.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VerfuegbarkeitBenchmark {
+
+    private static final int ANFRAGEN = 1024;
+
+    @Param({"100", "1000", "10000", "100000"})
+    private int vertraege;
+
+    private BenchmarkDatenbank datenbank;
+    private CarRentalSystem system;
+    private BookingController controller;
+
+    private Fahrzeug[] fahrzeuge;
+    private LocalDate[] starts;
+    private LocalDate[] enden;
+    private int naechste;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        datenbank = BenchmarkDatenbank.starten();
+        List<Fahrzeug> flotte = datenbank.flotteAnlegen(vertraege, 42L);
+        system = CarRentalSystem.getInstance();
+        controller = new BookingController(system);
+
+        // Zufällige, aber feste Anfragen über den gesamten belegten Zeitraum
+        Random random = new Random(7L);
+        LocalDate heute = LocalDate.now();
+        fahrzeuge = new Fahrzeug[ANFRAGEN];
+        starts = new LocalDate[ANFRAGEN];
+        enden = new LocalDate[ANFRAGEN];
+        for (int i = 0; i < ANFRAGEN; i++) {
+            fahrzeuge[i] = flotte.get(random.nextInt(flotte.size()));
+            starts[i] = heute.plusDays(random.nextInt(730) - 365L);
+            enden[i] = starts[i].plusDays(random.nextInt(14));
+        }
+
+        // Index vor der Messung laden
+        controller.isFahrzeugVerfuegbar(fahrzeuge[0], starts[0], enden[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        datenbank.close();
+    }
+
+    @Benchmark
+    public boolean isFahrzeugVerfuegbar() {
+        int i = naechste++ & (ANFRAGEN - 1);
+        return controller.isFahrzeugVerfuegbar(fahrzeuge[i], starts[i], enden[i]);
+    }
+
+    @Benchmark
+    public boolean konfliktInDatenbank() throws SQLException {
+        int i = naechste++ & (ANFRAGEN - 1);
+        return system.getMietvertragDao().existsAktiverKonflikt(fahrzeuge[i].getId(), starts[i], enden[i], 0);
+    }
+}
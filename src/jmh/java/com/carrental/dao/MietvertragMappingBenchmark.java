@@ -0,0 +1,219 @@
+package com.carrental.dao;
+
+import com.carrental.benchmark.BenchmarkDatenbank;
+import com.carrental.model.Antriebsart;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.model.Fahrzeugtyp;
+import com.carrental.model.Kunde;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht das bisherige Mapping der JOIN-Abfrage aus {@code findAll} ({@code SELECT m.*, k.*, ...},
+ * Zugriff per Spaltenname) mit {@link MietvertragMapper} (explizite Spaltenliste mit Aliasen,
+ * Zugriff per Spaltenindex). {@code nurLesen} und {@code nurLesenProjektion} iterieren dieselben
+ * Abfragen ohne Mapping; die Differenz ist jeweils der Anteil des Mappings.
+ *
+ * Liegt im Paket {@code com.carrental.dao}, da Mapper und Projektion paketsichtbar sind.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MietvertragMappingBenchmark {
+
+    private static final String SQL = "SELECT m.*, k.*, f.*, ft.*, mit.* " +
+                                      "FROM Mietvertrag m " +
+                                      "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
+                                      "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
+                                      "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+                                      "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID";
+
+    @Param({"1000", "20000"})
+    private int zeilen;
+
+    private BenchmarkDatenbank datenbank;
+    private PreparedStatement abfrage;
+    private PreparedStatement projektionsAbfrage;
+    private MietvertragMapper mapper;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        datenbank = BenchmarkDatenbank.starten();
+        datenbank.flotteAnlegen(zeilen, 42L);
+        abfrage = datenbank.verbindung().prepareStatement(SQL);
+
+        Projektion spalten = new Projektion();
+        mapper = new MietvertragMapper(spalten);
+        projektionsAbfrage = datenbank.verbindung().prepareStatement(
+            "SELECT " + spalten + MietvertragMapper.FROM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        abfrage.close();
+        projektionsAbfrage.close();
+        datenbank.close();
+    }
+
+    @Benchmark
+    public void nurLesen(Blackhole bh) throws SQLException {
+        try (ResultSet rs = abfrage.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapResultSetToMietvertrag(Blackhole bh) throws SQLException {
+        try (ResultSet rs = abfrage.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(mapResultSetToMietvertrag(rs));
+            }
+        }
+    }
+
+    @Benchmark
+    public void nurLesenProjektion(Blackhole bh) throws SQLException {
+        try (ResultSet rs = projektionsAbfrage.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    @Benchmark
+    public void mietvertragMapper(Blackhole bh) throws SQLException {
+        try (ResultSet rs = projektionsAbfrage.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(mapper.map(rs));
+            }
+        }
+    }
+
+    /**
+     * Bisherige Implementierung von MietvertragDao.mapResultSetToMietvertrag
+     * (ohne die Warnungsausgaben, die bei gültigen Daten nicht auftreten).
+     */
+    private static Mietvertrag mapResultSetToMietvertrag(ResultSet rs) throws SQLException {
+        Mietvertrag vertrag = new Mietvertrag();
+        vertrag.setId(rs.getInt("ID"));
+        vertrag.setMietnummer(rs.getString("Mietnummer"));
+
+        Date startDatum = rs.getDate("StartDatum");
+        if (startDatum != null) {
+            vertrag.setStartDatum(startDatum.toLocalDate());
+        }
+
+        Date endDatum = rs.getDate("EndDatum");
+        if (endDatum != null) {
+            vertrag.setEndDatum(endDatum.toLocalDate());
+        }
+
+        String statusStr = rs.getString("Status");
+        if (statusStr != null) {
+            vertrag.setStatus(VertragsStatus.valueOf(statusStr));
+        }
+
+        vertrag.setGesamtPreis(rs.getDouble("GesamtPreis"));
+
+        try {
+            int kundennummer = rs.getInt("Kundennummer");
+            if (!rs.wasNull()) {
+                Kunde kunde = new Kunde(
+                    kundennummer,
+                    rs.getString("AccountName"),
+                    rs.getString("Passwort"),
+                    rs.getString("Vorname"),
+                    rs.getString("Nachname"),
+                    rs.getString("Email")
+                );
+                kunde.setId(rs.getInt("Kunde_ID"));
+                kunde.setStrasse(rs.getString("Strasse"));
+                kunde.setHausnummer(rs.getString("Hausnummer"));
+                kunde.setPlz(rs.getString("PLZ"));
+                kunde.setOrt(rs.getString("Ort"));
+                Date kundeGeburtstag = rs.getDate("Geburtstag");
+                if (kundeGeburtstag != null) {
+                    kunde.setGeburtstag(kundeGeburtstag.toLocalDate());
+                }
+                kunde.setFuehrerscheinNummer(rs.getString("FuehrerscheinNummer"));
+                kunde.setIstAktiv(rs.getInt("IstAktiv") == 1);
+                vertrag.setKunde(kunde);
+            }
+        } catch (SQLException e) {
+            // Kunde nicht im ResultSet
+        }
+
+        try {
+            String kennzeichen = rs.getString("Kennzeichen");
+            if (kennzeichen != null) {
+                Fahrzeug fahrzeug = new Fahrzeug();
+                fahrzeug.setId(rs.getInt("Fahrzeug_ID"));
+                fahrzeug.setKennzeichen(kennzeichen);
+
+                String zustandStr = rs.getString("Zustand");
+                if (zustandStr != null) {
+                    fahrzeug.setZustand(FahrzeugZustand.valueOf(zustandStr));
+                }
+                fahrzeug.setAktuellerKilometerstand(rs.getInt("AktuellerKilometerstand"));
+                Date tuevDatum = rs.getDate("TuevDatum");
+                if (tuevDatum != null) {
+                    fahrzeug.setTuevDatum(tuevDatum.toLocalDate());
+                }
+
+                try {
+                    int fahrzeugtypId = rs.getInt("Fahrzeugtyp_ID");
+                    if (!rs.wasNull() && fahrzeugtypId > 0) {
+                        Fahrzeugtyp typ = new Fahrzeugtyp();
+                        typ.setId(fahrzeugtypId);
+                        typ.setHersteller(rs.getString("Hersteller"));
+                        typ.setModellBezeichnung(rs.getString("ModellBezeichnung"));
+                        typ.setKategorie(rs.getString("Kategorie"));
+                        typ.setStandardTagesPreis(rs.getDouble("StandardTagesPreis"));
+                        typ.setSitzplaetze(rs.getInt("Sitzplaetze"));
+                        String antriebsartStr = rs.getString("Antriebsart");
+                        if (antriebsartStr != null) {
+                            typ.setAntriebsart(Antriebsart.valueOf(antriebsartStr));
+                        }
+                        typ.setReichweiteKm(rs.getInt("ReichweiteKm"));
+                        typ.setBeschreibung(rs.getString("Beschreibung"));
+                        fahrzeug.setFahrzeugtyp(typ);
+                    }
+                } catch (SQLException e) {
+                    // Fahrzeugtyp-Spalten nicht im ResultSet
+                }
+
+                vertrag.setFahrzeug(fahrzeug);
+            }
+        } catch (SQLException e) {
+            // Fahrzeug nicht im ResultSet
+        }
+
+        return vertrag;
+    }
+}
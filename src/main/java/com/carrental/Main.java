@@ -3,9 +3,12 @@ package com.carrental;
 import com.carrental.controller.AuthController;
 import com.carrental.controller.CarRentalSystem;
 import com.carrental.controller.ContractStatusUpdater;
+import com.carrental.util.ConnectionPool;
+import com.carrental.view.Hintergrund;
 import com.carrental.view.MainFrame;
 
 import javax.swing.*;
+import java.awt.*;
 
 /**
  * Hauptklasse für die Autovermietungsanwendung.
@@ -35,57 +38,101 @@ public class Main {
             });
         });
         
-        // GUI im Event Dispatch Thread starten
+        // Startfenster im Event Dispatch Thread anzeigen; Datenbankverbindung und
+        // Statusabgleich laufen im Hintergrund, damit die Oberfläche nicht einfriert
         SwingUtilities.invokeLater(() -> {
             try {
                 // Look and Feel setzen (System-Standard verwenden)
                 UIManager.setLookAndFeel(UIManager.getSystemLookAndFeelClassName());
-                
-                // Singleton-System initialisieren
-                CarRentalSystem system = CarRentalSystem.getInstance();
-                
-                // Automatische Statusaktualisierung initialisieren
-                statusUpdater = new ContractStatusUpdater(system);
-                system.setStatusUpdater(statusUpdater);
-                
-                // Beim Start einmaligen Check durchführen
-                int updated = statusUpdater.updateAllStatuses();
-                if (updated > 0) {
-                    System.out.println("✓ " + updated + " Verträge beim Start aktualisiert.");
-                }
-                
-                // Regelmäßige Updates starten (alle 60 Minuten)
-                statusUpdater.startUpdater(60);
-                
-                // Shutdown-Handler registrieren
-                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-                    if (statusUpdater != null) {
-                        statusUpdater.stopUpdater();
-                        System.out.println("✓ Automatische Statusaktualisierung gestoppt.");
-                    }
-                }));
-                
-                // AuthController erstellen
-                AuthController authController = new AuthController(system);
-                
-                // Hauptfenster erstellen und anzeigen
-                MainFrame mainFrame = new MainFrame(system, authController);
-                mainFrame.setVisible(true);
-                
-                System.out.println("Autovermietungssystem gestartet.");
-                
             } catch (Exception e) {
-                System.err.println("Fehler beim Starten der Anwendung:");
-                e.printStackTrace();
-                
-                JOptionPane.showMessageDialog(null,
-                    "Die Anwendung konnte nicht gestartet werden:\n" + e.getMessage() +
-                    "\n\nBitte überprüfen Sie die Konfiguration und Datenbankverbindung.",
-                    "Startfehler",
-                    JOptionPane.ERROR_MESSAGE);
-                
-                System.exit(1);
+                System.err.println("Look and Feel konnte nicht gesetzt werden: " + e.getMessage());
             }
+            
+            JWindow startfenster = createStartfenster();
+            startfenster.setVisible(true);
+            
+            Hintergrund.ausfuehren(null, null, Main::systemStarten,
+                system -> {
+                    startfenster.dispose();
+                    
+                    // AuthController erstellen
+                    AuthController authController = new AuthController(system);
+                    
+                    // Hauptfenster erstellen und anzeigen
+                    MainFrame mainFrame = new MainFrame(system, authController);
+                    mainFrame.setVisible(true);
+                    
+                    System.out.println("Autovermietungssystem gestartet.");
+                },
+                e -> {
+                    startfenster.dispose();
+                    System.err.println("Fehler beim Starten der Anwendung:");
+                    e.printStackTrace();
+                    
+                    JOptionPane.showMessageDialog(null,
+                        "Die Anwendung konnte nicht gestartet werden:\n" + e.getMessage() +
+                        "\n\nBitte überprüfen Sie die Konfiguration und Datenbankverbindung.",
+                        "Startfehler",
+                        JOptionPane.ERROR_MESSAGE);
+                    
+                    System.exit(1);
+                });
         });
     }
+
+    /**
+     * Initialisiert das System und die automatische Statusaktualisierung.
+     * Läuft im Hintergrund, da Verbindungsaufbau und Statusabgleich blockieren.
+     * 
+     * @return Das initialisierte System
+     */
+    private static CarRentalSystem systemStarten() {
+        // Singleton-System initialisieren
+        CarRentalSystem system = CarRentalSystem.getInstance();
+        
+        // Automatische Statusaktualisierung initialisieren
+        statusUpdater = new ContractStatusUpdater(system);
+        system.setStatusUpdater(statusUpdater);
+        
+        // Beim Start einmaligen Check durchführen
+        int updated = statusUpdater.updateAllStatuses();
+        if (updated > 0) {
+            System.out.println("✓ " + updated + " Verträge beim Start aktualisiert.");
+        }
+        
+        // Regelmäßige Updates starten (spätestens alle 60 Minuten und direkt nach Mitternacht)
+        statusUpdater.startUpdater(60, true);
+        
+        // Shutdown-Handler registrieren
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (statusUpdater != null) {
+                statusUpdater.stopUpdater();
+                System.out.println("✓ Automatische Statusaktualisierung gestoppt.");
+            }
+            ConnectionPool.shutdownAll();
+        }));
+        
+        return system;
+    }
+
+    /**
+     * Erstellt das Startfenster, das während der Initialisierung angezeigt wird.
+     */
+    private static JWindow createStartfenster() {
+        JWindow fenster = new JWindow();
+        JPanel inhalt = new JPanel(new BorderLayout(10, 10));
+        inhalt.setBorder(BorderFactory.createCompoundBorder(
+            BorderFactory.createLineBorder(new Color(70, 130, 180), 2),
+            BorderFactory.createEmptyBorder(20, 30, 20, 30)));
+        JLabel text = new JLabel("Autovermietungssystem wird gestartet ...");
+        text.setFont(new Font("Arial", Font.BOLD, 18));
+        inhalt.add(text, BorderLayout.CENTER);
+        JProgressBar balken = new JProgressBar();
+        balken.setIndeterminate(true);
+        inhalt.add(balken, BorderLayout.SOUTH);
+        fenster.setContentPane(inhalt);
+        fenster.pack();
+        fenster.setLocationRelativeTo(null);
+        return fenster;
+    }
 }
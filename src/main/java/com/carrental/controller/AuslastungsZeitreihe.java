@@ -0,0 +1,534 @@
+package com.carrental.controller;
+
+import com.carrental.dao.AenderungsListener;
+import com.carrental.dao.FahrzeugDao;
+import com.carrental.dao.MietvertragDao;
+import com.carrental.dao.StatistikDao;
+import com.carrental.model.Belegung;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.Mietvertrag;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Tägliche Auslastung je Fahrzeug und je Fahrzeugkategorie für die Flottenplanung.
+ *
+ * Für ein festes Fenster um das Ladedatum ({@link #DEFAULT_VERGANGENHEIT_TAGE} zurück,
+ * {@link #DEFAULT_ZUKUNFT_TAGE} voraus) wird pro Fahrzeug ein Bitset der belegten Tage und
+ * pro Kategorie ein int-Array mit der Anzahl belegter Fahrzeuge je Tag gehalten. Ein Tag gilt
+ * wie bei der Preisberechnung als belegt, wenn StartDatum &lt;= Tag &lt; EndDatum gilt; es zählen
+ * die belegenden Status aus {@link StatistikDao#BELEGEND}, abgeschlossene Verträge also weiterhin.
+ *
+ * Buchung, Stornierung und Abschluss werden über {@link #aktualisieren(Mietvertrag)} bzw.
+ * {@link #entfernen(int)} inkrementell eingepflegt, Abfragen lesen nur die Arrays und greifen
+ * nicht auf die Vertragstabelle zu. Bitsets und Zähler-Arrays werden bei Änderungen ersetzt
+ * (Copy-on-Write), Leser benötigen daher keine Sperren; Schreibzugriffe sind synchronisiert.
+ * Wie der {@link BelegungsIndex} wird die Zeitreihe beim ersten Zugriff geladen und nach
+ * {@link #DEFAULT_MAX_ALTER_MILLIS} neu aufgebaut; dabei wandert auch das Fenster mit.
+ */
+public class AuslastungsZeitreihe implements AenderungsListener<Fahrzeug> {
+
+    /** Maximales Alter der Zeitreihe, bevor sie aus der Datenbank neu geladen wird. */
+    public static final long DEFAULT_MAX_ALTER_MILLIS = 60 * 60 * 1000L;
+
+    /** Anzahl Tage vor dem Ladedatum, die im Fenster enthalten sind. */
+    public static final int DEFAULT_VERGANGENHEIT_TAGE = 366;
+
+    /** Anzahl Tage ab dem Ladedatum, die im Fenster enthalten sind. */
+    public static final int DEFAULT_ZUKUNFT_TAGE = 366;
+
+    /** Kategorie für Fahrzeuge ohne Fahrzeugtyp. */
+    public static final String OHNE_KATEGORIE = "Ohne Kategorie";
+
+    private static final BitSet LEER = new BitSet();
+
+    private final MietvertragDao mietvertragDao;
+    private final FahrzeugDao fahrzeugDao;
+    private final long maxAlterMillis;
+    private final int vergangenheitTage;
+    private final int zukunftTage;
+
+    private volatile Stand stand;
+    private volatile long geladenAm = -1;
+
+    /**
+     * Konstruktor für AuslastungsZeitreihe.
+     *
+     * @param mietvertragDao DAO zum Laden der Belegungen
+     * @param fahrzeugDao DAO zum Laden der Fahrzeugkategorien
+     */
+    public AuslastungsZeitreihe(MietvertragDao mietvertragDao, FahrzeugDao fahrzeugDao) {
+        this(mietvertragDao, fahrzeugDao, DEFAULT_MAX_ALTER_MILLIS, DEFAULT_VERGANGENHEIT_TAGE, DEFAULT_ZUKUNFT_TAGE);
+    }
+
+    /**
+     * Konstruktor für AuslastungsZeitreihe mit eigenem Fenster und Neuladeintervall.
+     *
+     * @param mietvertragDao DAO zum Laden der Belegungen
+     * @param fahrzeugDao DAO zum Laden der Fahrzeugkategorien
+     * @param maxAlterMillis Maximales Alter in Millisekunden (0 = nie automatisch neu laden)
+     * @param vergangenheitTage Tage vor dem Ladedatum im Fenster
+     * @param zukunftTage Tage ab dem Ladedatum im Fenster
+     */
+    public AuslastungsZeitreihe(MietvertragDao mietvertragDao, FahrzeugDao fahrzeugDao, long maxAlterMillis,
+                                int vergangenheitTage, int zukunftTage) {
+        if (vergangenheitTage < 0 || zukunftTage <= 0) {
+            throw new IllegalArgumentException("Ungültiges Auswertungsfenster.");
+        }
+        this.mietvertragDao = mietvertragDao;
+        this.fahrzeugDao = fahrzeugDao;
+        this.maxAlterMillis = maxAlterMillis;
+        this.vergangenheitTage = vergangenheitTage;
+        this.zukunftTage = zukunftTage;
+    }
+
+    // ----- Abfragen -----
+
+    /**
+     * Anzahl der belegten Tage eines Fahrzeugs im Zeitraum.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Belegte Tage
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public int belegteTage(int fahrzeugId, LocalDate von, LocalDate bis) throws SQLException {
+        Stand s = ensureGeladen();
+        return bitsZaehlen(s.bits(fahrzeugId), s.index(von), s.index(bis));
+    }
+
+    /**
+     * Summe der belegten Fahrzeugtage einer Kategorie im Zeitraum.
+     *
+     * @param kategorie Die Fahrzeugkategorie
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Belegte Fahrzeugtage
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public long belegteTage(String kategorie, LocalDate von, LocalDate bis) throws SQLException {
+        Stand s = ensureGeladen();
+        int[] zaehler = s.proKategorie.get(kategorie);
+        int ab = s.index(von);
+        int bisIndex = s.index(bis);
+        long summe = 0;
+        if (zaehler != null) {
+            for (int i = ab; i < bisIndex; i++) {
+                summe += zaehler[i];
+            }
+        }
+        return summe;
+    }
+
+    /**
+     * Auslastung eines Fahrzeugs im Zeitraum.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Anteil der belegten Tage (0 bis 1)
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double auslastung(int fahrzeugId, LocalDate von, LocalDate bis) throws SQLException {
+        Stand s = ensureGeladen();
+        int ab = s.index(von);
+        int bisIndex = s.index(bis);
+        return anteil(bitsZaehlen(s.bits(fahrzeugId), ab, bisIndex), bisIndex - ab);
+    }
+
+    /**
+     * Auslastung einer Kategorie im Zeitraum.
+     *
+     * @param kategorie Die Fahrzeugkategorie
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Anteil der belegten an allen Fahrzeugtagen (0 bis 1)
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double auslastung(String kategorie, LocalDate von, LocalDate bis) throws SQLException {
+        Stand s = ensureGeladen();
+        long tage = (long) s.index(bis) - s.index(von);
+        return anteil(belegteTage(kategorie, von, bis), s.fahrzeugAnzahl(kategorie) * tage);
+    }
+
+    /**
+     * Tägliche Auslastung eines Fahrzeugs (1 = belegt, 0 = frei).
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Ein Wert je Tag ab {@code von}
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double[] tagesAuslastung(int fahrzeugId, LocalDate von, LocalDate bis) throws SQLException {
+        return zeitreihe(fahrzeugId, von, bis, 1);
+    }
+
+    /**
+     * Wöchentliche Auslastung eines Fahrzeugs in Blöcken zu sieben Tagen ab {@code von};
+     * ein angebrochener letzter Block wird auf seine Tage bezogen.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Ein Wert je Woche
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double[] wochenAuslastung(int fahrzeugId, LocalDate von, LocalDate bis) throws SQLException {
+        return zeitreihe(fahrzeugId, von, bis, 7);
+    }
+
+    /**
+     * Tägliche Auslastung einer Kategorie (Anteil der belegten Fahrzeuge je Tag).
+     *
+     * @param kategorie Die Fahrzeugkategorie
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Ein Wert je Tag ab {@code von}
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double[] tagesAuslastung(String kategorie, LocalDate von, LocalDate bis) throws SQLException {
+        return zeitreihe(kategorie, von, bis, 1);
+    }
+
+    /**
+     * Wöchentliche Auslastung einer Kategorie in Blöcken zu sieben Tagen ab {@code von};
+     * ein angebrochener letzter Block wird auf seine Tage bezogen.
+     *
+     * @param kategorie Die Fahrzeugkategorie
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (exklusive)
+     * @return Ein Wert je Woche
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public double[] wochenAuslastung(String kategorie, LocalDate von, LocalDate bis) throws SQLException {
+        return zeitreihe(kategorie, von, bis, 7);
+    }
+
+    /**
+     * Gibt alle Kategorien mit mindestens einem Fahrzeug zurück.
+     *
+     * @return Sortierte Kategorien
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public Set<String> getKategorien() throws SQLException {
+        return new TreeSet<>(ensureGeladen().fahrzeugeProKategorie.keySet());
+    }
+
+    /**
+     * @return Erster Tag des Auswertungsfensters (inklusive)
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public LocalDate getFensterVon() throws SQLException {
+        return LocalDate.ofEpochDay(ensureGeladen().beginn);
+    }
+
+    /**
+     * @return Ende des Auswertungsfensters (exklusive)
+     * @throws SQLException falls die Zeitreihe nicht geladen werden kann
+     */
+    public LocalDate getFensterBis() throws SQLException {
+        Stand s = ensureGeladen();
+        return LocalDate.ofEpochDay(s.beginn + s.tage);
+    }
+
+    // ----- Änderungen -----
+
+    /**
+     * Übernimmt den aktuellen Zustand eines Vertrags (Buchung, Statuswechsel, Abschluss).
+     * Belegende Verträge werden eingetragen bzw. ersetzt, alle anderen entfernt.
+     *
+     * @param vertrag Der geänderte Vertrag
+     */
+    public synchronized void aktualisieren(Mietvertrag vertrag) {
+        if (vertrag == null || vertrag.getId() <= 0) {
+            return;
+        }
+        if (vertrag.getFahrzeug() == null || !StatistikDao.BELEGEND.contains(vertrag.getStatus())
+                || vertrag.getStartDatum() == null || vertrag.getEndDatum() == null) {
+            entfernen(vertrag.getId());
+            return;
+        }
+        Stand s = stand;
+        if (s == null) {
+            return;
+        }
+        Belegung neu = new Belegung(vertrag.getId(), vertrag.getFahrzeug().getId(),
+                vertrag.getStartDatum(), vertrag.getEndDatum());
+        Belegung alt = s.vertraege.put(neu.vertragId(), neu);
+        if (alt != null && alt.fahrzeugId() != neu.fahrzeugId()) {
+            s.vertraegeVon(alt.fahrzeugId()).remove(alt.vertragId());
+            s.fahrzeugNeuBerechnen(alt.fahrzeugId());
+        }
+        s.vertraegeVon(neu.fahrzeugId()).add(neu.vertragId());
+        s.fahrzeugNeuBerechnen(neu.fahrzeugId());
+    }
+
+    /**
+     * Entfernt einen Vertrag (z.B. nach einer Stornierung).
+     *
+     * @param vertragId ID des Vertrags
+     */
+    public synchronized void entfernen(int vertragId) {
+        Stand s = stand;
+        if (s == null) {
+            return;
+        }
+        Belegung alt = s.vertraege.remove(vertragId);
+        if (alt != null) {
+            s.vertraegeVon(alt.fahrzeugId()).remove(vertragId);
+            s.fahrzeugNeuBerechnen(alt.fahrzeugId());
+        }
+    }
+
+    /**
+     * Verwirft die Zeitreihe; sie wird beim nächsten Zugriff neu geladen.
+     */
+    public void invalidieren() {
+        geladenAm = -1;
+    }
+
+    /**
+     * Lädt die Zeitreihe vollständig neu aus der Datenbank.
+     *
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public synchronized void neuLaden() throws SQLException {
+        LocalDate heute = LocalDate.now();
+        LocalDate von = heute.minusDays(vergangenheitTage);
+        LocalDate bis = heute.plusDays(zukunftTage);
+
+        Stand neu = new Stand(von.toEpochDay(), vergangenheitTage + zukunftTage);
+        fahrzeugDao.findAllKategorien().forEach(neu::kategorieSetzen);
+        List<Belegung> belegungen = mietvertragDao.findBelegungen(StatistikDao.BELEGEND, von, bis);
+        for (Belegung b : belegungen) {
+            neu.vertraege.put(b.vertragId(), b);
+            neu.vertraegeVon(b.fahrzeugId()).add(b.vertragId());
+        }
+        for (Integer fahrzeugId : neu.vertraegeProFahrzeug.keySet()) {
+            neu.fahrzeugNeuBerechnen(fahrzeugId);
+        }
+
+        // Referenz austauschen, damit Leser nie eine halb aufgebaute Zeitreihe sehen
+        stand = neu;
+        geladenAm = System.currentTimeMillis();
+    }
+
+    @Override
+    public synchronized void gespeichert(Fahrzeug fahrzeug) {
+        Stand s = stand;
+        if (s != null && fahrzeug != null && fahrzeug.getId() > 0) {
+            s.kategorieSetzen(fahrzeug.getId(),
+                fahrzeug.getFahrzeugtyp() != null ? fahrzeug.getFahrzeugtyp().getKategorie() : null);
+        }
+    }
+
+    @Override
+    public void geaendert(int id) {
+        // Nur Zustand und Kilometerstand, die Kategorie bleibt gleich
+    }
+
+    @Override
+    public synchronized void geloescht(int id) {
+        Stand s = stand;
+        if (s != null) {
+            s.fahrzeugEntfernen(id);
+        }
+    }
+
+    @Override
+    public void alleGeaendert() {
+        invalidieren();
+    }
+
+    private Stand ensureGeladen() throws SQLException {
+        long geladen = geladenAm;
+        if (geladen < 0 || (maxAlterMillis > 0 && System.currentTimeMillis() - geladen > maxAlterMillis)) {
+            synchronized (this) {
+                if (geladenAm == geladen) {
+                    neuLaden();
+                }
+            }
+        }
+        return stand;
+    }
+
+    private double[] zeitreihe(int fahrzeugId, LocalDate von, LocalDate bis, int blockTage) throws SQLException {
+        Stand s = ensureGeladen();
+        BitSet bits = s.bits(fahrzeugId);
+        return zusammenfassen(s.index(von), s.index(bis), blockTage, 1, i -> bits.get(i) ? 1 : 0);
+    }
+
+    private double[] zeitreihe(String kategorie, LocalDate von, LocalDate bis, int blockTage) throws SQLException {
+        Stand s = ensureGeladen();
+        int[] zaehler = s.proKategorie.get(kategorie);
+        return zusammenfassen(s.index(von), s.index(bis), blockTage, s.fahrzeugAnzahl(kategorie),
+            i -> zaehler != null ? zaehler[i] : 0);
+    }
+
+    private static double[] zusammenfassen(int ab, int bis, int blockTage, int kapazitaet, IntUnaryOperator belegt) {
+        int tage = bis - ab;
+        double[] werte = new double[(tage + blockTage - 1) / blockTage];
+        for (int block = 0; block < werte.length; block++) {
+            int start = ab + block * blockTage;
+            int ende = Math.min(start + blockTage, bis);
+            long summe = 0;
+            for (int i = start; i < ende; i++) {
+                summe += belegt.applyAsInt(i);
+            }
+            werte[block] = anteil(summe, (long) kapazitaet * (ende - start));
+        }
+        return werte;
+    }
+
+    private static int bitsZaehlen(BitSet bits, int ab, int bis) {
+        int anzahl = 0;
+        for (int i = bits.nextSetBit(ab); i >= 0 && i < bis; i = bits.nextSetBit(i + 1)) {
+            anzahl++;
+        }
+        return anzahl;
+    }
+
+    private static double anteil(long belegt, long gesamt) {
+        return gesamt > 0 ? Math.min((double) belegt / gesamt, 1.0) : 0.0;
+    }
+
+    /**
+     * Geladener Zustand für ein festes Fenster. Bitsets und Zähler-Arrays in den
+     * Maps werden nach der Veröffentlichung nicht mehr verändert, nur ersetzt.
+     * Die Vertragszuordnungen werden nur unter der Sperre der Zeitreihe benutzt.
+     */
+    private static final class Stand {
+        /** Erster Tag des Fensters als Epoch-Day. */
+        private final long beginn;
+        private final int tage;
+
+        private final Map<Integer, BitSet> proFahrzeug = new ConcurrentHashMap<>();
+        private final Map<String, int[]> proKategorie = new ConcurrentHashMap<>();
+        private final Map<Integer, String> kategorieProFahrzeug = new ConcurrentHashMap<>();
+        private final Map<String, Integer> fahrzeugeProKategorie = new ConcurrentHashMap<>();
+
+        private final Map<Integer, Belegung> vertraege = new HashMap<>();
+        private final Map<Integer, Set<Integer>> vertraegeProFahrzeug = new HashMap<>();
+
+        private Stand(long beginn, int tage) {
+            this.beginn = beginn;
+            this.tage = tage;
+        }
+
+        int index(LocalDate datum) {
+            long index = datum.toEpochDay() - beginn;
+            if (index < 0 || index > tage) {
+                throw new IllegalArgumentException("Datum " + datum + " liegt außerhalb des Auswertungsfensters "
+                    + LocalDate.ofEpochDay(beginn) + " bis " + LocalDate.ofEpochDay(beginn + tage) + ".");
+            }
+            return (int) index;
+        }
+
+        BitSet bits(int fahrzeugId) {
+            return proFahrzeug.getOrDefault(fahrzeugId, LEER);
+        }
+
+        int fahrzeugAnzahl(String kategorie) {
+            return fahrzeugeProKategorie.getOrDefault(kategorie, 0);
+        }
+
+        Set<Integer> vertraegeVon(int fahrzeugId) {
+            return vertraegeProFahrzeug.computeIfAbsent(fahrzeugId, k -> new HashSet<>());
+        }
+
+        void kategorieSetzen(int fahrzeugId, String kategorie) {
+            String neu = kategorie != null ? kategorie : OHNE_KATEGORIE;
+            String alt = kategorieProFahrzeug.put(fahrzeugId, neu);
+            if (neu.equals(alt)) {
+                return;
+            }
+            BitSet bits = bits(fahrzeugId);
+            if (alt != null) {
+                fahrzeugeProKategorie.merge(alt, -1, Integer::sum);
+                fahrzeugeProKategorie.remove(alt, 0);
+                zaehlen(alt, bits, -1);
+            }
+            fahrzeugeProKategorie.merge(neu, 1, Integer::sum);
+            zaehlen(neu, bits, 1);
+        }
+
+        void fahrzeugEntfernen(int fahrzeugId) {
+            Set<Integer> ids = vertraegeProFahrzeug.remove(fahrzeugId);
+            if (ids != null) {
+                ids.forEach(vertraege::remove);
+            }
+            BitSet bits = proFahrzeug.remove(fahrzeugId);
+            String kategorie = kategorieProFahrzeug.remove(fahrzeugId);
+            if (kategorie != null) {
+                fahrzeugeProKategorie.merge(kategorie, -1, Integer::sum);
+                fahrzeugeProKategorie.remove(kategorie, 0);
+                if (bits != null) {
+                    zaehlen(kategorie, bits, -1);
+                }
+            }
+        }
+
+        /**
+         * Baut das Bitset eines Fahrzeugs aus seinen Verträgen neu auf und passt die
+         * Tageszähler seiner Kategorie um die geänderten Tage an.
+         */
+        void fahrzeugNeuBerechnen(int fahrzeugId) {
+            BitSet neu = new BitSet(tage);
+            Set<Integer> ids = vertraegeProFahrzeug.get(fahrzeugId);
+            if (ids != null) {
+                for (int id : ids) {
+                    Belegung b = vertraege.get(id);
+                    long ab = Math.max(b.startDatum().toEpochDay() - beginn, 0);
+                    long bis = Math.min(b.endDatum().toEpochDay() - beginn, tage);
+                    if (ab < bis) {
+                        neu.set((int) ab, (int) bis);
+                    }
+                }
+                if (ids.isEmpty()) {
+                    vertraegeProFahrzeug.remove(fahrzeugId);
+                }
+            }
+
+            BitSet alt = bits(fahrzeugId);
+            if (neu.isEmpty()) {
+                proFahrzeug.remove(fahrzeugId);
+            } else {
+                proFahrzeug.put(fahrzeugId, neu);
+            }
+
+            String kategorie = kategorieProFahrzeug.get(fahrzeugId);
+            if (kategorie != null) {
+                BitSet weg = (BitSet) alt.clone();
+                weg.andNot(neu);
+                BitSet dazu = (BitSet) neu.clone();
+                dazu.andNot(alt);
+                zaehlen(kategorie, weg, -1);
+                zaehlen(kategorie, dazu, 1);
+            }
+        }
+
+        private void zaehlen(String kategorie, BitSet tageBits, int delta) {
+            if (tageBits.isEmpty()) {
+                return;
+            }
+            int[] alt = proKategorie.get(kategorie);
+            int[] neu = alt != null ? alt.clone() : new int[tage];
+            for (int i = tageBits.nextSetBit(0); i >= 0; i = tageBits.nextSetBit(i + 1)) {
+                neu[i] += delta;
+            }
+            proKategorie.put(kategorie, neu);
+        }
+    }
+}
@@ -131,8 +131,8 @@ public class AuthController {
                 return null;
             }
 
-            // Neue Kundennummer generieren (einfache Implementierung)
-            int neueKundennummer = generateKundennummer();
+            // Neue Kundennummer aus dem reservierten Block
+            int neueKundennummer = system.getKundennummerAllokator().naechste();
 
             // Kunde erstellen
             Kunde kunde = new Kunde(neueKundennummer, accountName, passwort, vorname, nachname, email);
@@ -295,29 +295,4 @@ public class AuthController {
         Mitarbeiter service = new Mitarbeiter("P-1002", "service", "service123", "Service", "Team", "service@carrental.local");
         mitarbeiterAccounts.put(service.getAccountName(), service);
     }
-
-    /**
-     * Generiert eine neue eindeutige Kundennummer.
-     * Einfache Implementierung: findet die höchste existierende Nummer und addiert 1.
-     * 
-     * @return Neue Kundennummer
-     */
-    private int generateKundennummer() {
-        try {
-            var alleKunden = system.getKundeDao().findAll();
-            int maxNr = 1000; // Startwert
-            
-            for (Kunde k : alleKunden) {
-                if (k.getKundennummer() > maxNr) {
-                    maxNr = k.getKundennummer();
-                }
-            }
-            
-            return maxNr + 1;
-            
-        } catch (SQLException e) {
-            // Bei Fehler eine zufällige Nummer im Bereich 1000-9999 zurückgeben
-            return 1000 + (int) (Math.random() * 8999);
-        }
-    }
 }
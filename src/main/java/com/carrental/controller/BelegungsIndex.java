@@ -0,0 +1,327 @@
+package com.carrental.controller;
+
+import com.carrental.dao.MietvertragDao;
+import com.carrental.model.Belegung;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-Memory-Index der Fahrzeugbelegungen für schnelle Verfügbarkeitsprüfungen.
+ *
+ * Pro Fahrzeug wird ein nach Startdatum sortiertes Array der aktiven Mietzeiträume
+ * gehalten (aktiv = nicht STORNIERT und nicht ABGESCHLOSSEN). Zusätzlich wird das
+ * laufende Maximum der Enddaten gespeichert, sodass eine Überlappungsprüfung mit
+ * einer binären Suche in O(log n) beantwortet wird.
+ *
+ * Die Arrays sind unveränderlich und werden bei Änderungen ersetzt (Copy-on-Write),
+ * Leser benötigen daher keine Sperren; Schreibzugriffe sind synchronisiert.
+ * Der Index wird beim ersten Zugriff aus der Datenbank geladen und nach
+ * {@link #DEFAULT_MAX_ALTER_MILLIS} neu aufgebaut, um Änderungen anderer
+ * Anwendungsinstanzen zu übernehmen.
+ */
+public class BelegungsIndex {
+
+    /** Maximales Alter des Index, bevor er aus der Datenbank neu geladen wird. */
+    public static final long DEFAULT_MAX_ALTER_MILLIS = 5 * 60 * 1000L;
+
+    private final MietvertragDao mietvertragDao;
+    private final long maxAlterMillis;
+
+    private volatile Map<Integer, Intervalle> proFahrzeug = new ConcurrentHashMap<>();
+    private volatile Map<Integer, Integer> fahrzeugProVertrag = new ConcurrentHashMap<>();
+    private volatile long geladenAm = -1;
+
+    /**
+     * Konstruktor für BelegungsIndex.
+     *
+     * @param mietvertragDao DAO zum Laden der aktiven Belegungen
+     */
+    public BelegungsIndex(MietvertragDao mietvertragDao) {
+        this(mietvertragDao, DEFAULT_MAX_ALTER_MILLIS);
+    }
+
+    /**
+     * Konstruktor für BelegungsIndex mit eigenem Neuladeintervall.
+     *
+     * @param mietvertragDao DAO zum Laden der aktiven Belegungen
+     * @param maxAlterMillis Maximales Alter in Millisekunden (0 = nie automatisch neu laden)
+     */
+    public BelegungsIndex(MietvertragDao mietvertragDao, long maxAlterMillis) {
+        this.mietvertragDao = mietvertragDao;
+        this.maxAlterMillis = maxAlterMillis;
+    }
+
+    /**
+     * Prüft, ob ein Fahrzeug im Zeitraum durch einen aktiven Vertrag belegt ist.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param startDatum Startdatum (inklusive)
+     * @param endDatum Enddatum (inklusive)
+     * @return true wenn sich ein aktiver Vertrag überschneidet
+     * @throws SQLException falls der Index nicht geladen werden kann
+     */
+    public boolean hatUeberschneidung(int fahrzeugId, LocalDate startDatum, LocalDate endDatum) throws SQLException {
+        return hatUeberschneidung(fahrzeugId, startDatum, endDatum, 0);
+    }
+
+    /**
+     * Prüft, ob ein Fahrzeug im Zeitraum durch einen anderen aktiven Vertrag belegt ist.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param startDatum Startdatum (inklusive)
+     * @param endDatum Enddatum (inklusive)
+     * @param excludeVertragId Vertrag, der nicht berücksichtigt wird (0 = keiner)
+     * @return true wenn sich ein anderer aktiver Vertrag überschneidet
+     * @throws SQLException falls der Index nicht geladen werden kann
+     */
+    public boolean hatUeberschneidung(int fahrzeugId, LocalDate startDatum, LocalDate endDatum,
+                                      int excludeVertragId) throws SQLException {
+        ensureGeladen();
+        Intervalle intervalle = proFahrzeug.get(fahrzeugId);
+        return intervalle != null
+            && intervalle.ueberschneidet(startDatum.toEpochDay(), endDatum.toEpochDay(), excludeVertragId);
+    }
+
+    /**
+     * Prüft, ob für ein Fahrzeug außer dem angegebenen Vertrag noch aktive Verträge existieren.
+     *
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param excludeVertragId Vertrag, der nicht berücksichtigt wird (0 = keiner)
+     * @return true wenn weitere aktive Verträge existieren
+     * @throws SQLException falls der Index nicht geladen werden kann
+     */
+    public boolean hatAktiveVertraege(int fahrzeugId, int excludeVertragId) throws SQLException {
+        ensureGeladen();
+        Intervalle intervalle = proFahrzeug.get(fahrzeugId);
+        if (intervalle == null) {
+            return false;
+        }
+        for (int id : intervalle.vertragIds) {
+            if (id != excludeVertragId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Übernimmt den aktuellen Zustand eines Vertrags in den Index.
+     * Aktive Verträge werden eingetragen bzw. ersetzt, stornierte und
+     * abgeschlossene Verträge entfernt.
+     *
+     * @param vertrag Der geänderte Vertrag
+     */
+    public synchronized void aktualisieren(Mietvertrag vertrag) {
+        if (vertrag == null || vertrag.getId() <= 0) {
+            return;
+        }
+        if (vertrag.getFahrzeug() == null || !isAktiv(vertrag.getStatus())
+                || vertrag.getStartDatum() == null || vertrag.getEndDatum() == null) {
+            entfernen(vertrag.getId());
+            return;
+        }
+        eintragen(new Belegung(vertrag.getId(), vertrag.getFahrzeug().getId(),
+                vertrag.getStartDatum(), vertrag.getEndDatum()));
+    }
+
+    /**
+     * Entfernt einen Vertrag aus dem Index.
+     *
+     * @param vertragId ID des Vertrags
+     */
+    public synchronized void entfernen(int vertragId) {
+        Integer fahrzeugId = fahrzeugProVertrag.remove(vertragId);
+        if (fahrzeugId != null) {
+            proFahrzeug.computeIfPresent(fahrzeugId, (id, alt) -> alt.ohne(vertragId));
+        }
+    }
+
+    /**
+     * Verwirft den Index; er wird beim nächsten Zugriff neu geladen.
+     */
+    public void invalidieren() {
+        geladenAm = -1;
+    }
+
+    /**
+     * Lädt den Index vollständig neu aus der Datenbank.
+     *
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public synchronized void neuLaden() throws SQLException {
+        List<Belegung> belegungen = mietvertragDao.findAktiveBelegungen();
+
+        Map<Integer, List<Belegung>> gruppiert = new HashMap<>();
+        Map<Integer, Integer> neueZuordnung = new ConcurrentHashMap<>();
+        for (Belegung b : belegungen) {
+            gruppiert.computeIfAbsent(b.fahrzeugId(), k -> new ArrayList<>()).add(b);
+            neueZuordnung.put(b.vertragId(), b.fahrzeugId());
+        }
+
+        Map<Integer, Intervalle> neuerIndex = new ConcurrentHashMap<>();
+        gruppiert.forEach((fahrzeugId, liste) -> neuerIndex.put(fahrzeugId, Intervalle.aus(liste)));
+
+        // Referenzen austauschen, damit Leser nie einen halb aufgebauten Index sehen
+        proFahrzeug = neuerIndex;
+        fahrzeugProVertrag = neueZuordnung;
+        geladenAm = System.currentTimeMillis();
+    }
+
+    private void eintragen(Belegung belegung) {
+        Integer altesFahrzeug = fahrzeugProVertrag.put(belegung.vertragId(), belegung.fahrzeugId());
+        if (altesFahrzeug != null && altesFahrzeug != belegung.fahrzeugId()) {
+            proFahrzeug.computeIfPresent(altesFahrzeug, (id, alt) -> alt.ohne(belegung.vertragId()));
+        }
+        proFahrzeug.compute(belegung.fahrzeugId(), (id, alt) ->
+                alt == null ? Intervalle.aus(List.of(belegung)) : alt.mit(belegung));
+    }
+
+    private void ensureGeladen() throws SQLException {
+        long stand = geladenAm;
+        if (stand < 0 || (maxAlterMillis > 0 && System.currentTimeMillis() - stand > maxAlterMillis)) {
+            synchronized (this) {
+                if (geladenAm == stand) {
+                    neuLaden();
+                }
+            }
+        }
+    }
+
+    private static boolean isAktiv(VertragsStatus status) {
+        return MietvertragDao.istBelegend(status);
+    }
+
+    /**
+     * Unveränderliche, nach Startdatum sortierte Belegungen eines Fahrzeugs (Epoch-Days).
+     */
+    private static final class Intervalle {
+        private final int[] vertragIds;
+        private final long[] starts;
+        private final long[] ends;
+        private final long[] maxEndBis;
+
+        private Intervalle(int[] vertragIds, long[] starts, long[] ends) {
+            this.vertragIds = vertragIds;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEndBis = new long[ends.length];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < ends.length; i++) {
+                max = Math.max(max, ends[i]);
+                maxEndBis[i] = max;
+            }
+        }
+
+        static Intervalle aus(List<Belegung> belegungen) {
+            Belegung[] sortiert = belegungen.toArray(new Belegung[0]);
+            Arrays.sort(sortiert, (a, b) -> a.startDatum().compareTo(b.startDatum()));
+            int n = sortiert.length;
+            int[] ids = new int[n];
+            long[] starts = new long[n];
+            long[] ends = new long[n];
+            for (int i = 0; i < n; i++) {
+                ids[i] = sortiert[i].vertragId();
+                starts[i] = sortiert[i].startDatum().toEpochDay();
+                ends[i] = sortiert[i].endDatum().toEpochDay();
+            }
+            return new Intervalle(ids, starts, ends);
+        }
+
+        Intervalle mit(Belegung belegung) {
+            Intervalle basis = ohne(belegung.vertragId());
+            if (basis == null) {
+                return aus(List.of(belegung));
+            }
+            long start = belegung.startDatum().toEpochDay();
+            int pos = anzahlStartsBis(basis.starts, start);
+            int n = basis.starts.length;
+
+            int[] ids = new int[n + 1];
+            long[] neueStarts = new long[n + 1];
+            long[] neueEnds = new long[n + 1];
+            System.arraycopy(basis.vertragIds, 0, ids, 0, pos);
+            System.arraycopy(basis.starts, 0, neueStarts, 0, pos);
+            System.arraycopy(basis.ends, 0, neueEnds, 0, pos);
+            ids[pos] = belegung.vertragId();
+            neueStarts[pos] = start;
+            neueEnds[pos] = belegung.endDatum().toEpochDay();
+            System.arraycopy(basis.vertragIds, pos, ids, pos + 1, n - pos);
+            System.arraycopy(basis.starts, pos, neueStarts, pos + 1, n - pos);
+            System.arraycopy(basis.ends, pos, neueEnds, pos + 1, n - pos);
+            return new Intervalle(ids, neueStarts, neueEnds);
+        }
+
+        /**
+         * Liefert die Intervalle ohne den Vertrag, oder null wenn danach keine übrig bleiben.
+         */
+        Intervalle ohne(int vertragId) {
+            int idx = -1;
+            for (int i = 0; i < vertragIds.length; i++) {
+                if (vertragIds[i] == vertragId) {
+                    idx = i;
+                    break;
+                }
+            }
+            if (idx < 0) {
+                return this;
+            }
+            int n = vertragIds.length - 1;
+            if (n == 0) {
+                return null;
+            }
+            int[] ids = new int[n];
+            long[] neueStarts = new long[n];
+            long[] neueEnds = new long[n];
+            System.arraycopy(vertragIds, 0, ids, 0, idx);
+            System.arraycopy(starts, 0, neueStarts, 0, idx);
+            System.arraycopy(ends, 0, neueEnds, 0, idx);
+            System.arraycopy(vertragIds, idx + 1, ids, idx, n - idx);
+            System.arraycopy(starts, idx + 1, neueStarts, idx, n - idx);
+            System.arraycopy(ends, idx + 1, neueEnds, idx, n - idx);
+            return new Intervalle(ids, neueStarts, neueEnds);
+        }
+
+        boolean ueberschneidet(long start, long end, int excludeVertragId) {
+            // Nur Intervalle mit Beginn <= end kommen in Frage
+            int kandidaten = anzahlStartsBis(starts, end);
+            if (kandidaten == 0 || maxEndBis[kandidaten - 1] < start) {
+                return false;
+            }
+            if (excludeVertragId <= 0) {
+                return true;
+            }
+            for (int i = 0; i < kandidaten; i++) {
+                if (vertragIds[i] != excludeVertragId && ends[i] >= start) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Anzahl der Einträge mit Startwert kleiner oder gleich dem Schlüssel (obere Grenze).
+         */
+        private static int anzahlStartsBis(long[] starts, long schluessel) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (starts[mid] <= schluessel) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
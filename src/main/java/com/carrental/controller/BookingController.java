@@ -1,5 +1,6 @@
 package com.carrental.controller;
 
+import com.carrental.dao.MietvertragDao;
 import com.carrental.model.*;
 
 import java.sql.SQLException;
@@ -7,7 +8,6 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 /**
  * Controller für die Buchungslogik.
@@ -57,24 +57,19 @@ public class BookingController {
             return null;
         }
 
-        // 3. Verfügbarkeitsprüfung mit Konfliktdetektion
+        // 3. Vorprüfung über den Belegungsindex; die verbindliche Prüfung von Fahrzeug
+        //    und Kunde erfolgt beim Speichern in derselben Transaktion
         if (!isFahrzeugVerfuegbar(fahrzeug, startDatum, endDatum)) {
             System.err.println("Fahrzeug ist im gewählten Zeitraum nicht verfügbar.");
             return null;
         }
 
-        // 4. Kunden-Konfliktprüfung: Kunde darf nicht parallel mehrere Buchungen haben
-        if (hasKundeOverlap(kunde, startDatum, endDatum)) {
-            System.err.println("Kunde hat bereits eine Buchung im gewählten Zeitraum.");
-            return null;
-        }
-
         try {
             // Mietvertrag erstellen
             Mietvertrag vertrag = new Mietvertrag(kunde, fahrzeug, startDatum, endDatum);
             
             // Eindeutige Mietnummer generieren
-            vertrag.setMietnummer(generateMietnummer());
+            vertrag.setMietnummer(system.getMietnummerGenerator().naechste());
             
             // Zusatzoptionen hinzufügen
             if (zusatzoptionen != null && !zusatzoptionen.isEmpty()) {
@@ -86,22 +81,30 @@ public class BookingController {
             // Preis berechnen
             double preis = calculateGesamtpreis(vertrag);
             vertrag.setGesamtPreis(preis);
-            
-            // In Datenbank speichern
-            vertrag = system.getMietvertragDao().create(vertrag);
-
-            // Fahrzeugstatus aktualisieren - verwendet spezialisierte Methode ohne Fahrzeugtyp
-            fahrzeug.setZustand(FahrzeugZustand.VERMIETET);
-            system.getFahrzeugDao().updateStatusAndKilometerstand(fahrzeug);
 
-            // Vertragsstatus aktualisieren - berücksichtigt das Startdatum
+            // Endgültigen Vertragsstatus direkt setzen - berücksichtigt das Startdatum
             LocalDate heute = LocalDate.now();
             if (!startDatum.isAfter(heute)) {
                 vertrag.setStatus(VertragsStatus.LAUFEND);
             } else {
                 vertrag.setStatus(VertragsStatus.BESTAETIGT);
             }
-            system.getMietvertragDao().update(vertrag);
+            
+            // Konfliktprüfung, Vertrag, Zusatzoptionen und Fahrzeugstatus in einer Transaktion
+            MietvertragDao.BuchungsErgebnis ergebnis =
+                system.getMietvertragDao().buchen(vertrag, FahrzeugZustand.VERMIETET);
+            if (ergebnis == MietvertragDao.BuchungsErgebnis.FAHRZEUG_BELEGT) {
+                System.err.println("Fahrzeug ist im gewählten Zeitraum nicht verfügbar.");
+                return null;
+            }
+            if (ergebnis == MietvertragDao.BuchungsErgebnis.KUNDE_BELEGT) {
+                System.err.println("Kunde hat bereits eine Buchung im gewählten Zeitraum.");
+                return null;
+            }
+
+            system.getBelegungsIndex().aktualisieren(vertrag);
+            system.getAuslastungsZeitreihe().aktualisieren(vertrag);
+            system.getFahrzeugCache().geaendert(fahrzeug.getId());
             
             System.out.println("Buchung erfolgreich erstellt: " + vertrag.getMietnummer());
             return vertrag;
@@ -138,26 +141,9 @@ public class BookingController {
             // Bei VERMIETET: weiter prüfen ob Zeitraum frei
         }
 
-        // 2. Konfliktdetektion: Prüfe alle existierenden Mietverträge für dieses Fahrzeug
+        // 2. Konfliktdetektion: Belegungsindex der aktiven Mietverträge dieses Fahrzeugs
         try {
-            List<Mietvertrag> allVertraege = system.getMietvertragDao().findAll();
-            
-            for (Mietvertrag vertrag : allVertraege) {
-                // Nur aktive Verträge prüfen
-                if (vertrag.getFahrzeug() != null && 
-                    vertrag.getFahrzeug().getId() == fahrzeug.getId() &&
-                    isAktiverVertrag(vertrag)) {
-                    
-                    // Prüfe auf Zeitraum-Überlappung
-                    if (hasDateOverlap(startDatum, endDatum, 
-                                      vertrag.getStartDatum(), vertrag.getEndDatum())) {
-                        return false; // Konflikt gefunden
-                    }
-                }
-            }
-            
-            return true; // Kein Konflikt gefunden
-            
+            return !system.getBelegungsIndex().hatUeberschneidung(fahrzeug.getId(), startDatum, endDatum);
         } catch (SQLException e) {
             System.err.println("Fehler bei Verfügbarkeitsprüfung: " + e.getMessage());
             return false; // Im Fehlerfall konservativ: nicht verfügbar
@@ -165,31 +151,47 @@ public class BookingController {
     }
 
     /**
-     * Prüft ob zwei Zeiträume sich überlappen.
+     * Verbindliche Konfliktprüfung direkt in der Datenbank.
+     * Ergänzt den Belegungsindex, der Änderungen anderer Instanzen erst verzögert sieht.
      * 
-     * @param start1 Start des ersten Zeitraums
-     * @param end1 Ende des ersten Zeitraums
-     * @param start2 Start des zweiten Zeitraums
-     * @param end2 Ende des zweiten Zeitraums
-     * @return true wenn Überlappung existiert
+     * @param fahrzeug Das zu prüfende Fahrzeug
+     * @param startDatum Startdatum
+     * @param endDatum Enddatum
+     * @param excludeVertragId Vertrag, der ignoriert wird (0 = keiner)
+     * @return true bei Konflikt oder Datenbankfehler
      */
-    private boolean hasDateOverlap(LocalDate start1, LocalDate end1, 
-                                   LocalDate start2, LocalDate end2) {
-        // Zeiträume überlappen wenn:
-        // start1 <= end2 UND end1 >= start2
-        return !start1.isAfter(end2) && !end1.isBefore(start2);
+    private boolean hasKonfliktInDatenbank(Fahrzeug fahrzeug, LocalDate startDatum, LocalDate endDatum,
+                                           int excludeVertragId) {
+        try {
+            return system.getMietvertragDao().existsAktiverKonflikt(
+                fahrzeug.getId(), startDatum, endDatum, excludeVertragId);
+        } catch (SQLException e) {
+            System.err.println("Fehler bei Verfügbarkeitsprüfung: " + e.getMessage());
+            return true; // Im Fehlerfall konservativ: nicht verfügbar
+        }
     }
 
     /**
-     * Prüft ob ein Vertrag aktiv ist (nicht storniert oder abgeschlossen).
+     * Prüft per indizierter Existenzabfrage, ob der Kunde bereits eine überlappende Buchung hat.
      * 
-     * @param vertrag Der zu prüfende Vertrag
-     * @return true wenn aktiv
+     * @param kunde Der Kunde (mit Datenbank-ID)
+     * @param startDatum Startdatum
+     * @param endDatum Enddatum
+     * @param excludeVertragId Vertrag, der ignoriert wird (0 = keiner)
+     * @return true bei Überschneidung oder Datenbankfehler
      */
-    private boolean isAktiverVertrag(Mietvertrag vertrag) {
-        VertragsStatus status = vertrag.getStatus();
-        return status != VertragsStatus.STORNIERT && 
-               status != VertragsStatus.ABGESCHLOSSEN;
+    private boolean hasKundeOverlap(Kunde kunde, LocalDate startDatum, LocalDate endDatum,
+                                    int excludeVertragId) {
+        if (kunde == null) {
+            return true;
+        }
+        try {
+            return system.getMietvertragDao().existsKundeOverlap(
+                kunde.getId(), startDatum, endDatum, excludeVertragId);
+        } catch (SQLException e) {
+            System.err.println("Fehler bei Kunden-Konfliktprüfung: " + e.getMessage());
+            return true; // im Fehlerfall konservativ
+        }
     }
 
     /**
@@ -271,7 +273,7 @@ public class BookingController {
         try {
             Mietvertrag vertrag = new Mietvertrag(kunde, fahrzeug, startDatum, endDatum);
 
-            vertrag.setMietnummer(generateMietnummer());
+            vertrag.setMietnummer(system.getMietnummerGenerator().naechste());
             vertrag.setStatus(VertragsStatus.ANGELEGT);
 
             if (zusatzoptionen != null && !zusatzoptionen.isEmpty()) {
@@ -284,6 +286,7 @@ public class BookingController {
             vertrag.setGesamtPreis(preis);
 
             vertrag = system.getMietvertragDao().create(vertrag);
+            system.getBelegungsIndex().aktualisieren(vertrag);
 
             System.out.println("Buchung als Entwurf gespeichert: " + vertrag.getMietnummer());
             return vertrag;
@@ -306,10 +309,17 @@ public class BookingController {
         }
 
         try {
-            if (!isFahrzeugVerfuegbar(vertrag.getFahrzeug(), vertrag.getStartDatum(), vertrag.getEndDatum())) {
+            // Der Entwurf selbst belegt das Fahrzeug bereits und wird daher ausgenommen
+            if (hasKonfliktInDatenbank(vertrag.getFahrzeug(), vertrag.getStartDatum(),
+                                       vertrag.getEndDatum(), vertrag.getId())) {
                 System.err.println("Fahrzeug ist im gewählten Zeitraum nicht verfügbar.");
                 return false;
             }
+            if (hasKundeOverlap(vertrag.getKunde(), vertrag.getStartDatum(),
+                                vertrag.getEndDatum(), vertrag.getId())) {
+                System.err.println("Kunde hat bereits eine Buchung im gewählten Zeitraum.");
+                return false;
+            }
 
             LocalDate heute = LocalDate.now();
             if (!vertrag.getStartDatum().isAfter(heute)) {
@@ -322,6 +332,8 @@ public class BookingController {
             system.getFahrzeugDao().updateStatusAndKilometerstand(vertrag.getFahrzeug());
 
             system.getMietvertragDao().update(vertrag);
+            system.getBelegungsIndex().aktualisieren(vertrag);
+            system.getAuslastungsZeitreihe().aktualisieren(vertrag);
 
             System.out.println("Entwurf-Buchung fortgesetzt: " + vertrag.getMietnummer());
             return true;
@@ -349,6 +361,8 @@ public class BookingController {
             
             // Nur den Status aktualisieren (vermeidet Foreign-Key-Probleme)
             system.getMietvertragDao().updateStatus(vertrag.getId(), vertrag.getStatus().name());
+            system.getBelegungsIndex().entfernen(vertrag.getId());
+            system.getAuslastungsZeitreihe().entfernen(vertrag.getId());
 
             // Fahrzeugstatus ggf. aktualisieren
             if (vertrag.getFahrzeug() != null) {
@@ -393,6 +407,9 @@ public class BookingController {
             
             // Vertrag in DB aktualisieren
             system.getMietvertragDao().update(vertrag);
+            system.getBelegungsIndex().entfernen(vertrag.getId());
+            // Abgeschlossene Verträge zählen weiter zur Auslastung
+            system.getAuslastungsZeitreihe().aktualisieren(vertrag);
             
             System.out.println("Buchung abgeschlossen: " + vertrag.getMietnummer());
             return true;
@@ -414,14 +431,8 @@ public class BookingController {
         List<Fahrzeug> verfuegbare = new ArrayList<>();
         
         try {
-            List<Fahrzeug> alleFahrzeuge = system.getFahrzeugDao().findAll();
-            
-            for (Fahrzeug fahrzeug : alleFahrzeuge) {
-                if (isFahrzeugVerfuegbar(fahrzeug, startDatum, endDatum)) {
-                    verfuegbare.add(fahrzeug);
-                }
-            }
-            
+            // Ein einziger Anti-Join in der Datenbank statt einer Prüfung pro Fahrzeug
+            verfuegbare.addAll(system.getFahrzeugDao().findVerfuegbareImZeitraum(startDatum, endDatum));
         } catch (SQLException e) {
             System.err.println("Fehler beim Abrufen verfügbarer Fahrzeuge: " + e.getMessage());
         }
@@ -483,58 +494,15 @@ public class BookingController {
         return true;
     }
 
-    /**
-     * Prüft, ob der Kunde bereits eine überlappende Buchung hat.
-     */
-    private boolean hasKundeOverlap(Kunde kunde, LocalDate startDatum, LocalDate endDatum) {
-        try {
-            List<Mietvertrag> vertraege = system.getMietvertragDao().findByKunde(kunde.getKundennummer());
-            for (Mietvertrag v : vertraege) {
-                if (isAktiverVertrag(v) &&
-                    hasDateOverlap(startDatum, endDatum, v.getStartDatum(), v.getEndDatum())) {
-                    return true;
-                }
-            }
-        } catch (SQLException e) {
-            System.err.println("Fehler bei Kunden-Konfliktprüfung: " + e.getMessage());
-            return true; // im Fehlerfall konservativ
-        }
-        return false;
-    }
-
     /**
      * Prüft, ob für das Fahrzeug noch aktive Verträge existieren (außer dem angegebenen Vertrag).
      */
     private boolean hasAktiveVertraegeForFahrzeug(Fahrzeug fahrzeug, int excludeVertragId) {
         try {
-            List<Mietvertrag> allVertraege = system.getMietvertragDao().findAll();
-            for (Mietvertrag v : allVertraege) {
-                if (v.getId() == excludeVertragId) {
-                    continue;
-                }
-                if (v.getFahrzeug() != null && v.getFahrzeug().getId() == fahrzeug.getId() && isAktiverVertrag(v)) {
-                    return true;
-                }
-            }
+            return system.getBelegungsIndex().hatAktiveVertraege(fahrzeug.getId(), excludeVertragId);
         } catch (SQLException e) {
             System.err.println("Fehler bei Fahrzeug-Vertragsprüfung: " + e.getMessage());
             return true; // konservativ
         }
-        return false;
-    }
-
-    /**
-     * Generiert eine eindeutige Mietnummer.
-     * 
-     * @return Eindeutige Mietnummer
-     */
-    private String generateMietnummer() {
-        // Format: MV-YYYYMMDD-XXXX
-        LocalDate heute = LocalDate.now();
-        String datumPart = String.format("%04d%02d%02d", 
-            heute.getYear(), heute.getMonthValue(), heute.getDayOfMonth());
-        String randomPart = UUID.randomUUID().toString().substring(0, 4).toUpperCase();
-        
-        return "MV-" + datumPart + "-" + randomPart;
     }
 }
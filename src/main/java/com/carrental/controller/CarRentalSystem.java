@@ -11,6 +11,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.Collections;
 import java.util.stream.Collectors;
 
@@ -22,6 +24,9 @@ import java.util.stream.Collectors;
  */
 public class CarRentalSystem {
 
+    /** Systemeigenschaft für eine alternative Konfigurationsdatei (z.B. für Benchmarks). */
+    public static final String CONFIG_PROPERTY = "carrental.config";
+
     private static CarRentalSystem instance;
     private static final Object lock = new Object();
     
@@ -34,31 +39,63 @@ public class CarRentalSystem {
     
     // Automatische Statusaktualisierung
     private ContractStatusUpdater statusUpdater;
+
+    // Belegungsindex für Verfügbarkeitsprüfungen
+    private final BelegungsIndex belegungsIndex;
+
+    // Kennzahlen für die Statistikansicht
+    private final StatistikService statistikService;
+
+    // Tägliche Auslastung je Fahrzeug und Kategorie für die Flottenplanung
+    private final AuslastungsZeitreihe auslastungsZeitreihe;
+
+    // Vergabe der Mietnummern (von allen BookingControllern gemeinsam genutzt)
+    private volatile MietnummerGenerator mietnummerGenerator;
+
+    // Blockweise Vergabe der Kundennummern
+    private final KundennummerAllokator kundennummerAllokator;
     
-    // In-Memory-Listen für schnellen Zugriff (optional, je nach Implementierung)
-    private List<Kunde> kundenListe;
-    private List<Fahrzeug> fahrzeugListe;
-    private List<Mietvertrag> mietvertraege;
+    // Write-Through-Caches für schnellen Zugriff (nach ID und fachlichem Schlüssel).
+    // Mietverträge werden wegen der unbegrenzt wachsenden Historie nicht zwischengespeichert.
+    private final ExecutorService cacheExecutor;
+    private final EntitaetenCache<Integer, Kunde> kundenCache;
+    private final EntitaetenCache<String, Fahrzeug> fahrzeugCache;
 
     /**
      * Privater Konstruktor für Singleton-Pattern.
      * Initialisiert die DAOs mit der Datenbankkonfiguration.
      */
     private CarRentalSystem() throws IOException {
-        DatabaseConfig config = DatabaseConfig.load("config.properties");
+        DatabaseConfig config = DatabaseConfig.load(System.getProperty(CONFIG_PROPERTY, "config.properties"));
         
         this.kundeDao = new KundeDao(config);
         this.fahrzeugDao = new FahrzeugDao(config);
         this.mietvertragDao = new MietvertragDao(config);
         this.zusatzoptionDao = new ZusatzoptionDao(config);
         this.mitarbeiterDao = new MitarbeiterDao(config);
+        this.belegungsIndex = new BelegungsIndex(mietvertragDao);
+        this.statistikService = new StatistikService(new StatistikDao(config));
+        this.auslastungsZeitreihe = new AuslastungsZeitreihe(mietvertragDao, fahrzeugDao);
+        this.mietnummerGenerator = KnotenMietnummerGenerator.fuerInstanz(
+                mietvertragDao::naechsteKnotenkennung, mietvertragDao::findHoechsteMietnummer);
+        this.kundennummerAllokator = new KundennummerAllokator(kundeDao);
         
-        // Listen initialisieren
-        this.kundenListe = new ArrayList<>();
-        this.fahrzeugListe = new ArrayList<>();
-        this.mietvertraege = new ArrayList<>();
+        // Caches anlegen und bei den DAOs registrieren
+        this.cacheExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "CarRentalSystem-Cache");
+            t.setDaemon(true);
+            return t;
+        });
+        this.kundenCache = new EntitaetenCache<>("Kunden", Kunde::getId, Kunde::getKundennummer,
+                Kunde::new, kundeDao::findById, kundeDao::findByKundennummer, kundeDao::findAll, cacheExecutor);
+        this.fahrzeugCache = new EntitaetenCache<>("Fahrzeug", Fahrzeug::getId, Fahrzeug::getKennzeichen,
+                Fahrzeug::new, fahrzeugDao::findById, fahrzeugDao::findByKennzeichen, fahrzeugDao::findAll,
+                cacheExecutor);
+        kundeDao.addAenderungsListener(kundenCache);
+        fahrzeugDao.addAenderungsListener(fahrzeugCache);
+        fahrzeugDao.addAenderungsListener(auslastungsZeitreihe);
         
-        // Optional: Daten aus DB laden
+        // Daten im Hintergrund aus DB laden
         loadInitialData();
     }
 
@@ -85,17 +122,12 @@ public class CarRentalSystem {
     }
 
     /**
-     * Lädt initiale Daten aus der Datenbank (optional).
+     * Wärmt die Caches im Hintergrund vor. Fehler sind nicht fatal,
+     * bis zum vollständigen Laden werden Anfragen direkt aus der Datenbank beantwortet.
      */
     private void loadInitialData() {
-        try {
-            // Test-Kunden laden
-            var allCustomers = kundeDao.findAll();
-            System.out.println("✓ " + allCustomers.size() + " Kunden geladen.");
-        } catch (Exception e) {
-            System.err.println("⚠ Warnung: Initiale Daten konnten nicht geladen werden: " + e.getMessage());
-            // Nicht fatal – App läuft trotzdem
-        }
+        kundenCache.vorwaermen();
+        fahrzeugCache.vorwaermen();
     }
 
     /**
@@ -106,7 +138,7 @@ public class CarRentalSystem {
      */
     public Kunde getKundeByNr(int nr) {
         try {
-            Optional<Kunde> kunde = kundeDao.findByKundennummer(nr);
+            Optional<Kunde> kunde = kundenCache.findBySchluessel(nr);
             return kunde.orElse(null);
         } catch (SQLException e) {
             System.err.println("Fehler beim Abrufen des Kunden: " + e.getMessage());
@@ -122,7 +154,7 @@ public class CarRentalSystem {
      */
     public Fahrzeug getFahrzeugByKennzeichen(String kennzeichen) {
         try {
-            Optional<Fahrzeug> fahrzeug = fahrzeugDao.findByKennzeichen(kennzeichen);
+            Optional<Fahrzeug> fahrzeug = fahrzeugCache.findBySchluessel(kennzeichen);
             return fahrzeug.orElse(null);
         } catch (SQLException e) {
             System.err.println("Fehler beim Abrufen des Fahrzeugs: " + e.getMessage());
@@ -145,7 +177,8 @@ public class CarRentalSystem {
         try {
             Mietvertrag vertrag = new Mietvertrag(kunde, fahrzeug, startDatum, endDatum);
             vertrag = mietvertragDao.create(vertrag);
-            mietvertraege.add(vertrag);
+            belegungsIndex.aktualisieren(vertrag);
+            auslastungsZeitreihe.aktualisieren(vertrag);
             return vertrag;
         } catch (SQLException e) {
             System.err.println("Fehler beim Erstellen des Mietvertrags: " + e.getMessage());
@@ -173,7 +206,7 @@ public class CarRentalSystem {
      * @return Liste aller Kunden
      */
     public List<Kunde> getAlleKunden() {
-        return new ArrayList<>(kundenListe);
+        return alleAusCache(kundenCache, "Kunden");
     }
 
     /**
@@ -182,16 +215,39 @@ public class CarRentalSystem {
      * @return Liste aller Fahrzeuge
      */
     public List<Fahrzeug> getAlleFahrzeuge() {
-        return new ArrayList<>(fahrzeugListe);
+        return alleAusCache(fahrzeugCache, "Fahrzeuge");
     }
 
     /**
-     * Gibt alle Mietverträge zurück.
+     * Gibt alle Mietverträge zurück. Die Vertragshistorie wächst unbegrenzt und wird daher
+     * nicht zwischengespeichert, sondern bei jedem Aufruf aus der Datenbank gelesen.
      * 
      * @return Liste aller Mietverträge
      */
     public List<Mietvertrag> getAlleMietvertraege() {
-        return new ArrayList<>(mietvertraege);
+        try {
+            return mietvertragDao.findAll();
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Abrufen der Mietverträge: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private <T> List<T> alleAusCache(EntitaetenCache<?, T> cache, String bezeichnung) {
+        try {
+            return cache.findAll();
+        } catch (SQLException e) {
+            System.err.println("Fehler beim Abrufen der " + bezeichnung + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    public EntitaetenCache<Integer, Kunde> getKundenCache() {
+        return kundenCache;
+    }
+
+    public EntitaetenCache<String, Fahrzeug> getFahrzeugCache() {
+        return fahrzeugCache;
     }
 
     // Getter für DAOs (für fortgeschrittene Nutzung)
@@ -216,6 +272,60 @@ public class CarRentalSystem {
         return mitarbeiterDao;
     }
 
+    /**
+     * Gibt den Belegungsindex für Verfügbarkeitsprüfungen zurück.
+     * 
+     * @return Der Belegungsindex
+     */
+    public BelegungsIndex getBelegungsIndex() {
+        return belegungsIndex;
+    }
+
+    /**
+     * Gibt den Dienst für die Kennzahlen der Statistikansicht zurück.
+     * 
+     * @return Der Statistikdienst
+     */
+    public StatistikService getStatistikService() {
+        return statistikService;
+    }
+
+    /**
+     * Gibt die Auslastungszeitreihe für die Flottenplanung zurück.
+     * 
+     * @return Die Auslastungszeitreihe
+     */
+    public AuslastungsZeitreihe getAuslastungsZeitreihe() {
+        return auslastungsZeitreihe;
+    }
+
+    /**
+     * Gibt den Generator für neue Mietnummern zurück.
+     * 
+     * @return Der Mietnummerngenerator
+     */
+    public MietnummerGenerator getMietnummerGenerator() {
+        return mietnummerGenerator;
+    }
+
+    /**
+     * Ersetzt den Generator für neue Mietnummern (z.B. für ein anderes Nummernschema).
+     * 
+     * @param generator Der neue Mietnummerngenerator
+     */
+    public void setMietnummerGenerator(MietnummerGenerator generator) {
+        this.mietnummerGenerator = generator;
+    }
+
+    /**
+     * Gibt den Allokator für neue Kundennummern zurück.
+     * 
+     * @return Der Kundennummernallokator
+     */
+    public KundennummerAllokator getKundennummerAllokator() {
+        return kundennummerAllokator;
+    }
+
     /**
      * Gibt den ContractStatusUpdater zurück (falls initialisiert).
      * 
@@ -278,6 +388,9 @@ public class CarRentalSystem {
      * Lädt die Daten neu aus der Datenbank.
      */
     public void reloadData() {
+        belegungsIndex.invalidieren();
+        statistikService.invalidieren();
+        auslastungsZeitreihe.invalidieren();
         loadInitialData();
     }
 }
@@ -1,17 +1,18 @@
 package com.carrental.controller;
 
-import com.carrental.dao.FahrzeugDao;
 import com.carrental.dao.MietvertragDao;
-import com.carrental.model.Fahrzeug;
-import com.carrental.model.FahrzeugZustand;
-import com.carrental.model.Mietvertrag;
-import com.carrental.model.VertragsStatus;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.time.LocalDate;
-import java.util.*;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.time.ZonedDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -21,145 +22,180 @@ import java.util.logging.Logger;
  * - BESTAETIGT -> LAUFEND, wenn Startdatum erreicht
  * - LAUFEND -> ABGESCHLOSSEN, wenn Enddatum überschritten
  * - Fahrzeugstatus, wenn keine aktiven Verträge mehr existieren
+ * 
+ * Die Läufe werden über einen eigenen Hintergrund-Thread geplant und können
+ * zusätzlich auf Mitternacht ausgerichtet oder jederzeit manuell angestoßen werden.
  */
 public class ContractStatusUpdater {
     
     private static final Logger LOGGER = Logger.getLogger(ContractStatusUpdater.class.getName());
     
+    private static final long ERSTE_VERZOEGERUNG_MILLIS = 10_000L;
+    private static final long MITTERNACHT_PUFFER_MILLIS = 1_000L;
+    
     private final CarRentalSystem system;
     private final MietvertragDao mietvertragDao;
-    private final FahrzeugDao fahrzeugDao;
-    private final Timer updateTimer;
+    private final ScheduledExecutorService scheduler;
+    private final ReentrantLock laufSperre = new ReentrantLock();
+    
+    private ScheduledFuture<?> geplanterLauf;
+    private int zeitplanGeneration;
+    private volatile long intervallMillis = 60 * 60_000L;
+    private volatile boolean anMitternachtAusrichten;
+    private volatile boolean gestoppt;
     
     public ContractStatusUpdater(CarRentalSystem system) {
         this.system = system;
         this.mietvertragDao = system.getMietvertragDao();
-        this.fahrzeugDao = system.getFahrzeugDao();
-        this.updateTimer = new Timer("ContractStatusUpdater", true);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ContractStatusUpdater");
+            t.setDaemon(true);
+            return t;
+        });
     }
     
+    /**
+     * Führt alle fälligen Statusübergänge aus. Es werden nur Verträge berücksichtigt,
+     * deren Start- bzw. Enddatum einen Übergang auslöst; die Änderungen erfolgen
+     * mengenbasiert in einer Transaktion. Läuft bereits eine Aktualisierung,
+     * wird der Aufruf übersprungen.
+     * 
+     * @return Anzahl der durchgeführten Vertragsübergänge
+     */
     public int updateAllStatuses() {
-        int updatedCount = 0;
+        if (!laufSperre.tryLock()) {
+            LOGGER.info("Statusaktualisierung läuft bereits, Aufruf übersprungen");
+            return 0;
+        }
+        try {
+            return aktualisieren();
+        } finally {
+            laufSperre.unlock();
+        }
+    }
+    
+    private int aktualisieren() {
         LocalDate heute = LocalDate.now();
-        
-        LOGGER.info("Statusaktualisierung gestartet. Heutiges Datum: " + heute);
+        long startNanos = System.nanoTime();
         
         try {
-            List<Mietvertrag> allVertraege = mietvertragDao.findAll();
-            LOGGER.info("Verarbeite " + allVertraege.size() + " Verträge");
+            MietvertragDao.StatusUebergaenge ergebnis = mietvertragDao.statusUebergaengeAnwenden(heute);
             
-            for (Mietvertrag vertrag : allVertraege) {
-                boolean updated = false;
-                
-                LOGGER.info("Prüfe Vertrag " + vertrag.getMietnummer() + ": Status=" + vertrag.getStatus() + 
-                           ", Start=" + vertrag.getStartDatum() + ", End=" + vertrag.getEndDatum());
-                
-                // BESTAETIGT -> LAUFEND
-                if (vertrag.getStatus() == VertragsStatus.BESTAETIGT) {
-                    if (!vertrag.getStartDatum().isAfter(heute)) {
-                        vertrag.setStatus(VertragsStatus.LAUFEND);
-                        mietvertragDao.updateStatus(vertrag.getId(), vertrag.getStatus().name());
-                        LOGGER.info("✓ Vertrag " + vertrag.getMietnummer() + " von BESTAETIGT zu LAUFEND aktualisiert (Startdatum erreicht)");
-                        updated = true;
-                    } else {
-                        LOGGER.info("- Vertrag " + vertrag.getMietnummer() + " bleibt BESTAETIGT (Startdatum noch nicht erreicht)");
-                    }
-                }
-                
-                // LAUFEND -> ABGESCHLOSSEN
-                if (vertrag.getStatus() == VertragsStatus.LAUFEND) {
-                    if (vertrag.getEndDatum().isBefore(heute)) {
-                        vertrag.setStatus(VertragsStatus.ABGESCHLOSSEN);
-                        mietvertragDao.updateStatus(vertrag.getId(), vertrag.getStatus().name());
-                        
-                        Fahrzeug fahrzeug = vertrag.getFahrzeug();
-                        if (fahrzeug != null && !hasAktiveVertraegeForFahrzeug(fahrzeug, vertrag.getId())) {
-                            fahrzeug.setZustand(FahrzeugZustand.VERFUEGBAR);
-                            fahrzeugDao.updateStatusAndKilometerstand(fahrzeug);
-                            LOGGER.info("✓ Fahrzeug " + fahrzeug.getKennzeichen() + " zu VERFUEGBAR aktualisiert");
-                        } else if (fahrzeug != null) {
-                            LOGGER.info("- Fahrzeug " + fahrzeug.getKennzeichen() + " bleibt VERMIETET (hat noch andere aktive Verträge)");
-                        }
-                        
-                        LOGGER.info("✓ Vertrag " + vertrag.getMietnummer() + " von LAUFEND zu ABGESCHLOSSEN aktualisiert (Enddatum überschritten)");
-                        updated = true;
-                    } else {
-                        LOGGER.info("- Vertrag " + vertrag.getMietnummer() + " bleibt LAUFEND noch aktiv");
-                    }
-                }
-                
-                if (updated) {
-                    updatedCount++;
-                }
+            BelegungsIndex belegungsIndex = system.getBelegungsIndex();
+            for (int vertragId : ergebnis.abgeschlosseneIds()) {
+                belegungsIndex.entfernen(vertragId);
             }
+            // Fahrzeugstatus wurde per SQL geändert, nicht über das FahrzeugDao
+            ergebnis.freigegebeneFahrzeugIds().forEach(system.getFahrzeugCache()::geaendert);
             
-            LOGGER.info("Statusaktualisierung abgeschlossen: " + updatedCount + " Verträge aktualisiert");
+            long dauerMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            LOGGER.info("Statusaktualisierung (" + heute + ") abgeschlossen in " + dauerMillis + " ms: "
+                    + ergebnis.gestartet() + " gestartet, "
+                    + ergebnis.abgeschlossen() + " abgeschlossen, "
+                    + ergebnis.fahrzeugeFreigegeben() + " Fahrzeuge freigegeben");
             
+            return ergebnis.gestartet() + ergebnis.abgeschlossen();
         } catch (SQLException e) {
             LOGGER.severe("Fehler bei Statusaktualisierung: " + e.getMessage());
             e.printStackTrace();
+            return 0;
         }
-        
-        return updatedCount;
     }
     
     /**
-     * Prüft, ob ein Fahrzeug noch aktive Verträge hat (außer dem angegebenen Vertrag).
+     * Stößt eine sofortige Statusaktualisierung im Hintergrund an.
+     * Manuelle und geplante Läufe werden nacheinander auf dem Updater-Thread ausgeführt.
+     * 
+     * @return Future mit der Anzahl der durchgeführten Vertragsübergänge
      */
-    private boolean hasAktiveVertraegeForFahrzeug(Fahrzeug fahrzeug, int excludeVertragId) {
-        try {
-            List<Mietvertrag> allVertraege = mietvertragDao.findAll();
-            for (Mietvertrag v : allVertraege) {
-                if (v.getId() == excludeVertragId) {
-                    continue;
-                }
-                if (v.getFahrzeug() != null && v.getFahrzeug().getId() == fahrzeug.getId() 
-                    && isAktiverVertrag(v, LocalDate.now())) {
-                    return true;
-                }
-            }
-        } catch (SQLException e) {
-            LOGGER.warning("Fehler bei Fahrzeug-Vertragsprüfung: " + e.getMessage());
-            return true;
-        }
-        return false;
+    public Future<Integer> jetztAktualisieren() {
+        return scheduler.submit(this::updateAllStatuses);
     }
     
     /**
-     * Prüft, ob ein Vertrag zu einem bestimmten Datum aktiv ist.
+     * Startet die regelmäßige Aktualisierung in einem festen Abstand.
+     * 
+     * @param checkIntervalMinutes Abstand zwischen zwei Läufen in Minuten
      */
-    private boolean isAktiverVertrag(Mietvertrag vertrag, LocalDate datum) {
-        VertragsStatus status = vertrag.getStatus();
-        if (status == VertragsStatus.STORNIERT || status == VertragsStatus.ABGESCHLOSSEN) {
-            return false;
-        }
-        
-        return !datum.isBefore(vertrag.getStartDatum()) && !datum.isAfter(vertrag.getEndDatum());
+    public void startUpdater(int checkIntervalMinutes) {
+        startUpdater(checkIntervalMinutes, false);
     }
     
-    public void startUpdater(int checkIntervalMinutes) {
-        LOGGER.info("ContractStatusUpdater wird gestartet. Intervall: " + checkIntervalMinutes + " Minuten");
-        LOGGER.info("Erster Check in 10 Sekunden, danach alle " + checkIntervalMinutes + " Minuten");
-        
-        updateTimer.schedule(new TimerTask() {
-            @Override
-            public void run() {
-                LOGGER.info("=== Automatische Statusaktualisierung gestartet ===");
-                updateAllStatuses();
-            }
-        }, 10000L, (long) checkIntervalMinutes * 60 * 1000);
+    /**
+     * Startet die regelmäßige Aktualisierung.
+     * Der nächste Lauf wird jeweils erst nach Ende des vorherigen geplant, sodass sich
+     * langsame Läufe nicht aufstauen. Fehler in einem Lauf beenden den Zeitplan nicht.
+     * 
+     * @param checkIntervalMinutes Maximaler Abstand zwischen zwei Läufen in Minuten
+     * @param anMitternachtAusrichten true, um zusätzlich direkt nach Mitternacht zu prüfen
+     */
+    public synchronized void startUpdater(int checkIntervalMinutes, boolean anMitternachtAusrichten) {
+        if (checkIntervalMinutes <= 0) {
+            throw new IllegalArgumentException("Intervall muss positiv sein: " + checkIntervalMinutes);
+        }
+        this.intervallMillis = checkIntervalMinutes * 60_000L;
+        this.anMitternachtAusrichten = anMitternachtAusrichten;
+        this.gestoppt = false;
+        if (geplanterLauf != null) {
+            geplanterLauf.cancel(false);
+        }
+        int generation = ++zeitplanGeneration;
         
-        LOGGER.info("✓ ContractStatusUpdater erfolgreich gestartet");
+        LOGGER.info("ContractStatusUpdater wird gestartet. Intervall: " + checkIntervalMinutes + " Minuten"
+                + (anMitternachtAusrichten ? ", ausgerichtet auf Mitternacht" : ""));
+        planeNaechstenLauf(generation, ERSTE_VERZOEGERUNG_MILLIS);
     }
     
     public void startUpdater() {
         startUpdater(60);
     }
     
-    public void stopUpdater() {
+    /**
+     * Stoppt die Aktualisierung endgültig und beendet den Updater-Thread.
+     */
+    public synchronized void stopUpdater() {
         LOGGER.info("ContractStatusUpdater wird gestoppt");
-        updateTimer.cancel();
-        updateTimer.purge();
+        gestoppt = true;
+        zeitplanGeneration++;
+        if (geplanterLauf != null) {
+            geplanterLauf.cancel(false);
+        }
+        scheduler.shutdownNow();
         LOGGER.info("✓ ContractStatusUpdater gestoppt");
     }
+    
+    /**
+     * Plant den nächsten Lauf, sofern der Zeitplan seit dem Start nicht ersetzt oder gestoppt wurde.
+     */
+    private synchronized void planeNaechstenLauf(int generation, long verzoegerungMillis) {
+        if (gestoppt || generation != zeitplanGeneration) {
+            return;
+        }
+        geplanterLauf = scheduler.schedule(() -> geplanterLauf(generation),
+                verzoegerungMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    private void geplanterLauf(int generation) {
+        try {
+            updateAllStatuses();
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Unerwarteter Fehler bei der automatischen Statusaktualisierung", e);
+        } finally {
+            planeNaechstenLauf(generation, naechsteVerzoegerung());
+        }
+    }
+    
+    /**
+     * Berechnet die Wartezeit bis zum nächsten Lauf: das Intervall oder,
+     * falls früher und gewünscht, kurz nach der nächsten Mitternacht.
+     */
+    private long naechsteVerzoegerung() {
+        if (!anMitternachtAusrichten) {
+            return intervallMillis;
+        }
+        ZonedDateTime jetzt = ZonedDateTime.now();
+        ZonedDateTime mitternacht = jetzt.toLocalDate().plusDays(1).atStartOfDay(jetzt.getZone());
+        long bisMitternacht = Duration.between(jetzt, mitternacht).toMillis() + MITTERNACHT_PUFFER_MILLIS;
+        return Math.min(intervallMillis, bisMitternacht);
+    }
 }
@@ -0,0 +1,353 @@
+package com.carrental.controller;
+
+import com.carrental.dao.AenderungsListener;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-Through-Cache für Entitäten, indiziert nach ID und fachlichem Schlüssel
+ * (z.B. Kundennummer, Kennzeichen oder Mietnummer).
+ *
+ * Der Cache wird als {@link AenderungsListener} beim DAO registriert und nach jeder
+ * schreibenden Operation aktualisiert. Leser greifen ohne Sperren auf
+ * {@link ConcurrentHashMap}s zu; fehlt ein Eintrag, wird er aus der Datenbank
+ * nachgeladen (Read-Through).
+ *
+ * Damit ein Ladevorgang keine neueren Änderungen überschreibt, erhält jede Änderung
+ * eine fortlaufende Nummer. Geladene Daten werden nur übernommen, wenn die Entität
+ * seit Beginn des Ladevorgangs nicht geändert wurde.
+ *
+ * Der Cache speichert und liefert nur Kopien. Aufrufer können Entitäten daher frei
+ * bearbeiten; andere Threads sehen Änderungen erst, nachdem sie gespeichert wurden.
+ *
+ * @param <K> Typ des fachlichen Schlüssels
+ * @param <T> Typ der Entität
+ */
+public class EntitaetenCache<K, T> implements AenderungsListener<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(EntitaetenCache.class.getName());
+
+    /**
+     * Lädt eine einzelne Entität aus der Datenbank.
+     */
+    @FunctionalInterface
+    public interface EinzelAbfrage<A, T> {
+        Optional<T> laden(A argument) throws SQLException;
+    }
+
+    /**
+     * Lädt alle Entitäten aus der Datenbank.
+     */
+    @FunctionalInterface
+    public interface ListenAbfrage<T> {
+        List<T> laden() throws SQLException;
+    }
+
+    private final String name;
+    private final ToIntFunction<T> idFunktion;
+    private final Function<T, K> schluesselFunktion;
+    private final UnaryOperator<T> kopie;
+    private final EinzelAbfrage<Integer, T> nachIdLaden;
+    private final EinzelAbfrage<K, T> nachSchluesselLaden;
+    private final ListenAbfrage<T> alleLaden;
+    private final Executor hintergrund;
+
+    private final Map<Integer, T> nachId = new ConcurrentHashMap<>();
+    private final Map<K, T> nachSchluessel = new ConcurrentHashMap<>();
+    private final Map<Integer, K> schluesselProId = new ConcurrentHashMap<>();
+
+    /** Fortlaufende Nummer der letzten Änderung (auch Massenänderungen). */
+    private final AtomicLong aenderungsStand = new AtomicLong();
+    /** Änderungsnummer der letzten Änderung je ID. */
+    private final Map<Integer, Long> geaendertBei = new ConcurrentHashMap<>();
+    /** Per {@link #geaendert(int)} gemeldete IDs, deren Nachladen noch aussteht, mit Änderungsnummer. */
+    private final Map<Integer, Long> nachzuladen = new ConcurrentHashMap<>();
+    private volatile long letzteMassenaenderung;
+
+    private volatile boolean vollstaendig;
+    private final AtomicBoolean ladenGeplant = new AtomicBoolean(false);
+
+    /**
+     * @param name Bezeichnung für Protokollausgaben
+     * @param idFunktion Liefert die ID einer Entität
+     * @param schluesselFunktion Liefert den fachlichen Schlüssel einer Entität
+     * @param kopie Erzeugt eine unabhängige Kopie einer Entität
+     * @param nachIdLaden Lädt eine Entität anhand der ID
+     * @param nachSchluesselLaden Lädt eine Entität anhand des fachlichen Schlüssels
+     * @param alleLaden Lädt alle Entitäten
+     * @param hintergrund Executor für das Vorwärmen und Neuladen
+     */
+    public EntitaetenCache(String name, ToIntFunction<T> idFunktion, Function<T, K> schluesselFunktion,
+                           UnaryOperator<T> kopie, EinzelAbfrage<Integer, T> nachIdLaden, EinzelAbfrage<K, T> nachSchluesselLaden,
+                           ListenAbfrage<T> alleLaden, Executor hintergrund) {
+        this.name = name;
+        this.idFunktion = idFunktion;
+        this.schluesselFunktion = schluesselFunktion;
+        this.kopie = kopie;
+        this.nachIdLaden = nachIdLaden;
+        this.nachSchluesselLaden = nachSchluesselLaden;
+        this.alleLaden = alleLaden;
+        this.hintergrund = hintergrund;
+    }
+
+    // ========== Lesen ==========
+
+    /**
+     * Sucht eine Entität anhand der ID.
+     *
+     * @param id Die ID
+     * @return Optional mit einer Kopie der Entität, falls vorhanden
+     * @throws SQLException Bei Datenbankfehlern beim Nachladen
+     */
+    public Optional<T> findById(int id) throws SQLException {
+        T wert = nachId.get(id);
+        if (wert != null && !nachzuladen.containsKey(id)) {
+            return Optional.of(kopie.apply(wert));
+        }
+        long stand = aenderungsStand.get();
+        Optional<T> geladen = nachIdLaden.laden(id);
+        geladen.ifPresent(t -> uebernehmen(t, stand));
+        return geladen;
+    }
+
+    /**
+     * Sucht eine Entität anhand des fachlichen Schlüssels.
+     *
+     * @param schluessel Der fachliche Schlüssel
+     * @return Optional mit einer Kopie der Entität, falls vorhanden
+     * @throws SQLException Bei Datenbankfehlern beim Nachladen
+     */
+    public Optional<T> findBySchluessel(K schluessel) throws SQLException {
+        T wert = nachSchluessel.get(schluessel);
+        if (wert != null && !nachzuladen.containsKey(idFunktion.applyAsInt(wert))) {
+            return Optional.of(kopie.apply(wert));
+        }
+        long stand = aenderungsStand.get();
+        Optional<T> geladen = nachSchluesselLaden.laden(schluessel);
+        geladen.ifPresent(t -> uebernehmen(t, stand));
+        return geladen;
+    }
+
+    /**
+     * Gibt alle Entitäten zurück. Ist der Cache (noch) nicht vollständig geladen,
+     * wird er synchron aus der Datenbank befüllt. Einzeln geänderte Entitäten, deren
+     * Nachladen im Hintergrund noch aussteht, werden direkt aus der Datenbank gelesen.
+     *
+     * @return Neue Liste mit Kopien aller Entitäten
+     * @throws SQLException Bei Datenbankfehlern beim Nachladen
+     */
+    public List<T> findAll() throws SQLException {
+        if (!vollstaendig) {
+            return neuLaden();
+        }
+        Map<Integer, T> alle = new LinkedHashMap<>();
+        nachId.forEach((id, t) -> alle.put(id, kopie.apply(t)));
+        for (Integer id : nachzuladen.keySet()) {
+            long stand = aenderungsStand.get();
+            Optional<T> geladen = nachIdLaden.laden(id);
+            if (geladen.isPresent()) {
+                uebernehmen(geladen.get(), stand);
+                alle.put(id, geladen.get());
+            } else {
+                alle.remove(id);
+            }
+        }
+        return new ArrayList<>(alle.values());
+    }
+
+    /**
+     * @return true, wenn alle Entitäten geladen sind
+     */
+    public boolean isVollstaendig() {
+        return vollstaendig;
+    }
+
+    /**
+     * @return Anzahl der zwischengespeicherten Entitäten
+     */
+    public int size() {
+        return nachId.size();
+    }
+
+    // ========== Laden ==========
+
+    /**
+     * Lädt alle Entitäten im Hintergrund. Mehrfache Anforderungen werden zusammengefasst.
+     */
+    public void vorwaermen() {
+        if (!ladenGeplant.compareAndSet(false, true)) {
+            return;
+        }
+        hintergrund.execute(() -> {
+            ladenGeplant.set(false);
+            try {
+                long start = System.nanoTime();
+                int anzahl = neuLaden().size();
+                LOGGER.info(name + "-Cache geladen: " + anzahl + " Einträge in "
+                        + (System.nanoTime() - start) / 1_000_000 + " ms");
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, name + "-Cache konnte nicht geladen werden", e);
+            }
+        });
+    }
+
+    /**
+     * Lädt alle Entitäten synchron aus der Datenbank und gleicht den Cache ab.
+     *
+     * @return Die geladenen Entitäten
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<T> neuLaden() throws SQLException {
+        long stand = aenderungsStand.get();
+        List<T> geladen = alleLaden.laden();
+
+        Set<Integer> ids = new HashSet<>();
+        for (T t : geladen) {
+            ids.add(idFunktion.applyAsInt(t));
+            uebernehmen(t, stand);
+        }
+        // In der Datenbank nicht mehr vorhandene Einträge entfernen
+        for (Integer id : nachId.keySet()) {
+            if (!ids.contains(id)) {
+                nachId.computeIfPresent(id, (k, alt) -> {
+                    if (geaendertBei.getOrDefault(k, 0L) > stand) {
+                        return alt;
+                    }
+                    schluesselAktualisieren(k, null);
+                    return null;
+                });
+            }
+        }
+
+        vollstaendig = letzteMassenaenderung <= stand;
+        return geladen;
+    }
+
+    /**
+     * Übernimmt eine geladene Entität, sofern sie seit {@code stand} nicht geändert wurde.
+     */
+    private void uebernehmen(T neu, long stand) {
+        if (stand < letzteMassenaenderung) {
+            return;
+        }
+        int id = idFunktion.applyAsInt(neu);
+        nachId.compute(id, (k, alt) -> {
+            if (geaendertBei.getOrDefault(k, 0L) > stand) {
+                return alt;
+            }
+            T eintrag = kopie.apply(neu);
+            schluesselAktualisieren(k, eintrag);
+            return eintrag;
+        });
+    }
+
+    /**
+     * Entfernt einen Eintrag, sofern er seit {@code stand} nicht geändert wurde.
+     */
+    private void entfernen(int id, long stand) {
+        nachId.computeIfPresent(id, (k, alt) -> {
+            if (geaendertBei.getOrDefault(k, 0L) > stand) {
+                return alt;
+            }
+            schluesselAktualisieren(k, null);
+            return null;
+        });
+    }
+
+    /**
+     * Pflegt die Schlüsselzuordnung einer ID. Wird nur innerhalb von
+     * {@code nachId.compute(id, ...)} aufgerufen und ist damit je ID serialisiert.
+     */
+    private void schluesselAktualisieren(int id, T neu) {
+        K neuerSchluessel = neu != null ? schluesselFunktion.apply(neu) : null;
+        K alterSchluessel = neuerSchluessel != null
+                ? schluesselProId.put(id, neuerSchluessel)
+                : schluesselProId.remove(id);
+        if (alterSchluessel != null && !alterSchluessel.equals(neuerSchluessel)) {
+            nachSchluessel.computeIfPresent(alterSchluessel,
+                    (s, t) -> idFunktion.applyAsInt(t) == id ? null : t);
+        }
+        if (neuerSchluessel != null) {
+            nachSchluessel.put(neuerSchluessel, neu);
+        }
+    }
+
+    // ========== AenderungsListener ==========
+
+    @Override
+    public void gespeichert(T entitaet) {
+        int id = idFunktion.applyAsInt(entitaet);
+        long stand = aenderungsStand.incrementAndGet();
+        T eintrag = kopie.apply(entitaet);
+        nachId.compute(id, (k, alt) -> {
+            geaendertBei.put(k, stand);
+            schluesselAktualisieren(k, eintrag);
+            return eintrag;
+        });
+    }
+
+    @Override
+    public void geaendert(int id) {
+        long stand = aenderungsStand.incrementAndGet();
+        // Der alte Eintrag bleibt bis zum Nachladen erhalten, damit findAll() vollständig bleibt;
+        // Leser dieser ID werden solange per Read-Through aus der Datenbank bedient.
+        nachzuladen.put(id, stand);
+        nachId.compute(id, (k, alt) -> {
+            geaendertBei.put(k, stand);
+            return alt;
+        });
+        hintergrund.execute(() -> {
+            try {
+                Optional<T> geladen = nachIdLaden.laden(id);
+                if (geladen.isPresent()) {
+                    uebernehmen(geladen.get(), stand);
+                } else {
+                    entfernen(id, stand);
+                }
+            } catch (SQLException | RuntimeException e) {
+                entfernen(id, stand);
+                vollstaendig = false;
+                LOGGER.log(Level.FINE, name + "-Eintrag " + id + " konnte nicht nachgeladen werden", e);
+            } finally {
+                nachzuladen.remove(id, stand);
+            }
+        });
+    }
+
+    @Override
+    public void geloescht(int id) {
+        long stand = aenderungsStand.incrementAndGet();
+        nachId.compute(id, (k, alt) -> {
+            geaendertBei.put(k, stand);
+            schluesselAktualisieren(k, null);
+            return null;
+        });
+    }
+
+    @Override
+    public void alleGeaendert() {
+        letzteMassenaenderung = aenderungsStand.incrementAndGet();
+        vollstaendig = false;
+        // Bestehende Einträge können veraltet sein; bis zum Neuladen per Read-Through bedienen
+        nachId.clear();
+        nachSchluessel.clear();
+        schluesselProId.clear();
+        vorwaermen();
+    }
+}
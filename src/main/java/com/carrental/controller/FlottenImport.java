@@ -0,0 +1,529 @@
+package com.carrental.controller;
+
+import com.carrental.dao.FahrzeugDao;
+import com.carrental.model.Antriebsart;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.model.Fahrzeugtyp;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Massenimport von Fahrzeugtypen und Fahrzeugen aus CSV-Dateien.
+ *
+ * Die Datei wird blockweise gelesen, sodass auch große Dateien nicht vollständig im
+ * Speicher liegen. Die Zeilen eines Blocks werden parallel geprüft und anschließend per
+ * JDBC-Batch in einer Transaktion je Block gespeichert. Fehlerhafte Zeilen werden
+ * übersprungen und mit Zeilennummer und Grund im {@link Ergebnis} gemeldet.
+ *
+ * Die erste Zeile muss die Spaltennamen enthalten (Groß-/Kleinschreibung egal);
+ * als Trennzeichen werden Semikolon und Komma erkannt.
+ * <ul>
+ *   <li>Fahrzeugtypen: Hersteller, Modell, Tagespreis; optional Kategorie, Sitzplaetze,
+ *       Antriebsart, ReichweiteKm, Beschreibung</li>
+ *   <li>Fahrzeuge: Kennzeichen, Hersteller, Modell; optional Zustand, Kilometerstand, TuevDatum</li>
+ * </ul>
+ * Fahrzeuge werden dem Fahrzeugtyp über Hersteller und Modell zugeordnet.
+ */
+public class FlottenImport {
+
+    private static final Logger LOGGER = Logger.getLogger(FlottenImport.class.getName());
+
+    /** Anzahl Zeilen, die gemeinsam geprüft und in einer Transaktion gespeichert werden. */
+    public static final int STANDARD_BLOCK_GROESSE = 500;
+
+    private static final DateTimeFormatter DEUTSCHES_DATUM = DateTimeFormatter.ofPattern("d.M.yyyy");
+
+    /**
+     * Wird nach jedem gespeicherten Block aufgerufen.
+     */
+    @FunctionalInterface
+    public interface Fortschritt {
+        void gemeldet(Stand stand);
+    }
+
+    /**
+     * Zwischenstand eines laufenden Imports.
+     *
+     * @param gelesen Bisher gelesene Datenzeilen
+     * @param importiert Bisher gespeicherte Datensätze
+     * @param abgelehnt Bisher abgelehnte Zeilen
+     * @param dauerMillis Bisherige Laufzeit
+     */
+    public record Stand(int gelesen, int importiert, int abgelehnt, long dauerMillis) {
+
+        /**
+         * @return Verarbeitete Zeilen pro Sekunde
+         */
+        public double zeilenProSekunde() {
+            return dauerMillis > 0 ? gelesen * 1000.0 / dauerMillis : 0.0;
+        }
+    }
+
+    /**
+     * Eine nicht importierte Zeile.
+     *
+     * @param zeile Zeilennummer in der Datei (Kopfzeile = 1)
+     * @param inhalt Ursprünglicher Zeileninhalt
+     * @param grund Grund der Ablehnung
+     */
+    public record AbgelehnteZeile(int zeile, String inhalt, String grund) {
+    }
+
+    /**
+     * Ergebnis eines abgeschlossenen Imports.
+     *
+     * @param gelesen Gelesene Datenzeilen
+     * @param importiert Gespeicherte Datensätze
+     * @param abgelehnt Abgelehnte Zeilen
+     * @param dauerMillis Gesamtlaufzeit
+     */
+    public record Ergebnis(int gelesen, int importiert, List<AbgelehnteZeile> abgelehnt, long dauerMillis) {
+
+        /**
+         * @return Verarbeitete Zeilen pro Sekunde
+         */
+        public double zeilenProSekunde() {
+            return dauerMillis > 0 ? gelesen * 1000.0 / dauerMillis : 0.0;
+        }
+    }
+
+    private final CarRentalSystem system;
+    private final int blockGroesse;
+
+    /**
+     * Konstruktor für FlottenImport mit der Standard-Blockgröße.
+     *
+     * @param system Die CarRentalSystem-Instanz
+     */
+    public FlottenImport(CarRentalSystem system) {
+        this(system, STANDARD_BLOCK_GROESSE);
+    }
+
+    /**
+     * @param system Die CarRentalSystem-Instanz
+     * @param blockGroesse Zeilen pro Block und Transaktion
+     */
+    public FlottenImport(CarRentalSystem system, int blockGroesse) {
+        if (blockGroesse < 1) {
+            throw new IllegalArgumentException("Blockgröße muss positiv sein.");
+        }
+        this.system = system;
+        this.blockGroesse = blockGroesse;
+    }
+
+    /**
+     * Importiert Fahrzeugtypen. Typen, deren Hersteller und Modell bereits existieren,
+     * werden abgelehnt.
+     *
+     * @param quelle CSV-Daten
+     * @param fortschritt Empfänger für Zwischenstände (optional)
+     * @return Ergebnis des Imports
+     * @throws IOException Bei Lesefehlern oder fehlenden Pflichtspalten
+     * @throws SQLException Wenn die vorhandenen Fahrzeugtypen nicht geladen werden können
+     */
+    public Ergebnis fahrzeugtypenImportieren(Reader quelle, Fortschritt fortschritt)
+            throws IOException, SQLException {
+        FahrzeugDao dao = system.getFahrzeugDao();
+        Set<String> vorhanden = new HashSet<>(typenNachSchluessel(dao.findAllFahrzeugtypen()).keySet());
+
+        return importieren("Fahrzeugtypen", quelle, fortschritt, spalten -> {
+            int hersteller = spalten.pflicht("Hersteller");
+            int modell = spalten.pflicht("Modell", "ModellBezeichnung");
+            int preis = spalten.pflicht("Tagespreis", "StandardTagesPreis");
+            int kategorie = spalten.optional("Kategorie");
+            int sitzplaetze = spalten.optional("Sitzplaetze");
+            int antriebsart = spalten.optional("Antriebsart");
+            int reichweite = spalten.optional("ReichweiteKm", "Reichweite");
+            int beschreibung = spalten.optional("Beschreibung");
+
+            return zeile -> {
+                Fahrzeugtyp typ = new Fahrzeugtyp();
+                typ.setHersteller(text(zeile, hersteller, "Hersteller", 50, true));
+                typ.setModellBezeichnung(text(zeile, modell, "Modell", 50, true));
+                typ.setStandardTagesPreis(betrag(zeile, preis, "Tagespreis"));
+                typ.setKategorie(text(zeile, kategorie, "Kategorie", 50, false));
+                typ.setSitzplaetze(ganzzahl(zeile, sitzplaetze, "Sitzplaetze"));
+                typ.setReichweiteKm(ganzzahl(zeile, reichweite, "ReichweiteKm"));
+                typ.setBeschreibung(text(zeile, beschreibung, "Beschreibung", 255, false));
+                String antrieb = zeile.feld(antriebsart);
+                if (!antrieb.isEmpty()) {
+                    typ.setAntriebsart(aufzaehlung(Antriebsart.class, antrieb, "Antriebsart"));
+                }
+                return typ;
+            };
+        }, typ -> typSchluessel(typ.getHersteller(), typ.getModellBezeichnung()), vorhanden,
+           "Fahrzeugtyp existiert bereits", dao::createAllFahrzeugtypen);
+    }
+
+    /**
+     * Importiert Fahrzeuge. Der Fahrzeugtyp muss bereits existieren; Kennzeichen, die
+     * bereits vergeben sind oder in der Datei mehrfach vorkommen, werden abgelehnt.
+     *
+     * @param quelle CSV-Daten
+     * @param fortschritt Empfänger für Zwischenstände (optional)
+     * @return Ergebnis des Imports
+     * @throws IOException Bei Lesefehlern oder fehlenden Pflichtspalten
+     * @throws SQLException Wenn Fahrzeugtypen oder Kennzeichen nicht geladen werden können
+     */
+    public Ergebnis fahrzeugeImportieren(Reader quelle, Fortschritt fortschritt)
+            throws IOException, SQLException {
+        FahrzeugDao dao = system.getFahrzeugDao();
+        Map<String, Fahrzeugtyp> typen = typenNachSchluessel(dao.findAllFahrzeugtypen());
+        Set<String> vorhanden = dao.findAllKennzeichen();
+
+        return importieren("Fahrzeuge", quelle, fortschritt, spalten -> {
+            int kennzeichen = spalten.pflicht("Kennzeichen");
+            int hersteller = spalten.pflicht("Hersteller");
+            int modell = spalten.pflicht("Modell", "ModellBezeichnung");
+            int zustand = spalten.optional("Zustand");
+            int kilometerstand = spalten.optional("Kilometerstand", "AktuellerKilometerstand");
+            int tuevDatum = spalten.optional("TuevDatum", "TUEV");
+
+            return zeile -> {
+                String herstellerText = text(zeile, hersteller, "Hersteller", 50, true);
+                String modellText = text(zeile, modell, "Modell", 50, true);
+                Fahrzeugtyp typ = typen.get(typSchluessel(herstellerText, modellText));
+                if (typ == null) {
+                    throw new IllegalArgumentException("Unbekannter Fahrzeugtyp: " + herstellerText + " " + modellText);
+                }
+
+                Fahrzeug fahrzeug = new Fahrzeug(text(zeile, kennzeichen, "Kennzeichen", 15, true), typ);
+                String zustandText = zeile.feld(zustand);
+                if (!zustandText.isEmpty()) {
+                    FahrzeugZustand z = aufzaehlung(FahrzeugZustand.class, zustandText, "Zustand");
+                    if (z == FahrzeugZustand.VERMIETET) {
+                        throw new IllegalArgumentException("Zustand VERMIETET ist beim Import nicht zulässig");
+                    }
+                    fahrzeug.setZustand(z);
+                }
+                fahrzeug.setAktuellerKilometerstand(ganzzahl(zeile, kilometerstand, "Kilometerstand"));
+                fahrzeug.setTuevDatum(datum(zeile, tuevDatum, "TuevDatum"));
+                return fahrzeug;
+            };
+        }, Fahrzeug::getKennzeichen, vorhanden, "Kennzeichen bereits vergeben", dao::createAll);
+    }
+
+    // ========== Ablauf ==========
+
+    /**
+     * Prüft eine Datenzeile und erzeugt die Entität.
+     * Ungültige Werte werden mit einer {@link IllegalArgumentException} gemeldet.
+     */
+    @FunctionalInterface
+    private interface Pruefer<T> {
+        T pruefen(Zeile zeile);
+    }
+
+    /**
+     * Speichert einen Block geprüfter Entitäten.
+     */
+    @FunctionalInterface
+    private interface Speicher<T> {
+        List<T> speichern(List<T> block) throws SQLException;
+    }
+
+    private <T> Ergebnis importieren(String art, Reader quelle, Fortschritt fortschritt,
+                                     Function<Spalten, Pruefer<T>> prueferFabrik,
+                                     Function<T, String> schluessel, Set<String> vergeben, String doppeltGrund,
+                                     Speicher<T> speicher) throws IOException {
+        long start = System.nanoTime();
+        BufferedReader reader = quelle instanceof BufferedReader b ? b : new BufferedReader(quelle);
+
+        String kopf = reader.readLine();
+        if (kopf == null) {
+            throw new IOException("Die CSV-Datei ist leer.");
+        }
+        if (kopf.startsWith("\uFEFF")) {
+            kopf = kopf.substring(1);
+        }
+        char trenner = kopf.indexOf(';') >= 0 ? ';' : ',';
+        Pruefer<T> pruefer;
+        try {
+            pruefer = prueferFabrik.apply(new Spalten(felderTeilen(kopf, trenner)));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        int gelesen = 0;
+        int importiert = 0;
+        int zeilenNummer = 1;
+        List<AbgelehnteZeile> abgelehnt = new ArrayList<>();
+        List<Zeile> block = new ArrayList<>(blockGroesse);
+
+        boolean ende = false;
+        while (!ende) {
+            String text = reader.readLine();
+            ende = text == null;
+            if (!ende) {
+                zeilenNummer++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                gelesen++;
+                block.add(new Zeile(zeilenNummer, text, trenner));
+            }
+            // Block speichern, sobald er voll ist oder die Datei zu Ende ist
+            if (block.size() == blockGroesse || (ende && !block.isEmpty())) {
+                importiert += blockVerarbeiten(block, pruefer, schluessel, vergeben, doppeltGrund, speicher, abgelehnt);
+                block.clear();
+                if (fortschritt != null) {
+                    fortschritt.gemeldet(new Stand(gelesen, importiert, abgelehnt.size(), millisSeit(start)));
+                }
+            }
+        }
+
+        Ergebnis ergebnis = new Ergebnis(gelesen, importiert, Collections.unmodifiableList(abgelehnt),
+                millisSeit(start));
+        LOGGER.info(String.format(Locale.ROOT, "Import %s: %d Zeilen gelesen, %d importiert, %d abgelehnt in %d ms (%.0f Zeilen/s)",
+                art, ergebnis.gelesen(), ergebnis.importiert(), abgelehnt.size(), ergebnis.dauerMillis(),
+                ergebnis.zeilenProSekunde()));
+        return ergebnis;
+    }
+
+    /**
+     * Prüft einen Block parallel, verwirft Duplikate (in Dateireihenfolge) und speichert den Rest
+     * in einer Transaktion. Schlägt das Speichern fehl, gilt der ganze Block als abgelehnt.
+     *
+     * @return Anzahl gespeicherter Datensätze
+     */
+    private <T> int blockVerarbeiten(List<Zeile> block, Pruefer<T> pruefer, Function<T, String> schluessel,
+                                     Set<String> vergeben, String doppeltGrund, Speicher<T> speicher,
+                                     List<AbgelehnteZeile> abgelehnt) {
+        List<Geprueft<T>> geprueft = block.parallelStream()
+                .map(zeile -> pruefen(zeile, pruefer))
+                .toList();
+
+        List<T> gueltig = new ArrayList<>(geprueft.size());
+        List<Zeile> gueltigeZeilen = new ArrayList<>(geprueft.size());
+        Set<String> neueSchluessel = new HashSet<>();
+        for (Geprueft<T> g : geprueft) {
+            if (g.fehler() != null) {
+                abgelehnt.add(g.zeile().ablehnen(g.fehler()));
+            } else if (!neueSchluessel.add(schluessel.apply(g.wert()))
+                    || vergeben.contains(schluessel.apply(g.wert()))) {
+                abgelehnt.add(g.zeile().ablehnen(doppeltGrund));
+            } else {
+                gueltig.add(g.wert());
+                gueltigeZeilen.add(g.zeile());
+            }
+        }
+        if (gueltig.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            speicher.speichern(gueltig);
+            vergeben.addAll(neueSchluessel);
+            return gueltig.size();
+        } catch (SQLException e) {
+            for (Zeile zeile : gueltigeZeilen) {
+                abgelehnt.add(zeile.ablehnen("Datenbankfehler: " + e.getMessage()));
+            }
+            return 0;
+        }
+    }
+
+    private static <T> Geprueft<T> pruefen(Zeile zeile, Pruefer<T> pruefer) {
+        try {
+            return new Geprueft<>(zeile, pruefer.pruefen(zeile), null);
+        } catch (IllegalArgumentException e) {
+            return new Geprueft<>(zeile, null, e.getMessage());
+        }
+    }
+
+    private record Geprueft<T>(Zeile zeile, T wert, String fehler) {
+    }
+
+    private static long millisSeit(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    // ========== CSV ==========
+
+    /**
+     * Eine Datenzeile der CSV-Datei; die Felder werden erst bei der (parallelen) Prüfung zerlegt.
+     */
+    private static final class Zeile {
+        private final int nummer;
+        private final String text;
+        private final char trenner;
+        private List<String> felder;
+
+        Zeile(int nummer, String text, char trenner) {
+            this.nummer = nummer;
+            this.text = text;
+            this.trenner = trenner;
+        }
+
+        String feld(int index) {
+            if (felder == null) {
+                felder = felderTeilen(text, trenner);
+            }
+            return index >= 0 && index < felder.size() ? felder.get(index) : "";
+        }
+
+        AbgelehnteZeile ablehnen(String grund) {
+            return new AbgelehnteZeile(nummer, text, grund);
+        }
+    }
+
+    /**
+     * Spaltenpositionen laut Kopfzeile.
+     */
+    private static final class Spalten {
+        private final Map<String, Integer> index = new HashMap<>();
+
+        Spalten(List<String> namen) {
+            for (int i = 0; i < namen.size(); i++) {
+                index.putIfAbsent(namen.get(i).toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        int optional(String... namen) {
+            for (String name : namen) {
+                Integer i = index.get(name.toLowerCase(Locale.ROOT));
+                if (i != null) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int pflicht(String... namen) {
+            int i = optional(namen);
+            if (i < 0) {
+                throw new IllegalArgumentException("Pflichtspalte fehlt: " + namen[0]);
+            }
+            return i;
+        }
+    }
+
+    /**
+     * Zerlegt eine CSV-Zeile. Felder in Anführungszeichen dürfen das Trennzeichen enthalten;
+     * doppelte Anführungszeichen stehen für ein einzelnes.
+     */
+    private static List<String> felderTeilen(String zeile, char trenner) {
+        List<String> felder = new ArrayList<>();
+        StringBuilder feld = new StringBuilder();
+        boolean inAnfuehrung = false;
+        for (int i = 0; i < zeile.length(); i++) {
+            char c = zeile.charAt(i);
+            if (inAnfuehrung) {
+                if (c == '"' && i + 1 < zeile.length() && zeile.charAt(i + 1) == '"') {
+                    feld.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inAnfuehrung = false;
+                } else {
+                    feld.append(c);
+                }
+            } else if (c == '"') {
+                inAnfuehrung = true;
+            } else if (c == trenner) {
+                felder.add(feld.toString().trim());
+                feld.setLength(0);
+            } else {
+                feld.append(c);
+            }
+        }
+        felder.add(feld.toString().trim());
+        return felder;
+    }
+
+    // ========== Feldprüfung ==========
+
+    private static String text(Zeile zeile, int index, String name, int maxLaenge, boolean pflicht) {
+        String wert = zeile.feld(index);
+        if (wert.isEmpty()) {
+            if (pflicht) {
+                throw new IllegalArgumentException(name + " fehlt");
+            }
+            return null;
+        }
+        if (wert.length() > maxLaenge) {
+            throw new IllegalArgumentException(name + " ist länger als " + maxLaenge + " Zeichen");
+        }
+        return wert;
+    }
+
+    private static double betrag(Zeile zeile, int index, String name) {
+        String wert = zeile.feld(index).replace(',', '.');
+        try {
+            double betrag = Double.parseDouble(wert);
+            if (!(betrag > 0)) {
+                throw new IllegalArgumentException(name + " muss größer als 0 sein");
+            }
+            return betrag;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " ist keine Zahl: '" + zeile.feld(index) + "'");
+        }
+    }
+
+    private static int ganzzahl(Zeile zeile, int index, String name) {
+        String wert = zeile.feld(index);
+        if (wert.isEmpty()) {
+            return 0;
+        }
+        try {
+            int zahl = Integer.parseInt(wert);
+            if (zahl < 0) {
+                throw new IllegalArgumentException(name + " darf nicht negativ sein");
+            }
+            return zahl;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " ist keine ganze Zahl: '" + wert + "'");
+        }
+    }
+
+    private static LocalDate datum(Zeile zeile, int index, String name) {
+        String wert = zeile.feld(index);
+        if (wert.isEmpty()) {
+            return null;
+        }
+        try {
+            return wert.contains(".") ? LocalDate.parse(wert, DEUTSCHES_DATUM) : LocalDate.parse(wert);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " ist kein Datum: '" + wert + "'");
+        }
+    }
+
+    private static <E extends Enum<E>> E aufzaehlung(Class<E> typ, String wert, String name) {
+        try {
+            return Enum.valueOf(typ, wert.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + " ist ungültig: '" + wert + "'");
+        }
+    }
+
+    // ========== Fahrzeugtypen ==========
+
+    private static Map<String, Fahrzeugtyp> typenNachSchluessel(List<Fahrzeugtyp> typen) {
+        Map<String, Fahrzeugtyp> nachSchluessel = new HashMap<>();
+        for (Fahrzeugtyp typ : typen) {
+            nachSchluessel.putIfAbsent(typSchluessel(typ.getHersteller(), typ.getModellBezeichnung()), typ);
+        }
+        return nachSchluessel;
+    }
+
+    private static String typSchluessel(String hersteller, String modell) {
+        return (hersteller == null ? "" : hersteller.trim().toLowerCase(Locale.ROOT)) + '\u0000'
+                + (modell == null ? "" : modell.trim().toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,251 @@
+package com.carrental.controller;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Mietnummern nach dem Schema {@code MV-JJJJMMTT-KK-ZZZZZ} (genau 20 Zeichen):
+ * Tagespräfix, Knotenkennung KK und ein fortlaufender Tageszähler ZZZZZ, beide zur Basis 36.
+ *
+ * Jede Anwendungsinstanz hat eine eigene Knotenkennung (0 bis {@link #MAX_KNOTEN} - 1); damit sind
+ * Nummern verschiedener Instanzen disjunkt, ohne dass sich die Instanzen abstimmen müssen. Die
+ * Kennung wird bei der ersten Nummer aus einer {@link Knotenvergabe} (Datenbanksequenz) bezogen
+ * oder fest über {@link #KNOTEN_PROPERTY} gesetzt. Innerhalb einer Instanz wird der Zähler lock-frei per
+ * {@link AtomicInteger} vergeben. Beim ersten Zugriff eines Tages wird der Zähler hinter der
+ * höchsten bereits gespeicherten Nummer dieses Knotens fortgesetzt, sodass auch ein Neustart
+ * am selben Tag keine Nummer doppelt vergibt. Pro Knoten und Tag stehen
+ * {@link #MAX_PRO_TAG} Nummern zur Verfügung.
+ *
+ * Da die Zähler fest breit sind und Ziffern vor Buchstaben sortieren, ist die
+ * lexikographische Reihenfolge der Nummern eines Knotens gleich ihrer Vergabereihenfolge.
+ */
+public class KnotenMietnummerGenerator implements MietnummerGenerator {
+
+    /**
+     * Systemeigenschaft mit einer fest vorgegebenen Knotenkennung. Ohne sie wird die Kennung aus
+     * der Datenbank vergeben; feste Kennungen dürfen daher nur verwendet werden, wenn alle
+     * Instanzen eine eigene feste Kennung erhalten.
+     */
+    public static final String KNOTEN_PROPERTY = "carrental.knoten";
+
+    private static final Logger LOGGER = Logger.getLogger(KnotenMietnummerGenerator.class.getName());
+
+    /** Anzahl möglicher Knotenkennungen (zwei Stellen zur Basis 36). */
+    public static final int MAX_KNOTEN = 36 * 36;
+
+    /** Anzahl Nummern pro Knoten und Tag (fünf Stellen zur Basis 36). */
+    public static final int MAX_PRO_TAG = 36 * 36 * 36 * 36 * 36;
+
+    private static final char[] ZIFFERN = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final int KNOTEN_STELLEN = 2;
+    private static final int ZAEHLER_STELLEN = 5;
+    /** "MV-" + JJJJMMTT + "-" + KK + "-" */
+    private static final int PRAEFIX_LAENGE = 3 + 8 + 1 + KNOTEN_STELLEN + 1;
+    private static final int LAENGE = PRAEFIX_LAENGE + ZAEHLER_STELLEN;
+
+    /**
+     * Liefert die höchste bereits gespeicherte Mietnummer mit einem Präfix,
+     * z.B. über {@link com.carrental.dao.MietvertragDao#findHoechsteMietnummer(String)}.
+     */
+    @FunctionalInterface
+    public interface Startwert {
+        Optional<String> hoechsteMietnummer(String praefix) throws SQLException;
+    }
+
+    /**
+     * Vergibt eine neue Knotenkennung, z.B. über
+     * {@link com.carrental.dao.MietvertragDao#naechsteKnotenkennung()}. Jede Kennung
+     * (0 bis {@link #MAX_KNOTEN} - 1) darf nur einmal vergeben werden; sind alle vergeben,
+     * muss die Vergabe fehlschlagen statt von vorn zu beginnen.
+     */
+    @FunctionalInterface
+    public interface Knotenvergabe {
+        int naechsterKnoten() throws SQLException;
+    }
+
+    private final AtomicReference<String> knotenKennung = new AtomicReference<>();
+    private final Knotenvergabe knotenvergabe;
+    private final Startwert startwert;
+    private final Clock clock;
+
+    private final AtomicReference<Tag> aktuell = new AtomicReference<>();
+
+    /**
+     * Konstruktor für KnotenMietnummerGenerator.
+     *
+     * @param knoten Knotenkennung dieser Instanz (0 bis {@link #MAX_KNOTEN} - 1)
+     * @param startwert Quelle der bereits vergebenen Nummern
+     */
+    public KnotenMietnummerGenerator(int knoten, Startwert startwert) {
+        this(knoten, startwert, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Konstruktor für KnotenMietnummerGenerator mit eigener Uhr.
+     *
+     * @param knoten Knotenkennung dieser Instanz (0 bis {@link #MAX_KNOTEN} - 1)
+     * @param startwert Quelle der bereits vergebenen Nummern
+     * @param clock Uhr für das Tagespräfix
+     */
+    public KnotenMietnummerGenerator(int knoten, Startwert startwert, Clock clock) {
+        if (knoten < 0 || knoten >= MAX_KNOTEN) {
+            throw new IllegalArgumentException("Knotenkennung muss zwischen 0 und " + (MAX_KNOTEN - 1) + " liegen.");
+        }
+        this.knotenKennung.set(kennung(knoten));
+        this.knotenvergabe = null;
+        this.startwert = startwert;
+        this.clock = clock;
+    }
+
+    /**
+     * Konstruktor für KnotenMietnummerGenerator, der seine Knotenkennung bei der ersten Nummer
+     * aus der Knotenvergabe bezieht.
+     *
+     * @param knotenvergabe Quelle einer instanzweit eindeutigen Knotenkennung
+     * @param startwert Quelle der bereits vergebenen Nummern
+     */
+    public KnotenMietnummerGenerator(Knotenvergabe knotenvergabe, Startwert startwert) {
+        this.knotenvergabe = knotenvergabe;
+        this.startwert = startwert;
+        this.clock = Clock.systemDefaultZone();
+    }
+
+    /**
+     * Erzeugt einen Generator mit der Knotenkennung aus {@link #KNOTEN_PROPERTY}, falls gesetzt,
+     * sonst mit einer Kennung aus der Knotenvergabe.
+     *
+     * @param knotenvergabe Quelle einer instanzweit eindeutigen Knotenkennung
+     * @param startwert Quelle der bereits vergebenen Nummern
+     * @return Der Generator
+     * @throws IllegalArgumentException wenn {@link #KNOTEN_PROPERTY} keine gültige Knotenkennung ist
+     */
+    public static KnotenMietnummerGenerator fuerInstanz(Knotenvergabe knotenvergabe, Startwert startwert) {
+        String wert = System.getProperty(KNOTEN_PROPERTY);
+        if (wert == null || wert.isBlank()) {
+            return new KnotenMietnummerGenerator(knotenvergabe, startwert);
+        }
+
+        int knoten;
+        try {
+            knoten = Integer.parseInt(wert.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültige Knotenkennung in -D" + KNOTEN_PROPERTY + ": " + wert, e);
+        }
+        LOGGER.info("Knotenkennung " + knoten + " fest über -D" + KNOTEN_PROPERTY + " gesetzt");
+        return new KnotenMietnummerGenerator(knoten, startwert);
+    }
+
+    @Override
+    public String naechste() throws SQLException {
+        Tag tag = aktuell.get();
+        long jetzt = clock.millis();
+        if (tag == null || jetzt >= tag.endeMillis) {
+            tag = tagWechseln(tag, jetzt);
+        }
+
+        int nummer = tag.zaehler.getAndIncrement();
+        if (nummer >= MAX_PRO_TAG) {
+            throw new IllegalStateException("Tageskontingent an Mietnummern für Knoten " + knotenKennung.get()
+                + " erschöpft.");
+        }
+
+        char[] zeichen = tag.vorlage.clone();
+        basis36(nummer, zeichen, PRAEFIX_LAENGE, ZAEHLER_STELLEN);
+        return new String(zeichen);
+    }
+
+    /**
+     * Legt den Zähler für den aktuellen Tag an. Konkurrierende Threads berechnen ihn eventuell
+     * mehrfach, übernommen wird nur der erste per compareAndSet.
+     */
+    private Tag tagWechseln(Tag alt, long jetzt) throws SQLException {
+        LocalDate datum = Instant.ofEpochMilli(jetzt).atZone(clock.getZone()).toLocalDate();
+        long endeMillis = datum.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        String praefix = String.format("MV-%04d%02d%02d-%s-",
+            datum.getYear(), datum.getMonthValue(), datum.getDayOfMonth(), knotenKennung());
+
+        int start = 0;
+        Optional<String> hoechste = startwert != null ? startwert.hoechsteMietnummer(praefix) : Optional.empty();
+        if (hoechste.isPresent()) {
+            start = zaehlerVon(hoechste.get()) + 1;
+        }
+
+        char[] vorlage = new char[LAENGE];
+        praefix.getChars(0, PRAEFIX_LAENGE, vorlage, 0);
+        Tag neu = new Tag(endeMillis, vorlage, new AtomicInteger(start));
+        if (aktuell.compareAndSet(alt, neu)) {
+            return neu;
+        }
+        return aktuell.get();
+    }
+
+    /**
+     * Liefert die Knotenkennung und bezieht sie beim ersten Aufruf aus der Knotenvergabe.
+     * Die Vergabe ist synchronisiert, damit pro Instanz genau eine Kennung verbraucht wird.
+     */
+    private String knotenKennung() throws SQLException {
+        String kennung = knotenKennung.get();
+        if (kennung != null) {
+            return kennung;
+        }
+
+        synchronized (knotenKennung) {
+            kennung = knotenKennung.get();
+            if (kennung != null) {
+                return kennung;
+            }
+
+            int knoten;
+            try {
+                knoten = knotenvergabe.naechsterKnoten();
+            } catch (SQLException e) {
+                LOGGER.log(Level.SEVERE, "Keine Knotenkennung für Mietnummern erhalten, Buchungen sind nicht möglich", e);
+                throw e;
+            }
+            if (knoten < 0 || knoten >= MAX_KNOTEN) {
+                String meldung = "Knotenvergabe lieferte ungültige Knotenkennung " + knoten
+                    + " (erlaubt 0 bis " + (MAX_KNOTEN - 1) + ")";
+                LOGGER.severe(meldung);
+                throw new IllegalStateException(meldung);
+            }
+
+            kennung = kennung(knoten);
+            knotenKennung.set(kennung);
+            LOGGER.info("Knotenkennung " + knoten + " aus der Datenbank vergeben");
+            return kennung;
+        }
+    }
+
+    private static String kennung(int knoten) {
+        char[] kennung = new char[KNOTEN_STELLEN];
+        basis36(knoten, kennung, 0, KNOTEN_STELLEN);
+        return new String(kennung);
+    }
+
+    private static int zaehlerVon(String mietnummer) {
+        if (mietnummer.length() != LAENGE) {
+            throw new IllegalStateException("Unerwartetes Format der Mietnummer: " + mietnummer);
+        }
+        return Integer.parseInt(mietnummer.substring(PRAEFIX_LAENGE), 36);
+    }
+
+    private static void basis36(int wert, char[] ziel, int offset, int stellen) {
+        for (int i = offset + stellen - 1; i >= offset; i--) {
+            ziel[i] = ZIFFERN[wert % 36];
+            wert /= 36;
+        }
+    }
+
+    /**
+     * Zähler eines Tages; die Vorlage enthält bereits das vollständige Präfix.
+     */
+    private record Tag(long endeMillis, char[] vorlage, AtomicInteger zaehler) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.carrental.controller;
+
+import com.carrental.dao.KundeDao;
+
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+/**
+ * Vergibt Kundennummern blockweise nach dem Hi/Lo-Verfahren.
+ *
+ * Jeder Wert der Datenbanksequenz SEQ_Kundennummer reserviert einen Block von
+ * {@link KundeDao#KUNDENNUMMER_BLOCK} Nummern, die anschließend ohne Datenbankzugriff im
+ * Speicher vergeben werden. Verschiedene Anwendungsinstanzen erhalten disjunkte Blöcke;
+ * Nummern eines nicht aufgebrauchten Blocks gehen beim Beenden verloren (Lücken sind zulässig).
+ *
+ * Beim ersten Block wird einmalig die höchste vorhandene Kundennummer gelesen: Nummern
+ * darunter, etwa aus der früheren Vergabe per Maximum + 1, werden übersprungen.
+ */
+public class KundennummerAllokator {
+
+    private static final Logger LOGGER = Logger.getLogger(KundennummerAllokator.class.getName());
+
+    private final KundeDao kundeDao;
+
+    /** Nächste zu vergebende Nummer und Ende (exklusive) des aktuellen Blocks. */
+    private int naechste;
+    private int blockEnde;
+    /** Nummern bis einschließlich dieses Werts sind bereits vergeben (-1 = noch nicht gelesen). */
+    private int untergrenze = -1;
+
+    /**
+     * Konstruktor für KundennummerAllokator.
+     *
+     * @param kundeDao DAO für Sequenz und höchste Kundennummer
+     */
+    public KundennummerAllokator(KundeDao kundeDao) {
+        this.kundeDao = kundeDao;
+    }
+
+    /**
+     * Gibt die nächste freie Kundennummer zurück. Nur wenn der aktuelle Block aufgebraucht
+     * ist, wird ein neuer aus der Datenbank reserviert.
+     *
+     * @return Neue Kundennummer
+     * @throws SQLException Wenn kein neuer Block reserviert werden kann
+     */
+    public synchronized int naechste() throws SQLException {
+        if (naechste >= blockEnde) {
+            blockReservieren();
+        }
+        return naechste++;
+    }
+
+    private void blockReservieren() throws SQLException {
+        if (untergrenze < 0) {
+            untergrenze = kundeDao.findHoechsteKundennummer();
+        }
+        int uebersprungen = 0;
+        while (true) {
+            int start = kundeDao.naechsterKundennummernBlock();
+            int ende = start + KundeDao.KUNDENNUMMER_BLOCK;
+            if (ende > untergrenze + 1) {
+                naechste = Math.max(start, untergrenze + 1);
+                blockEnde = ende;
+                break;
+            }
+            uebersprungen++;
+        }
+        if (uebersprungen > 0) {
+            LOGGER.warning(uebersprungen + " Kundennummernblöcke unterhalb der höchsten vorhandenen Kundennummer "
+                + untergrenze + " übersprungen; SEQ_Kundennummer sollte oberhalb davon beginnen.");
+        }
+    }
+}
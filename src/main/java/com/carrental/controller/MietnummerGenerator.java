@@ -0,0 +1,21 @@
+package com.carrental.controller;
+
+import java.sql.SQLException;
+
+/**
+ * Erzeugt eindeutige Mietnummern für neue Mietverträge.
+ *
+ * Implementierungen müssen thread-sicher sein; die Nummer muss in die Spalte
+ * Mietvertrag.Mietnummer (VARCHAR(20), UNIQUE) passen.
+ */
+@FunctionalInterface
+public interface MietnummerGenerator {
+
+    /**
+     * Gibt die nächste freie Mietnummer zurück.
+     *
+     * @return Neue, noch nicht vergebene Mietnummer
+     * @throws SQLException falls der Generator dafür die Datenbank benötigt und diese nicht erreichbar ist
+     */
+    String naechste() throws SQLException;
+}
@@ -0,0 +1,104 @@
+package com.carrental.controller;
+
+import com.carrental.dao.StatistikDao;
+import com.carrental.model.Kennzahlen;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Liefert die Kennzahlen für die Statistikansicht.
+ *
+ * Neben der direkten Berechnung gibt es eine gemeinsam genutzte Momentaufnahme mit
+ * kurzer Gültigkeit ({@link #DEFAULT_TTL_MILLIS}): Öffnen mehrere Mitarbeiter gleichzeitig
+ * die Statistik, wird die Datenbank nur einmal pro Gültigkeitsdauer abgefragt. Fordern
+ * mehrere Threads gleichzeitig eine abgelaufene Momentaufnahme an, berechnet nur einer
+ * sie neu; die anderen warten auf sein Ergebnis.
+ */
+public class StatistikService {
+
+    /** Standardgültigkeit der gemeinsamen Momentaufnahme. */
+    public static final long DEFAULT_TTL_MILLIS = 30 * 1000L;
+
+    /** Anzahl Monate der Umsatzübersicht (einschließlich des laufenden Monats). */
+    public static final int UMSATZ_MONATE = 12;
+
+    /** Länge des Auslastungszeitraums in Tagen (bis einschließlich heute). */
+    public static final int AUSLASTUNG_TAGE = 30;
+
+    private final StatistikDao statistikDao;
+    private final long ttlMillis;
+
+    private volatile Kennzahlen momentaufnahme;
+    private volatile long berechnetAm;
+
+    /**
+     * Konstruktor für StatistikService.
+     *
+     * @param statistikDao DAO für die Aggregatabfragen
+     */
+    public StatistikService(StatistikDao statistikDao) {
+        this(statistikDao, DEFAULT_TTL_MILLIS);
+    }
+
+    /**
+     * Konstruktor für StatistikService mit eigener Gültigkeitsdauer.
+     *
+     * @param statistikDao DAO für die Aggregatabfragen
+     * @param ttlMillis Gültigkeit der Momentaufnahme in Millisekunden (0 = immer neu berechnen)
+     */
+    public StatistikService(StatistikDao statistikDao, long ttlMillis) {
+        this.statistikDao = statistikDao;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Berechnet die Kennzahlen direkt aus der Datenbank: Umsatz der letzten
+     * {@link #UMSATZ_MONATE} Monate und Auslastung der letzten {@link #AUSLASTUNG_TAGE} Tage.
+     *
+     * @return Aktuelle Kennzahlen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Kennzahlen berechnen() throws SQLException {
+        LocalDate heute = LocalDate.now();
+        YearMonth monat = YearMonth.from(heute);
+        return statistikDao.berechnen(monat.minusMonths(UMSATZ_MONATE - 1), monat,
+            heute.minusDays(AUSLASTUNG_TAGE - 1), heute.plusDays(1));
+    }
+
+    /**
+     * Gibt die gemeinsame Momentaufnahme zurück und berechnet sie neu, falls sie
+     * älter als die Gültigkeitsdauer ist.
+     *
+     * @return Kennzahlen, höchstens {@code ttlMillis} alt
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Kennzahlen getMomentaufnahme() throws SQLException {
+        Kennzahlen aktuell = momentaufnahme;
+        if (aktuell != null && !istAbgelaufen()) {
+            return aktuell;
+        }
+        synchronized (this) {
+            // Ein anderer Thread hat eventuell gerade neu berechnet
+            if (momentaufnahme != null && !istAbgelaufen()) {
+                return momentaufnahme;
+            }
+            Kennzahlen neu = berechnen();
+            momentaufnahme = neu;
+            berechnetAm = System.currentTimeMillis();
+            return neu;
+        }
+    }
+
+    /**
+     * Verwirft die Momentaufnahme; der nächste Zugriff berechnet sie neu.
+     */
+    public void invalidieren() {
+        momentaufnahme = null;
+    }
+
+    private boolean istAbgelaufen() {
+        return System.currentTimeMillis() - berechnetAm >= ttlMillis;
+    }
+}
@@ -0,0 +1,368 @@
+package com.carrental.controller;
+
+import com.carrental.dao.GenericDao;
+import com.carrental.dao.UncheckedSQLException;
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.Fahrzeugtyp;
+import com.carrental.model.Kunde;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Export von Mietverträgen als CSV oder JSON mit Umsatzauswertung.
+ *
+ * Die Verträge werden über einen Datenbank-Cursor gelesen und Zeile für Zeile in die
+ * Datei geschrieben; im selben Durchlauf wird der Umsatz je Fahrzeug und je Kategorie
+ * summiert. Der Speicherbedarf hängt damit nur von der Flottengröße ab, nicht von der
+ * Anzahl exportierter Verträge.
+ *
+ * Die Datei wird zunächst als temporäre Datei im Zielverzeichnis geschrieben und erst nach
+ * erfolgreichem Abschluss umbenannt, sodass bei Fehlern keine halbe Exportdatei zurückbleibt.
+ */
+public class VertragsExport {
+
+    private static final Logger LOGGER = Logger.getLogger(VertragsExport.class.getName());
+
+    private static final char CSV_TRENNER = ';';
+    private static final String[] CSV_SPALTEN = {
+        "Mietnummer", "StartDatum", "EndDatum", "Status", "GesamtPreis", "Kundennummer", "Kunde",
+        "Kennzeichen", "Hersteller", "Modell", "Kategorie"
+    };
+
+    /**
+     * Dateiformat des Exports.
+     */
+    public enum Format {
+        CSV("csv"),
+        JSON("json");
+
+        private final String endung;
+
+        Format(String endung) {
+            this.endung = endung;
+        }
+
+        /**
+         * @return Übliche Dateiendung ohne Punkt
+         */
+        public String getEndung() {
+            return endung;
+        }
+    }
+
+    /**
+     * Auswahl der zu exportierenden Verträge.
+     *
+     * @param von Verträge, die an oder nach diesem Tag enden (null = ohne Untergrenze)
+     * @param bis Verträge, die an oder vor diesem Tag beginnen (null = ohne Obergrenze)
+     * @param status Zulässige Status (null oder leer = alle)
+     */
+    public record Filter(LocalDate von, LocalDate bis, Set<VertragsStatus> status) {
+
+        /** Alle Verträge ohne Einschränkung. */
+        public static Filter alle() {
+            return new Filter(null, null, null);
+        }
+    }
+
+    /**
+     * Umsatz einer Gruppe (Fahrzeug oder Kategorie).
+     *
+     * @param bezeichnung Kennzeichen bzw. Kategoriename
+     * @param vertraege Anzahl umsatzwirksamer Verträge
+     * @param umsatz Summe der Gesamtpreise
+     */
+    public record Umsatz(String bezeichnung, int vertraege, double umsatz) {
+    }
+
+    /**
+     * Ergebnis eines Exports bzw. einer Umsatzauswertung.
+     * Die Umsatzlisten sind absteigend nach Umsatz sortiert.
+     *
+     * @param vertraege Anzahl gelesener Verträge
+     * @param umsatzGesamt Summe der Gesamtpreise aller nicht stornierten Verträge
+     * @param proFahrzeug Umsatz je Fahrzeug
+     * @param proKategorie Umsatz je Fahrzeugkategorie
+     * @param dauerMillis Laufzeit in Millisekunden
+     */
+    public record Ergebnis(int vertraege, double umsatzGesamt, List<Umsatz> proFahrzeug,
+                           List<Umsatz> proKategorie, long dauerMillis) {
+    }
+
+    private final CarRentalSystem system;
+
+    /**
+     * Konstruktor für VertragsExport.
+     *
+     * @param system Die CarRentalSystem-Instanz
+     */
+    public VertragsExport(CarRentalSystem system) {
+        this.system = system;
+    }
+
+    /**
+     * Exportiert die Verträge des Filters in eine Datei und wertet dabei den Umsatz aus.
+     *
+     * @param ziel Zieldatei; eine vorhandene Datei wird ersetzt
+     * @param format CSV oder JSON
+     * @param filter Auswahl der Verträge
+     * @return Anzahl exportierter Verträge und Umsatzauswertung
+     * @throws IOException Bei Schreibfehlern
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Ergebnis exportieren(Path ziel, Format format, Filter filter) throws IOException, SQLException {
+        Path verzeichnis = ziel.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(verzeichnis, ".export-", ".tmp");
+        try {
+            Ergebnis ergebnis;
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                ergebnis = durchlaufen(filter, format, writer);
+            }
+            Files.move(temp, ziel, StandardCopyOption.REPLACE_EXISTING);
+            LOGGER.info(String.format(Locale.ROOT, "Export %s: %d Verträge in %d ms nach %s",
+                format, ergebnis.vertraege(), ergebnis.dauerMillis(), ziel));
+            return ergebnis;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Wertet den Umsatz der Verträge des Filters aus, ohne eine Datei zu schreiben.
+     *
+     * @param filter Auswahl der Verträge
+     * @return Umsatzauswertung
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Ergebnis umsatzAuswerten(Filter filter) throws SQLException {
+        try {
+            return durchlaufen(filter, null, null);
+        } catch (IOException e) {
+            // Ohne Writer wird nichts geschrieben
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Schreibt eine Umsatzauswertung als CSV (Abschnitte je Fahrzeug und je Kategorie).
+     *
+     * @param ziel Zieldatei; eine vorhandene Datei wird ersetzt
+     * @param ergebnis Die Auswertung
+     * @throws IOException Bei Schreibfehlern
+     */
+    public void umsatzberichtSchreiben(Path ziel, Ergebnis ergebnis) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(ziel, StandardCharsets.UTF_8)) {
+            writer.write("Gruppe;Bezeichnung;Vertraege;Umsatz\n");
+            for (Umsatz u : ergebnis.proKategorie()) {
+                umsatzzeileSchreiben(writer, "Kategorie", u);
+            }
+            for (Umsatz u : ergebnis.proFahrzeug()) {
+                umsatzzeileSchreiben(writer, "Fahrzeug", u);
+            }
+            int umsatzwirksam = ergebnis.proKategorie().stream().mapToInt(Umsatz::vertraege).sum();
+            umsatzzeileSchreiben(writer, "Gesamt", new Umsatz("", umsatzwirksam, ergebnis.umsatzGesamt()));
+        }
+    }
+
+    /**
+     * Liest die Verträge einmal über den Cursor, schreibt sie (falls ein Writer übergeben wird)
+     * und summiert den Umsatz. Stornierte Verträge werden exportiert, zählen aber nicht zum Umsatz.
+     */
+    private Ergebnis durchlaufen(Filter filter, Format format, Writer writer) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Map<String, double[]> proFahrzeug = new HashMap<>();
+        Map<String, double[]> proKategorie = new HashMap<>();
+        double gesamt = 0;
+        int anzahl = 0;
+
+        if (writer != null) {
+            kopfSchreiben(writer, format);
+        }
+        try (Stream<Mietvertrag> vertraege = system.getMietvertragDao().streamGefiltert(
+                filter.von(), filter.bis(), filter.status(), GenericDao.DEFAULT_FETCH_SIZE, false)) {
+            for (Mietvertrag vertrag : (Iterable<Mietvertrag>) vertraege::iterator) {
+                if (writer != null) {
+                    zeileSchreiben(writer, format, vertrag, anzahl == 0);
+                }
+                anzahl++;
+                if (vertrag.getStatus() == VertragsStatus.STORNIERT) {
+                    continue;
+                }
+                double preis = vertrag.getGesamtPreis();
+                gesamt += preis;
+                Fahrzeug fahrzeug = vertrag.getFahrzeug();
+                summieren(proFahrzeug, fahrzeug != null ? fahrzeug.getKennzeichen() : null, preis);
+                Fahrzeugtyp typ = fahrzeug != null ? fahrzeug.getFahrzeugtyp() : null;
+                summieren(proKategorie, typ != null ? typ.getKategorie() : null, preis);
+            }
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+        if (writer != null) {
+            fussSchreiben(writer, format);
+        }
+
+        return new Ergebnis(anzahl, gesamt, sortiert(proFahrzeug), sortiert(proKategorie),
+                            (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void summieren(Map<String, double[]> gruppen, String schluessel, double preis) {
+        double[] summe = gruppen.computeIfAbsent(schluessel != null ? schluessel : "(unbekannt)",
+                                                 k -> new double[2]);
+        summe[0]++;
+        summe[1] += preis;
+    }
+
+    private static List<Umsatz> sortiert(Map<String, double[]> gruppen) {
+        List<Umsatz> liste = new ArrayList<>(gruppen.size());
+        gruppen.forEach((name, summe) -> liste.add(new Umsatz(name, (int) summe[0], summe[1])));
+        liste.sort(Comparator.comparingDouble(Umsatz::umsatz).reversed()
+                             .thenComparing(Umsatz::bezeichnung));
+        return liste;
+    }
+
+    private static void kopfSchreiben(Writer writer, Format format) throws IOException {
+        if (format == Format.JSON) {
+            writer.write("[\n");
+            return;
+        }
+        for (int i = 0; i < CSV_SPALTEN.length; i++) {
+            if (i > 0) {
+                writer.write(CSV_TRENNER);
+            }
+            writer.write(CSV_SPALTEN[i]);
+        }
+        writer.write('\n');
+    }
+
+    private static void fussSchreiben(Writer writer, Format format) throws IOException {
+        if (format == Format.JSON) {
+            writer.write("\n]\n");
+        }
+    }
+
+    private static void zeileSchreiben(Writer writer, Format format, Mietvertrag vertrag, boolean erste)
+            throws IOException {
+        Kunde kunde = vertrag.getKunde();
+        Fahrzeug fahrzeug = vertrag.getFahrzeug();
+        Fahrzeugtyp typ = fahrzeug != null ? fahrzeug.getFahrzeugtyp() : null;
+        Object[] werte = {
+            vertrag.getMietnummer(),
+            vertrag.getStartDatum(),
+            vertrag.getEndDatum(),
+            vertrag.getStatus(),
+            BigDecimal.valueOf(vertrag.getGesamtPreis()).setScale(2, RoundingMode.HALF_UP),
+            kunde != null ? kunde.getKundennummer() : null,
+            kunde != null ? kunde.getVorname() + " " + kunde.getNachname() : null,
+            fahrzeug != null ? fahrzeug.getKennzeichen() : null,
+            typ != null ? typ.getHersteller() : null,
+            typ != null ? typ.getModellBezeichnung() : null,
+            typ != null ? typ.getKategorie() : null
+        };
+
+        if (format == Format.JSON) {
+            writer.write(erste ? "  {" : ",\n  {");
+            for (int i = 0; i < werte.length; i++) {
+                if (i > 0) {
+                    writer.write(", ");
+                }
+                writer.write('"');
+                writer.write(CSV_SPALTEN[i]);
+                writer.write("\": ");
+                jsonWertSchreiben(writer, werte[i]);
+            }
+            writer.write('}');
+            return;
+        }
+
+        for (int i = 0; i < werte.length; i++) {
+            if (i > 0) {
+                writer.write(CSV_TRENNER);
+            }
+            if (werte[i] != null) {
+                csvWertSchreiben(writer, werte[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void umsatzzeileSchreiben(Writer writer, String gruppe, Umsatz umsatz) throws IOException {
+        writer.write(gruppe);
+        writer.write(CSV_TRENNER);
+        csvWertSchreiben(writer, umsatz.bezeichnung());
+        writer.write(CSV_TRENNER);
+        writer.write(Integer.toString(umsatz.vertraege()));
+        writer.write(CSV_TRENNER);
+        writer.write(String.format(Locale.ROOT, "%.2f", umsatz.umsatz()));
+        writer.write('\n');
+    }
+
+    /**
+     * Schreibt einen CSV-Wert; Werte mit Trennzeichen, Anführungszeichen oder Zeilenumbruch
+     * werden in Anführungszeichen gesetzt.
+     */
+    private static void csvWertSchreiben(Writer writer, String wert) throws IOException {
+        boolean quoten = wert.indexOf(CSV_TRENNER) >= 0 || wert.indexOf('"') >= 0
+                      || wert.indexOf('\n') >= 0 || wert.indexOf('\r') >= 0;
+        if (!quoten) {
+            writer.write(wert);
+            return;
+        }
+        writer.write('"');
+        writer.write(wert.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void jsonWertSchreiben(Writer writer, Object wert) throws IOException {
+        if (wert == null) {
+            writer.write("null");
+            return;
+        }
+        if (wert instanceof Number) {
+            writer.write(wert.toString());
+            return;
+        }
+        String text = wert.toString();
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"' -> writer.write("\\\"");
+                case '\\' -> writer.write("\\\\");
+                case '\n' -> writer.write("\\n");
+                case '\r' -> writer.write("\\r");
+                case '\t' -> writer.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        writer.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+                }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,41 @@
+package com.carrental.dao;
+
+/**
+ * Wird von DAOs nach erfolgreichen schreibenden Operationen benachrichtigt,
+ * z.B. um In-Memory-Caches aktuell zu halten.
+ *
+ * Die Methoden werden im Thread des Aufrufers nach dem Commit aufgerufen
+ * und sollten daher schnell zurückkehren.
+ *
+ * @param <T> Der Entitätstyp
+ */
+public interface AenderungsListener<T> {
+
+    /**
+     * Eine Entität wurde angelegt oder vollständig gespeichert.
+     *
+     * @param entitaet Die gespeicherte Entität (mit ID)
+     */
+    void gespeichert(T entitaet);
+
+    /**
+     * Eine Entität wurde teilweise geändert; der bekannte Stand ist veraltet.
+     *
+     * @param id Die ID der geänderten Entität
+     */
+    void geaendert(int id);
+
+    /**
+     * Eine Entität wurde gelöscht.
+     *
+     * @param id Die ID der gelöschten Entität
+     */
+    void geloescht(int id);
+
+    /**
+     * Beliebig viele Entitäten wurden durch eine Massenoperation geändert, deren betroffene
+     * IDs nicht bekannt sind. Sind die IDs bekannt, wird stattdessen je Entität
+     * {@link #geaendert(int)} bzw. {@link #gespeichert(Object)} gemeldet.
+     */
+    void alleGeaendert();
+}
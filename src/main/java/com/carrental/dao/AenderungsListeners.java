@@ -0,0 +1,53 @@
+package com.carrental.dao;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Liste registrierter {@link AenderungsListener} eines DAOs.
+ * Fehler einzelner Listener werden protokolliert und beeinflussen weder
+ * die übrigen Listener noch die bereits abgeschlossene Datenbankoperation.
+ */
+final class AenderungsListeners<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(AenderungsListeners.class.getName());
+
+    private final List<AenderungsListener<T>> listeners = new CopyOnWriteArrayList<>();
+
+    void add(AenderungsListener<T> listener) {
+        listeners.add(listener);
+    }
+
+    void remove(AenderungsListener<T> listener) {
+        listeners.remove(listener);
+    }
+
+    void gespeichert(T entitaet) {
+        benachrichtigen(l -> l.gespeichert(entitaet));
+    }
+
+    void geaendert(int id) {
+        benachrichtigen(l -> l.geaendert(id));
+    }
+
+    void geloescht(int id) {
+        benachrichtigen(l -> l.geloescht(id));
+    }
+
+    void alleGeaendert() {
+        benachrichtigen(AenderungsListener::alleGeaendert);
+    }
+
+    private void benachrichtigen(Consumer<AenderungsListener<T>> aufruf) {
+        for (AenderungsListener<T> listener : listeners) {
+            try {
+                aufruf.accept(listener);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Änderungslistener ist fehlgeschlagen", e);
+            }
+        }
+    }
+}
@@ -4,13 +4,19 @@ import com.carrental.model.Antriebsart;
 import com.carrental.model.Fahrzeug;
 import com.carrental.model.FahrzeugZustand;
 import com.carrental.model.Fahrzeugtyp;
+import com.carrental.util.ConnectionPool;
 import com.carrental.util.DatabaseConfig;
-import com.carrental.util.DatabaseConnection;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * DAO-Implementierung für Fahrzeug-Entitäten.
@@ -18,26 +24,126 @@ import java.util.Optional;
  */
 public class FahrzeugDao implements GenericDao<Fahrzeug> {
 
-    private final DatabaseConfig config;
+    private static final int FAHRZEUGTYP_CACHE_GROESSE = 1000;
+    private static final long FAHRZEUGTYP_CACHE_TTL_MILLIS = 10 * 60 * 1000L;
+
+    /** Spaltenliste für Fahrzeug f LEFT JOIN Fahrzeugtyp ft; der Mapper liest per Spaltenindex. */
+    private static final Projektion SPALTEN = new Projektion();
+    private static final FahrzeugMapper MAPPER = new FahrzeugMapper(SPALTEN, "f", "ft");
+
+    /** Spaltenliste für Abfragen nur auf Fahrzeugtyp. */
+    private static final Projektion TYP_SPALTEN = new Projektion();
+    private static final FahrzeugtypMapper TYP_MAPPER = new FahrzeugtypMapper(TYP_SPALTEN, null);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Fahrzeug (Kennzeichen, AktuellerKilometerstand, Zustand, " +
+        "TuevDatum, Fahrzeugtyp_ID) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String FAHRZEUGTYP_INSERT_SQL =
+        "INSERT INTO Fahrzeugtyp (Hersteller, ModellBezeichnung, Kategorie, " +
+        "StandardTagesPreis, Sitzplaetze, Antriebsart, ReichweiteKm, Beschreibung) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_BY_ID_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "WHERE f.ID = ?";
+
+    private static final String FIND_BY_KENNZEICHEN_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "WHERE f.Kennzeichen = ?";
+
+    private static final String FIND_VERFUEGBARE_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "WHERE f.Zustand = 'VERFUEGBAR'";
+
+    private static final String FIND_VERFUEGBARE_IM_ZEITRAUM_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "WHERE (f.Zustand IS NULL OR f.Zustand <> 'WARTUNG') " +
+        "AND NOT EXISTS (SELECT 1 FROM Mietvertrag m " +
+        "WHERE m.Fahrzeug_ID = f.ID AND " + MietvertragDao.belegend("m.Status") + " " +
+        "AND m.StartDatum <= ? AND m.EndDatum >= ?)";
+
+    private static final String FIND_ALL_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID";
+
+    private static final String FIND_BY_FAHRZEUGTYP_SQL =
+        "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "WHERE f.Fahrzeugtyp_ID = ?";
+
+    private static final String FIND_ALL_KENNZEICHEN_SQL = "SELECT Kennzeichen FROM Fahrzeug";
+
+    private static final String FIND_ALL_KATEGORIEN_SQL =
+        "SELECT f.ID, ft.Kategorie FROM Fahrzeug f " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID";
+
+    private static final String UPDATE_SQL =
+        "UPDATE Fahrzeug SET Kennzeichen = ?, AktuellerKilometerstand = ?, " +
+        "Zustand = ?, TuevDatum = ?, Fahrzeugtyp_ID = ? WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM Fahrzeug WHERE ID = ?";
+
+    private static final String LADE_FAHRZEUGTYP_SQL =
+        "SELECT " + TYP_SPALTEN + " FROM Fahrzeugtyp WHERE ID = ?";
+
+    private static final String LADE_ALLE_FAHRZEUGTYPEN_SQL = "SELECT " + TYP_SPALTEN + " FROM Fahrzeugtyp";
+
+    private static final String UPDATE_STATUS_AND_KILOMETERSTAND_SQL =
+        "UPDATE Fahrzeug SET AktuellerKilometerstand = ?, Zustand = ?, TuevDatum = ? WHERE ID = ?";
+
+    private static final String DELETE_FAHRZEUGTYP_SQL = "DELETE FROM Fahrzeugtyp WHERE ID = ?";
+
+    private static final String UPDATE_FAHRZEUGTYP_SQL =
+        "UPDATE Fahrzeugtyp SET Hersteller = ?, ModellBezeichnung = ?, Kategorie = ?, " +
+        "StandardTagesPreis = ?, Sitzplaetze = ?, Antriebsart = ?, ReichweiteKm = ?, " +
+        "Beschreibung = ? WHERE ID = ?";
+
+    private final ConnectionPool pool;
+    private final ReferenzdatenCache<Fahrzeugtyp> fahrzeugtypCache;
+    private final AenderungsListeners<Fahrzeug> listeners = new AenderungsListeners<>();
 
     public FahrzeugDao(DatabaseConfig config) {
-        this.config = config;
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            INSERT_SQL, FAHRZEUGTYP_INSERT_SQL, FIND_BY_ID_SQL, FIND_BY_KENNZEICHEN_SQL,
+            FIND_VERFUEGBARE_SQL, FIND_VERFUEGBARE_IM_ZEITRAUM_SQL, FIND_ALL_SQL, FIND_BY_FAHRZEUGTYP_SQL,
+            FIND_ALL_KENNZEICHEN_SQL, FIND_ALL_KATEGORIEN_SQL, UPDATE_SQL, DELETE_SQL, LADE_FAHRZEUGTYP_SQL,
+            LADE_ALLE_FAHRZEUGTYPEN_SQL, UPDATE_STATUS_AND_KILOMETERSTAND_SQL, DELETE_FAHRZEUGTYP_SQL,
+            UPDATE_FAHRZEUGTYP_SQL);
+        this.fahrzeugtypCache = new ReferenzdatenCache<>(FAHRZEUGTYP_CACHE_GROESSE,
+                FAHRZEUGTYP_CACHE_TTL_MILLIS, Fahrzeugtyp::getId, Fahrzeugtyp::new,
+                this::ladeAlleFahrzeugtypen, this::ladeFahrzeugtyp);
+    }
+
+    /**
+     * Registriert einen Listener, der nach jeder schreibenden Operation benachrichtigt wird.
+     * 
+     * @param listener Der Listener
+     */
+    public void addAenderungsListener(AenderungsListener<Fahrzeug> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen zuvor registrierten Listener.
+     * 
+     * @param listener Der Listener
+     */
+    public void removeAenderungsListener(AenderungsListener<Fahrzeug> listener) {
+        listeners.remove(listener);
     }
 
     @Override
     public Fahrzeug create(Fahrzeug fahrzeug) throws SQLException {
-        String sql = "INSERT INTO Fahrzeug (Kennzeichen, AktuellerKilometerstand, Zustand, " +
-                     "TuevDatum, Fahrzeugtyp_ID) VALUES (?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, fahrzeug.getKennzeichen());
-            stmt.setInt(2, fahrzeug.getAktuellerKilometerstand());
-            stmt.setString(3, fahrzeug.getZustand().name());
-            stmt.setDate(4, fahrzeug.getTuevDatum() != null ? Date.valueOf(fahrzeug.getTuevDatum()) : null);
-            stmt.setInt(5, fahrzeug.getFahrzeugtyp() != null ? fahrzeug.getFahrzeugtyp().getId() : 0);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
+            setInsertParameter(stmt, fahrzeug);
             stmt.executeUpdate();
             
             try (ResultSet rs = stmt.getGeneratedKeys()) {
@@ -46,24 +152,106 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
                 }
             }
             
+            listeners.gespeichert(fahrzeug);
             return fahrzeug;
         }
     }
 
+    /**
+     * Fügt mehrere Fahrzeuge per JDBC-Batch in einer Transaktion ein
+     * (ein Round-Trip je {@link JdbcBatch#GROESSE} Fahrzeuge).
+     * Schlägt ein Fahrzeug fehl, wird keines eingefügt.
+     * 
+     * @param fahrzeuge Die einzufügenden Fahrzeuge
+     * @return Die eingefügten Fahrzeuge mit generierten IDs
+     * @throws SQLException Bei Datenbankfehlern
+     */
     @Override
-    public Optional<Fahrzeug> findById(int id) throws SQLException {
-        String sql = "SELECT f.*, ft.* FROM Fahrzeug f " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "WHERE f.ID = ?";
+    public List<Fahrzeug> createAll(Collection<Fahrzeug> fahrzeuge) throws SQLException {
+        List<Fahrzeug> liste = new ArrayList<>(fahrzeuge);
+        if (liste.isEmpty()) {
+            return liste;
+        }
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int von = 0; von < liste.size(); von += JdbcBatch.GROESSE) {
+                    List<Fahrzeug> block = liste.subList(von, Math.min(von + JdbcBatch.GROESSE, liste.size()));
+                    for (Fahrzeug fahrzeug : block) {
+                        setInsertParameter(stmt, fahrzeug);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    if (!JdbcBatch.generierteSchluesselUebernehmen(stmt, block, Fahrzeug::setId)) {
+                        idsNachKennzeichenSetzen(conn, block);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            for (Fahrzeug fahrzeug : liste) {
+                listeners.gespeichert(fahrzeug);
+            }
+            return liste;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
+        }
+    }
+
+    private void setInsertParameter(PreparedStatement stmt, Fahrzeug fahrzeug) throws SQLException {
+        stmt.setString(1, fahrzeug.getKennzeichen());
+        stmt.setInt(2, fahrzeug.getAktuellerKilometerstand());
+        stmt.setString(3, fahrzeug.getZustand().name());
+        stmt.setDate(4, fahrzeug.getTuevDatum() != null ? Date.valueOf(fahrzeug.getTuevDatum()) : null);
+        stmt.setInt(5, fahrzeug.getFahrzeugtyp() != null ? fahrzeug.getFahrzeugtyp().getId() : 0);
+    }
+
+    /**
+     * Ermittelt die IDs gerade eingefügter Fahrzeuge über das eindeutige Kennzeichen,
+     * falls der Treiber für Batches keine generierten Schlüssel liefert.
+     */
+    private void idsNachKennzeichenSetzen(Connection conn, List<Fahrzeug> block) throws SQLException {
+        Map<String, Fahrzeug> nachKennzeichen = new HashMap<>();
+        for (Fahrzeug fahrzeug : block) {
+            nachKennzeichen.put(fahrzeug.getKennzeichen(), fahrzeug);
+        }
+        String sql = "SELECT ID, Kennzeichen FROM Fahrzeug WHERE Kennzeichen IN (" +
+                     MietvertragDao.platzhalter(block.size()) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < block.size(); i++) {
+                stmt.setString(i + 1, block.get(i).getKennzeichen());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Fahrzeug fahrzeug = nachKennzeichen.get(rs.getString("Kennzeichen"));
+                    if (fahrzeug != null) {
+                        fahrzeug.setId(rs.getInt("ID"));
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public Optional<Fahrzeug> findById(int id) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToFahrzeug(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -79,18 +267,14 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Optional<Fahrzeug> findByKennzeichen(String kennzeichen) throws SQLException {
-        String sql = "SELECT f.*, ft.* FROM Fahrzeug f " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "WHERE f.Kennzeichen = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_KENNZEICHEN_SQL)) {
             
             stmt.setString(1, kennzeichen);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToFahrzeug(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -105,18 +289,42 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public List<Fahrzeug> findVerfuegbare() throws SQLException {
-        String sql = "SELECT f.*, ft.* FROM Fahrzeug f " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "WHERE f.Zustand = 'VERFUEGBAR'";
-        
         List<Fahrzeug> fahrzeuge = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_VERFUEGBARE_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                fahrzeuge.add(mapResultSetToFahrzeug(rs));
+                fahrzeuge.add(MAPPER.map(rs));
+            }
+        }
+        
+        return fahrzeuge;
+    }
+
+    /**
+     * Findet alle Fahrzeuge, die im Zeitraum nicht durch belegende Verträge blockiert
+     * und nicht in Wartung sind. Die Prüfung erfolgt mit einem einzigen NOT-EXISTS-Anti-Join.
+     * 
+     * @param start Startdatum (inklusive)
+     * @param end Enddatum (inklusive)
+     * @return Liste der im Zeitraum verfügbaren Fahrzeuge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Fahrzeug> findVerfuegbareImZeitraum(LocalDate start, LocalDate end) throws SQLException {
+        List<Fahrzeug> fahrzeuge = new ArrayList<>();
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_VERFUEGBARE_IM_ZEITRAUM_SQL)) {
+            
+            stmt.setDate(1, Date.valueOf(end));
+            stmt.setDate(2, Date.valueOf(start));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    fahrzeuge.add(MAPPER.map(rs));
+                }
             }
         }
         
@@ -125,30 +333,148 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
 
     @Override
     public List<Fahrzeug> findAll() throws SQLException {
-        String sql = "SELECT f.*, ft.* FROM Fahrzeug f " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID";
-        
         List<Fahrzeug> fahrzeuge = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                fahrzeuge.add(mapResultSetToFahrzeug(rs));
+                fahrzeuge.add(MAPPER.map(rs));
             }
         }
         
         return fahrzeuge;
     }
 
-    @Override
-    public boolean update(Fahrzeug fahrzeug) throws SQLException {
-        String sql = "UPDATE Fahrzeug SET Kennzeichen = ?, AktuellerKilometerstand = ?, " +
-                     "Zustand = ?, TuevDatum = ?, Fahrzeugtyp_ID = ? WHERE ID = ?";
+    /**
+     * Sortierbare Spalten für {@link #findSeite}.
+     */
+    public enum Sortierung {
+        ID("f.ID"),
+        KENNZEICHEN("f.Kennzeichen"),
+        HERSTELLER("ft.Hersteller"),
+        MODELL("ft.ModellBezeichnung"),
+        KATEGORIE("ft.Kategorie"),
+        ZUSTAND("f.Zustand"),
+        TAGESPREIS("ft.StandardTagesPreis");
+
+        private final String spalte;
+
+        Sortierung(String spalte) {
+            this.spalte = spalte;
+        }
+    }
+
+    /**
+     * Zählt die Fahrzeuge, optional nur die mit einem bestimmten Zustand.
+     * 
+     * @param zustand Gesuchter Zustand (null = alle)
+     * @return Anzahl der Fahrzeuge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public int count(FahrzeugZustand zustand) throws SQLException {
+        String sql = "SELECT COUNT(*) FROM Fahrzeug f" + (zustand != null ? " WHERE f.Zustand = ?" : "");
         
-        try (Connection conn = DatabaseConnection.create(config);
+        try (Connection conn = pool.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (zustand != null) {
+                stmt.setString(1, zustand.name());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Lädt eine Seite von Fahrzeugen mit Fahrzeugtyp, serverseitig sortiert.
+     * 
+     * @param zustand Gesuchter Zustand (null = alle)
+     * @param sortierung Sortierspalte
+     * @param absteigend true für absteigende Sortierung
+     * @param offset Anzahl zu überspringender Fahrzeuge
+     * @param limit Maximale Anzahl Fahrzeuge der Seite
+     * @return Die Fahrzeuge der Seite
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Fahrzeug> findSeite(FahrzeugZustand zustand, Sortierung sortierung, boolean absteigend,
+                                    int offset, int limit) throws SQLException {
+        JdbcSeiten.pruefen(offset, limit);
+        String sql = "SELECT " + SPALTEN + " FROM Fahrzeug f " +
+                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID" +
+                     (zustand != null ? " WHERE f.Zustand = ?" : "") +
+                     JdbcSeiten.sortierungUndSeite(sortierung.spalte, absteigend, Sortierung.ID.spalte);
+        
+        List<Fahrzeug> fahrzeuge = new ArrayList<>(limit);
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (zustand != null) {
+                stmt.setString(index++, zustand.name());
+            }
+            stmt.setInt(index++, offset);
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    fahrzeuge.add(MAPPER.map(rs));
+                }
+            }
+        }
+        
+        return fahrzeuge;
+    }
+
+    /**
+     * Gibt die Kennzeichen aller Fahrzeuge zurück, ohne die Fahrzeuge selbst zu laden
+     * (z.B. für die Duplikatprüfung beim Import).
+     *
+     * @return Menge aller Kennzeichen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Set<String> findAllKennzeichen() throws SQLException {
+        Set<String> kennzeichen = new HashSet<>();
+
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_KENNZEICHEN_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                kennzeichen.add(rs.getString(1));
+            }
+        }
+
+        return kennzeichen;
+    }
+
+    /**
+     * Gibt die Kategorie (aus dem Fahrzeugtyp) aller Fahrzeuge zurück, ohne die Fahrzeuge
+     * selbst zu laden (z.B. für die Auslastung je Kategorie).
+     *
+     * @return Kategorie je Fahrzeug-ID
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Map<Integer, String> findAllKategorien() throws SQLException {
+        Map<Integer, String> kategorien = new HashMap<>();
+
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_KATEGORIEN_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+
+            while (rs.next()) {
+                kategorien.put(rs.getInt(1), rs.getString(2));
+            }
+        }
+
+        return kategorien;
+    }
+
+    @Override
+    public boolean update(Fahrzeug fahrzeug) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
             
             stmt.setString(1, fahrzeug.getKennzeichen());
             stmt.setInt(2, fahrzeug.getAktuellerKilometerstand());
@@ -157,19 +483,25 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
             stmt.setInt(5, fahrzeug.getFahrzeugtyp() != null ? fahrzeug.getFahrzeugtyp().getId() : 0);
             stmt.setInt(6, fahrzeug.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                listeners.gespeichert(fahrzeug);
+            }
+            return updated;
         }
     }
 
     @Override
     public boolean delete(int id) throws SQLException {
-        String sql = "DELETE FROM Fahrzeug WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                listeners.geloescht(id);
+            }
+            return deleted;
         }
     }
 
@@ -183,23 +515,13 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Fahrzeugtyp createFahrzeugtyp(Fahrzeugtyp typ) throws SQLException {
-        String sql = "INSERT INTO Fahrzeugtyp (Hersteller, ModellBezeichnung, Kategorie, " +
-                     "StandardTagesPreis, Sitzplaetze, Antriebsart, ReichweiteKm, Beschreibung) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FAHRZEUGTYP_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
-            stmt.setString(1, typ.getHersteller());
-            stmt.setString(2, typ.getModellBezeichnung());
-            stmt.setString(3, typ.getKategorie());
-            stmt.setDouble(4, typ.getStandardTagesPreis());
-            stmt.setInt(5, typ.getSitzplaetze());
-            stmt.setString(6, typ.getAntriebsart() != null ? typ.getAntriebsart().name() : null);
-            stmt.setInt(7, typ.getReichweiteKm());
-            stmt.setString(8, typ.getBeschreibung());
+            setFahrzeugtypParameter(stmt, typ);
             
             stmt.executeUpdate();
+            fahrzeugtypCache.invalidieren();
             
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
@@ -212,113 +534,150 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
     }
 
     /**
-     * Findet einen Fahrzeugtyp anhand der ID.
+     * Fügt mehrere Fahrzeugtypen per JDBC-Batch in einer Transaktion ein.
      * 
-     * @param id Die ID des Fahrzeugtyps
-     * @return Optional mit dem Fahrzeugtyp, falls gefunden
+     * @param typen Die einzufügenden Fahrzeugtypen
+     * @return Die eingefügten Fahrzeugtypen mit generierten IDs
      * @throws SQLException Bei Datenbankfehlern
      */
-    public Optional<Fahrzeugtyp> findFahrzeugtypById(int id) throws SQLException {
-        String sql = "SELECT * FROM Fahrzeugtyp WHERE ID = ?";
+    public List<Fahrzeugtyp> createAllFahrzeugtypen(Collection<Fahrzeugtyp> typen) throws SQLException {
+        List<Fahrzeugtyp> liste = new ArrayList<>(typen);
+        if (liste.isEmpty()) {
+            return liste;
+        }
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setInt(1, id);
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            conn.setAutoCommit(false);
             
+            try (PreparedStatement stmt = conn.prepareStatement(FAHRZEUGTYP_INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int von = 0; von < liste.size(); von += JdbcBatch.GROESSE) {
+                    List<Fahrzeugtyp> block = liste.subList(von, Math.min(von + JdbcBatch.GROESSE, liste.size()));
+                    for (Fahrzeugtyp typ : block) {
+                        setFahrzeugtypParameter(stmt, typ);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    if (!JdbcBatch.generierteSchluesselUebernehmen(stmt, block, Fahrzeugtyp::setId)) {
+                        fahrzeugtypIdsSetzen(conn, block);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                fahrzeugtypCache.invalidieren();
+            }
+            return liste;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
+        }
+    }
+
+    private void setFahrzeugtypParameter(PreparedStatement stmt, Fahrzeugtyp typ) throws SQLException {
+        stmt.setString(1, typ.getHersteller());
+        stmt.setString(2, typ.getModellBezeichnung());
+        stmt.setString(3, typ.getKategorie());
+        stmt.setDouble(4, typ.getStandardTagesPreis());
+        stmt.setInt(5, typ.getSitzplaetze());
+        stmt.setString(6, typ.getAntriebsart() != null ? typ.getAntriebsart().name() : null);
+        stmt.setInt(7, typ.getReichweiteKm());
+        stmt.setString(8, typ.getBeschreibung());
+    }
+
+    /**
+     * Ermittelt die IDs gerade eingefügter Fahrzeugtypen über Hersteller und Modell
+     * (jeweils die höchste ID), falls der Treiber für Batches keine generierten Schlüssel liefert.
+     */
+    private void fahrzeugtypIdsSetzen(Connection conn, List<Fahrzeugtyp> block) throws SQLException {
+        Map<String, List<Fahrzeugtyp>> nachHersteller = new HashMap<>();
+        for (Fahrzeugtyp typ : block) {
+            nachHersteller.computeIfAbsent(typ.getHersteller(), h -> new ArrayList<>()).add(typ);
+        }
+        List<String> hersteller = new ArrayList<>(nachHersteller.keySet());
+        String sql = "SELECT ID, Hersteller, ModellBezeichnung FROM Fahrzeugtyp WHERE Hersteller IN (" +
+                     MietvertragDao.platzhalter(hersteller.size()) + ") ORDER BY ID";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < hersteller.size(); i++) {
+                stmt.setString(i + 1, hersteller.get(i));
+            }
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToFahrzeugtyp(rs));
+                while (rs.next()) {
+                    for (Fahrzeugtyp typ : nachHersteller.get(rs.getString("Hersteller"))) {
+                        if (typ.getModellBezeichnung().equals(rs.getString("ModellBezeichnung"))) {
+                            typ.setId(rs.getInt("ID"));
+                        }
+                    }
                 }
             }
         }
-        
-        return Optional.empty();
     }
 
     /**
-     * Gibt alle Fahrzeugtypen zurück.
+     * Findet einen Fahrzeugtyp anhand der ID (über den Fahrzeugtyp-Cache).
+     * Geliefert wird eine Kopie; Änderungen daran werden erst mit {@link #updateFahrzeugtyp} wirksam.
      * 
-     * @return Liste aller Fahrzeugtypen
+     * @param id Die ID des Fahrzeugtyps
+     * @return Optional mit dem Fahrzeugtyp, falls gefunden
      * @throws SQLException Bei Datenbankfehlern
      */
-    public List<Fahrzeugtyp> findAllFahrzeugtypen() throws SQLException {
-        String sql = "SELECT * FROM Fahrzeugtyp";
-        List<Fahrzeugtyp> typen = new ArrayList<>();
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
-             ResultSet rs = stmt.executeQuery()) {
-            
-            while (rs.next()) {
-                typen.add(mapResultSetToFahrzeugtyp(rs));
-            }
-        }
-        
-        return typen;
+    public Optional<Fahrzeugtyp> findFahrzeugtypById(int id) throws SQLException {
+        return fahrzeugtypCache.findById(id);
     }
 
     /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Fahrzeug-Objekt.
+     * Gibt alle Fahrzeugtypen zurück (über den Fahrzeugtyp-Cache).
+     * 
+     * @return Unveränderliche Liste mit Kopien aller Fahrzeugtypen
+     * @throws SQLException Bei Datenbankfehlern
      */
-    private Fahrzeug mapResultSetToFahrzeug(ResultSet rs) throws SQLException {
-        Fahrzeug fahrzeug = new Fahrzeug();
-        fahrzeug.setId(rs.getInt("ID"));
-        fahrzeug.setKennzeichen(rs.getString("Kennzeichen"));
-        fahrzeug.setAktuellerKilometerstand(rs.getInt("AktuellerKilometerstand"));
-        
-        String zustandStr = rs.getString("Zustand");
-        if (zustandStr != null) {
-            fahrzeug.setZustand(FahrzeugZustand.valueOf(zustandStr));
-        }
-        
-        Date tuevDatum = rs.getDate("TuevDatum");
-        if (tuevDatum != null) {
-            fahrzeug.setTuevDatum(tuevDatum.toLocalDate());
-        }
-        
-        // Fahrzeugtyp aus JOIN-Daten laden (falls vorhanden)
-        try {
-            if (rs.getObject("Fahrzeugtyp_ID") != null && !rs.wasNull()) {
-                Fahrzeugtyp typ = mapResultSetToFahrzeugtyp(rs);
-                fahrzeug.setFahrzeugtyp(typ);
-            }
-        } catch (SQLException e) {
-            // Falls kein JOIN gemacht wurde, ignorieren
-        }
-        
-        return fahrzeug;
+    public List<Fahrzeugtyp> findAllFahrzeugtypen() throws SQLException {
+        return fahrzeugtypCache.findAll();
     }
 
     /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Fahrzeugtyp-Objekt.
+     * Gibt den Cache für Fahrzeugtypen zurück (z.B. für Trefferstatistiken).
+     * 
+     * @return Der Fahrzeugtyp-Cache
      */
-    private Fahrzeugtyp mapResultSetToFahrzeugtyp(ResultSet rs) throws SQLException {
-        Fahrzeugtyp typ = new Fahrzeugtyp();
-        
-        // Prüfen ob die Spalten vom Fahrzeugtyp vorhanden sind
-        try {
-            typ.setId(rs.getInt("Fahrzeugtyp.ID"));
-        } catch (SQLException e) {
-            // Fallback wenn ohne Alias
-            typ.setId(rs.getInt("ID"));
+    public ReferenzdatenCache<Fahrzeugtyp> getFahrzeugtypCache() {
+        return fahrzeugtypCache;
+    }
+
+    private Optional<Fahrzeugtyp> ladeFahrzeugtyp(int id) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LADE_FAHRZEUGTYP_SQL)) {
+            
+            stmt.setInt(1, id);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.of(TYP_MAPPER.map(rs));
+                }
+            }
         }
         
-        typ.setHersteller(rs.getString("Hersteller"));
-        typ.setModellBezeichnung(rs.getString("ModellBezeichnung"));
-        typ.setKategorie(rs.getString("Kategorie"));
-        typ.setStandardTagesPreis(rs.getDouble("StandardTagesPreis"));
-        typ.setSitzplaetze(rs.getInt("Sitzplaetze"));
+        return Optional.empty();
+    }
+
+    private List<Fahrzeugtyp> ladeAlleFahrzeugtypen() throws SQLException {
+        List<Fahrzeugtyp> typen = new ArrayList<>();
         
-        String antriebsartStr = rs.getString("Antriebsart");
-        if (antriebsartStr != null) {
-            typ.setAntriebsart(Antriebsart.valueOf(antriebsartStr));
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LADE_ALLE_FAHRZEUGTYPEN_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            
+            while (rs.next()) {
+                typen.add(TYP_MAPPER.map(rs));
+            }
         }
         
-        typ.setReichweiteKm(rs.getInt("ReichweiteKm"));
-        typ.setBeschreibung(rs.getString("Beschreibung"));
-        
-        return typ;
+        return typen;
     }
 
     /**
@@ -341,17 +700,19 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public boolean updateStatusAndKilometerstand(Fahrzeug fahrzeug) throws SQLException {
-        String sql = "UPDATE Fahrzeug SET AktuellerKilometerstand = ?, Zustand = ?, TuevDatum = ? WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS_AND_KILOMETERSTAND_SQL)) {
              
             stmt.setInt(1, fahrzeug.getAktuellerKilometerstand());
             stmt.setString(2, fahrzeug.getZustand().name());
             stmt.setDate(3, fahrzeug.getTuevDatum() != null ? Date.valueOf(fahrzeug.getTuevDatum()) : null);
             stmt.setInt(4, fahrzeug.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                listeners.geaendert(fahrzeug.getId());
+            }
+            return updated;
         }
     }
 
@@ -374,13 +735,15 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public boolean deleteFahrzeugtyp(Long id) throws SQLException {
-        String sql = "DELETE FROM Fahrzeugtyp WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_FAHRZEUGTYP_SQL)) {
              
             stmt.setLong(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                fahrzeugtypCache.invalidieren();
+            }
+            return deleted;
         }
     }
 
@@ -392,12 +755,8 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public boolean updateFahrzeugtyp(Fahrzeugtyp typ) throws SQLException {
-        String sql = "UPDATE Fahrzeugtyp SET Hersteller = ?, ModellBezeichnung = ?, Kategorie = ?, " +
-                     "StandardTagesPreis = ?, Sitzplaetze = ?, Antriebsart = ?, ReichweiteKm = ?, " +
-                     "Beschreibung = ? WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_FAHRZEUGTYP_SQL)) {
              
             stmt.setString(1, typ.getHersteller());
             stmt.setString(2, typ.getModellBezeichnung());
@@ -409,7 +768,30 @@ public class FahrzeugDao implements GenericDao<Fahrzeug> {
             stmt.setString(8, typ.getBeschreibung());
             stmt.setInt(9, typ.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                fahrzeugtypCache.invalidieren();
+                // Fahrzeuge enthalten ihren Fahrzeugtyp: nur die Fahrzeuge dieses Typs neu melden
+                for (Fahrzeug fahrzeug : findByFahrzeugtyp(conn, typ.getId())) {
+                    listeners.gespeichert(fahrzeug);
+                }
+            }
+            return updated;
         }
     }
+
+    private static List<Fahrzeug> findByFahrzeugtyp(Connection conn, int typId) throws SQLException {
+        List<Fahrzeug> fahrzeuge = new ArrayList<>();
+        
+        try (PreparedStatement stmt = conn.prepareStatement(FIND_BY_FAHRZEUGTYP_SQL)) {
+            stmt.setInt(1, typId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    fahrzeuge.add(MAPPER.map(rs));
+                }
+            }
+        }
+        
+        return fahrzeuge;
+    }
 }
@@ -0,0 +1,73 @@
+package com.carrental.dao;
+
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt ein Fahrzeug samt Fahrzeugtyp aus {@code Fahrzeug LEFT JOIN Fahrzeugtyp}
+ * über feste Spaltenindizes einer {@link Projektion}.
+ */
+final class FahrzeugMapper implements RowMapper<Fahrzeug> {
+
+    private final int id;
+    private final int kennzeichen;
+    private final int aktuellerKilometerstand;
+    private final int zustand;
+    private final int tuevDatum;
+    private final FahrzeugtypMapper fahrzeugtyp;
+
+    /**
+     * Fügt die Spalten von Fahrzeug und Fahrzeugtyp der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     * @param tabelle Alias der Tabelle Fahrzeug
+     * @param typTabelle Alias der Tabelle Fahrzeugtyp
+     */
+    FahrzeugMapper(Projektion projektion, String tabelle, String typTabelle) {
+        id = projektion.spalte(tabelle, "ID");
+        kennzeichen = projektion.spalte(tabelle, "Kennzeichen");
+        aktuellerKilometerstand = projektion.spalte(tabelle, "AktuellerKilometerstand");
+        zustand = projektion.spalte(tabelle, "Zustand");
+        tuevDatum = projektion.spalte(tabelle, "TuevDatum");
+        fahrzeugtyp = new FahrzeugtypMapper(projektion, typTabelle);
+    }
+
+    /**
+     * Prüft, ob die Zeile ein Fahrzeug enthält (bei LEFT JOIN kann es fehlen).
+     */
+    boolean vorhanden(ResultSet rs) throws SQLException {
+        rs.getInt(id);
+        return !rs.wasNull();
+    }
+
+    @Override
+    public Fahrzeug map(ResultSet rs) throws SQLException {
+        Fahrzeug fahrzeug = new Fahrzeug();
+        fahrzeug.setId(rs.getInt(id));
+        fahrzeug.setKennzeichen(rs.getString(kennzeichen));
+        fahrzeug.setAktuellerKilometerstand(rs.getInt(aktuellerKilometerstand));
+
+        String zustandStr = rs.getString(zustand);
+        if (zustandStr != null) {
+            try {
+                fahrzeug.setZustand(FahrzeugZustand.valueOf(zustandStr));
+            } catch (IllegalArgumentException e) {
+                System.err.println("WARNUNG: Ungültiger Fahrzeugzustand in Datenbank: " + zustandStr);
+            }
+        }
+
+        Date tuev = rs.getDate(tuevDatum);
+        if (tuev != null) {
+            fahrzeug.setTuevDatum(tuev.toLocalDate());
+        }
+
+        if (fahrzeugtyp.vorhanden(rs)) {
+            fahrzeug.setFahrzeugtyp(fahrzeugtyp.map(rs));
+        }
+        return fahrzeug;
+    }
+}
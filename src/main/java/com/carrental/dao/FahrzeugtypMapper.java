@@ -0,0 +1,73 @@
+package com.carrental.dao;
+
+import com.carrental.model.Antriebsart;
+import com.carrental.model.Fahrzeugtyp;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt die Spalten der Tabelle Fahrzeugtyp über feste Spaltenindizes einer {@link Projektion}.
+ */
+final class FahrzeugtypMapper implements RowMapper<Fahrzeugtyp> {
+
+    private final int id;
+    private final int hersteller;
+    private final int modellBezeichnung;
+    private final int kategorie;
+    private final int standardTagesPreis;
+    private final int sitzplaetze;
+    private final int antriebsart;
+    private final int reichweiteKm;
+    private final int beschreibung;
+
+    /**
+     * Fügt die Fahrzeugtyp-Spalten der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     * @param tabelle Tabellenalias (null ohne Alias)
+     */
+    FahrzeugtypMapper(Projektion projektion, String tabelle) {
+        id = projektion.spalte(tabelle, "ID");
+        hersteller = projektion.spalte(tabelle, "Hersteller");
+        modellBezeichnung = projektion.spalte(tabelle, "ModellBezeichnung");
+        kategorie = projektion.spalte(tabelle, "Kategorie");
+        standardTagesPreis = projektion.spalte(tabelle, "StandardTagesPreis");
+        sitzplaetze = projektion.spalte(tabelle, "Sitzplaetze");
+        antriebsart = projektion.spalte(tabelle, "Antriebsart");
+        reichweiteKm = projektion.spalte(tabelle, "ReichweiteKm");
+        beschreibung = projektion.spalte(tabelle, "Beschreibung");
+    }
+
+    /**
+     * Prüft, ob die Zeile einen Fahrzeugtyp enthält (bei LEFT JOIN kann er fehlen).
+     */
+    boolean vorhanden(ResultSet rs) throws SQLException {
+        rs.getInt(id);
+        return !rs.wasNull();
+    }
+
+    @Override
+    public Fahrzeugtyp map(ResultSet rs) throws SQLException {
+        Fahrzeugtyp typ = new Fahrzeugtyp();
+        typ.setId(rs.getInt(id));
+        typ.setHersteller(rs.getString(hersteller));
+        typ.setModellBezeichnung(rs.getString(modellBezeichnung));
+        typ.setKategorie(rs.getString(kategorie));
+        typ.setStandardTagesPreis(rs.getDouble(standardTagesPreis));
+        typ.setSitzplaetze(rs.getInt(sitzplaetze));
+
+        String antriebsartStr = rs.getString(antriebsart);
+        if (antriebsartStr != null) {
+            try {
+                typ.setAntriebsart(Antriebsart.valueOf(antriebsartStr));
+            } catch (IllegalArgumentException e) {
+                System.err.println("WARNUNG: Ungültige Antriebsart in Datenbank: " + antriebsartStr);
+            }
+        }
+
+        typ.setReichweiteKm(rs.getInt(reichweiteKm));
+        typ.setBeschreibung(rs.getString(beschreibung));
+        return typ;
+    }
+}
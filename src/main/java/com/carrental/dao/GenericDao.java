@@ -1,8 +1,12 @@
 package com.carrental.dao;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Generische DAO-Schnittstelle für CRUD-Operationen.
@@ -12,6 +16,9 @@ import java.util.Optional;
  */
 public interface GenericDao<T> {
 
+    /** Standard-Fetch-Size für Streaming-Abfragen. */
+    int DEFAULT_FETCH_SIZE = 500;
+
     /**
      * Fügt eine neue Entität in die Datenbank ein.
      * 
@@ -21,6 +28,23 @@ public interface GenericDao<T> {
      */
     T create(T entity) throws SQLException;
 
+    /**
+     * Fügt mehrere Entitäten ein. Die Standardimplementierung ruft {@link #create(Object)}
+     * je Entität auf; DAOs für Massendaten (z.B. Fahrzeuge und Kunden beim Onboarding)
+     * überschreiben sie mit JDBC-Batches in einer Transaktion.
+     *
+     * @param entities Die einzufügenden Entitäten
+     * @return Die eingefügten Entitäten mit generierten IDs, in Einfügereihenfolge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    default List<T> createAll(Collection<T> entities) throws SQLException {
+        List<T> erstellt = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            erstellt.add(create(entity));
+        }
+        return erstellt;
+    }
+
     /**
      * Sucht eine Entität anhand ihrer ID.
      * 
@@ -38,6 +62,45 @@ public interface GenericDao<T> {
      */
     List<T> findAll() throws SQLException;
 
+    /**
+     * Gibt alle Entitäten als Stream zurück, ohne sie vollständig in den Speicher zu laden.
+     * Der Stream hält eine Datenbankverbindung und muss geschlossen werden (try-with-resources).
+     * 
+     * @return Stream aller Entitäten
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    default Stream<T> streamAll() throws SQLException {
+        return streamAll(DEFAULT_FETCH_SIZE);
+    }
+
+    /**
+     * Gibt alle Entitäten als Stream mit der angegebenen JDBC-Fetch-Size zurück.
+     * Die Standardimplementierung lädt über {@link #findAll()}; DAOs mit großen
+     * Tabellen überschreiben sie mit einem echten Datenbank-Cursor.
+     * Fehler beim Lesen werden als {@link UncheckedSQLException} gemeldet.
+     * 
+     * @param fetchSize Anzahl Zeilen, die pro Round-Trip vom Server geholt werden
+     * @return Stream aller Entitäten
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    default Stream<T> streamAll(int fetchSize) throws SQLException {
+        return findAll().stream();
+    }
+
+    /**
+     * Führt eine Aktion für jede Entität aus, ohne alle Entitäten gleichzeitig zu halten.
+     * 
+     * @param action Die auszuführende Aktion
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    default void forEach(Consumer<? super T> action) throws SQLException {
+        try (Stream<T> stream = streamAll()) {
+            stream.forEach(action);
+        } catch (UncheckedSQLException e) {
+            throw e.getCause();
+        }
+    }
+
     /**
      * Aktualisiert eine bestehende Entität.
      * 
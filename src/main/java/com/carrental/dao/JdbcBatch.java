@@ -0,0 +1,48 @@
+package com.carrental.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Hilfsmethoden für JDBC-Batches in den DAOs.
+ */
+final class JdbcBatch {
+
+    /** Anzahl Zeilen pro executeBatch()-Aufruf. */
+    static final int GROESSE = 1000;
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Übernimmt die nach executeBatch() gelieferten generierten Schlüssel in die Entitäten.
+     * Nicht jeder Treiber liefert Schlüssel für Batches; in diesem Fall wird nichts gesetzt
+     * und der Aufrufer muss die IDs anderweitig ermitteln.
+     *
+     * @param stmt Das ausgeführte Statement (mit RETURN_GENERATED_KEYS vorbereitet)
+     * @param block Die Entitäten des Batches in Einfügereihenfolge
+     * @param idSetzer Setzt die ID einer Entität
+     * @return true, wenn für jede Entität ein Schlüssel geliefert wurde
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    static <T> boolean generierteSchluesselUebernehmen(PreparedStatement stmt, List<T> block,
+                                                       ObjIntConsumer<T> idSetzer) throws SQLException {
+        int[] ids = new int[block.size()];
+        int anzahl = 0;
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next() && anzahl < ids.length) {
+                ids[anzahl++] = rs.getInt(1);
+            }
+        }
+        if (anzahl != ids.length) {
+            return false;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            idSetzer.accept(block.get(i), ids[i]);
+        }
+        return true;
+    }
+}
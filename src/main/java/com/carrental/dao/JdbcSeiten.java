@@ -0,0 +1,40 @@
+package com.carrental.dao;
+
+/**
+ * Hilfsmethoden für seitenweise Abfragen (OFFSET/FETCH) in den DAOs.
+ */
+final class JdbcSeiten {
+
+    private JdbcSeiten() {
+    }
+
+    /**
+     * Erzeugt ORDER BY und Seitenbegrenzung. Die ID wird als zweites Sortierkriterium
+     * angehängt, damit die Reihenfolge bei gleichen Werten über alle Seiten stabil bleibt.
+     * Die beiden Platzhalter für Offset und Seitengröße folgen am Ende.
+     *
+     * @param spalte SQL-Ausdruck der Sortierspalte (nur aus festen Konstanten)
+     * @param absteigend true für absteigende Sortierung
+     * @param idSpalte SQL-Ausdruck der Primärschlüsselspalte
+     * @return SQL-Fragment beginnend mit " ORDER BY"
+     */
+    static String sortierungUndSeite(String spalte, boolean absteigend, String idSpalte) {
+        String richtung = absteigend ? " DESC" : " ASC";
+        StringBuilder sql = new StringBuilder(" ORDER BY ").append(spalte).append(richtung);
+        if (!spalte.equals(idSpalte)) {
+            sql.append(", ").append(idSpalte).append(richtung);
+        }
+        return sql.append(" OFFSET ? ROWS FETCH FIRST ? ROWS ONLY").toString();
+    }
+
+    /**
+     * Prüft Offset und Seitengröße.
+     *
+     * @throws IllegalArgumentException bei negativem Offset oder Seitengröße kleiner 1
+     */
+    static void pruefen(int offset, int limit) {
+        if (offset < 0 || limit < 1) {
+            throw new IllegalArgumentException("Ungültige Seite: offset=" + offset + ", limit=" + limit);
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.carrental.dao;
 
 import com.carrental.model.Kunde;
+import com.carrental.util.ConnectionPool;
 import com.carrental.util.DatabaseConfig;
-import com.carrental.util.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * DAO-Implementierung für Kunde-Entitäten.
@@ -15,35 +19,82 @@ import java.util.Optional;
  */
 public class KundeDao implements GenericDao<Kunde> {
 
-    private final DatabaseConfig config;
+    /** Anzahl Kundennummern pro Sequenzwert (muss INCREMENT BY von SEQ_Kundennummer entsprechen). */
+    public static final int KUNDENNUMMER_BLOCK = 50;
+
+    /** Spaltenliste aller Abfragen auf Kunde; der Mapper liest per Spaltenindex. */
+    private static final Projektion SPALTEN = new Projektion();
+    private static final KundeMapper MAPPER = new KundeMapper(SPALTEN, null);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Kunde (AccountName, Passwort, Vorname, Nachname, Email, " +
+        "Kundennummer, Strasse, Hausnummer, PLZ, Ort, Geburtstag, " +
+        "FuehrerscheinNummer, IstAktiv) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + SPALTEN + " FROM Kunde WHERE ID = ?";
+
+    private static final String FIND_BY_KUNDENNUMMER_SQL =
+        "SELECT " + SPALTEN + " FROM Kunde WHERE Kundennummer = ?";
+
+    private static final String FIND_BY_ACCOUNT_NAME_SQL =
+        "SELECT " + SPALTEN + " FROM Kunde WHERE AccountName = ?";
+
+    private static final String FIND_ALL_SQL = "SELECT " + SPALTEN + " FROM Kunde";
+
+    private static final String NAECHSTER_KUNDENNUMMERN_BLOCK_SQL = "VALUES NEXT VALUE FOR SEQ_Kundennummer";
+
+    private static final String FIND_HOECHSTE_KUNDENNUMMER_SQL = "SELECT MAX(Kundennummer) FROM Kunde";
+
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM Kunde";
+
+    private static final String STREAM_ALL_SQL = "SELECT " + SPALTEN + " FROM Kunde ORDER BY ID";
+
+    private static final String UPDATE_SQL =
+        "UPDATE Kunde SET AccountName = ?, Passwort = ?, Vorname = ?, " +
+        "Nachname = ?, Email = ?, Strasse = ?, Hausnummer = ?, PLZ = ?, " +
+        "Ort = ?, Geburtstag = ?, FuehrerscheinNummer = ?, IstAktiv = ? " +
+        "WHERE Kundennummer = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM Kunde WHERE ID = ?";
+
+    private static final String SOFT_DELETE_BY_KUNDENNUMMER_SQL =
+        "UPDATE Kunde SET IstAktiv = 0 WHERE Kundennummer = ?";
+
+    private final ConnectionPool pool;
+    private final AenderungsListeners<Kunde> listeners = new AenderungsListeners<>();
 
     public KundeDao(DatabaseConfig config) {
-        this.config = config;
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            INSERT_SQL, FIND_BY_ID_SQL, FIND_BY_KUNDENNUMMER_SQL, FIND_BY_ACCOUNT_NAME_SQL, FIND_ALL_SQL,
+            NAECHSTER_KUNDENNUMMERN_BLOCK_SQL, FIND_HOECHSTE_KUNDENNUMMER_SQL, COUNT_SQL, STREAM_ALL_SQL,
+            UPDATE_SQL, DELETE_SQL, SOFT_DELETE_BY_KUNDENNUMMER_SQL);
+    }
+
+    /**
+     * Registriert einen Listener, der nach jeder schreibenden Operation benachrichtigt wird.
+     * 
+     * @param listener Der Listener
+     */
+    public void addAenderungsListener(AenderungsListener<Kunde> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen zuvor registrierten Listener.
+     * 
+     * @param listener Der Listener
+     */
+    public void removeAenderungsListener(AenderungsListener<Kunde> listener) {
+        listeners.remove(listener);
     }
 
     @Override
     public Kunde create(Kunde kunde) throws SQLException {
-        String sql = "INSERT INTO Kunde (AccountName, Passwort, Vorname, Nachname, Email, " +
-                     "Kundennummer, Strasse, Hausnummer, PLZ, Ort, Geburtstag, " +
-                     "FuehrerscheinNummer, IstAktiv) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            stmt.setString(1, kunde.getAccountName());
-            stmt.setString(2, kunde.getPasswort());
-            stmt.setString(3, kunde.getVorname());
-            stmt.setString(4, kunde.getNachname());
-            stmt.setString(5, kunde.getEmail());
-            stmt.setInt(6, kunde.getKundennummer());
-            stmt.setString(7, kunde.getStrasse());
-            stmt.setString(8, kunde.getHausnummer());
-            stmt.setString(9, kunde.getPlz());
-            stmt.setString(10, kunde.getOrt());
-            stmt.setDate(11, kunde.getGeburtstag() != null ? Date.valueOf(kunde.getGeburtstag()) : null);
-            stmt.setString(12, kunde.getFuehrerscheinNummer());
-            stmt.setInt(13, kunde.isIstAktiv() ? 1 : 0);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
+            setInsertParameter(stmt, kunde);
             stmt.executeUpdate();
             
             // Generierte ID abrufen
@@ -53,22 +104,114 @@ public class KundeDao implements GenericDao<Kunde> {
                 }
             }
             
+            listeners.gespeichert(kunde);
             return kunde;
         }
     }
 
+    /**
+     * Fügt mehrere Kunden per JDBC-Batch in einer Transaktion ein
+     * (ein Round-Trip je {@link JdbcBatch#GROESSE} Kunden).
+     * Schlägt ein Kunde fehl, wird keiner eingefügt.
+     * 
+     * @param kunden Die einzufügenden Kunden
+     * @return Die eingefügten Kunden mit generierten IDs
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    @Override
+    public List<Kunde> createAll(Collection<Kunde> kunden) throws SQLException {
+        List<Kunde> liste = new ArrayList<>(kunden);
+        if (liste.isEmpty()) {
+            return liste;
+        }
+        
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            conn.setAutoCommit(false);
+            
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int von = 0; von < liste.size(); von += JdbcBatch.GROESSE) {
+                    List<Kunde> block = liste.subList(von, Math.min(von + JdbcBatch.GROESSE, liste.size()));
+                    for (Kunde kunde : block) {
+                        setInsertParameter(stmt, kunde);
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+                    if (!JdbcBatch.generierteSchluesselUebernehmen(stmt, block, Kunde::setId)) {
+                        idsNachAccountNameSetzen(conn, block);
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+            
+            for (Kunde kunde : liste) {
+                listeners.gespeichert(kunde);
+            }
+            return liste;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
+        }
+    }
+
+    private void setInsertParameter(PreparedStatement stmt, Kunde kunde) throws SQLException {
+        stmt.setString(1, kunde.getAccountName());
+        stmt.setString(2, kunde.getPasswort());
+        stmt.setString(3, kunde.getVorname());
+        stmt.setString(4, kunde.getNachname());
+        stmt.setString(5, kunde.getEmail());
+        stmt.setInt(6, kunde.getKundennummer());
+        stmt.setString(7, kunde.getStrasse());
+        stmt.setString(8, kunde.getHausnummer());
+        stmt.setString(9, kunde.getPlz());
+        stmt.setString(10, kunde.getOrt());
+        stmt.setDate(11, kunde.getGeburtstag() != null ? Date.valueOf(kunde.getGeburtstag()) : null);
+        stmt.setString(12, kunde.getFuehrerscheinNummer());
+        stmt.setInt(13, kunde.isIstAktiv() ? 1 : 0);
+    }
+
+    /**
+     * Ermittelt die IDs gerade eingefügter Kunden über den eindeutigen Account-Namen,
+     * falls der Treiber für Batches keine generierten Schlüssel liefert.
+     */
+    private void idsNachAccountNameSetzen(Connection conn, List<Kunde> block) throws SQLException {
+        Map<String, Kunde> nachAccountName = new HashMap<>();
+        for (Kunde kunde : block) {
+            nachAccountName.put(kunde.getAccountName(), kunde);
+        }
+        String sql = "SELECT ID, AccountName FROM Kunde WHERE AccountName IN (" +
+                     MietvertragDao.platzhalter(block.size()) + ")";
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < block.size(); i++) {
+                stmt.setString(i + 1, block.get(i).getAccountName());
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    Kunde kunde = nachAccountName.get(rs.getString("AccountName"));
+                    if (kunde != null) {
+                        kunde.setId(rs.getInt("ID"));
+                    }
+                }
+            }
+        }
+    }
+
     @Override
     public Optional<Kunde> findById(int id) throws SQLException {
-        String sql = "SELECT * FROM Kunde WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToKunde(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -84,16 +227,14 @@ public class KundeDao implements GenericDao<Kunde> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Optional<Kunde> findByKundennummer(int kundennummer) throws SQLException {
-        String sql = "SELECT * FROM Kunde WHERE Kundennummer = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_KUNDENNUMMER_SQL)) {
             
             stmt.setInt(1, kundennummer);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToKunde(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -109,16 +250,14 @@ public class KundeDao implements GenericDao<Kunde> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Optional<Kunde> findByAccountName(String accountName) throws SQLException {
-        String sql = "SELECT * FROM Kunde WHERE AccountName = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ACCOUNT_NAME_SQL)) {
             
             stmt.setString(1, accountName);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToKunde(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -128,30 +267,133 @@ public class KundeDao implements GenericDao<Kunde> {
 
     @Override
     public List<Kunde> findAll() throws SQLException {
-        String sql = "SELECT * FROM Kunde";
         List<Kunde> kunden = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                kunden.add(mapResultSetToKunde(rs));
+                kunden.add(MAPPER.map(rs));
             }
         }
         
         return kunden;
     }
 
-    @Override
-    public boolean update(Kunde kunde) throws SQLException {
-        String sql = "UPDATE Kunde SET AccountName = ?, Passwort = ?, Vorname = ?, " +
-                     "Nachname = ?, Email = ?, Strasse = ?, Hausnummer = ?, PLZ = ?, " +
-                     "Ort = ?, Geburtstag = ?, FuehrerscheinNummer = ?, IstAktiv = ? " +
-                     "WHERE Kundennummer = ?";
+    /**
+     * Sortierbare Spalten für {@link #findSeite}.
+     */
+    public enum Sortierung {
+        ID("ID"),
+        KUNDENNUMMER("Kundennummer"),
+        VORNAME("Vorname"),
+        NACHNAME("Nachname"),
+        EMAIL("Email"),
+        ORT("Ort"),
+        GEBURTSTAG("Geburtstag");
+
+        private final String spalte;
+
+        Sortierung(String spalte) {
+            this.spalte = spalte;
+        }
+    }
+
+    /**
+     * Reserviert den nächsten Block von {@link #KUNDENNUMMER_BLOCK} Kundennummern über die
+     * Sequenz SEQ_Kundennummer. Die Sequenz ist transaktionsunabhängig, verschiedene
+     * Anwendungsinstanzen erhalten daher immer disjunkte Blöcke.
+     * 
+     * @return Erste Kundennummer des Blocks
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public int naechsterKundennummernBlock() throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(NAECHSTER_KUNDENNUMMERN_BLOCK_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Gibt die höchste vergebene Kundennummer zurück (über den UNIQUE-Index, ohne Kunden zu laden).
+     * 
+     * @return Höchste Kundennummer oder 0, wenn es keine Kunden gibt
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public int findHoechsteKundennummer() throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_HOECHSTE_KUNDENNUMMER_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Zählt alle Kunden.
+     * 
+     * @return Anzahl der Kunden
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public int count() throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    /**
+     * Lädt eine Seite von Kunden, serverseitig sortiert.
+     * 
+     * @param sortierung Sortierspalte
+     * @param absteigend true für absteigende Sortierung
+     * @param offset Anzahl zu überspringender Kunden
+     * @param limit Maximale Anzahl Kunden der Seite
+     * @return Die Kunden der Seite
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Kunde> findSeite(Sortierung sortierung, boolean absteigend, int offset, int limit)
+            throws SQLException {
+        JdbcSeiten.pruefen(offset, limit);
+        String sql = "SELECT " + SPALTEN + " FROM Kunde" +
+                     JdbcSeiten.sortierungUndSeite(sortierung.spalte, absteigend, Sortierung.ID.spalte);
+        List<Kunde> kunden = new ArrayList<>(limit);
         
-        try (Connection conn = DatabaseConnection.create(config);
+        try (Connection conn = pool.getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
+            stmt.setInt(1, offset);
+            stmt.setInt(2, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    kunden.add(MAPPER.map(rs));
+                }
+            }
+        }
+        
+        return kunden;
+    }
+
+    @Override
+    public Stream<Kunde> streamAll(int fetchSize) throws SQLException {
+        Connection conn = pool.getConnection();
+        try {
+            PreparedStatement stmt = conn.prepareStatement(STREAM_ALL_SQL);
+            return ResultSetStreams.stream(conn, stmt, fetchSize, MAPPER);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean update(Kunde kunde) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
             
             stmt.setString(1, kunde.getAccountName());
             stmt.setString(2, kunde.getPasswort());
@@ -167,19 +409,25 @@ public class KundeDao implements GenericDao<Kunde> {
             stmt.setInt(12, kunde.isIstAktiv() ? 1 : 0);
             stmt.setInt(13, kunde.getKundennummer());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                listeners.gespeichert(kunde);
+            }
+            return updated;
         }
     }
 
     @Override
     public boolean delete(int id) throws SQLException {
-        String sql = "DELETE FROM Kunde WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                listeners.geloescht(id);
+            }
+            return deleted;
         }
     }
 
@@ -191,43 +439,16 @@ public class KundeDao implements GenericDao<Kunde> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public boolean softDeleteByKundennummer(int kundennummer) throws SQLException {
-        String sql = "UPDATE Kunde SET IstAktiv = 0 WHERE Kundennummer = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SOFT_DELETE_BY_KUNDENNUMMER_SQL)) {
             
             stmt.setInt(1, kundennummer);
-            return stmt.executeUpdate() > 0;
-        }
-    }
-
-    /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Kunde-Objekt.
-     */
-    private Kunde mapResultSetToKunde(ResultSet rs) throws SQLException {
-        Kunde kunde = new Kunde(
-            rs.getInt("Kundennummer"),
-            rs.getString("AccountName"),
-            rs.getString("Passwort"),
-            rs.getString("Vorname"),
-            rs.getString("Nachname"),
-            rs.getString("Email")
-        );
-        
-        kunde.setId(rs.getInt("ID"));
-        kunde.setStrasse(rs.getString("Strasse"));
-        kunde.setHausnummer(rs.getString("Hausnummer"));
-        kunde.setPlz(rs.getString("PLZ"));
-        kunde.setOrt(rs.getString("Ort"));
-        
-        Date geburtstag = rs.getDate("Geburtstag");
-        if (geburtstag != null) {
-            kunde.setGeburtstag(geburtstag.toLocalDate());
+            if (stmt.executeUpdate() == 0) {
+                return false;
+            }
         }
         
-        kunde.setFuehrerscheinNummer(rs.getString("FuehrerscheinNummer"));
-        kunde.setIstAktiv(rs.getInt("IstAktiv") == 1);
-        
-        return kunde;
+        findByKundennummer(kundennummer).ifPresent(listeners::gespeichert);
+        return true;
     }
 }
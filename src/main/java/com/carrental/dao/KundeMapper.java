@@ -0,0 +1,86 @@
+package com.carrental.dao;
+
+import com.carrental.model.Kunde;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt die Spalten der Tabelle Kunde über feste Spaltenindizes einer {@link Projektion}.
+ */
+final class KundeMapper implements RowMapper<Kunde> {
+
+    private final int id;
+    private final int accountName;
+    private final int passwort;
+    private final int vorname;
+    private final int nachname;
+    private final int email;
+    private final int kundennummer;
+    private final int strasse;
+    private final int hausnummer;
+    private final int plz;
+    private final int ort;
+    private final int geburtstag;
+    private final int fuehrerscheinNummer;
+    private final int istAktiv;
+
+    /**
+     * Fügt die Kunde-Spalten der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     * @param tabelle Tabellenalias (null ohne Alias)
+     */
+    KundeMapper(Projektion projektion, String tabelle) {
+        id = projektion.spalte(tabelle, "ID");
+        accountName = projektion.spalte(tabelle, "AccountName");
+        passwort = projektion.spalte(tabelle, "Passwort");
+        vorname = projektion.spalte(tabelle, "Vorname");
+        nachname = projektion.spalte(tabelle, "Nachname");
+        email = projektion.spalte(tabelle, "Email");
+        kundennummer = projektion.spalte(tabelle, "Kundennummer");
+        strasse = projektion.spalte(tabelle, "Strasse");
+        hausnummer = projektion.spalte(tabelle, "Hausnummer");
+        plz = projektion.spalte(tabelle, "PLZ");
+        ort = projektion.spalte(tabelle, "Ort");
+        geburtstag = projektion.spalte(tabelle, "Geburtstag");
+        fuehrerscheinNummer = projektion.spalte(tabelle, "FuehrerscheinNummer");
+        istAktiv = projektion.spalte(tabelle, "IstAktiv");
+    }
+
+    /**
+     * Prüft, ob die Zeile einen Kunden enthält (bei LEFT JOIN kann er fehlen).
+     */
+    boolean vorhanden(ResultSet rs) throws SQLException {
+        rs.getInt(id);
+        return !rs.wasNull();
+    }
+
+    @Override
+    public Kunde map(ResultSet rs) throws SQLException {
+        Kunde kunde = new Kunde(
+            rs.getInt(kundennummer),
+            rs.getString(accountName),
+            rs.getString(passwort),
+            rs.getString(vorname),
+            rs.getString(nachname),
+            rs.getString(email)
+        );
+
+        kunde.setId(rs.getInt(id));
+        kunde.setStrasse(rs.getString(strasse));
+        kunde.setHausnummer(rs.getString(hausnummer));
+        kunde.setPlz(rs.getString(plz));
+        kunde.setOrt(rs.getString(ort));
+
+        Date geburtsdatum = rs.getDate(geburtstag);
+        if (geburtsdatum != null) {
+            kunde.setGeburtstag(geburtsdatum.toLocalDate());
+        }
+
+        kunde.setFuehrerscheinNummer(rs.getString(fuehrerscheinNummer));
+        kunde.setIstAktiv(rs.getInt(istAktiv) == 1);
+        return kunde;
+    }
+}
@@ -1,13 +1,25 @@
 package com.carrental.dao;
 
 import com.carrental.model.*;
+import com.carrental.util.ConnectionPool;
 import com.carrental.util.DatabaseConfig;
-import com.carrental.util.DatabaseConnection;
 
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * DAO-Implementierung für Mietvertrag-Entitäten.
@@ -15,24 +27,173 @@ import java.util.Optional;
  */
 public class MietvertragDao implements GenericDao<Mietvertrag> {
 
-    private final DatabaseConfig config;
+    /** Maximale Anzahl IDs pro IN-Liste beim gebündelten Nachladen. */
+    private static final int IN_BLOCK_GROESSE = 500;
+
+    /** Spaltenliste für Vertrag mit Kunde, Fahrzeug, Fahrzeugtyp und Mitarbeiter. */
+    private static final Projektion VERTRAG_SPALTEN = new Projektion();
+    private static final MietvertragMapper VERTRAG_MAPPER = new MietvertragMapper(VERTRAG_SPALTEN);
+
+    /** Spaltenliste für die Zusatzoptionen eines Vertrags. */
+    private static final Projektion OPTION_SPALTEN = new Projektion();
+    private static final ZusatzoptionMapper OPTION_MAPPER = new ZusatzoptionMapper(OPTION_SPALTEN, "z");
+
+    /** Spaltenliste für gebündelt geladene Zusatzoptionen mit zugehöriger Vertrags-ID. */
+    private static final Projektion ZUORDNUNG_SPALTEN = new Projektion();
+    private static final int ZUORDNUNG_VERTRAG_ID = ZUORDNUNG_SPALTEN.spalte("mz", "Mietvertrag_ID");
+    private static final ZusatzoptionMapper ZUORDNUNG_MAPPER = new ZusatzoptionMapper(ZUORDNUNG_SPALTEN, "z");
+
+    /** Spaltenliste für Vertragszeilen der Listenansichten. */
+    private static final Projektion ZEILE_SPALTEN = new Projektion();
+    private static final VertragsZeileMapper ZEILE_MAPPER = new VertragsZeileMapper(ZEILE_SPALTEN);
+
+    /** Vertrag mit Kunde, Fahrzeug, Fahrzeugtyp und Mitarbeiter; Bedingungen werden angehängt. */
+    private static final String VERTRAG_SELECT_SQL = "SELECT " + VERTRAG_SPALTEN + MietvertragMapper.FROM + " ";
+
+    /** Vertragszeile mit Kundenname und Kennzeichen; Bedingungen werden angehängt. */
+    private static final String ZEILE_SELECT_SQL = "SELECT " + ZEILE_SPALTEN + VertragsZeileMapper.FROM + " ";
+
+    private static final String FAHRZEUG_BELEGUNG_SQL = belegungSql("Fahrzeug_ID");
+
+    private static final String KUNDE_BELEGUNG_SQL = belegungSql("Kunde_ID");
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Mietvertrag (Mietnummer, StartDatum, EndDatum, Status, " +
+        "GesamtPreis, Kunde_ID, Fahrzeug_ID, Mitarbeiter_ID) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FAHRZEUG_SPERREN_SQL =
+        "UPDATE Fahrzeug SET Version = Version + 1 WHERE ID = ?";
+
+    private static final String FAHRZEUG_ZUSTAND_SQL = "UPDATE Fahrzeug SET Zustand = ? WHERE ID = ?";
+
+    private static final String FIND_BY_ID_SQL = VERTRAG_SELECT_SQL + "WHERE m.ID = ?";
+
+    private static final String FIND_HOECHSTE_MIETNUMMER_SQL =
+        "SELECT MAX(Mietnummer) FROM Mietvertrag WHERE Mietnummer LIKE ?";
+
+    private static final String NAECHSTE_KNOTENKENNUNG_SQL = "VALUES NEXT VALUE FOR SEQ_Mietnummer_Knoten";
+
+    /** SQLSTATEs einer erschöpften Sequenz: SQL-Standard (HSQLDB) und Db2. */
+    private static final Set<String> SEQUENZ_ERSCHOEPFT = Set.of("2200H", "23522");
+
+    private static final String FIND_BY_MIETNUMMER_SQL = VERTRAG_SELECT_SQL + "WHERE m.Mietnummer = ?";
+
+    private static final String FIND_BY_KUNDE_SQL = VERTRAG_SELECT_SQL + "WHERE k.Kundennummer = ?";
+
+    private static final String FIND_ZEILEN_BY_KUNDE_SQL =
+        ZEILE_SELECT_SQL + "WHERE k.Kundennummer = ?";
+
+    private static final String FIND_AKTIVE_BELEGUNGEN_SQL =
+        "SELECT ID, Fahrzeug_ID, StartDatum, EndDatum FROM Mietvertrag WHERE " + belegend("Status");
+
+    private static final String ZU_STARTENDE_IDS_SQL =
+        "SELECT ID FROM Mietvertrag WHERE Status = 'BESTAETIGT' AND StartDatum <= ?";
+
+    private static final String VERTRAG_STARTEN_SQL =
+        "UPDATE Mietvertrag SET Status = 'LAUFEND' " +
+        "WHERE ID = ? AND Status = 'BESTAETIGT' AND StartDatum <= ?";
+
+    private static final String FAELLIGE_IDS_SQL =
+        "SELECT ID FROM Mietvertrag WHERE Status = 'LAUFEND' AND EndDatum < ?";
+
+    private static final String FREIZUGEBENDE_FAHRZEUG_IDS_SQL =
+        "SELECT f.ID FROM Fahrzeug f " +
+        "WHERE f.Zustand = 'VERMIETET' " +
+        "AND EXISTS (SELECT 1 FROM Mietvertrag m WHERE m.Fahrzeug_ID = f.ID " +
+        "AND m.Status = 'LAUFEND' AND m.EndDatum < ?) " +
+        "AND NOT EXISTS (SELECT 1 FROM Mietvertrag o WHERE o.Fahrzeug_ID = f.ID " +
+        "AND " + belegend("o.Status") + " " +
+        "AND o.StartDatum <= ? AND o.EndDatum >= ?)";
+
+    private static final String FAHRZEUG_FREIGEBEN_SQL =
+        "UPDATE Fahrzeug f SET Zustand = 'VERFUEGBAR' " +
+        "WHERE f.ID = ? AND f.Zustand = 'VERMIETET' " +
+        "AND NOT EXISTS (SELECT 1 FROM Mietvertrag o WHERE o.Fahrzeug_ID = f.ID " +
+        "AND " + belegend("o.Status") + " " +
+        "AND o.StartDatum <= ? AND o.EndDatum >= ?)";
+
+    private static final String VERTRAG_ABSCHLIESSEN_SQL =
+        "UPDATE Mietvertrag SET Status = 'ABGESCHLOSSEN' " +
+        "WHERE ID = ? AND Status = 'LAUFEND' AND EndDatum < ?";
+
+    private static final String UPDATE_STATUS_SQL = "UPDATE Mietvertrag SET Status = ? WHERE ID = ?";
+
+    private static final String UPDATE_SQL =
+        "UPDATE Mietvertrag SET Mietnummer = ?, StartDatum = ?, EndDatum = ?, " +
+        "Status = ?, GesamtPreis = ?, Kunde_ID = ?, Fahrzeug_ID = ?, " +
+        "Mitarbeiter_ID = ? WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM Mietvertrag WHERE ID = ?";
+
+    private static final String LOAD_ZUSATZOPTIONEN_SQL =
+        "SELECT " + OPTION_SPALTEN + " FROM Zusatzoption z " +
+        "INNER JOIN Mietvertrag_Zusatzoption mz ON z.ID = mz.Zusatzoption_ID " +
+        "WHERE mz.Mietvertrag_ID = ?";
+
+    private static final String ZUSATZOPTION_INSERT_SQL =
+        "INSERT INTO Mietvertrag_Zusatzoption (Mietvertrag_ID, Zusatzoption_ID) VALUES (?, ?)";
+
+    private static final String ZUSATZOPTION_IDS_SQL =
+        "SELECT Zusatzoption_ID FROM Mietvertrag_Zusatzoption WHERE Mietvertrag_ID = ?";
+
+    private static final String ZUSATZOPTIONEN_ENTFERNEN_SQL =
+        "DELETE FROM Mietvertrag_Zusatzoption " +
+        "WHERE Mietvertrag_ID = ? AND Zusatzoption_ID = ?";
+
+    private static final String ZUSATZOPTIONEN_LOESCHEN_SQL =
+        "DELETE FROM Mietvertrag_Zusatzoption WHERE Mietvertrag_ID = ?";
+
+    private static final String RESOLVE_KUNDE_ID_SQL = "SELECT ID FROM Kunde WHERE Kundennummer = ?";
+
+    private static final String RESOLVE_FAHRZEUG_ID_SQL = "SELECT ID FROM Fahrzeug WHERE Kennzeichen = ?";
+
+    private static final String RESOLVE_MITARBEITER_ID_SQL =
+        "SELECT ID FROM Mitarbeiter WHERE Personalnummer = ?";
+
+    private final ConnectionPool pool;
+    private final AenderungsListeners<Mietvertrag> listeners = new AenderungsListeners<>();
 
     public MietvertragDao(DatabaseConfig config) {
-        this.config = config;
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            VERTRAG_SELECT_SQL, FAHRZEUG_BELEGUNG_SQL, KUNDE_BELEGUNG_SQL, INSERT_SQL, FAHRZEUG_SPERREN_SQL,
+            FAHRZEUG_ZUSTAND_SQL, FIND_BY_ID_SQL, FIND_HOECHSTE_MIETNUMMER_SQL, NAECHSTE_KNOTENKENNUNG_SQL,
+            FIND_BY_MIETNUMMER_SQL, FIND_BY_KUNDE_SQL, FIND_ZEILEN_BY_KUNDE_SQL, FIND_AKTIVE_BELEGUNGEN_SQL,
+            ZU_STARTENDE_IDS_SQL,
+            VERTRAG_STARTEN_SQL, FAELLIGE_IDS_SQL, FREIZUGEBENDE_FAHRZEUG_IDS_SQL, FAHRZEUG_FREIGEBEN_SQL,
+            VERTRAG_ABSCHLIESSEN_SQL, UPDATE_STATUS_SQL, UPDATE_SQL, DELETE_SQL,
+            LOAD_ZUSATZOPTIONEN_SQL, ZUSATZOPTION_INSERT_SQL, ZUSATZOPTION_IDS_SQL,
+            ZUSATZOPTIONEN_ENTFERNEN_SQL, ZUSATZOPTIONEN_LOESCHEN_SQL, RESOLVE_KUNDE_ID_SQL,
+            RESOLVE_FAHRZEUG_ID_SQL, RESOLVE_MITARBEITER_ID_SQL);
+    }
+
+    /**
+     * Registriert einen Listener, der nach jeder schreibenden Operation benachrichtigt wird.
+     * 
+     * @param listener Der Listener
+     */
+    public void addAenderungsListener(AenderungsListener<Mietvertrag> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen zuvor registrierten Listener.
+     * 
+     * @param listener Der Listener
+     */
+    public void removeAenderungsListener(AenderungsListener<Mietvertrag> listener) {
+        listeners.remove(listener);
     }
 
     @Override
     public Mietvertrag create(Mietvertrag vertrag) throws SQLException {
-        String sql = "INSERT INTO Mietvertrag (Mietnummer, StartDatum, EndDatum, Status, " +
-                     "GesamtPreis, Kunde_ID, Fahrzeug_ID, Mitarbeiter_ID) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
         Connection conn = null;
         try {
-            conn = DatabaseConnection.create(config);
+            conn = pool.getConnection();
             conn.setAutoCommit(false); // Transaktion starten
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
                 stmt.setString(1, vertrag.getMietnummer());
                 stmt.setDate(2, Date.valueOf(vertrag.getStartDatum()));
                 stmt.setDate(3, Date.valueOf(vertrag.getEndDatum()));
@@ -70,6 +231,7 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
                 throw e;
             }
             
+            listeners.gespeichert(vertrag);
             return vertrag;
         } finally {
             if (conn != null) {
@@ -79,24 +241,185 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
         }
     }
 
+    /**
+     * Ergebnis von {@link #buchen(Mietvertrag, FahrzeugZustand)}.
+     */
+    public enum BuchungsErgebnis {
+        /** Vertrag, Zusatzoptionen und Fahrzeugzustand wurden gespeichert. */
+        GEBUCHT,
+        /** Das Fahrzeug ist im Zeitraum durch einen anderen Vertrag belegt. */
+        FAHRZEUG_BELEGT,
+        /** Der Kunde hat im Zeitraum bereits einen belegenden Vertrag. */
+        KUNDE_BELEGT
+    }
+
+    /**
+     * Legt eine Buchung als eine Einheit an: Konfliktprüfung für Fahrzeug und Kunde,
+     * Einfügen des Vertrags mit seinem endgültigen Status, Einfügen der Zusatzoptionen
+     * und Setzen des Fahrzeugzustands laufen auf einer Verbindung in einer Transaktion.
+     * Bei einem Konflikt wird nichts geschrieben.
+     *
+     * Gleichzeitige Buchungen desselben Fahrzeugs werden serialisiert: Als erste Anweisung
+     * wird die Spalte Version der Fahrzeugzeile erhöht. Die dabei gesetzte Zeilensperre
+     * (im Gegensatz zu SELECT ... FOR UPDATE auch unter Cursor Stability und in HSQLDB/MVCC)
+     * hält bis zum Commit, sodass eine zweite Buchung erst nach Abschluss der ersten prüft
+     * und deren Vertrag sieht. Buchungen anderer Fahrzeuge sperren sich nicht gegenseitig.
+     *
+     * Die Listener des FahrzeugDao werden hier nicht benachrichtigt; das übernimmt der Aufrufer.
+     *
+     * @param vertrag Der neue Vertrag mit Mietnummer, Status und Preis; erhält bei Erfolg seine ID
+     * @param fahrzeugZustand Neuer Zustand des Fahrzeugs oder null, um ihn unverändert zu lassen
+     * @return Ergebnis der Buchung
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public BuchungsErgebnis buchen(Mietvertrag vertrag, FahrzeugZustand fahrzeugZustand) throws SQLException {
+        Connection conn = null;
+        try {
+            conn = pool.getConnection();
+            conn.setAutoCommit(false);
+
+            try {
+                int kundeId = resolveKundeId(conn, vertrag.getKunde());
+                int fahrzeugId = resolveFahrzeugId(conn, vertrag.getFahrzeug());
+                Integer mitarbeiterId = resolveMitarbeiterId(conn, vertrag.getMitarbeiter());
+
+                // Fahrzeugzeile bis zum Commit sperren, bevor auf Konflikte geprüft wird
+                try (PreparedStatement stmt = conn.prepareStatement(FAHRZEUG_SPERREN_SQL)) {
+                    stmt.setInt(1, fahrzeugId);
+                    if (stmt.executeUpdate() == 0) {
+                        throw new SQLException("Kein Fahrzeug mit ID " + fahrzeugId + " gefunden.");
+                    }
+                }
+
+                BuchungsErgebnis ergebnis = BuchungsErgebnis.GEBUCHT;
+                if (existsBelegung(conn, FAHRZEUG_BELEGUNG_SQL, fahrzeugId, vertrag.getStartDatum(), vertrag.getEndDatum(), 0)) {
+                    ergebnis = BuchungsErgebnis.FAHRZEUG_BELEGT;
+                } else if (existsBelegung(conn, KUNDE_BELEGUNG_SQL, kundeId, vertrag.getStartDatum(), vertrag.getEndDatum(), 0)) {
+                    ergebnis = BuchungsErgebnis.KUNDE_BELEGT;
+                }
+                if (ergebnis != BuchungsErgebnis.GEBUCHT) {
+                    conn.rollback();
+                    return ergebnis;
+                }
+
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    stmt.setString(1, vertrag.getMietnummer());
+                    stmt.setDate(2, Date.valueOf(vertrag.getStartDatum()));
+                    stmt.setDate(3, Date.valueOf(vertrag.getEndDatum()));
+                    stmt.setString(4, vertrag.getStatus().name());
+                    stmt.setDouble(5, vertrag.getGesamtPreis());
+                    stmt.setInt(6, kundeId);
+                    stmt.setInt(7, fahrzeugId);
+                    if (mitarbeiterId != null) {
+                        stmt.setInt(8, mitarbeiterId);
+                    } else {
+                        stmt.setNull(8, Types.INTEGER);
+                    }
+                    stmt.executeUpdate();
+
+                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                        if (rs.next()) {
+                            vertrag.setId(rs.getInt(1));
+                        }
+                    }
+                }
+
+                if (vertrag.getZusatzoptionen() != null && !vertrag.getZusatzoptionen().isEmpty()) {
+                    addZusatzoptionenToVertrag(conn, vertrag.getId(), vertrag.getZusatzoptionen());
+                }
+
+                if (fahrzeugZustand != null) {
+                    try (PreparedStatement stmt = conn.prepareStatement(FAHRZEUG_ZUSTAND_SQL)) {
+                        stmt.setString(1, fahrzeugZustand.name());
+                        stmt.setInt(2, fahrzeugId);
+                        stmt.executeUpdate();
+                    }
+                }
+
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+
+            if (fahrzeugZustand != null) {
+                vertrag.getFahrzeug().setZustand(fahrzeugZustand);
+            }
+            listeners.gespeichert(vertrag);
+            return BuchungsErgebnis.GEBUCHT;
+        } finally {
+            if (conn != null) {
+                conn.setAutoCommit(true);
+                conn.close();
+            }
+        }
+    }
+
+    /**
+     * Prüft per Existenzabfrage, ob der Kunde im Zeitraum bereits einen belegenden Vertrag hat.
+     * Nutzt den Index IX_Mietvertrag_Kunde_Zeitraum; abgeschlossene und stornierte Verträge
+     * werden dabei gar nicht gelesen, die Dauer hängt also nicht von der Historie des Kunden ab.
+     * 
+     * @param kundeId Datenbank-ID des Kunden
+     * @param start Startdatum (inklusive)
+     * @param end Enddatum (inklusive)
+     * @return true wenn sich ein Vertrag des Kunden überschneidet
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public boolean existsKundeOverlap(int kundeId, LocalDate start, LocalDate end) throws SQLException {
+        return existsKundeOverlap(kundeId, start, end, 0);
+    }
+
+    /**
+     * Prüft wie {@link #existsKundeOverlap(int, LocalDate, LocalDate)}, ignoriert aber einen Vertrag
+     * (z.B. den Entwurf, der gerade fortgesetzt wird).
+     * 
+     * @param kundeId Datenbank-ID des Kunden
+     * @param start Startdatum (inklusive)
+     * @param end Enddatum (inklusive)
+     * @param excludeId Vertrag, der ignoriert wird (0 = keiner)
+     * @return true wenn sich ein anderer Vertrag des Kunden überschneidet
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public boolean existsKundeOverlap(int kundeId, LocalDate start, LocalDate end, int excludeId)
+            throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return existsBelegung(conn, KUNDE_BELEGUNG_SQL, kundeId, start, end, excludeId);
+        }
+    }
+
+    /**
+     * Prüft innerhalb einer laufenden Transaktion, ob ein belegender Vertrag für das
+     * Fahrzeug bzw. den Kunden den Zeitraum überschneidet.
+     *
+     * @param sql {@link #FAHRZEUG_BELEGUNG_SQL} oder {@link #KUNDE_BELEGUNG_SQL}
+     * @param excludeId Vertrag, der ignoriert wird (0 = keiner)
+     */
+    private boolean existsBelegung(Connection conn, String sql, int id, LocalDate start, LocalDate end,
+                                   int excludeId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int idx = 1;
+            stmt.setInt(idx++, id);
+            stmt.setDate(idx++, Date.valueOf(end));
+            stmt.setDate(idx++, Date.valueOf(start));
+            stmt.setInt(idx, excludeId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
     @Override
     public Optional<Mietvertrag> findById(int id) throws SQLException {
-        String sql = "SELECT m.*, k.*, f.*, ft.*, mit.* " +
-                     "FROM Mietvertrag m " +
-                     "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
-                     "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID " +
-                     "WHERE m.ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Mietvertrag vertrag = mapResultSetToMietvertrag(rs);
+                    Mietvertrag vertrag = VERTRAG_MAPPER.map(rs);
                     // Zusatzoptionen laden
                     vertrag.setZusatzoptionen(loadZusatzoptionen(conn, id));
                     return Optional.of(vertrag);
@@ -107,6 +430,54 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
         return Optional.empty();
     }
 
+    /**
+     * Vergibt eine Knotenkennung für die Mietnummern einer Anwendungsinstanz über die Sequenz
+     * SEQ_Mietnummer_Knoten. Die Sequenz ist transaktionsunabhängig und läuft nicht über,
+     * jede Kennung wird daher höchstens einmal vergeben.
+     * 
+     * @return Die Knotenkennung
+     * @throws SQLException Bei Datenbankfehlern oder wenn alle Kennungen vergeben sind
+     */
+    public int naechsteKnotenkennung() throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(NAECHSTE_KNOTENKENNUNG_SQL);
+             ResultSet rs = stmt.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        } catch (SQLException e) {
+            if (SEQUENZ_ERSCHOEPFT.contains(e.getSQLState())) {
+                throw new SQLException("Alle Knotenkennungen für Mietnummern sind vergeben (SEQ_Mietnummer_Knoten "
+                    + "erschöpft). Nach dem Stoppen aller Instanzen zurücksetzen oder -Dcarrental.knoten setzen.",
+                    e.getSQLState(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Gibt die lexikographisch höchste Mietnummer mit dem Präfix zurück. Nutzt den
+     * UNIQUE-Index auf Mietnummer als Bereichssuche.
+     * 
+     * @param praefix Anfang der Mietnummer (ohne LIKE-Platzhalter)
+     * @return Optional mit der höchsten Mietnummer, falls vorhanden
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Optional<String> findHoechsteMietnummer(String praefix) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_HOECHSTE_MIETNUMMER_SQL)) {
+            
+            stmt.setString(1, praefix + "%");
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return Optional.ofNullable(rs.getString(1));
+                }
+            }
+        }
+        
+        return Optional.empty();
+    }
+
     /**
      * Findet einen Mietvertrag anhand der Mietnummer.
      * 
@@ -115,22 +486,14 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Optional<Mietvertrag> findByMietnummer(String mietnummer) throws SQLException {
-        String sql = "SELECT m.*, k.*, f.*, ft.*, mit.* " +
-                     "FROM Mietvertrag m " +
-                     "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
-                     "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID " +
-                     "WHERE m.Mietnummer = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_MIETNUMMER_SQL)) {
             
             stmt.setString(1, mietnummer);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    Mietvertrag vertrag = mapResultSetToMietvertrag(rs);
+                    Mietvertrag vertrag = VERTRAG_MAPPER.map(rs);
                     vertrag.setZusatzoptionen(loadZusatzoptionen(conn, vertrag.getId()));
                     return Optional.of(vertrag);
                 }
@@ -141,63 +504,617 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
     }
 
     /**
-     * Findet alle Mietverträge eines Kunden.
+     * Findet alle Mietverträge eines Kunden inklusive Zusatzoptionen.
      * 
      * @param kundennummer Die Kundennummer
      * @return Liste der Mietverträge
      * @throws SQLException Bei Datenbankfehlern
      */
     public List<Mietvertrag> findByKunde(int kundennummer) throws SQLException {
-        String sql = "SELECT m.*, k.*, f.*, ft.*, mit.* " +
-                     "FROM Mietvertrag m " +
-                     "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
-                     "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID " +
-                     "WHERE k.Kundennummer = ?";
-        
+        return findByKunde(kundennummer, true);
+    }
+
+    /**
+     * Findet alle Mietverträge eines Kunden.
+     * 
+     * @param kundennummer Die Kundennummer
+     * @param mitZusatzoptionen false, wenn nur Status, Daten und Preis benötigt werden
+     * @return Liste der Mietverträge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Mietvertrag> findByKunde(int kundennummer, boolean mitZusatzoptionen) throws SQLException {
         List<Mietvertrag> vertraege = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_KUNDE_SQL)) {
             
             stmt.setInt(1, kundennummer);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    Mietvertrag vertrag = mapResultSetToMietvertrag(rs);
-                    vertrag.setZusatzoptionen(loadZusatzoptionen(conn, vertrag.getId()));
-                    vertraege.add(vertrag);
+                    vertraege.add(VERTRAG_MAPPER.map(rs));
                 }
             }
+            
+            if (mitZusatzoptionen) {
+                loadZusatzoptionen(conn, vertraege);
+            }
         }
         
         return vertraege;
     }
 
+    /**
+     * Findet die Vertragszeilen eines Kunden für Listenansichten. Liest nur Mietnummer,
+     * Kennzeichen, Zeitraum, Preis und Status, ohne Fahrzeugtyp und Zusatzoptionen.
+     * 
+     * @param kundennummer Die Kundennummer
+     * @return Liste der Vertragszeilen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<VertragsZeile> findZeilenByKunde(int kundennummer) throws SQLException {
+        List<VertragsZeile> zeilen = new ArrayList<>();
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ZEILEN_BY_KUNDE_SQL)) {
+            
+            stmt.setInt(1, kundennummer);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    zeilen.add(ZEILE_MAPPER.map(rs));
+                }
+            }
+        }
+        
+        return zeilen;
+    }
+
     @Override
     public List<Mietvertrag> findAll() throws SQLException {
-        String sql = "SELECT m.*, k.*, f.*, ft.*, mit.* " +
-                     "FROM Mietvertrag m " +
-                     "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
-                     "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
-                     "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
-                     "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID";
-        
+        return findAll(true);
+    }
+
+    /**
+     * Gibt alle Mietverträge zurück.
+     * 
+     * @param mitZusatzoptionen false, wenn nur Status, Daten und Preis benötigt werden
+     * @return Liste aller Mietverträge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Mietvertrag> findAll(boolean mitZusatzoptionen) throws SQLException {
         List<Mietvertrag> vertraege = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection()) {
+            try (PreparedStatement stmt = conn.prepareStatement(VERTRAG_SELECT_SQL);
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    vertraege.add(VERTRAG_MAPPER.map(rs));
+                }
+            }
+            
+            if (mitZusatzoptionen) {
+                loadZusatzoptionen(conn, vertraege);
+            }
+        }
+        
+        return vertraege;
+    }
+
+    @Override
+    public Stream<Mietvertrag> streamAll(int fetchSize) throws SQLException {
+        return streamAll(fetchSize, true);
+    }
+
+    /**
+     * Gibt alle Mietverträge als Stream über einen Datenbank-Cursor zurück (sortiert nach ID).
+     * Zusatzoptionen werden, falls gewünscht, blockweise je {@code fetchSize} Verträge nachgeladen,
+     * sodass der Speicherbedarf unabhängig von der Tabellengröße bleibt.
+     * Der Stream muss geschlossen werden, damit die Verbindung an den Pool zurückgeht.
+     * 
+     * @param fetchSize Anzahl Zeilen pro Round-Trip
+     * @param mitZusatzoptionen false, wenn nur Status, Daten und Preis benötigt werden
+     * @return Stream aller Mietverträge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Stream<Mietvertrag> streamAll(int fetchSize, boolean mitZusatzoptionen) throws SQLException {
+        return streamGefiltert(null, null, null, fetchSize, mitZusatzoptionen);
+    }
+
+    /**
+     * Gibt die Mietverträge, die den Zeitraum berühren und einen der Status haben, als Stream
+     * über einen Datenbank-Cursor zurück (sortiert nach ID). Gedacht für Exporte und Berichte,
+     * die mehrere Jahre umfassen können, ohne alle Verträge gleichzeitig im Speicher zu halten.
+     * Der Stream muss geschlossen werden, damit die Verbindung an den Pool zurückgeht.
+     * 
+     * @param von Verträge, die an oder nach diesem Tag enden (null = ohne Untergrenze)
+     * @param bis Verträge, die an oder vor diesem Tag beginnen (null = ohne Obergrenze)
+     * @param status Zulässige Status (null oder leer = alle)
+     * @param fetchSize Anzahl Zeilen pro Round-Trip
+     * @param mitZusatzoptionen false, wenn nur Status, Daten und Preis benötigt werden
+     * @return Stream der passenden Mietverträge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Stream<Mietvertrag> streamGefiltert(LocalDate von, LocalDate bis, Set<VertragsStatus> status,
+                                               int fetchSize, boolean mitZusatzoptionen) throws SQLException {
+        StringBuilder sql = new StringBuilder(VERTRAG_SELECT_SQL + "WHERE 1 = 1");
+        if (von != null) {
+            sql.append(" AND m.EndDatum >= ?");
+        }
+        if (bis != null) {
+            sql.append(" AND m.StartDatum <= ?");
+        }
+        boolean statusFilter = status != null && !status.isEmpty();
+        if (statusFilter) {
+            sql.append(" AND m.Status IN (").append(platzhalter(status.size())).append(")");
+        }
+        sql.append(" ORDER BY m.ID");
+        
+        Connection conn = pool.getConnection();
+        Stream<Mietvertrag> zeilen;
+        try {
+            PreparedStatement stmt = conn.prepareStatement(sql.toString());
+            try {
+                int index = 1;
+                if (von != null) {
+                    stmt.setDate(index++, Date.valueOf(von));
+                }
+                if (bis != null) {
+                    stmt.setDate(index++, Date.valueOf(bis));
+                }
+                if (statusFilter) {
+                    for (VertragsStatus s : status) {
+                        stmt.setString(index++, s.name());
+                    }
+                }
+            } catch (SQLException e) {
+                stmt.close();
+                throw e;
+            }
+            zeilen = ResultSetStreams.stream(conn, stmt, fetchSize, VERTRAG_MAPPER);
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        
+        if (!mitZusatzoptionen) {
+            return zeilen;
+        }
+        
+        int blockGroesse = Math.max(1, Math.min(fetchSize, IN_BLOCK_GROESSE));
+        Iterator<Mietvertrag> quelle = zeilen.iterator();
+        Iterator<Mietvertrag> mitOptionen = new Iterator<>() {
+            private final List<Mietvertrag> block = new ArrayList<>(blockGroesse);
+            private int position;
+            
+            @Override
+            public boolean hasNext() {
+                if (position < block.size()) {
+                    return true;
+                }
+                block.clear();
+                position = 0;
+                while (block.size() < blockGroesse && quelle.hasNext()) {
+                    block.add(quelle.next());
+                }
+                if (block.isEmpty()) {
+                    return false;
+                }
+                try {
+                    // Zweites Statement auf derselben Verbindung, während der Cursor offen bleibt
+                    loadZusatzoptionen(conn, block);
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+                return true;
+            }
+            
+            @Override
+            public Mietvertrag next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return block.get(position++);
+            }
+        };
+        
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(mitOptionen, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(zeilen::close);
+    }
+
+    /**
+     * Sortierbare Spalten für {@link #findSeite} und {@link #findZeilenSeite}.
+     */
+    public enum Sortierung {
+        ID("m.ID"),
+        MIETNUMMER("m.Mietnummer"),
+        KUNDE("k.Nachname"),
+        FAHRZEUG("f.Kennzeichen"),
+        START_DATUM("m.StartDatum"),
+        END_DATUM("m.EndDatum"),
+        GESAMTPREIS("m.GesamtPreis"),
+        STATUS("m.Status");
+
+        private final String spalte;
+
+        Sortierung(String spalte) {
+            this.spalte = spalte;
+        }
+    }
+
+    /**
+     * Zählt die Mietverträge mit einem der angegebenen Status.
+     * 
+     * @param status Zulässige Status (null oder leer = alle)
+     * @return Anzahl der Verträge
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public int count(Set<VertragsStatus> status) throws SQLException {
+        boolean statusFilter = status != null && !status.isEmpty();
+        String sql = "SELECT COUNT(*) FROM Mietvertrag m" +
+                     (statusFilter ? " WHERE m.Status IN (" + platzhalter(status.size()) + ")" : "");
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            if (statusFilter) {
+                int index = 1;
+                for (VertragsStatus s : status) {
+                    stmt.setString(index++, s.name());
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Lädt eine Seite von Mietverträgen (mit Kunde und Fahrzeug, ohne Zusatzoptionen),
+     * serverseitig sortiert. Für reine Tabellenanzeigen genügt {@link #findZeilenSeite}.
+     * 
+     * @param status Zulässige Status (null oder leer = alle)
+     * @param sortierung Sortierspalte
+     * @param absteigend true für absteigende Sortierung
+     * @param offset Anzahl zu überspringender Verträge
+     * @param limit Maximale Anzahl Verträge der Seite
+     * @return Die Verträge der Seite
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Mietvertrag> findSeite(Set<VertragsStatus> status, Sortierung sortierung, boolean absteigend,
+                                       int offset, int limit) throws SQLException {
+        return seiteLaden(VERTRAG_SELECT_SQL, VERTRAG_MAPPER, status, sortierung, absteigend, offset, limit);
+    }
+
+    /**
+     * Lädt eine Seite von Vertragszeilen, serverseitig sortiert. Gedacht für Tabellen, die nur
+     * den sichtbaren Ausschnitt laden und Kundenname und Kennzeichen anzeigen; gelesen werden
+     * zehn statt 42 Spalten je Vertrag.
+     * 
+     * @param status Zulässige Status (null oder leer = alle)
+     * @param sortierung Sortierspalte
+     * @param absteigend true für absteigende Sortierung
+     * @param offset Anzahl zu überspringender Verträge
+     * @param limit Maximale Anzahl Verträge der Seite
+     * @return Die Vertragszeilen der Seite
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<VertragsZeile> findZeilenSeite(Set<VertragsStatus> status, Sortierung sortierung,
+                                               boolean absteigend, int offset, int limit) throws SQLException {
+        return seiteLaden(ZEILE_SELECT_SQL, ZEILE_MAPPER, status, sortierung, absteigend, offset, limit);
+    }
+
+    private <T> List<T> seiteLaden(String select, RowMapper<T> mapper, Set<VertragsStatus> status,
+                                   Sortierung sortierung, boolean absteigend, int offset, int limit)
+            throws SQLException {
+        JdbcSeiten.pruefen(offset, limit);
+        boolean statusFilter = status != null && !status.isEmpty();
+        String sql = select +
+                     (statusFilter ? "WHERE m.Status IN (" + platzhalter(status.size()) + ")" : "") +
+                     JdbcSeiten.sortierungUndSeite(sortierung.spalte, absteigend, Sortierung.ID.spalte);
+        
+        List<T> seite = new ArrayList<>(limit);
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int index = 1;
+            if (statusFilter) {
+                for (VertragsStatus s : status) {
+                    stmt.setString(index++, s.name());
+                }
+            }
+            stmt.setInt(index++, offset);
+            stmt.setInt(index, limit);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    seite.add(mapper.map(rs));
+                }
+            }
+        }
+        
+        return seite;
+    }
+
+    /**
+     * Lädt die Belegungszeiträume aller belegenden Mietverträge (siehe {@link #istBelegend}).
+     * Es werden nur ID, Fahrzeug und Zeitraum gelesen, keine JOINs und keine Zusatzoptionen.
+     * 
+     * @return Liste der Belegungen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Belegung> findAktiveBelegungen() throws SQLException {
+        List<Belegung> belegungen = new ArrayList<>();
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_AKTIVE_BELEGUNGEN_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                Mietvertrag vertrag = mapResultSetToMietvertrag(rs);
-                vertrag.setZusatzoptionen(loadZusatzoptionen(conn, vertrag.getId()));
-                vertraege.add(vertrag);
+                belegungen.add(new Belegung(
+                    rs.getInt("ID"),
+                    rs.getInt("Fahrzeug_ID"),
+                    rs.getDate("StartDatum").toLocalDate(),
+                    rs.getDate("EndDatum").toLocalDate()));
             }
         }
         
-        return vertraege;
+        return belegungen;
+    }
+
+    /**
+     * Lädt die Belegungszeiträume aller Verträge mit einem der Status, die den Zeitraum
+     * [von, bis] berühren. Wie {@link #findAktiveBelegungen()} ohne JOINs und Zusatzoptionen.
+     * 
+     * @param status Zu berücksichtigende Vertragsstatus
+     * @param von Erster Tag des Zeitraums (inklusive)
+     * @param bis Letzter Tag des Zeitraums (inklusive)
+     * @return Liste der Belegungen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<Belegung> findBelegungen(Set<VertragsStatus> status, LocalDate von, LocalDate bis)
+            throws SQLException {
+        if (status.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sql = "SELECT ID, Fahrzeug_ID, StartDatum, EndDatum FROM Mietvertrag " +
+                     "WHERE Status IN (" + platzhalter(status.size()) + ") " +
+                     "AND StartDatum <= ? AND EndDatum >= ?";
+        
+        List<Belegung> belegungen = new ArrayList<>();
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            int idx = 1;
+            for (VertragsStatus s : status) {
+                stmt.setString(idx++, s.name());
+            }
+            stmt.setDate(idx++, Date.valueOf(bis));
+            stmt.setDate(idx, Date.valueOf(von));
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    belegungen.add(new Belegung(
+                        rs.getInt("ID"),
+                        rs.getInt("Fahrzeug_ID"),
+                        rs.getDate("StartDatum").toLocalDate(),
+                        rs.getDate("EndDatum").toLocalDate()));
+                }
+            }
+        }
+        
+        return belegungen;
+    }
+
+    /**
+     * Prüft per Existenzabfrage (FETCH FIRST 1 ROWS ONLY), ob ein anderer belegender Vertrag
+     * das Fahrzeug im Zeitraum blockiert. Nutzt den Index IX_Mietvertrag_Fahrzeug_Zeitraum.
+     * 
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param start Startdatum (inklusive)
+     * @param end Enddatum (inklusive)
+     * @param excludeId Vertrag, der ignoriert wird (0 = keiner)
+     * @return true wenn ein Konflikt existiert
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public boolean existsAktiverKonflikt(int fahrzeugId, LocalDate start, LocalDate end, int excludeId)
+            throws SQLException {
+        try (Connection conn = pool.getConnection()) {
+            return existsBelegung(conn, FAHRZEUG_BELEGUNG_SQL, fahrzeugId, start, end, excludeId);
+        }
+    }
+
+    /**
+     * Prüft, ob ein anderer Vertrag mit einem der angegebenen Status das Fahrzeug im Zeitraum blockiert.
+     * 
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param start Startdatum (inklusive)
+     * @param end Enddatum (inklusive)
+     * @param excludeId Vertrag, der ignoriert wird (0 = keiner)
+     * @param status Status, die als aktiv gelten
+     * @return true wenn ein Konflikt existiert
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public boolean existsAktiverKonflikt(int fahrzeugId, LocalDate start, LocalDate end, int excludeId,
+                                         Set<VertragsStatus> status) throws SQLException {
+        String sql = "SELECT 1 FROM Mietvertrag " +
+                     "WHERE Fahrzeug_ID = ? AND Status IN (" + platzhalter(status.size()) + ") " +
+                     "AND StartDatum <= ? AND EndDatum >= ? AND ID <> ? " +
+                     "FETCH FIRST 1 ROWS ONLY";
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int idx = 1;
+            stmt.setInt(idx++, fahrzeugId);
+            for (VertragsStatus s : status) {
+                stmt.setString(idx++, s.name());
+            }
+            stmt.setDate(idx++, Date.valueOf(end));
+            stmt.setDate(idx++, Date.valueOf(start));
+            stmt.setInt(idx, excludeId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob für ein Fahrzeug außer dem angegebenen Vertrag noch Verträge mit einem der Status existieren.
+     * 
+     * @param fahrzeugId ID des Fahrzeugs
+     * @param excludeId Vertrag, der ignoriert wird (0 = keiner)
+     * @param status Status, die als aktiv gelten
+     * @return true wenn weitere aktive Verträge existieren
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public boolean existsAndereAktiveVertraege(int fahrzeugId, int excludeId, Set<VertragsStatus> status)
+            throws SQLException {
+        String sql = "SELECT 1 FROM Mietvertrag " +
+                     "WHERE Fahrzeug_ID = ? AND Status IN (" + platzhalter(status.size()) + ") AND ID <> ? " +
+                     "FETCH FIRST 1 ROWS ONLY";
+        
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+            
+            int idx = 1;
+            stmt.setInt(idx++, fahrzeugId);
+            for (VertragsStatus s : status) {
+                stmt.setString(idx++, s.name());
+            }
+            stmt.setInt(idx, excludeId);
+            
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Ergebnis eines Laufs von {@link #statusUebergaengeAnwenden(LocalDate)}.
+     * 
+     * @param gestarteteIds IDs der Verträge BESTAETIGT -> LAUFEND
+     * @param abgeschlosseneIds IDs der Verträge LAUFEND -> ABGESCHLOSSEN
+     * @param freigegebeneFahrzeugIds IDs der Fahrzeuge VERMIETET -> VERFUEGBAR
+     */
+    public record StatusUebergaenge(List<Integer> gestarteteIds, List<Integer> abgeschlosseneIds,
+                                    List<Integer> freigegebeneFahrzeugIds) {
+
+        /** @return Anzahl der gestarteten Verträge */
+        public int gestartet() {
+            return gestarteteIds.size();
+        }
+
+        /** @return Anzahl der abgeschlossenen Verträge */
+        public int abgeschlossen() {
+            return abgeschlosseneIds.size();
+        }
+
+        /** @return Anzahl der freigegebenen Fahrzeuge */
+        public int fahrzeugeFreigegeben() {
+            return freigegebeneFahrzeugIds.size();
+        }
+    }
+
+    /**
+     * Wendet die datumsabhängigen Statusübergänge in einer Transaktion an:
+     * BESTAETIGT -> LAUFEND (Startdatum erreicht), LAUFEND -> ABGESCHLOSSEN (Enddatum überschritten)
+     * und Freigabe der Fahrzeuge, die heute durch keinen anderen Vertrag mehr belegt sind.
+     * 
+     * Es werden nur die IDs der betroffenen Zeilen gelesen und diese anschließend per Batch
+     * geändert; jede Änderung prüft ihre Bedingung erneut. Listener erhalten danach je Vertrag
+     * {@link AenderungsListener#geaendert(int)}, keine Massenbenachrichtigung. Die freigegebenen
+     * Fahrzeuge meldet der Aufrufer an die Fahrzeug-Listener weiter.
+     * 
+     * @param heute Stichtag
+     * @return IDs der geänderten Verträge und Fahrzeuge
+     * @throws SQLException Bei Datenbankfehlern (Transaktion wird zurückgerollt)
+     */
+    public StatusUebergaenge statusUebergaengeAnwenden(LocalDate heute) throws SQLException {
+        Date stichtag = Date.valueOf(heute);
+        StatusUebergaenge ergebnis;
+        
+        try (Connection conn = pool.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                List<Integer> gestartet = proIdAendern(conn, VERTRAG_STARTEN_SQL,
+                        idsLesen(conn, ZU_STARTENDE_IDS_SQL, stichtag, 1), stichtag, 1);
+                
+                List<Integer> faellig = idsLesen(conn, FAELLIGE_IDS_SQL, stichtag, 1);
+                
+                // Fahrzeuge vor dem Abschluss ermitteln, solange die fälligen Verträge noch LAUFEND sind
+                List<Integer> freigegeben = proIdAendern(conn, FAHRZEUG_FREIGEBEN_SQL,
+                        idsLesen(conn, FREIZUGEBENDE_FAHRZEUG_IDS_SQL, stichtag, 3), stichtag, 2);
+                
+                List<Integer> abgeschlossen = proIdAendern(conn, VERTRAG_ABSCHLIESSEN_SQL, faellig, stichtag, 1);
+                
+                conn.commit();
+                ergebnis = new StatusUebergaenge(gestartet, abgeschlossen, freigegeben);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+        
+        ergebnis.gestarteteIds().forEach(listeners::geaendert);
+        ergebnis.abgeschlosseneIds().forEach(listeners::geaendert);
+        return ergebnis;
+    }
+
+    /**
+     * Liest die IDs einer Abfrage, deren Parameter alle den Stichtag erhalten.
+     */
+    private static List<Integer> idsLesen(Connection conn, String sql, Date stichtag, int parameter)
+            throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int i = 1; i <= parameter; i++) {
+                stmt.setDate(i, stichtag);
+            }
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Führt eine Änderung je ID als Batch aus. Der erste Parameter ist die ID, alle weiteren
+     * erhalten den Stichtag.
+     * 
+     * @return IDs, deren Zeile tatsächlich geändert wurde
+     */
+    private static List<Integer> proIdAendern(Connection conn, String sql, List<Integer> ids, Date stichtag,
+                                              int stichtagParameter) throws SQLException {
+        List<Integer> geaendert = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return geaendert;
+        }
+        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            for (int start = 0; start < ids.size(); start += JdbcBatch.GROESSE) {
+                List<Integer> block = ids.subList(start, Math.min(start + JdbcBatch.GROESSE, ids.size()));
+                for (int id : block) {
+                    stmt.setInt(1, id);
+                    for (int i = 0; i < stichtagParameter; i++) {
+                        stmt.setDate(2 + i, stichtag);
+                    }
+                    stmt.addBatch();
+                }
+                int[] ergebnisse = stmt.executeBatch();
+                for (int i = 0; i < ergebnisse.length; i++) {
+                    // SUCCESS_NO_INFO: Treiber meldet keine Zeilenzahl, Änderung annehmen
+                    if (ergebnisse[i] > 0 || ergebnisse[i] == Statement.SUCCESS_NO_INFO) {
+                        geaendert.add(block.get(i));
+                    }
+                }
+            }
+        }
+        return geaendert;
     }
 
     /**
@@ -205,30 +1122,28 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
      * Diese Methode umgeht potenzielle Foreign-Key-Probleme.
      */
     public boolean updateStatus(int vertragId, String neuerStatus) throws SQLException {
-        String sql = "UPDATE Mietvertrag SET Status = ? WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS_SQL)) {
             
             stmt.setString(1, neuerStatus);
             stmt.setInt(2, vertragId);
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                listeners.geaendert(vertragId);
+            }
+            return updated;
         }
     }
     
     @Override
     public boolean update(Mietvertrag vertrag) throws SQLException {
-        String sql = "UPDATE Mietvertrag SET Mietnummer = ?, StartDatum = ?, EndDatum = ?, " +
-                     "Status = ?, GesamtPreis = ?, Kunde_ID = ?, Fahrzeug_ID = ?, " +
-                     "Mitarbeiter_ID = ? WHERE ID = ?";
-        
         Connection conn = null;
         try {
-            conn = DatabaseConnection.create(config);
+            conn = pool.getConnection();
             conn.setAutoCommit(false);
             
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
                 stmt.setString(1, vertrag.getMietnummer());
                 stmt.setDate(2, Date.valueOf(vertrag.getStartDatum()));
                 stmt.setDate(3, Date.valueOf(vertrag.getEndDatum()));
@@ -252,14 +1167,14 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
                 boolean updated = stmt.executeUpdate() > 0;
                 
                 if (updated) {
-                    // Zusatzoptionen aktualisieren (erst löschen, dann neu einfügen)
-                    deleteZusatzoptionenFromVertrag(conn, vertrag.getId());
-                    if (vertrag.getZusatzoptionen() != null && !vertrag.getZusatzoptionen().isEmpty()) {
-                        addZusatzoptionenToVertrag(conn, vertrag.getId(), vertrag.getZusatzoptionen());
-                    }
+                    // Nur geänderte Zuordnungen von Zusatzoptionen schreiben
+                    zusatzoptionenAbgleichen(conn, vertrag.getId(), vertrag.getZusatzoptionen());
                 }
                 
                 conn.commit();
+                if (updated) {
+                    listeners.gespeichert(vertrag);
+                }
                 return updated;
             } catch (SQLException e) {
                 conn.rollback();
@@ -277,18 +1192,20 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
     public boolean delete(int id) throws SQLException {
         Connection conn = null;
         try {
-            conn = DatabaseConnection.create(config);
+            conn = pool.getConnection();
             conn.setAutoCommit(false);
             
             // Erst Zusatzoptionen löschen
             deleteZusatzoptionenFromVertrag(conn, id);
             
             // Dann Mietvertrag löschen
-            String sql = "DELETE FROM Mietvertrag WHERE ID = ?";
-            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
                 stmt.setInt(1, id);
                 boolean deleted = stmt.executeUpdate() > 0;
                 conn.commit();
+                if (deleted) {
+                    listeners.geloescht(id);
+                }
                 return deleted;
             } catch (SQLException e) {
                 conn.rollback();
@@ -306,18 +1223,14 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
      * Lädt die Zusatzoptionen für einen Mietvertrag.
      */
     private List<Zusatzoption> loadZusatzoptionen(Connection conn, int vertragId) throws SQLException {
-        String sql = "SELECT z.* FROM Zusatzoption z " +
-                     "INNER JOIN Mietvertrag_Zusatzoption mz ON z.ID = mz.Zusatzoption_ID " +
-                     "WHERE mz.Mietvertrag_ID = ?";
-        
         List<Zusatzoption> optionen = new ArrayList<>();
         
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(LOAD_ZUSATZOPTIONEN_SQL)) {
             stmt.setInt(1, vertragId);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    optionen.add(mapResultSetToZusatzoption(rs));
+                    optionen.add(OPTION_MAPPER.map(rs));
                 }
             }
         }
@@ -326,29 +1239,115 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
     }
 
     /**
-     * Fügt Zusatzoptionen zu einem Mietvertrag hinzu.
+     * Lädt die Zusatzoptionen für mehrere Mietverträge gebündelt.
+     * Statt einer Abfrage pro Vertrag wird pro Block von {@link #IN_BLOCK_GROESSE} IDs
+     * eine IN-Abfrage ausgeführt und das Ergebnis in Java den Verträgen zugeordnet.
+     */
+    private void loadZusatzoptionen(Connection conn, List<Mietvertrag> vertraege) throws SQLException {
+        if (vertraege.isEmpty()) {
+            return;
+        }
+        
+        Map<Integer, Mietvertrag> nachId = new HashMap<>();
+        for (Mietvertrag v : vertraege) {
+            v.setZusatzoptionen(new ArrayList<>());
+            nachId.put(v.getId(), v);
+        }
+        
+        List<Integer> ids = new ArrayList<>(nachId.keySet());
+        for (int von = 0; von < ids.size(); von += IN_BLOCK_GROESSE) {
+            List<Integer> block = ids.subList(von, Math.min(von + IN_BLOCK_GROESSE, ids.size()));
+            String sql = "SELECT " + ZUORDNUNG_SPALTEN + " FROM Zusatzoption z " +
+                         "INNER JOIN Mietvertrag_Zusatzoption mz ON z.ID = mz.Zusatzoption_ID " +
+                         "WHERE mz.Mietvertrag_ID IN (" + platzhalter(block.size()) + ")";
+            
+            try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                for (int i = 0; i < block.size(); i++) {
+                    stmt.setInt(i + 1, block.get(i));
+                }
+                
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        Mietvertrag v = nachId.get(rs.getInt(ZUORDNUNG_VERTRAG_ID));
+                        if (v != null) {
+                            v.getZusatzoptionen().add(ZUORDNUNG_MAPPER.map(rs));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fügt Zusatzoptionen zu einem Mietvertrag hinzu (ein Batch, doppelte Optionen werden ignoriert).
      */
     private void addZusatzoptionenToVertrag(Connection conn, int vertragId, 
                                            List<Zusatzoption> optionen) throws SQLException {
-        String sql = "INSERT INTO Mietvertrag_Zusatzoption (Mietvertrag_ID, Zusatzoption_ID) VALUES (?, ?)";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-            for (Zusatzoption option : optionen) {
+        addZusatzoptionIds(conn, vertragId, optionIds(optionen));
+    }
+
+    private void addZusatzoptionIds(Connection conn, int vertragId, Collection<Integer> optionIds)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ZUSATZOPTION_INSERT_SQL)) {
+            for (int optionId : optionIds) {
                 stmt.setInt(1, vertragId);
-                stmt.setInt(2, option.getId());
+                stmt.setInt(2, optionId);
                 stmt.addBatch();
             }
             stmt.executeBatch();
         }
     }
 
+    /**
+     * Gleicht die Zusatzoptionen eines Vertrags mit der Datenbank ab: Entfernte Zuordnungen
+     * werden gelöscht und neue eingefügt (jeweils als Batch); unveränderte bleiben unberührt.
+     */
+    private void zusatzoptionenAbgleichen(Connection conn, int vertragId, List<Zusatzoption> optionen)
+            throws SQLException {
+        Set<Integer> hinzufuegen = optionIds(optionen);
+        List<Integer> entfernen = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(ZUSATZOPTION_IDS_SQL)) {
+            stmt.setInt(1, vertragId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int optionId = rs.getInt(1);
+                    if (!hinzufuegen.remove(optionId)) {
+                        entfernen.add(optionId);
+                    }
+                }
+            }
+        }
+        
+        if (!entfernen.isEmpty()) {
+            try (PreparedStatement stmt = conn.prepareStatement(ZUSATZOPTIONEN_ENTFERNEN_SQL)) {
+                for (int optionId : entfernen) {
+                    stmt.setInt(1, vertragId);
+                    stmt.setInt(2, optionId);
+                    stmt.addBatch();
+                }
+                stmt.executeBatch();
+            }
+        }
+        if (!hinzufuegen.isEmpty()) {
+            addZusatzoptionIds(conn, vertragId, hinzufuegen);
+        }
+    }
+
+    private static Set<Integer> optionIds(List<Zusatzoption> optionen) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        if (optionen != null) {
+            for (Zusatzoption option : optionen) {
+                ids.add(option.getId());
+            }
+        }
+        return ids;
+    }
+
     /**
      * Löscht alle Zusatzoptionen eines Mietvertrags.
      */
     private void deleteZusatzoptionenFromVertrag(Connection conn, int vertragId) throws SQLException {
-        String sql = "DELETE FROM Mietvertrag_Zusatzoption WHERE Mietvertrag_ID = ?";
-        
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(ZUSATZOPTIONEN_LOESCHEN_SQL)) {
             stmt.setInt(1, vertragId);
             stmt.executeUpdate();
         }
@@ -361,9 +1360,7 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
         if (kunde.getId() > 0) {
             return kunde.getId();
         }
-
-        String sql = "SELECT ID FROM Kunde WHERE Kundennummer = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(RESOLVE_KUNDE_ID_SQL)) {
             stmt.setInt(1, kunde.getKundennummer());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -383,9 +1380,7 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
         if (fahrzeug.getId() > 0) {
             return fahrzeug.getId();
         }
-
-        String sql = "SELECT ID FROM Fahrzeug WHERE Kennzeichen = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(RESOLVE_FAHRZEUG_ID_SQL)) {
             stmt.setString(1, fahrzeug.getKennzeichen());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -405,8 +1400,7 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
 
         // Mitarbeiter besitzen derzeit keinen persistenten Datensatz.
         // Versuche dennoch, eine ID anhand der Personalnummer zu finden.
-        String sql = "SELECT ID FROM Mitarbeiter WHERE Personalnummer = ?";
-        try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (PreparedStatement stmt = conn.prepareStatement(RESOLVE_MITARBEITER_ID_SQL)) {
             stmt.setString(1, mitarbeiter.getPersonalnummer());
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
@@ -419,137 +1413,43 @@ public class MietvertragDao implements GenericDao<Mietvertrag> {
     }
 
     /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Mietvertrag-Objekt.
+     * Prüft, ob ein Vertrag mit dem Status sein Fahrzeug belegt: alle außer STORNIERT und
+     * ABGESCHLOSSEN, auch Altverträge ohne Status. Entspricht {@link #belegend(String)} in SQL.
+     *
+     * @param status Vertragsstatus (null bei Altverträgen)
+     * @return true, wenn der Vertrag belegt
      */
-    private Mietvertrag mapResultSetToMietvertrag(ResultSet rs) throws SQLException {
-        Mietvertrag vertrag = new Mietvertrag();
-        vertrag.setId(rs.getInt("ID"));
-        vertrag.setMietnummer(rs.getString("Mietnummer"));
-        
-        Date startDatum = rs.getDate("StartDatum");
-        if (startDatum != null) {
-            vertrag.setStartDatum(startDatum.toLocalDate());
-        }
-        
-        Date endDatum = rs.getDate("EndDatum");
-        if (endDatum != null) {
-            vertrag.setEndDatum(endDatum.toLocalDate());
-        }
-        
-        String statusStr = rs.getString("Status");
-        if (statusStr != null) {
-            vertrag.setStatus(VertragsStatus.valueOf(statusStr));
-        }
-        
-        vertrag.setGesamtPreis(rs.getDouble("GesamtPreis"));
-        
-        // Kunde laden (falls vorhanden im JOIN)
-        try {
-            int kundennummer = rs.getInt("Kundennummer");
-            if (!rs.wasNull()) {
-                Kunde kunde = new Kunde(
-                    kundennummer,
-                    rs.getString("AccountName"),
-                    rs.getString("Passwort"),
-                    rs.getString("Vorname"),
-                    rs.getString("Nachname"),
-                    rs.getString("Email")
-                );
-                kunde.setId(rs.getInt("Kunde_ID"));
-                kunde.setStrasse(rs.getString("Strasse"));
-                kunde.setHausnummer(rs.getString("Hausnummer"));
-                kunde.setPlz(rs.getString("PLZ"));
-                kunde.setOrt(rs.getString("Ort"));
-                Date kundeGeburtstag = rs.getDate("Geburtstag");
-                if (kundeGeburtstag != null) {
-                    kunde.setGeburtstag(kundeGeburtstag.toLocalDate());
-                }
-                kunde.setFuehrerscheinNummer(rs.getString("FuehrerscheinNummer"));
-                kunde.setIstAktiv(rs.getInt("IstAktiv") == 1);
-                vertrag.setKunde(kunde);
-            }
-        } catch (SQLException e) {
-            // Kunde nicht im ResultSet
-        }
-        
-        // Fahrzeug laden (falls vorhanden im JOIN)
-        try {
-            String kennzeichen = rs.getString("Kennzeichen");
-            if (kennzeichen != null) {
-                Fahrzeug fahrzeug = new Fahrzeug();
-                fahrzeug.setId(rs.getInt("Fahrzeug_ID"));
-                fahrzeug.setKennzeichen(kennzeichen);
-
-                // Zustand laden
-                String zustandStr = rs.getString("Zustand");
-                if (zustandStr != null) {
-                    try {
-                        fahrzeug.setZustand(FahrzeugZustand.valueOf(zustandStr));
-                    } catch (IllegalArgumentException e) {
-                        System.err.println("WARNUNG: Ungültiger Fahrzeugzustand in Datenbank: " + zustandStr);
-                    }
-                }
-
-                // Kilometerstand laden
-                int kilometerstand = rs.getInt("AktuellerKilometerstand");
-                fahrzeug.setAktuellerKilometerstand(kilometerstand);
-
-                // Tuev-Datum laden
-                Date tuevDatum = rs.getDate("TuevDatum");
-                if (tuevDatum != null) {
-                    fahrzeug.setTuevDatum(tuevDatum.toLocalDate());
-                }
-
-                // Fahrzeugtyp laden
-                try {
-                    int fahrzeugtypId = rs.getInt("Fahrzeugtyp_ID");
-                    if (!rs.wasNull() && fahrzeugtypId > 0) {
-                        Fahrzeugtyp typ = new Fahrzeugtyp();
-                        typ.setId(fahrzeugtypId);
-                        typ.setHersteller(rs.getString("Hersteller"));
-                        typ.setModellBezeichnung(rs.getString("ModellBezeichnung"));
-                        typ.setKategorie(rs.getString("Kategorie"));
-                        typ.setStandardTagesPreis(rs.getDouble("StandardTagesPreis"));
-                        typ.setSitzplaetze(rs.getInt("Sitzplaetze"));
-
-                        String antriebsartStr = rs.getString("Antriebsart");
-                        if (antriebsartStr != null) {
-                            try {
-                                typ.setAntriebsart(Antriebsart.valueOf(antriebsartStr));
-                            } catch (IllegalArgumentException e) {
-                                System.err.println("WARNUNG: Ungültige Antriebsart in Datenbank: " + antriebsartStr);
-                            }
-                        }
-
-                        typ.setReichweiteKm(rs.getInt("ReichweiteKm"));
-                        typ.setBeschreibung(rs.getString("Beschreibung"));
+    public static boolean istBelegend(VertragsStatus status) {
+        return status != VertragsStatus.STORNIERT && status != VertragsStatus.ABGESCHLOSSEN;
+    }
 
-                        fahrzeug.setFahrzeugtyp(typ);
-                    }
-                } catch (SQLException e) {
-                    // Fahrzeugtyp-Spalten nicht im ResultSet
-                    System.err.println("WARNUNG: Fahrzeugtyp konnte nicht geladen werden: " + e.getMessage());
-                }
+    /**
+     * SQL-Bedingung für belegende Verträge (siehe {@link #istBelegend(VertragsStatus)}),
+     * z.B. {@code belegend("m.Status")}.
+     */
+    static String belegend(String statusSpalte) {
+        return "(" + statusSpalte + " IS NULL OR " + statusSpalte + " NOT IN ('STORNIERT', 'ABGESCHLOSSEN'))";
+    }
 
-                vertrag.setFahrzeug(fahrzeug);
-            }
-        } catch (SQLException e) {
-            // Fahrzeug nicht im ResultSet
-            System.err.println("WARNUNG: Fahrzeug konnte nicht geladen werden: " + e.getMessage());
-        }
-        
-        return vertrag;
+    /**
+     * Überschneidungsprüfung für einen Fremdschlüssel ("Fahrzeug_ID" oder "Kunde_ID") mit den
+     * belegenden Verträgen.
+     */
+    private static String belegungSql(String spalte) {
+        return "SELECT 1 FROM Mietvertrag " +
+               "WHERE " + spalte + " = ? AND " + belegend("Status") + " " +
+               "AND StartDatum <= ? AND EndDatum >= ? AND ID <> ? " +
+               "FETCH FIRST 1 ROWS ONLY";
     }
 
     /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Zusatzoption-Objekt.
+     * Erzeugt eine Liste von n Platzhaltern für IN-Klauseln, z.B. "?, ?, ?".
      */
-    private Zusatzoption mapResultSetToZusatzoption(ResultSet rs) throws SQLException {
-        Zusatzoption option = new Zusatzoption();
-        option.setId(rs.getInt("ID"));
-        option.setBezeichnung(rs.getString("Bezeichnung"));
-        option.setAufpreis(rs.getDouble("Aufpreis"));
-        option.setBeschreibung(rs.getString("Beschreibung"));
-        return option;
+    static String platzhalter(int n) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
     }
 }
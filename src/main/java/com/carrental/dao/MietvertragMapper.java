@@ -0,0 +1,86 @@
+package com.carrental.dao;
+
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt einen Mietvertrag samt Kunde, Fahrzeug, Fahrzeugtyp und Mitarbeiter aus
+ * {@link #FROM} über feste Spaltenindizes einer {@link Projektion}.
+ * Zusatzoptionen werden separat geladen.
+ */
+final class MietvertragMapper implements RowMapper<Mietvertrag> {
+
+    /** FROM-Klausel mit den Aliasen m, k, f, ft und mit, auf die sich die Spaltenliste bezieht. */
+    static final String FROM =
+        " FROM Mietvertrag m " +
+        "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
+        "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID " +
+        "LEFT JOIN Fahrzeugtyp ft ON f.Fahrzeugtyp_ID = ft.ID " +
+        "LEFT JOIN Mitarbeiter mit ON m.Mitarbeiter_ID = mit.ID";
+
+    private final int id;
+    private final int mietnummer;
+    private final int startDatum;
+    private final int endDatum;
+    private final int status;
+    private final int gesamtPreis;
+    private final KundeMapper kunde;
+    private final FahrzeugMapper fahrzeug;
+    private final MitarbeiterMapper mitarbeiter;
+
+    /**
+     * Fügt die Spalten aller Tabellen aus {@link #FROM} der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     */
+    MietvertragMapper(Projektion projektion) {
+        id = projektion.spalte("m", "ID");
+        mietnummer = projektion.spalte("m", "Mietnummer");
+        startDatum = projektion.spalte("m", "StartDatum");
+        endDatum = projektion.spalte("m", "EndDatum");
+        status = projektion.spalte("m", "Status");
+        gesamtPreis = projektion.spalte("m", "GesamtPreis");
+        kunde = new KundeMapper(projektion, "k");
+        fahrzeug = new FahrzeugMapper(projektion, "f", "ft");
+        mitarbeiter = new MitarbeiterMapper(projektion, "mit");
+    }
+
+    @Override
+    public Mietvertrag map(ResultSet rs) throws SQLException {
+        Mietvertrag vertrag = new Mietvertrag();
+        vertrag.setId(rs.getInt(id));
+        vertrag.setMietnummer(rs.getString(mietnummer));
+
+        Date start = rs.getDate(startDatum);
+        if (start != null) {
+            vertrag.setStartDatum(start.toLocalDate());
+        }
+
+        Date ende = rs.getDate(endDatum);
+        if (ende != null) {
+            vertrag.setEndDatum(ende.toLocalDate());
+        }
+
+        String statusStr = rs.getString(status);
+        if (statusStr != null) {
+            vertrag.setStatus(VertragsStatus.valueOf(statusStr));
+        }
+
+        vertrag.setGesamtPreis(rs.getDouble(gesamtPreis));
+
+        if (kunde.vorhanden(rs)) {
+            vertrag.setKunde(kunde.map(rs));
+        }
+        if (fahrzeug.vorhanden(rs)) {
+            vertrag.setFahrzeug(fahrzeug.map(rs));
+        }
+        if (mitarbeiter.vorhanden(rs)) {
+            vertrag.setMitarbeiter(mitarbeiter.map(rs));
+        }
+        return vertrag;
+    }
+}
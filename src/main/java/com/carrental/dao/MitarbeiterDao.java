@@ -1,8 +1,8 @@
 package com.carrental.dao;
 
 import com.carrental.model.Mitarbeiter;
+import com.carrental.util.ConnectionPool;
 import com.carrental.util.DatabaseConfig;
-import com.carrental.util.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -11,19 +11,39 @@ import java.util.Optional;
 
 public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
 
-    private final DatabaseConfig config;
+    /** Spaltenliste aller Abfragen auf Mitarbeiter; der Mapper liest per Spaltenindex. */
+    private static final Projektion SPALTEN = new Projektion();
+    private static final MitarbeiterMapper MAPPER = new MitarbeiterMapper(SPALTEN, null);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Mitarbeiter (AccountName, Passwort, Vorname, Nachname, Email, Personalnummer, BerechtigungsStufe) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String FIND_BY_ID_SQL = "SELECT " + SPALTEN + " FROM Mitarbeiter WHERE ID = ?";
+
+    private static final String FIND_BY_ACCOUNT_NAME_SQL =
+        "SELECT " + SPALTEN + " FROM Mitarbeiter WHERE AccountName = ?";
+
+    private static final String FIND_ALL_SQL = "SELECT " + SPALTEN + " FROM Mitarbeiter";
+
+    private static final String UPDATE_SQL =
+        "UPDATE Mitarbeiter SET AccountName = ?, Passwort = ?, Vorname = ?, Nachname = ?, " +
+        "Email = ?, Personalnummer = ?, BerechtigungsStufe = ? WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM Mitarbeiter WHERE ID = ?";
+
+    private final ConnectionPool pool;
 
     public MitarbeiterDao(DatabaseConfig config) {
-        this.config = config;
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            INSERT_SQL, FIND_BY_ID_SQL, FIND_BY_ACCOUNT_NAME_SQL, FIND_ALL_SQL, UPDATE_SQL, DELETE_SQL);
     }
 
     @Override
     public Mitarbeiter create(Mitarbeiter mitarbeiter) throws SQLException {
-        String sql = "INSERT INTO Mitarbeiter (AccountName, Passwort, Vorname, Nachname, Email, Personalnummer, BerechtigungsStufe) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?)";
-
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, mitarbeiter.getAccountName());
             stmt.setString(2, mitarbeiter.getPasswort());
@@ -47,14 +67,13 @@ public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
 
     @Override
     public Optional<Mitarbeiter> findById(int id) throws SQLException {
-        String sql = "SELECT * FROM Mitarbeiter WHERE ID = ?";
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ID_SQL)) {
 
             stmt.setInt(1, id);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToMitarbeiter(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -62,14 +81,13 @@ public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
     }
 
     public Optional<Mitarbeiter> findByAccountName(String accountName) throws SQLException {
-        String sql = "SELECT * FROM Mitarbeiter WHERE AccountName = ?";
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_ACCOUNT_NAME_SQL)) {
 
             stmt.setString(1, accountName);
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToMitarbeiter(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -78,15 +96,14 @@ public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
 
     @Override
     public List<Mitarbeiter> findAll() throws SQLException {
-        String sql = "SELECT * FROM Mitarbeiter";
         List<Mitarbeiter> list = new ArrayList<>();
 
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_ALL_SQL);
              ResultSet rs = stmt.executeQuery()) {
 
             while (rs.next()) {
-                list.add(mapResultSetToMitarbeiter(rs));
+                list.add(MAPPER.map(rs));
             }
         }
 
@@ -95,10 +112,8 @@ public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
 
     @Override
     public boolean update(Mitarbeiter mitarbeiter) throws SQLException {
-        String sql = "UPDATE Mitarbeiter SET AccountName = ?, Passwort = ?, Vorname = ?, Nachname = ?, " +
-                     "Email = ?, Personalnummer = ?, BerechtigungsStufe = ? WHERE ID = ?";
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
 
             stmt.setString(1, mitarbeiter.getAccountName());
             stmt.setString(2, mitarbeiter.getPasswort());
@@ -115,26 +130,11 @@ public class MitarbeiterDao implements GenericDao<Mitarbeiter> {
 
     @Override
     public boolean delete(int id) throws SQLException {
-        String sql = "DELETE FROM Mitarbeiter WHERE ID = ?";
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
 
             stmt.setInt(1, id);
             return stmt.executeUpdate() > 0;
         }
     }
-
-    private Mitarbeiter mapResultSetToMitarbeiter(ResultSet rs) throws SQLException {
-        Mitarbeiter mitarbeiter = new Mitarbeiter(
-            rs.getString("Personalnummer"),
-            rs.getString("AccountName"),
-            rs.getString("Passwort"),
-            rs.getString("Vorname"),
-            rs.getString("Nachname"),
-            rs.getString("Email")
-        );
-        mitarbeiter.setId(rs.getInt("ID"));
-        mitarbeiter.setBerechtigungsStufe(rs.getInt("BerechtigungsStufe"));
-        return mitarbeiter;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.carrental.dao;
+
+import com.carrental.model.Mitarbeiter;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt die Spalten der Tabelle Mitarbeiter über feste Spaltenindizes einer {@link Projektion}.
+ */
+final class MitarbeiterMapper implements RowMapper<Mitarbeiter> {
+
+    private final int id;
+    private final int accountName;
+    private final int passwort;
+    private final int vorname;
+    private final int nachname;
+    private final int email;
+    private final int personalnummer;
+    private final int berechtigungsStufe;
+
+    /**
+     * Fügt die Mitarbeiter-Spalten der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     * @param tabelle Tabellenalias (null ohne Alias)
+     */
+    MitarbeiterMapper(Projektion projektion, String tabelle) {
+        id = projektion.spalte(tabelle, "ID");
+        accountName = projektion.spalte(tabelle, "AccountName");
+        passwort = projektion.spalte(tabelle, "Passwort");
+        vorname = projektion.spalte(tabelle, "Vorname");
+        nachname = projektion.spalte(tabelle, "Nachname");
+        email = projektion.spalte(tabelle, "Email");
+        personalnummer = projektion.spalte(tabelle, "Personalnummer");
+        berechtigungsStufe = projektion.spalte(tabelle, "BerechtigungsStufe");
+    }
+
+    /**
+     * Prüft, ob die Zeile einen Mitarbeiter enthält (bei LEFT JOIN kann er fehlen).
+     */
+    boolean vorhanden(ResultSet rs) throws SQLException {
+        rs.getInt(id);
+        return !rs.wasNull();
+    }
+
+    @Override
+    public Mitarbeiter map(ResultSet rs) throws SQLException {
+        Mitarbeiter mitarbeiter = new Mitarbeiter(
+            rs.getString(personalnummer),
+            rs.getString(accountName),
+            rs.getString(passwort),
+            rs.getString(vorname),
+            rs.getString(nachname),
+            rs.getString(email)
+        );
+        mitarbeiter.setId(rs.getInt(id));
+        mitarbeiter.setBerechtigungsStufe(rs.getInt(berechtigungsStufe));
+        return mitarbeiter;
+    }
+}
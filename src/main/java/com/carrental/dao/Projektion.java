@@ -0,0 +1,53 @@
+package com.carrental.dao;
+
+/**
+ * Explizite Spaltenliste einer Abfrage. Jede Spalte erhält beim Hinzufügen ihren festen
+ * Index im ResultSet, sodass die Mapper per Index statt per Spaltenname lesen.
+ *
+ * Bei JOINs wird jede Spalte mit Tabellenalias qualifiziert und eindeutig benannt
+ * (z.B. {@code k.ID AS k_ID}); gleichnamige Spalten wie ID, AccountName oder Beschreibung
+ * sind damit nicht mehr mehrdeutig. Projektionen werden einmalig beim Laden der DAO-Klasse
+ * aufgebaut und sind danach unveränderlich.
+ */
+final class Projektion {
+
+    private final StringBuilder liste = new StringBuilder();
+    private int anzahl;
+
+    /**
+     * Fügt eine Spalte am Ende der Liste hinzu.
+     *
+     * @param tabelle Tabellenalias der Abfrage (null bei Abfragen über eine Tabelle ohne Alias)
+     * @param spalte Spaltenname
+     * @return Index der Spalte im ResultSet (ab 1)
+     */
+    int spalte(String tabelle, String spalte) {
+        if (anzahl > 0) {
+            liste.append(", ");
+        }
+        if (tabelle == null) {
+            liste.append(spalte);
+        } else {
+            liste.append(tabelle).append('.').append(spalte)
+                 .append(" AS ").append(tabelle).append('_').append(spalte);
+        }
+        return ++anzahl;
+    }
+
+    /**
+     * Gibt die Anzahl der Spalten zurück.
+     *
+     * @return Spaltenanzahl
+     */
+    int anzahl() {
+        return anzahl;
+    }
+
+    /**
+     * Gibt die Spaltenliste für die SELECT-Klausel zurück.
+     */
+    @Override
+    public String toString() {
+        return liste.toString();
+    }
+}
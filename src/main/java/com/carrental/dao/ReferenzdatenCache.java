@@ -0,0 +1,194 @@
+package com.carrental.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Begrenzter Read-Through-Cache für selten geänderte Stammdaten
+ * (z.B. Fahrzeugtypen und Zusatzoptionen).
+ *
+ * Einträge verfallen nach einer festen Lebensdauer und werden bei Änderungen
+ * über {@link #invalidieren()} sofort verworfen. Die Gesamtliste wird nur
+ * zwischengespeichert, solange sie die maximale Anzahl an Einträgen nicht überschreitet;
+ * einzelne Einträge werden nach LRU-Prinzip verdrängt.
+ *
+ * Die Entitäten sind veränderlich, daher gibt der Cache nie seine eigenen Instanzen heraus,
+ * sondern stets Kopien. Änderungen eines Aufrufers werden so erst nach dem Speichern und
+ * {@link #invalidieren()} für andere sichtbar.
+ *
+ * @param <T> Typ der zwischengespeicherten Entität
+ */
+public final class ReferenzdatenCache<T> {
+
+    /**
+     * Lädt alle Entitäten aus der Datenbank.
+     */
+    @FunctionalInterface
+    public interface AlleLader<T> {
+        List<T> laden() throws SQLException;
+    }
+
+    /**
+     * Lädt eine einzelne Entität aus der Datenbank.
+     */
+    @FunctionalInterface
+    public interface EinzelLader<T> {
+        Optional<T> laden(int id) throws SQLException;
+    }
+
+    private final int maxEintraege;
+    private final long ttlMillis;
+    private final ToIntFunction<T> idFunktion;
+    private final UnaryOperator<T> kopie;
+    private final AlleLader<T> alleLader;
+    private final EinzelLader<T> einzelLader;
+
+    private final LongAdder treffer = new LongAdder();
+    private final LongAdder fehlschlaege = new LongAdder();
+
+    private final Map<Integer, Eintrag<T>> eintraege;
+    private List<T> alle;
+    private long alleGeladenAm;
+    private long version;
+
+    /**
+     * @param maxEintraege Maximale Anzahl zwischengespeicherter Entitäten
+     * @param ttlMillis Lebensdauer eines Eintrags in Millisekunden
+     * @param idFunktion Liefert die ID einer Entität
+     * @param kopie Erzeugt eine unabhängige Kopie einer Entität
+     * @param alleLader Lädt alle Entitäten
+     * @param einzelLader Lädt eine Entität anhand der ID
+     */
+    public ReferenzdatenCache(int maxEintraege, long ttlMillis, ToIntFunction<T> idFunktion,
+                              UnaryOperator<T> kopie, AlleLader<T> alleLader, EinzelLader<T> einzelLader) {
+        if (maxEintraege < 1 || ttlMillis < 1) {
+            throw new IllegalArgumentException("Cachegröße und Lebensdauer müssen positiv sein.");
+        }
+        this.maxEintraege = maxEintraege;
+        this.ttlMillis = ttlMillis;
+        this.idFunktion = idFunktion;
+        this.kopie = kopie;
+        this.alleLader = alleLader;
+        this.einzelLader = einzelLader;
+        this.eintraege = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Eintrag<T>> eldest) {
+                return size() > ReferenzdatenCache.this.maxEintraege;
+            }
+        };
+    }
+
+    /**
+     * Gibt alle Entitäten zurück, bei Bedarf aus der Datenbank nachgeladen.
+     *
+     * @return Unveränderliche Liste mit Kopien aller Entitäten
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public List<T> findAll() throws SQLException {
+        long geladeneVersion;
+        synchronized (this) {
+            if (alle != null && !abgelaufen(alleGeladenAm)) {
+                treffer.increment();
+                return kopieren(alle);
+            }
+            geladeneVersion = version;
+        }
+        fehlschlaege.increment();
+
+        List<T> geladen = List.copyOf(alleLader.laden());
+        long jetzt = System.currentTimeMillis();
+        synchronized (this) {
+            // Zwischenzeitliche Invalidierung: Ergebnis zurückgeben, aber nicht übernehmen
+            if (geladeneVersion == version && geladen.size() <= maxEintraege) {
+                alle = geladen;
+                alleGeladenAm = jetzt;
+                eintraege.clear();
+                for (T wert : geladen) {
+                    eintraege.put(idFunktion.applyAsInt(wert), new Eintrag<>(wert, jetzt));
+                }
+            }
+        }
+        return kopieren(geladen);
+    }
+
+    /**
+     * Gibt eine Entität anhand der ID zurück, bei Bedarf aus der Datenbank nachgeladen.
+     *
+     * @param id Die ID der Entität
+     * @return Optional mit einer Kopie der Entität, falls vorhanden
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Optional<T> findById(int id) throws SQLException {
+        long geladeneVersion;
+        synchronized (this) {
+            Eintrag<T> eintrag = eintraege.get(id);
+            if (eintrag != null && !abgelaufen(eintrag.geladenAm())) {
+                treffer.increment();
+                return Optional.of(kopie.apply(eintrag.wert()));
+            }
+            geladeneVersion = version;
+        }
+        fehlschlaege.increment();
+
+        Optional<T> geladen = einzelLader.laden(id);
+        if (geladen.isPresent()) {
+            synchronized (this) {
+                if (geladeneVersion == version) {
+                    eintraege.put(id, new Eintrag<>(geladen.get(), System.currentTimeMillis()));
+                }
+            }
+        }
+        return geladen.map(kopie);
+    }
+
+    /**
+     * Verwirft alle Einträge. Muss nach jeder Änderung der zugrunde liegenden Daten aufgerufen werden.
+     */
+    public synchronized void invalidieren() {
+        version++;
+        alle = null;
+        eintraege.clear();
+    }
+
+    /**
+     * @return Anzahl der aus dem Cache beantworteten Anfragen
+     */
+    public long getTreffer() {
+        return treffer.sum();
+    }
+
+    /**
+     * @return Anzahl der Anfragen, die die Datenbank erreicht haben
+     */
+    public long getFehlschlaege() {
+        return fehlschlaege.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "ReferenzdatenCache{treffer=" + getTreffer() + ", fehlschlaege=" + getFehlschlaege() + "}";
+    }
+
+    private List<T> kopieren(List<T> werte) {
+        List<T> kopien = new ArrayList<>(werte.size());
+        for (T wert : werte) {
+            kopien.add(kopie.apply(wert));
+        }
+        return Collections.unmodifiableList(kopien);
+    }
+
+    private boolean abgelaufen(long geladenAm) {
+        return System.currentTimeMillis() - geladenAm > ttlMillis;
+    }
+
+    private record Eintrag<T>(T wert, long geladenAm) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.carrental.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Hilfsklasse, die ein offenes ResultSet als Stream bereitstellt.
+ * ResultSet, Statement und Verbindung werden beim Schließen des Streams freigegeben.
+ */
+final class ResultSetStreams {
+
+    private ResultSetStreams() {
+    }
+
+    /**
+     * Führt die Abfrage aus und liefert die Zeilen als Stream.
+     * Der Aufrufer muss den Stream schließen (try-with-resources).
+     *
+     * @param conn Geliehene Verbindung; geht in die Verantwortung des Streams über
+     * @param stmt Vorbereitetes Statement mit gesetzten Parametern
+     * @param fetchSize JDBC-Fetch-Size für den Cursor
+     * @param mapper Mapper für eine Zeile
+     * @return Stream über alle Zeilen
+     * @throws SQLException falls die Abfrage fehlschlägt (Ressourcen sind dann bereits geschlossen)
+     */
+    static <T> Stream<T> stream(Connection conn, PreparedStatement stmt, int fetchSize,
+                                RowMapper<T> mapper) throws SQLException {
+        ResultSet rs;
+        try {
+            stmt.setFetchSize(fetchSize);
+            rs = stmt.executeQuery();
+        } catch (SQLException e) {
+            closeQuietly(stmt, conn, e);
+            throw e;
+        }
+
+        Iterator<T> iterator = new Iterator<>() {
+            private Boolean vorhanden;
+
+            @Override
+            public boolean hasNext() {
+                if (vorhanden == null) {
+                    try {
+                        vorhanden = rs.next();
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
+                }
+                return vorhanden;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                vorhanden = null;
+                try {
+                    return mapper.map(rs);
+                } catch (SQLException e) {
+                    throw new UncheckedSQLException(e);
+                }
+            }
+        };
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    rs.close();
+                } catch (SQLException e) {
+                    // Weiter mit Statement und Verbindung
+                }
+                closeQuietly(stmt, conn, null);
+            });
+    }
+
+    private static void closeQuietly(PreparedStatement stmt, Connection conn, SQLException primary) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            if (primary != null) {
+                primary.addSuppressed(e);
+            }
+        }
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            if (primary != null) {
+                primary.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.carrental.dao;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Wandelt die aktuelle Zeile eines ResultSet in ein Objekt um.
+ *
+ * @param <T> Der Zieltyp
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+
+    /**
+     * Mappt die aktuelle Zeile des ResultSet.
+     *
+     * @param rs ResultSet, bereits auf der zu lesenden Zeile positioniert
+     * @return Das gemappte Objekt
+     * @throws SQLException Bei Lesefehlern
+     */
+    T map(ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,196 @@
+package com.carrental.dao;
+
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.model.Kennzahlen;
+import com.carrental.model.Kennzahlen.KategorieAuslastung;
+import com.carrental.model.Kennzahlen.MonatsUmsatz;
+import com.carrental.model.VertragsStatus;
+import com.carrental.util.ConnectionPool;
+import com.carrental.util.DatabaseConfig;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Lesender DAO für Kennzahlen der Statistikansicht.
+ *
+ * Alle Werte werden mit COUNT/SUM/AVG ... GROUP BY in der Datenbank berechnet;
+ * es werden keine Entitäten geladen. Die Abfragen laufen nacheinander über
+ * dieselbe Verbindung.
+ */
+public class StatistikDao {
+
+    /** Status, in denen ein Vertrag als aktiv gilt. */
+    public static final Set<VertragsStatus> AKTIV =
+        EnumSet.of(VertragsStatus.BESTAETIGT, VertragsStatus.LAUFEND);
+
+    /**
+     * Status, in denen ein Vertrag das Fahrzeug belegt bzw. belegt hat und Umsatz bringt.
+     * Entwürfe und stornierte Verträge zählen nicht.
+     */
+    public static final Set<VertragsStatus> BELEGEND =
+        EnumSet.of(VertragsStatus.BESTAETIGT, VertragsStatus.LAUFEND, VertragsStatus.ABGESCHLOSSEN);
+
+    // Eine Zeile mit allen Zählern; jede Tabelle wird genau einmal gelesen
+    private static final String UEBERSICHT_SQL =
+        "SELECT f.Flotte, f.Verfuegbar, v.Aktiv, v.Dauer, k.Kunden " +
+        "FROM (SELECT COUNT(*) AS Flotte, " +
+        "             SUM(CASE WHEN Zustand = ? THEN 1 ELSE 0 END) AS Verfuegbar " +
+        "      FROM Fahrzeug) f " +
+        "CROSS JOIN (SELECT SUM(CASE WHEN Status IN (" + MietvertragDao.platzhalter(AKTIV.size()) + ") " +
+        "                        THEN 1 ELSE 0 END) AS Aktiv, " +
+        "                   AVG(CASE WHEN Status IN (" + MietvertragDao.platzhalter(BELEGEND.size()) + ") " +
+        "                        THEN CAST(DAYS(EndDatum) - DAYS(StartDatum) AS DOUBLE) END) AS Dauer " +
+        "            FROM Mietvertrag) v " +
+        "CROSS JOIN (SELECT COUNT(*) AS Kunden FROM Kunde) k";
+
+    private static final String UMSATZ_PRO_MONAT_SQL =
+        "SELECT YEAR(StartDatum) AS Jahr, MONTH(StartDatum) AS Monat, " +
+        "       COUNT(*) AS Vertraege, SUM(GesamtPreis) AS Umsatz " +
+        "FROM Mietvertrag " +
+        "WHERE Status IN (" + MietvertragDao.platzhalter(BELEGEND.size()) + ") " +
+        "  AND StartDatum >= ? AND StartDatum < ? " +
+        "GROUP BY YEAR(StartDatum), MONTH(StartDatum) " +
+        "ORDER BY Jahr, Monat";
+
+    // Belegte Tage = Schnitt von [StartDatum, EndDatum) mit [von, bis), wie bei der Preisberechnung;
+    // je Fahrzeug vorab summiert, damit jedes Fahrzeug genau einmal gezählt wird
+    private static final String AUSLASTUNG_PRO_KATEGORIE_SQL =
+        "SELECT t.Kategorie, COUNT(*) AS Fahrzeuge, COALESCE(SUM(b.Tage), 0) AS BelegteTage " +
+        "FROM Fahrzeug f " +
+        "JOIN Fahrzeugtyp t ON t.ID = f.Fahrzeugtyp_ID " +
+        "LEFT JOIN (SELECT Fahrzeug_ID, " +
+        "                  SUM(DAYS(LEAST(EndDatum, CAST(? AS DATE))) " +
+        "                      - DAYS(GREATEST(StartDatum, CAST(? AS DATE)))) AS Tage " +
+        "           FROM Mietvertrag " +
+        "           WHERE Status IN (" + MietvertragDao.platzhalter(BELEGEND.size()) + ") " +
+        "             AND StartDatum < ? AND EndDatum > ? " +
+        "           GROUP BY Fahrzeug_ID) b ON b.Fahrzeug_ID = f.ID " +
+        "GROUP BY t.Kategorie " +
+        "ORDER BY t.Kategorie";
+
+    private final ConnectionPool pool;
+
+    public StatistikDao(DatabaseConfig config) {
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            UEBERSICHT_SQL, UMSATZ_PRO_MONAT_SQL, AUSLASTUNG_PRO_KATEGORIE_SQL);
+    }
+
+    /**
+     * Berechnet alle Kennzahlen.
+     *
+     * @param umsatzAb Erster Monat der Umsatzübersicht
+     * @param umsatzBis Letzter Monat der Umsatzübersicht (inklusive)
+     * @param auslastungVon Beginn des Auslastungszeitraums (inklusive)
+     * @param auslastungBis Ende des Auslastungszeitraums (exklusive)
+     * @return Die Kennzahlen
+     * @throws SQLException Bei Datenbankfehlern
+     */
+    public Kennzahlen berechnen(YearMonth umsatzAb, YearMonth umsatzBis,
+                                LocalDate auslastungVon, LocalDate auslastungBis) throws SQLException {
+        if (umsatzBis.isBefore(umsatzAb) || !auslastungBis.isAfter(auslastungVon)) {
+            throw new IllegalArgumentException("Ungültiger Zeitraum für Kennzahlen.");
+        }
+
+        try (Connection conn = pool.getConnection()) {
+            Uebersicht uebersicht = uebersicht(conn);
+            return new Kennzahlen(Instant.now(),
+                uebersicht.flotte(),
+                uebersicht.verfuegbar(),
+                uebersicht.aktiv(),
+                uebersicht.kunden(),
+                uebersicht.mietdauer(),
+                umsatzProMonat(conn, umsatzAb, umsatzBis),
+                auslastungVon,
+                auslastungBis,
+                auslastungProKategorie(conn, auslastungVon, auslastungBis));
+        }
+    }
+
+    private record Uebersicht(int flotte, int verfuegbar, int aktiv, int kunden, double mietdauer) {
+    }
+
+    private Uebersicht uebersicht(Connection conn) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UEBERSICHT_SQL)) {
+            int index = 1;
+            stmt.setString(index++, FahrzeugZustand.VERFUEGBAR.name());
+            index = statusSetzen(stmt, index, AKTIV);
+            statusSetzen(stmt, index, BELEGEND);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                // SUM/AVG liefern bei leeren Tabellen NULL, getInt/getDouble dann 0
+                return new Uebersicht(
+                    rs.getInt("Flotte"),
+                    rs.getInt("Verfuegbar"),
+                    rs.getInt("Aktiv"),
+                    rs.getInt("Kunden"),
+                    rs.getDouble("Dauer"));
+            }
+        }
+    }
+
+    private List<MonatsUmsatz> umsatzProMonat(Connection conn, YearMonth ab, YearMonth bis) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UMSATZ_PRO_MONAT_SQL)) {
+            int index = statusSetzen(stmt, 1, BELEGEND);
+            stmt.setDate(index++, Date.valueOf(ab.atDay(1)));
+            stmt.setDate(index, Date.valueOf(bis.plusMonths(1).atDay(1)));
+
+            List<MonatsUmsatz> umsaetze = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    BigDecimal umsatz = rs.getBigDecimal("Umsatz");
+                    umsaetze.add(new MonatsUmsatz(
+                        YearMonth.of(rs.getInt("Jahr"), rs.getInt("Monat")),
+                        rs.getInt("Vertraege"),
+                        umsatz != null ? umsatz : BigDecimal.ZERO));
+                }
+            }
+            return umsaetze;
+        }
+    }
+
+    private List<KategorieAuslastung> auslastungProKategorie(Connection conn, LocalDate von, LocalDate bis)
+            throws SQLException {
+        long tage = ChronoUnit.DAYS.between(von, bis);
+        try (PreparedStatement stmt = conn.prepareStatement(AUSLASTUNG_PRO_KATEGORIE_SQL)) {
+            Date vonDatum = Date.valueOf(von);
+            Date bisDatum = Date.valueOf(bis);
+            int index = 1;
+            stmt.setDate(index++, bisDatum);
+            stmt.setDate(index++, vonDatum);
+            index = statusSetzen(stmt, index, BELEGEND);
+            stmt.setDate(index++, bisDatum);
+            stmt.setDate(index, vonDatum);
+
+            List<KategorieAuslastung> auslastung = new ArrayList<>();
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    int fahrzeuge = rs.getInt("Fahrzeuge");
+                    long belegteTage = rs.getLong("BelegteTage");
+                    double anteil = fahrzeuge > 0 ? (double) belegteTage / (fahrzeuge * tage) : 0.0;
+                    auslastung.add(new KategorieAuslastung(rs.getString("Kategorie"), fahrzeuge,
+                        belegteTage, Math.min(anteil, 1.0)));
+                }
+            }
+            return auslastung;
+        }
+    }
+
+    private static int statusSetzen(PreparedStatement stmt, int index, Set<VertragsStatus> status)
+            throws SQLException {
+        for (VertragsStatus s : status) {
+            stmt.setString(index++, s.name());
+        }
+        return index;
+    }
+}
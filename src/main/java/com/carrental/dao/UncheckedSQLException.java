@@ -0,0 +1,20 @@
+package com.carrental.dao;
+
+import java.sql.SQLException;
+
+/**
+ * Ungeprüfte Hülle für SQLExceptions, die beim Durchlaufen eines Streams auftreten.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UncheckedSQLException(SQLException cause) {
+        super(cause.getMessage(), cause);
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
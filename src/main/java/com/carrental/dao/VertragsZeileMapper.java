@@ -0,0 +1,70 @@
+package com.carrental.dao;
+
+import com.carrental.model.VertragsStatus;
+import com.carrental.model.VertragsZeile;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt eine {@link VertragsZeile} aus {@link #FROM} über feste Spaltenindizes einer
+ * {@link Projektion}. Gelesen werden nur die Spalten der Vertragslisten; Kundendaten wie
+ * Passwort und Adresse, der Fahrzeugtyp, der Mitarbeiter und die Zusatzoptionen entfallen.
+ */
+final class VertragsZeileMapper implements RowMapper<VertragsZeile> {
+
+    /** FROM-Klausel mit den Aliasen m, k und f, auf die sich die Spaltenliste bezieht. */
+    static final String FROM =
+        " FROM Mietvertrag m " +
+        "LEFT JOIN Kunde k ON m.Kunde_ID = k.ID " +
+        "LEFT JOIN Fahrzeug f ON m.Fahrzeug_ID = f.ID";
+
+    private final int id;
+    private final int mietnummer;
+    private final int kundeId;
+    private final int vorname;
+    private final int nachname;
+    private final int kennzeichen;
+    private final int startDatum;
+    private final int endDatum;
+    private final int gesamtPreis;
+    private final int status;
+
+    /**
+     * Fügt die Spalten der Vertragszeile der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     */
+    VertragsZeileMapper(Projektion projektion) {
+        id = projektion.spalte("m", "ID");
+        mietnummer = projektion.spalte("m", "Mietnummer");
+        kundeId = projektion.spalte("k", "ID");
+        vorname = projektion.spalte("k", "Vorname");
+        nachname = projektion.spalte("k", "Nachname");
+        kennzeichen = projektion.spalte("f", "Kennzeichen");
+        startDatum = projektion.spalte("m", "StartDatum");
+        endDatum = projektion.spalte("m", "EndDatum");
+        gesamtPreis = projektion.spalte("m", "GesamtPreis");
+        status = projektion.spalte("m", "Status");
+    }
+
+    @Override
+    public VertragsZeile map(ResultSet rs) throws SQLException {
+        Date start = rs.getDate(startDatum);
+        Date ende = rs.getDate(endDatum);
+        String statusStr = rs.getString(status);
+        return new VertragsZeile(
+            rs.getInt(id),
+            rs.getString(mietnummer),
+            rs.getInt(kundeId),
+            rs.getString(vorname),
+            rs.getString(nachname),
+            rs.getString(kennzeichen),
+            start != null ? start.toLocalDate() : null,
+            ende != null ? ende.toLocalDate() : null,
+            rs.getDouble(gesamtPreis),
+            statusStr != null ? VertragsStatus.valueOf(statusStr) : null
+        );
+    }
+}
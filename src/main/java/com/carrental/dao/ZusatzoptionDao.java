@@ -1,8 +1,8 @@
 package com.carrental.dao;
 
 import com.carrental.model.Zusatzoption;
+import com.carrental.util.ConnectionPool;
 import com.carrental.util.DatabaseConfig;
-import com.carrental.util.DatabaseConnection;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -15,24 +15,58 @@ import java.util.Optional;
  */
 public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
 
-    private final DatabaseConfig config;
+    private static final int CACHE_GROESSE = 1000;
+    private static final long CACHE_TTL_MILLIS = 10 * 60 * 1000L;
+
+    /** Spaltenliste aller Abfragen auf Zusatzoption; der Mapper liest per Spaltenindex. */
+    private static final Projektion SPALTEN = new Projektion();
+    private static final ZusatzoptionMapper MAPPER = new ZusatzoptionMapper(SPALTEN, null);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO Zusatzoption (Bezeichnung, Aufpreis, Beschreibung) VALUES (?, ?, ?)";
+
+    private static final String LADE_BY_ID_SQL = "SELECT " + SPALTEN + " FROM Zusatzoption WHERE ID = ?";
+
+    private static final String FIND_BY_BEZEICHNUNG_SQL =
+        "SELECT " + SPALTEN + " FROM Zusatzoption WHERE Bezeichnung = ?";
+
+    private static final String FIND_BY_MAX_AUFPREIS_SQL =
+        "SELECT " + SPALTEN + " FROM Zusatzoption WHERE Aufpreis <= ? ORDER BY Aufpreis";
+
+    private static final String LADE_ALLE_SQL =
+        "SELECT " + SPALTEN + " FROM Zusatzoption ORDER BY Bezeichnung";
+
+    private static final String UPDATE_SQL =
+        "UPDATE Zusatzoption SET Bezeichnung = ?, Aufpreis = ?, Beschreibung = ? WHERE ID = ?";
+
+    private static final String DELETE_SQL = "DELETE FROM Zusatzoption WHERE ID = ?";
+
+    private static final String IS_IN_USE_SQL =
+        "SELECT COUNT(*) FROM Mietvertrag_Zusatzoption WHERE Zusatzoption_ID = ?";
+
+    private final ConnectionPool pool;
+    private final ReferenzdatenCache<Zusatzoption> cache;
 
     public ZusatzoptionDao(DatabaseConfig config) {
-        this.config = config;
+        this.pool = ConnectionPool.of(config);
+        pool.registerStatements(
+            INSERT_SQL, LADE_BY_ID_SQL, FIND_BY_BEZEICHNUNG_SQL, FIND_BY_MAX_AUFPREIS_SQL, LADE_ALLE_SQL,
+            UPDATE_SQL, DELETE_SQL, IS_IN_USE_SQL);
+        this.cache = new ReferenzdatenCache<>(CACHE_GROESSE, CACHE_TTL_MILLIS, Zusatzoption::getId,
+                Zusatzoption::new, this::ladeAlle, this::ladeById);
     }
 
     @Override
     public Zusatzoption create(Zusatzoption option) throws SQLException {
-        String sql = "INSERT INTO Zusatzoption (Bezeichnung, Aufpreis, Beschreibung) VALUES (?, ?, ?)";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
             
             stmt.setString(1, option.getBezeichnung());
             stmt.setDouble(2, option.getAufpreis());
             stmt.setString(3, option.getBeschreibung());
             
             stmt.executeUpdate();
+            cache.invalidieren();
             
             try (ResultSet rs = stmt.getGeneratedKeys()) {
                 if (rs.next()) {
@@ -44,18 +78,23 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
         }
     }
 
+    /**
+     * Findet eine Zusatzoption anhand der ID (über den Cache).
+     */
     @Override
     public Optional<Zusatzoption> findById(int id) throws SQLException {
-        String sql = "SELECT * FROM Zusatzoption WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        return cache.findById(id);
+    }
+
+    private Optional<Zusatzoption> ladeById(int id) throws SQLException {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LADE_BY_ID_SQL)) {
             
             stmt.setInt(1, id);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToZusatzoption(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -71,16 +110,14 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public Optional<Zusatzoption> findByBezeichnung(String bezeichnung) throws SQLException {
-        String sql = "SELECT * FROM Zusatzoption WHERE Bezeichnung = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_BEZEICHNUNG_SQL)) {
             
             stmt.setString(1, bezeichnung);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapResultSetToZusatzoption(rs));
+                    return Optional.of(MAPPER.map(rs));
                 }
             }
         }
@@ -96,18 +133,16 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public List<Zusatzoption> findByMaxAufpreis(double maxAufpreis) throws SQLException {
-        String sql = "SELECT * FROM Zusatzoption WHERE Aufpreis <= ? ORDER BY Aufpreis";
-        
         List<Zusatzoption> optionen = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(FIND_BY_MAX_AUFPREIS_SQL)) {
             
             stmt.setDouble(1, maxAufpreis);
             
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    optionen.add(mapResultSetToZusatzoption(rs));
+                    optionen.add(MAPPER.map(rs));
                 }
             }
         }
@@ -115,18 +150,35 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
         return optionen;
     }
 
+    /**
+     * Gibt alle Zusatzoptionen zurück (über den Cache).
+     * 
+     * @return Unveränderliche Liste mit Kopien aller Zusatzoptionen
+     * @throws SQLException Bei Datenbankfehlern
+     */
     @Override
     public List<Zusatzoption> findAll() throws SQLException {
-        String sql = "SELECT * FROM Zusatzoption ORDER BY Bezeichnung";
-        
+        return cache.findAll();
+    }
+
+    /**
+     * Gibt den Cache für Zusatzoptionen zurück (z.B. für Trefferstatistiken).
+     * 
+     * @return Der Zusatzoption-Cache
+     */
+    public ReferenzdatenCache<Zusatzoption> getCache() {
+        return cache;
+    }
+
+    private List<Zusatzoption> ladeAlle() throws SQLException {
         List<Zusatzoption> optionen = new ArrayList<>();
         
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql);
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(LADE_ALLE_SQL);
              ResultSet rs = stmt.executeQuery()) {
             
             while (rs.next()) {
-                optionen.add(mapResultSetToZusatzoption(rs));
+                optionen.add(MAPPER.map(rs));
             }
         }
         
@@ -135,17 +187,19 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
 
     @Override
     public boolean update(Zusatzoption option) throws SQLException {
-        String sql = "UPDATE Zusatzoption SET Bezeichnung = ?, Aufpreis = ?, Beschreibung = ? WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_SQL)) {
             
             stmt.setString(1, option.getBezeichnung());
             stmt.setDouble(2, option.getAufpreis());
             stmt.setString(3, option.getBeschreibung());
             stmt.setInt(4, option.getId());
             
-            return stmt.executeUpdate() > 0;
+            boolean updated = stmt.executeUpdate() > 0;
+            if (updated) {
+                cache.invalidieren();
+            }
+            return updated;
         }
     }
 
@@ -153,13 +207,15 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
     public boolean delete(int id) throws SQLException {
         // Hinweis: Dies wird fehlschlagen, wenn die Option noch in Mietverträgen verwendet wird
         // aufgrund der Foreign-Key-Constraints
-        String sql = "DELETE FROM Zusatzoption WHERE ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(DELETE_SQL)) {
             
             stmt.setInt(1, id);
-            return stmt.executeUpdate() > 0;
+            boolean deleted = stmt.executeUpdate() > 0;
+            if (deleted) {
+                cache.invalidieren();
+            }
+            return deleted;
         }
     }
 
@@ -171,10 +227,8 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
      * @throws SQLException Bei Datenbankfehlern
      */
     public boolean isInUse(int id) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM Mietvertrag_Zusatzoption WHERE Zusatzoption_ID = ?";
-        
-        try (Connection conn = DatabaseConnection.create(config);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = pool.getConnection();
+             PreparedStatement stmt = conn.prepareStatement(IS_IN_USE_SQL)) {
             
             stmt.setInt(1, id);
             
@@ -187,16 +241,4 @@ public class ZusatzoptionDao implements GenericDao<Zusatzoption> {
         
         return false;
     }
-
-    /**
-     * Hilfsmethode zum Mappen eines ResultSet auf ein Zusatzoption-Objekt.
-     */
-    private Zusatzoption mapResultSetToZusatzoption(ResultSet rs) throws SQLException {
-        Zusatzoption option = new Zusatzoption();
-        option.setId(rs.getInt("ID"));
-        option.setBezeichnung(rs.getString("Bezeichnung"));
-        option.setAufpreis(rs.getDouble("Aufpreis"));
-        option.setBeschreibung(rs.getString("Beschreibung"));
-        return option;
-    }
 }
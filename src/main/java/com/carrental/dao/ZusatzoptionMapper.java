@@ -0,0 +1,40 @@
+package com.carrental.dao;
+
+import com.carrental.model.Zusatzoption;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Mappt die Spalten der Tabelle Zusatzoption über feste Spaltenindizes einer {@link Projektion}.
+ */
+final class ZusatzoptionMapper implements RowMapper<Zusatzoption> {
+
+    private final int id;
+    private final int bezeichnung;
+    private final int aufpreis;
+    private final int beschreibung;
+
+    /**
+     * Fügt die Zusatzoption-Spalten der Projektion hinzu.
+     *
+     * @param projektion Spaltenliste der Abfrage
+     * @param tabelle Tabellenalias (null ohne Alias)
+     */
+    ZusatzoptionMapper(Projektion projektion, String tabelle) {
+        id = projektion.spalte(tabelle, "ID");
+        bezeichnung = projektion.spalte(tabelle, "Bezeichnung");
+        aufpreis = projektion.spalte(tabelle, "Aufpreis");
+        beschreibung = projektion.spalte(tabelle, "Beschreibung");
+    }
+
+    @Override
+    public Zusatzoption map(ResultSet rs) throws SQLException {
+        Zusatzoption option = new Zusatzoption();
+        option.setId(rs.getInt(id));
+        option.setBezeichnung(rs.getString(bezeichnung));
+        option.setAufpreis(rs.getDouble(aufpreis));
+        option.setBeschreibung(rs.getString(beschreibung));
+        return option;
+    }
+}
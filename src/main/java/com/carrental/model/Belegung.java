@@ -0,0 +1,15 @@
+package com.carrental.model;
+
+import java.time.LocalDate;
+
+/**
+ * Belegungszeitraum eines Fahrzeugs durch einen aktiven Mietvertrag.
+ * Schlanke Sicht auf einen Mietvertrag ohne Kunden-, Fahrzeug- und Optionsdaten.
+ *
+ * @param vertragId ID des Mietvertrags
+ * @param fahrzeugId ID des belegten Fahrzeugs
+ * @param startDatum Erster Miettag
+ * @param endDatum Letzter Miettag
+ */
+public record Belegung(int vertragId, int fahrzeugId, LocalDate startDatum, LocalDate endDatum) {
+}
@@ -47,6 +47,21 @@ public class Fahrzeug {
         this.zustand = zustand;
     }
 
+    /**
+     * Kopierkonstruktor, z.B. für Kopien aus dem Fahrzeug-Cache. Der Fahrzeugtyp wird
+     * ebenfalls kopiert.
+     * 
+     * @param andere Das zu kopierende Fahrzeug
+     */
+    public Fahrzeug(Fahrzeug andere) {
+        this.id = andere.id;
+        this.kennzeichen = andere.kennzeichen;
+        this.aktuellerKilometerstand = andere.aktuellerKilometerstand;
+        this.zustand = andere.zustand;
+        this.tuevDatum = andere.tuevDatum;
+        this.fahrzeugtyp = andere.fahrzeugtyp != null ? new Fahrzeugtyp(andere.fahrzeugtyp) : null;
+    }
+
     /**
      * Prüft, ob das Fahrzeug im angegebenen Zeitraum verfügbar ist.
      * 
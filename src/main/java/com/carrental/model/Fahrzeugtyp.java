@@ -36,6 +36,23 @@ public class Fahrzeugtyp {
         this.standardTagesPreis = standardTagesPreis;
     }
 
+    /**
+     * Kopierkonstruktor, z.B. für Kopien aus dem Fahrzeugtyp-Cache.
+     * 
+     * @param andere Der zu kopierende Fahrzeugtyp
+     */
+    public Fahrzeugtyp(Fahrzeugtyp andere) {
+        this.id = andere.id;
+        this.hersteller = andere.hersteller;
+        this.modellBezeichnung = andere.modellBezeichnung;
+        this.kategorie = andere.kategorie;
+        this.standardTagesPreis = andere.standardTagesPreis;
+        this.sitzplaetze = andere.sitzplaetze;
+        this.antriebsart = andere.antriebsart;
+        this.reichweiteKm = andere.reichweiteKm;
+        this.beschreibung = andere.beschreibung;
+    }
+
     /**
      * Konstruktor mit allen wichtigen Parametern.
      * 
@@ -0,0 +1,55 @@
+package com.carrental.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Momentaufnahme der Kennzahlen für die Statistikansicht der Mitarbeiter.
+ * Wird per Aggregatabfragen in der Datenbank berechnet, ohne Entitäten zu laden.
+ *
+ * @param erstellt Zeitpunkt der Berechnung
+ * @param flottengroesse Anzahl aller Fahrzeuge
+ * @param verfuegbareFahrzeuge Fahrzeuge im Zustand VERFUEGBAR
+ * @param aktiveVertraege Verträge im Status BESTAETIGT oder LAUFEND
+ * @param kunden Anzahl registrierter Kunden
+ * @param durchschnittlicheMietdauer Mittlere Mietdauer in Tagen über alle belegenden Verträge
+ * @param umsatzProMonat Umsatz je Monat (nach Startdatum), aufsteigend nach Monat
+ * @param auslastungVon Beginn des Auslastungszeitraums (inklusive)
+ * @param auslastungBis Ende des Auslastungszeitraums (exklusive)
+ * @param auslastungProKategorie Auslastung je Fahrzeugkategorie im Auslastungszeitraum
+ */
+public record Kennzahlen(Instant erstellt,
+                         int flottengroesse,
+                         int verfuegbareFahrzeuge,
+                         int aktiveVertraege,
+                         int kunden,
+                         double durchschnittlicheMietdauer,
+                         List<MonatsUmsatz> umsatzProMonat,
+                         LocalDate auslastungVon,
+                         LocalDate auslastungBis,
+                         List<KategorieAuslastung> auslastungProKategorie) {
+
+    /**
+     * Umsatz eines Monats.
+     *
+     * @param monat Der Monat
+     * @param vertraege Anzahl der Verträge mit Start in diesem Monat
+     * @param umsatz Summe der Gesamtpreise
+     */
+    public record MonatsUmsatz(YearMonth monat, int vertraege, BigDecimal umsatz) {
+    }
+
+    /**
+     * Auslastung einer Fahrzeugkategorie.
+     *
+     * @param kategorie Die Kategorie
+     * @param fahrzeuge Anzahl Fahrzeuge der Kategorie
+     * @param belegteTage Summe der vermieteten Fahrzeugtage im Zeitraum
+     * @param auslastung Anteil der vermieteten an allen Fahrzeugtagen (0 bis 1)
+     */
+    public record KategorieAuslastung(String kategorie, int fahrzeuge, long belegteTage, double auslastung) {
+    }
+}
@@ -36,6 +36,25 @@ public class Kunde extends Benutzer {
         this.istAktiv = true; // Neuer Kunde ist standardmäßig aktiv
     }
 
+    /**
+     * Kopierkonstruktor, z.B. für Kopien aus dem Kunden-Cache.
+     * 
+     * @param andere Der zu kopierende Kunde
+     */
+    public Kunde(Kunde andere) {
+        super(andere.getAccountName(), andere.getPasswort(), andere.getVorname(), andere.getNachname(),
+            andere.getEmail());
+        this.id = andere.id;
+        this.kundennummer = andere.kundennummer;
+        this.strasse = andere.strasse;
+        this.hausnummer = andere.hausnummer;
+        this.plz = andere.plz;
+        this.ort = andere.ort;
+        this.geburtstag = andere.geburtstag;
+        this.fuehrerscheinNummer = andere.fuehrerscheinNummer;
+        this.istAktiv = andere.istAktiv;
+    }
+
     /**
      * Registriert den Kunden im System.
      * Setzt den Status auf aktiv.
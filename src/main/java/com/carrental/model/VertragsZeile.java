@@ -0,0 +1,49 @@
+package com.carrental.model;
+
+import java.time.LocalDate;
+
+/**
+ * Zeile einer Vertragsliste. Schlanke Sicht auf einen Mietvertrag mit genau den Spalten,
+ * die Tabellen anzeigen; Kunde und Fahrzeug sind auf Name bzw. Kennzeichen reduziert.
+ * Für Details oder Änderungen wird der vollständige Vertrag über die ID oder Mietnummer geladen.
+ *
+ * @param id ID des Mietvertrags
+ * @param mietnummer Mietnummer
+ * @param kundeId ID des Kunden (0, wenn kein Kunde zugeordnet ist)
+ * @param kundeVorname Vorname des Kunden (null ohne Kunde)
+ * @param kundeNachname Nachname des Kunden (null ohne Kunde)
+ * @param kennzeichen Kennzeichen des Fahrzeugs (null ohne Fahrzeug)
+ * @param startDatum Erster Miettag
+ * @param endDatum Letzter Miettag
+ * @param gesamtPreis Gesamtpreis
+ * @param status Vertragsstatus (null, wenn nicht gesetzt)
+ */
+public record VertragsZeile(int id,
+                            String mietnummer,
+                            int kundeId,
+                            String kundeVorname,
+                            String kundeNachname,
+                            String kennzeichen,
+                            LocalDate startDatum,
+                            LocalDate endDatum,
+                            double gesamtPreis,
+                            VertragsStatus status) {
+
+    /**
+     * Prüft, ob dem Vertrag ein Kunde zugeordnet ist.
+     *
+     * @return true, wenn ein Kunde vorhanden ist
+     */
+    public boolean hatKunde() {
+        return kundeId != 0;
+    }
+
+    /**
+     * Gibt den vollständigen Namen des Kunden zurück.
+     *
+     * @return Vor- und Nachname, oder null ohne Kunde
+     */
+    public String kundeName() {
+        return hatKunde() ? kundeVorname + " " + kundeNachname : null;
+    }
+}
@@ -28,6 +28,18 @@ public class Zusatzoption {
         this.aufpreis = aufpreis;
     }
 
+    /**
+     * Kopierkonstruktor, z.B. für Kopien aus dem Zusatzoption-Cache.
+     * 
+     * @param andere Die zu kopierende Zusatzoption
+     */
+    public Zusatzoption(Zusatzoption andere) {
+        this.id = andere.id;
+        this.bezeichnung = andere.bezeichnung;
+        this.aufpreis = andere.aufpreis;
+        this.beschreibung = andere.beschreibung;
+    }
+
     /**
      * Gibt den Aufpreis der Zusatzoption zurück.
      * 
@@ -0,0 +1,685 @@
+package com.carrental.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Einfacher Verbindungspool für Db2-Verbindungen.
+ *
+ * Physische Verbindungen werden über {@link DatabaseConnection#create(DatabaseConfig)}
+ * aufgebaut und nach {@code close()} nicht geschlossen, sondern in den Pool zurückgelegt.
+ * Unterstützt Mindest-/Maximalgröße, Entfernen überzähliger Leerlauf-Verbindungen,
+ * Validierung bei der Ausgabe und Erkennung nicht zurückgegebener Verbindungen.
+ *
+ * Jede physische Verbindung hält zusätzlich einen LRU-Cache vorbereiteter Statements
+ * ({@link DatabaseConfig#poolStatementCacheSize()}). Zwischengespeichert wird nur SQL, das über
+ * {@link #registerStatements(String...)} angemeldet wurde; dynamisch zusammengesetztes SQL
+ * (IN-Listen, Sortierungen) wird wie bisher bei jedem Aufruf neu vorbereitet und verdrängt
+ * keine festen Statements. {@code close()} auf einem zwischengespeicherten Statement legt es
+ * zurück in den Cache der Verbindung.
+ */
+public class ConnectionPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ConnectionPool.class.getName());
+
+    private static final Map<DatabaseConfig, ConnectionPool> POOLS = new ConcurrentHashMap<>();
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_INTERVAL_MILLIS = 30_000L;
+
+    private final DatabaseConfig config;
+    private final Semaphore permits;
+    private final Deque<PooledConnection> idle = new ConcurrentLinkedDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final Set<String> registeredStatements = ConcurrentHashMap.newKeySet();
+    private final AtomicLong statementHits = new AtomicLong();
+    private final AtomicLong statementMisses = new AtomicLong();
+    private final AtomicLong statementEvictions = new AtomicLong();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private ConnectionPool(DatabaseConfig config) {
+        this.config = config;
+        this.permits = new Semaphore(config.poolMaxSize(), true);
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ConnectionPool-Housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        // Mindestanzahl asynchron aufbauen, damit ein Verbindungsfehler den Start nicht blockiert
+        this.housekeeper.execute(this::fillToMinimum);
+        this.housekeeper.scheduleWithFixedDelay(this::housekeeping,
+                HOUSEKEEPING_INTERVAL_MILLIS, HOUSEKEEPING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gibt den Pool für eine Konfiguration zurück und legt ihn bei Bedarf an.
+     *
+     * @param config Datenbankkonfiguration
+     * @return Der zugehörige Pool
+     */
+    public static ConnectionPool of(DatabaseConfig config) {
+        return POOLS.computeIfAbsent(config, ConnectionPool::new);
+    }
+
+    /**
+     * Schließt alle bisher angelegten Pools (z.B. beim Beenden der Anwendung).
+     */
+    public static void shutdownAll() {
+        for (ConnectionPool pool : POOLS.values()) {
+            pool.close();
+        }
+        POOLS.clear();
+    }
+
+    /**
+     * Leiht eine Verbindung aus dem Pool aus.
+     * Der Aufrufer muss die Verbindung mit {@code close()} zurückgeben (try-with-resources).
+     *
+     * @return Verbindung zur Datenbank
+     * @throws SQLException falls keine Verbindung innerhalb der Wartezeit verfügbar ist
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Verbindungspool ist bereits geschlossen.");
+        }
+
+        try {
+            if (!permits.tryAcquire(config.poolMaxWaitMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLException("Keine freie Datenbankverbindung innerhalb von "
+                        + config.poolMaxWaitMillis() + " ms (max. " + config.poolMaxSize() + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Warten auf Datenbankverbindung unterbrochen.", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                discard(pooled);
+            }
+            if (pooled == null) {
+                pooled = new PooledConnection(DatabaseConnection.create(config));
+                totalCount.incrementAndGet();
+            }
+
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.leakReported = false;
+            pooled.borrowTrace = config.poolLeakDetectionMillis() > 0
+                    ? new Throwable("Verbindung ausgeliehen von " + Thread.currentThread().getName())
+                    : null;
+            borrowed.add(pooled);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Meldet festes SQL für den Statement-Cache an. Nur angemeldetes SQL wird je Verbindung
+     * zwischengespeichert; DAOs melden ihre SQL-Konstanten im Konstruktor an.
+     *
+     * @param sql SQL-Texte, genau wie sie an {@code prepareStatement} übergeben werden
+     */
+    public void registerStatements(String... sql) {
+        registeredStatements.addAll(List.of(sql));
+    }
+
+    /**
+     * Gibt zurück, wie oft ein vorbereitetes Statement aus dem Cache wiederverwendet wurde.
+     *
+     * @return Cache-Treffer seit dem Anlegen des Pools
+     */
+    public long getStatementCacheHits() {
+        return statementHits.get();
+    }
+
+    /**
+     * Gibt zurück, wie oft angemeldetes SQL neu vorbereitet werden musste.
+     *
+     * @return Cache-Fehlgriffe seit dem Anlegen des Pools
+     */
+    public long getStatementCacheMisses() {
+        return statementMisses.get();
+    }
+
+    /**
+     * Gibt zurück, wie viele Statements wegen der Cache-Größe verdrängt wurden.
+     *
+     * @return Verdrängte Statements seit dem Anlegen des Pools
+     */
+    public long getStatementCacheEvictions() {
+        return statementEvictions.get();
+    }
+
+    /**
+     * Gibt den Anteil der Cache-Treffer an allen Zugriffen auf angemeldetes SQL zurück.
+     *
+     * @return Trefferquote zwischen 0 und 1 (0 ohne Zugriffe)
+     */
+    public double getStatementCacheHitRate() {
+        long hits = statementHits.get();
+        long total = hits + statementMisses.get();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    /**
+     * Gibt die Anzahl aller physischen Verbindungen zurück.
+     *
+     * @return Offene Verbindungen (ausgeliehen und im Leerlauf)
+     */
+    public int getTotalConnections() {
+        return totalCount.get();
+    }
+
+    /**
+     * Gibt die Anzahl der Verbindungen im Leerlauf zurück.
+     *
+     * @return Freie Verbindungen
+     */
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Gibt die Anzahl der aktuell ausgeliehenen Verbindungen zurück.
+     *
+     * @return Ausgeliehene Verbindungen
+     */
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    /**
+     * Schließt den Pool. Freie Verbindungen werden sofort geschlossen,
+     * ausgeliehene Verbindungen bei ihrer Rückgabe.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+        LOGGER.info("Verbindungspool geschlossen. Statement-Cache: " + statementHits.get() + " Treffer, "
+                + statementMisses.get() + " Fehlgriffe, " + statementEvictions.get() + " verdrängt.");
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (config.poolValidateOnBorrow()) {
+                return pooled.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+            return !pooled.physical.isClosed();
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        borrowed.remove(pooled);
+        if (pooled.statements != null) {
+            pooled.statements.releaseUnclosed();
+        }
+        try {
+            boolean reusable = !closed && !pooled.physical.isClosed();
+            if (reusable) {
+                // Offene Transaktionen verwerfen, damit der nächste Nutzer einen sauberen Zustand erhält
+                if (!pooled.physical.getAutoCommit()) {
+                    pooled.physical.rollback();
+                    pooled.physical.setAutoCommit(true);
+                }
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerFirst(pooled);
+            } else {
+                discard(pooled);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Verbindung konnte nicht zurückgesetzt werden und wird verworfen", e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalCount.decrementAndGet();
+        if (pooled.statements != null) {
+            pooled.statements.clear();
+        }
+        try {
+            pooled.physical.close();
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Fehler beim Schließen einer Poolverbindung", e);
+        }
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalCount.get() < config.poolMinSize()) {
+            try {
+                PooledConnection pooled = new PooledConnection(DatabaseConnection.create(config));
+                totalCount.incrementAndGet();
+                pooled.lastUsed = System.currentTimeMillis();
+                idle.offerLast(pooled);
+            } catch (SQLException | RuntimeException e) {
+                LOGGER.warning("Mindestanzahl an Poolverbindungen konnte nicht aufgebaut werden: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void housekeeping() {
+        long now = System.currentTimeMillis();
+
+        // Überzählige Leerlauf-Verbindungen entfernen (älteste zuerst)
+        Iterator<PooledConnection> it = idle.descendingIterator();
+        while (it.hasNext() && totalCount.get() > config.poolMinSize()) {
+            PooledConnection pooled = it.next();
+            if (now - pooled.lastUsed > config.poolIdleTimeoutMillis() && idle.remove(pooled)) {
+                discard(pooled);
+            }
+        }
+
+        // Verbindungslecks melden
+        long leakThreshold = config.poolLeakDetectionMillis();
+        if (leakThreshold > 0) {
+            for (PooledConnection pooled : borrowed) {
+                if (!pooled.leakReported && now - pooled.borrowedAt > leakThreshold) {
+                    pooled.leakReported = true;
+                    LOGGER.log(Level.WARNING, "Mögliches Verbindungsleck: Verbindung seit "
+                            + (now - pooled.borrowedAt) + " ms nicht zurückgegeben", pooled.borrowTrace);
+                }
+            }
+        }
+
+        fillToMinimum();
+    }
+
+    /**
+     * Physische Verbindung mit Verwaltungsdaten des Pools.
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed;
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile Throwable borrowTrace;
+        private final StatementCache statements;
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statements = config.poolStatementCacheSize() > 0
+                    ? new StatementCache(physical, config.poolStatementCacheSize())
+                    : null;
+        }
+
+        /**
+         * Erzeugt ein neues Handle für eine Ausleihe. Nach {@code close()} ist das Handle
+         * unbrauchbar, auch wenn die physische Verbindung bereits weiterverliehen wurde.
+         */
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Handle(this));
+        }
+    }
+
+    /**
+     * Leitet alle Aufrufe an die physische Verbindung weiter und fängt {@code close()} ab.
+     */
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (returned.compareAndSet(false, true)) {
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned.get() || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + "]";
+                default:
+                    break;
+            }
+
+            if (returned.get()) {
+                throw new SQLException("Verbindung wurde bereits an den Pool zurückgegeben.");
+            }
+            if (pooled.statements != null && method.getName().equals("prepareStatement")
+                    && registeredStatements.contains((String) args[0])) {
+                StatementKey key = StatementKey.of(method, args);
+                if (key != null) {
+                    return pooled.statements.prepare(key, (Connection) proxy, () -> invokePhysical(method, args));
+                }
+            }
+            return invokePhysical(method, args);
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Schlüssel eines zwischengespeicherten Statements. {@code prepareStatement(sql)} entspricht
+     * laut JDBC den Standardwerten und teilt sich den Eintrag mit den Varianten, die diese
+     * ausdrücklich angeben.
+     */
+    private record StatementKey(String sql, int autoGeneratedKeys, int resultSetType, int resultSetConcurrency) {
+
+        /**
+         * Bildet den Schlüssel für eine der unterstützten {@code prepareStatement}-Varianten.
+         *
+         * @return Schlüssel oder null, falls die Variante nicht zwischengespeichert wird
+         */
+        private static StatementKey of(Method method, Object[] args) {
+            Class<?>[] types = method.getParameterTypes();
+            String sql = (String) args[0];
+            if (types.length == 1) {
+                return new StatementKey(sql, Statement.NO_GENERATED_KEYS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            }
+            if (types.length == 2 && types[1] == int.class) {
+                return new StatementKey(sql, (Integer) args[1],
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            }
+            if (types.length == 3) {
+                return new StatementKey(sql, Statement.NO_GENERATED_KEYS, (Integer) args[1], (Integer) args[2]);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Bereitet ein Statement auf der physischen Verbindung vor.
+     */
+    @FunctionalInterface
+    private interface Preparer {
+        Object prepare() throws Throwable;
+    }
+
+    /**
+     * LRU-Cache der vorbereiteten Statements einer physischen Verbindung.
+     * Eine Verbindung wird immer nur von einem Thread genutzt; die Synchronisation schützt
+     * lediglich gegen das gleichzeitige Verwerfen durch die Pool-Verwaltung.
+     */
+    private final class StatementCache {
+        private final Connection physical;
+        private final Map<StatementKey, CachedStatement> entries;
+
+        private StatementCache(Connection physical, int maxSize) {
+            this.physical = physical;
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+                    if (size() <= maxSize) {
+                        return false;
+                    }
+                    statementEvictions.incrementAndGet();
+                    eldest.getValue().evict();
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Gibt das zwischengespeicherte Statement zurück oder bereitet es vor. Ist das Statement
+         * gerade in Benutzung (dasselbe SQL zweimal geöffnet), wird ein nicht zwischengespeichertes
+         * Statement geliefert.
+         */
+        private synchronized Object prepare(StatementKey key, Connection handle, Preparer preparer) throws Throwable {
+            CachedStatement cached = entries.get(key);
+            if (cached != null && !cached.inUse) {
+                statementHits.incrementAndGet();
+                return cached.borrow(handle);
+            }
+            statementMisses.incrementAndGet();
+            PreparedStatement stmt = (PreparedStatement) preparer.prepare();
+            if (cached != null) {
+                return stmt;
+            }
+            cached = new CachedStatement(this, stmt);
+            entries.put(key, cached);
+            return cached.borrow(handle);
+        }
+
+        /**
+         * Schließt Statements, die bei der Rückgabe der Verbindung noch offen sind,
+         * und entfernt sie aus dem Cache.
+         */
+        private synchronized void releaseUnclosed() {
+            Iterator<CachedStatement> it = entries.values().iterator();
+            while (it.hasNext()) {
+                CachedStatement cached = it.next();
+                if (cached.inUse) {
+                    it.remove();
+                    cached.inUse = false;
+                    cached.evict();
+                }
+            }
+        }
+
+        /**
+         * Leert den Cache, wenn die physische Verbindung verworfen wird.
+         */
+        private synchronized void clear() {
+            List<CachedStatement> all = new ArrayList<>(entries.values());
+            entries.clear();
+            for (CachedStatement cached : all) {
+                cached.evict();
+            }
+        }
+
+        private synchronized void giveBack(CachedStatement cached) {
+            cached.inUse = false;
+            if (cached.evicted) {
+                cached.closePhysical();
+            }
+        }
+
+        private synchronized void remove(CachedStatement cached) {
+            entries.values().remove(cached);
+            cached.evicted = true;
+            cached.inUse = false;
+            cached.closePhysical();
+        }
+    }
+
+    /**
+     * Zwischengespeichertes Statement. Jede Ausleihe erhält einen eigenen Proxy, dessen
+     * {@code close()} das Statement zurücksetzt und in den Cache zurücklegt.
+     */
+    private final class CachedStatement {
+        private final StatementCache cache;
+        private final PreparedStatement physical;
+        private final int fetchSize;
+        private final int maxRows;
+        private final int queryTimeout;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(StatementCache cache, PreparedStatement physical) throws SQLException {
+            this.cache = cache;
+            this.physical = physical;
+            this.fetchSize = physical.getFetchSize();
+            this.maxRows = physical.getMaxRows();
+            this.queryTimeout = physical.getQueryTimeout();
+        }
+
+        private PreparedStatement borrow(Connection handle) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new StatementHandle(this, handle));
+        }
+
+        /**
+         * Markiert das Statement als verdrängt; ein gerade benutztes wird erst bei seiner
+         * Rückgabe geschlossen.
+         */
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closePhysical();
+            }
+        }
+
+        /**
+         * Setzt Parameter und veränderte Einstellungen für die nächste Ausleihe zurück.
+         */
+        private void reset(boolean settingsChanged) throws SQLException {
+            ResultSet rs = physical.getResultSet();
+            if (rs != null) {
+                rs.close();
+            }
+            physical.clearParameters();
+            physical.clearBatch();
+            physical.clearWarnings();
+            if (settingsChanged) {
+                physical.setFetchSize(fetchSize);
+                physical.setMaxRows(maxRows);
+                physical.setQueryTimeout(queryTimeout);
+            }
+        }
+
+        private void closePhysical() {
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINE, "Fehler beim Schließen eines zwischengespeicherten Statements", e);
+            }
+        }
+    }
+
+    /**
+     * Leitet Aufrufe an das zwischengespeicherte Statement weiter und fängt {@code close()} ab.
+     * Einstellungen, die beim Zurücklegen nicht zurückgesetzt werden können, führen dazu,
+     * dass das Statement aus dem Cache entfernt wird.
+     */
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection handle;
+        private boolean closed;
+        private boolean settingsChanged;
+        private boolean notReusable;
+
+        private StatementHandle(CachedStatement cached, Connection handle) {
+            this.cached = cached;
+            this.handle = handle;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.physical.isClosed();
+                case "getConnection":
+                    return handle;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachedStatement[" + cached.physical + "]";
+                case "setFetchSize":
+                case "setMaxRows":
+                case "setQueryTimeout":
+                    settingsChanged = true;
+                    break;
+                case "setLargeMaxRows":
+                case "setMaxFieldSize":
+                case "setFetchDirection":
+                case "setEscapeProcessing":
+                case "setCursorName":
+                case "setPoolable":
+                case "closeOnCompletion":
+                    notReusable = true;
+                    break;
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement wurde bereits geschlossen.");
+            }
+            try {
+                return method.invoke(cached.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private void giveBack() {
+            if (!notReusable && !cached.evicted) {
+                try {
+                    cached.reset(settingsChanged);
+                    cached.cache.giveBack(cached);
+                    return;
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Statement konnte nicht zurückgesetzt werden und wird verworfen", e);
+                }
+            }
+            if (cached.evicted) {
+                cached.cache.giveBack(cached);
+            } else {
+                cached.cache.remove(cached);
+            }
+        }
+    }
+}
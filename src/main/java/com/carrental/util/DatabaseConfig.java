@@ -15,6 +15,15 @@ public class DatabaseConfig {
     private final String password;
     private final boolean ssl;
 
+    // Einstellungen für den Verbindungspool (db.pool.*)
+    private final int poolMinSize;
+    private final int poolMaxSize;
+    private final long poolIdleTimeoutMillis;
+    private final long poolMaxWaitMillis;
+    private final boolean poolValidateOnBorrow;
+    private final long poolLeakDetectionMillis;
+    private final int poolStatementCacheSize;
+
     /**
      * Konstruktor für DatabaseConfig.
      * 
@@ -24,10 +33,47 @@ public class DatabaseConfig {
      * @param ssl SSL-Verbindung aktivieren
      */
     public DatabaseConfig(String url, String user, String password, boolean ssl) {
+        this(url, user, password, ssl, 1, 10, 300_000L, 30_000L, true, 60_000L, 64);
+    }
+
+    /**
+     * Konstruktor für DatabaseConfig inklusive Pool-Einstellungen.
+     * 
+     * @param url Datenbankverbindungs-URL
+     * @param user Benutzername
+     * @param password Passwort
+     * @param ssl SSL-Verbindung aktivieren
+     * @param poolMinSize Minimale Anzahl offener Verbindungen im Pool
+     * @param poolMaxSize Maximale Anzahl gleichzeitiger Verbindungen
+     * @param poolIdleTimeoutMillis Leerlaufzeit, nach der überzählige Verbindungen geschlossen werden
+     * @param poolMaxWaitMillis Maximale Wartezeit auf eine freie Verbindung
+     * @param poolValidateOnBorrow Verbindung vor der Ausgabe prüfen
+     * @param poolLeakDetectionMillis Ausleihdauer, ab der ein Leck gemeldet wird (0 = aus)
+     * @param poolStatementCacheSize Zwischengespeicherte PreparedStatements je Verbindung (0 = aus)
+     */
+    public DatabaseConfig(String url, String user, String password, boolean ssl,
+                          int poolMinSize, int poolMaxSize, long poolIdleTimeoutMillis,
+                          long poolMaxWaitMillis, boolean poolValidateOnBorrow,
+                          long poolLeakDetectionMillis, int poolStatementCacheSize) {
+        if (poolMaxSize < 1 || poolMinSize < 0 || poolMinSize > poolMaxSize) {
+            throw new IllegalArgumentException(
+                "Ungültige Pool-Größen: min=" + poolMinSize + ", max=" + poolMaxSize);
+        }
+        if (poolStatementCacheSize < 0) {
+            throw new IllegalArgumentException(
+                "Ungültige Statement-Cache-Größe: " + poolStatementCacheSize);
+        }
         this.url = url;
         this.user = user;
         this.password = password;
         this.ssl = ssl;
+        this.poolMinSize = poolMinSize;
+        this.poolMaxSize = poolMaxSize;
+        this.poolIdleTimeoutMillis = poolIdleTimeoutMillis;
+        this.poolMaxWaitMillis = poolMaxWaitMillis;
+        this.poolValidateOnBorrow = poolValidateOnBorrow;
+        this.poolLeakDetectionMillis = poolLeakDetectionMillis;
+        this.poolStatementCacheSize = poolStatementCacheSize;
     }
 
     /**
@@ -66,6 +112,69 @@ public class DatabaseConfig {
         return ssl;
     }
 
+    /**
+     * Gibt die minimale Poolgröße zurück.
+     * 
+     * @return Minimale Anzahl offener Verbindungen
+     */
+    public int poolMinSize() {
+        return poolMinSize;
+    }
+
+    /**
+     * Gibt die maximale Poolgröße zurück.
+     * 
+     * @return Maximale Anzahl gleichzeitiger Verbindungen
+     */
+    public int poolMaxSize() {
+        return poolMaxSize;
+    }
+
+    /**
+     * Gibt die Leerlaufzeit zurück, nach der Verbindungen geschlossen werden.
+     * 
+     * @return Leerlaufzeit in Millisekunden
+     */
+    public long poolIdleTimeoutMillis() {
+        return poolIdleTimeoutMillis;
+    }
+
+    /**
+     * Gibt die maximale Wartezeit auf eine freie Verbindung zurück.
+     * 
+     * @return Wartezeit in Millisekunden
+     */
+    public long poolMaxWaitMillis() {
+        return poolMaxWaitMillis;
+    }
+
+    /**
+     * Gibt an, ob Verbindungen vor der Ausgabe validiert werden.
+     * 
+     * @return true falls Validierung aktiv
+     */
+    public boolean poolValidateOnBorrow() {
+        return poolValidateOnBorrow;
+    }
+
+    /**
+     * Gibt die Ausleihdauer zurück, ab der ein Verbindungsleck gemeldet wird.
+     * 
+     * @return Schwellwert in Millisekunden (0 = deaktiviert)
+     */
+    public long poolLeakDetectionMillis() {
+        return poolLeakDetectionMillis;
+    }
+
+    /**
+     * Gibt die Anzahl der PreparedStatements zurück, die je Poolverbindung zwischengespeichert werden.
+     * 
+     * @return Cache-Größe (0 = deaktiviert)
+     */
+    public int poolStatementCacheSize() {
+        return poolStatementCacheSize;
+    }
+
     /**
      * Lädt die Konfiguration aus einer Properties-Datei.
      * 
@@ -96,7 +205,44 @@ public class DatabaseConfig {
             throw new IOException("Erforderliche Properties nicht gefunden (db.url, db.user, db.password)");
         }
         
-        return new DatabaseConfig(url, user, password, ssl);
+        int poolMin = parseInt(props, "db.pool.minSize", 1);
+        int poolMax = parseInt(props, "db.pool.maxSize", 10);
+        long idleTimeout = parseLong(props, "db.pool.idleTimeoutMs", 300_000L);
+        long maxWait = parseLong(props, "db.pool.maxWaitMs", 30_000L);
+        boolean validate = Boolean.parseBoolean(props.getProperty("db.pool.validateOnBorrow", "true"));
+        long leakThreshold = parseLong(props, "db.pool.leakDetectionMs", 60_000L);
+        int statementCache = parseInt(props, "db.pool.statementCacheSize", 64);
+
+        try {
+            return new DatabaseConfig(url, user, password, ssl,
+                    poolMin, poolMax, idleTimeout, maxWait, validate, leakThreshold, statementCache);
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    private static int parseInt(Properties props, String key, int defaultValue) throws IOException {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Ungültiger Wert für " + key + ": " + value, e);
+        }
+    }
+
+    private static long parseLong(Properties props, String key, long defaultValue) throws IOException {
+        String value = props.getProperty(key);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IOException("Ungültiger Wert für " + key + ": " + value, e);
+        }
     }
 
     @Override
@@ -105,6 +251,7 @@ public class DatabaseConfig {
                 "url='" + url + '\'' +
                 ", user='" + user + '\'' +
                 ", ssl=" + ssl +
+                ", pool=" + poolMinSize + ".." + poolMaxSize +
                 '}';
     }
 }
@@ -7,6 +7,8 @@ import java.util.Properties;
 
 /**
  * Factory für Datenbankverbindungen zu IBM Db2.
+ * Andere JDBC-URLs (z.B. eine eingebettete Datenbank für Benchmarks) werden
+ * über den automatisch registrierten Treiber aus dem Klassenpfad geöffnet.
  */
 public class DatabaseConnection {
 
@@ -28,10 +30,12 @@ public class DatabaseConnection {
      * @throws SQLException falls Verbindung fehlschlägt
      */
     public static Connection create(DatabaseConfig config) throws SQLException {
-        loadDriver();
-        
         // URL: jdbc:db2://host:port/db (OHNE user/password/properties)
         String baseUrl = config.url();
+        boolean db2 = baseUrl.startsWith("jdbc:db2:");
+        if (db2) {
+            loadDriver();
+        }
         
         // Properties separieren
         Properties props = new Properties();
@@ -39,7 +43,7 @@ public class DatabaseConnection {
         props.setProperty("password", config.password());
         
         // SSL-Connection als Property, nicht in URL
-        if (config.ssl()) {
+        if (db2 && config.ssl()) {
             props.setProperty("sslConnection", "true");
         }
         
@@ -0,0 +1,53 @@
+package com.carrental.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Führt {@code docs/database/schema.sql} auf einer Verbindung aus, z.B. um eine eingebettete
+ * Datenbank für Tests oder Benchmarks aufzubauen. Das Skript wird als {@code schema.sql} aus dem
+ * Klassenpfad gelesen; Maven stellt es als Test-Ressource und im Profil 'benchmark' bereit.
+ */
+public final class SchemaSkript {
+
+    private static final String RESSOURCE = "schema.sql";
+
+    private SchemaSkript() {
+    }
+
+    /**
+     * Führt alle Anweisungen des Schemas nacheinander aus.
+     *
+     * @param verbindung Verbindung zur Zieldatenbank
+     * @throws SQLException Bei Fehlern im Schema
+     * @throws IOException Wenn das Schema nicht im Klassenpfad liegt
+     */
+    public static void ausfuehren(Connection verbindung) throws SQLException, IOException {
+        String skript;
+        try (InputStream is = SchemaSkript.class.getClassLoader().getResourceAsStream(RESSOURCE)) {
+            if (is == null) {
+                throw new IOException(RESSOURCE + " nicht im Klassenpfad (Test-Ressourcen oder Profil 'benchmark')");
+            }
+            skript = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        // Zeilenkommentare entfernen; das Schema enthält keine '--' oder ';' in Literalen
+        StringBuilder ohneKommentare = new StringBuilder();
+        for (String zeile : skript.split("\\R")) {
+            int kommentar = zeile.indexOf("--");
+            ohneKommentare.append(kommentar >= 0 ? zeile.substring(0, kommentar) : zeile).append('\n');
+        }
+
+        try (Statement stmt = verbindung.createStatement()) {
+            for (String anweisung : ohneKommentare.toString().split(";")) {
+                if (!anweisung.isBlank()) {
+                    stmt.execute(anweisung.trim());
+                }
+            }
+        }
+    }
+}
@@ -2,15 +2,14 @@ package com.carrental.view;
 
 import com.carrental.controller.AuthController;
 import com.carrental.controller.BookingController;
-import com.carrental.controller.CarRentalSystem;
 import com.carrental.model.Fahrzeug;
+import com.carrental.model.Kunde;
 import com.carrental.model.Mietvertrag;
 import com.carrental.model.Zusatzoption;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import java.awt.*;
-import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
@@ -22,10 +21,13 @@ import java.util.Set;
 /**
  * Dialog für die Erstellung einer neuen Buchung.
  * Ermöglicht die Vorschau des Vertrags und die Auswahl von Zusatzoptionen.
+ *
+ * Der Dialog greift im Event Dispatch Thread nicht auf die Datenbank zu: Fahrzeug und
+ * Zusatzoptionen lädt der Aufrufer vorab im Hintergrund, die Verfügbarkeit für den
+ * gewählten Zeitraum wird per {@link Hintergrund} geprüft.
  */
 public class BookingDialog extends JDialog {
 
-    private final CarRentalSystem system;
     private final AuthController authController;
     private final BookingController bookingController;
     private final Fahrzeug fahrzeug;
@@ -38,7 +40,7 @@ public class BookingDialog extends JDialog {
     private JButton buchenButton;
     private JButton entwurfSpeichernButton;
 
-    private List<Zusatzoption> verfuegbareOptionen;
+    private final List<Zusatzoption> verfuegbareOptionen;
     private Set<Integer> ausgewaehlteOptionen;
     private double berechneterPreis = 0.0;
     private LocalDate startDatum;
@@ -46,6 +48,10 @@ public class BookingDialog extends JDialog {
     private boolean isDraftMode;
     private Mietvertrag draftVertrag;
 
+    /** Ergebnis der Verfügbarkeitsprüfung für den aktuellen Zeitraum (null = Prüfung läuft). */
+    private Boolean verfuegbar;
+    private final Object verfuegbarkeitsSchluessel = new Object();
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd.MM.yyyy");
     private static final Font GROSSE_SCHRIFT = new Font("Arial", Font.PLAIN, 18);
     private static final Font GROSSE_TITEL_SCHRIFT = new Font("Arial", Font.BOLD, 22);
@@ -53,21 +59,23 @@ public class BookingDialog extends JDialog {
 
     /**
      * Konstruktor für den Buchungsdialog (neue Buchung).
+     *
+     * @param zusatzoptionen Die wählbaren Zusatzoptionen, vorab im Hintergrund geladen
      */
-    public BookingDialog(JFrame parent, CarRentalSystem system, AuthController authController,
-                         BookingController bookingController, Fahrzeug fahrzeug) {
+    public BookingDialog(JFrame parent, AuthController authController, BookingController bookingController,
+                         Fahrzeug fahrzeug, List<Zusatzoption> zusatzoptionen) {
         super(parent, "Fahrzeug buchen", true);
 
-        this.system = system;
         this.authController = authController;
         this.bookingController = bookingController;
         this.fahrzeug = fahrzeug;
+        this.verfuegbareOptionen = List.copyOf(zusatzoptionen);
         this.ausgewaehlteOptionen = new HashSet<>();
         this.isDraftMode = false;
         this.draftVertrag = null;
 
         initializeUI();
-        loadZusatzoptionen();
+        zusatzoptionenAnzeigen();
 
         pack();
         setSize(650, 700);
@@ -77,14 +85,14 @@ public class BookingDialog extends JDialog {
     /**
      * Konstruktor für den Buchungsdialog (Entwurf fortsetzen).
      */
-    private BookingDialog(JFrame parent, CarRentalSystem system, AuthController authController,
-                          BookingController bookingController, Fahrzeug fahrzeug, Mietvertrag draft) {
+    private BookingDialog(JFrame parent, AuthController authController, BookingController bookingController,
+                          Fahrzeug fahrzeug, Mietvertrag draft, List<Zusatzoption> zusatzoptionen) {
         super(parent, "Buchung fortsetzen", true);
 
-        this.system = system;
         this.authController = authController;
         this.bookingController = bookingController;
         this.fahrzeug = fahrzeug;
+        this.verfuegbareOptionen = List.copyOf(zusatzoptionen);
         this.draftVertrag = draft;
         this.isDraftMode = true;
         this.ausgewaehlteOptionen = new HashSet<>();
@@ -92,7 +100,7 @@ public class BookingDialog extends JDialog {
         this.endDatum = draft.getEndDatum();
 
         initializeUI();
-        loadZusatzoptionen();
+        zusatzoptionenAnzeigen();
         loadDraftData();
 
         pack();
@@ -250,22 +258,13 @@ public class BookingDialog extends JDialog {
     }
 
     /**
-     * Lädt verfügbare Zusatzoptionen.
+     * Zeigt die verfügbaren Zusatzoptionen in der Liste an.
      */
-    private void loadZusatzoptionen() {
-        try {
-            verfuegbareOptionen = system.getZusatzoptionDao().findAll();
-
-            for (Zusatzoption option : verfuegbareOptionen) {
-                String display = String.format("%s (+%.2f € / Tag)",
-                    option.getBezeichnung(), option.getAufpreis());
-                zusatzoptionListModel.addElement(display);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Zusatzoptionen: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
+    private void zusatzoptionenAnzeigen() {
+        for (Zusatzoption option : verfuegbareOptionen) {
+            String display = String.format("%s (+%.2f € / Tag)",
+                option.getBezeichnung(), option.getAufpreis());
+            zusatzoptionListModel.addElement(display);
         }
     }
 
@@ -378,7 +377,14 @@ public class BookingDialog extends JDialog {
             return;
         }
 
-        if (!bookingController.isFahrzeugVerfuegbar(fahrzeug, startDatum, endDatum) && !isDraftMode) {
+        if (!isDraftMode && verfuegbar == null) {
+            preisLabel.setText("Verfügbarkeit wird geprüft …");
+            buchenButton.setEnabled(false);
+            entwurfSpeichernButton.setEnabled(false);
+            return;
+        }
+
+        if (!isDraftMode && !verfuegbar) {
             preisLabel.setText("Im Zeitraum nicht verfügbar");
             buchenButton.setEnabled(false);
             entwurfSpeichernButton.setEnabled(false);
@@ -404,6 +410,33 @@ public class BookingDialog extends JDialog {
         }
     }
 
+    /**
+     * Prüft die Verfügbarkeit des Fahrzeugs für den aktuellen Zeitraum im Hintergrund und
+     * aktualisiert danach den Preis. Entwürfe werden ohne Prüfung fortgesetzt.
+     */
+    private void verfuegbarkeitPruefen() {
+        verfuegbar = null;
+        if (isDraftMode || startDatum == null || endDatum == null) {
+            Hintergrund.abbrechen(verfuegbarkeitsSchluessel);
+            updatePreis();
+            return;
+        }
+
+        LocalDate start = startDatum;
+        LocalDate ende = endDatum;
+        updatePreis();
+        Hintergrund.ausfuehren(preisLabel, verfuegbarkeitsSchluessel,
+            () -> bookingController.isFahrzeugVerfuegbar(fahrzeug, start, ende),
+            ergebnis -> {
+                verfuegbar = ergebnis;
+                updatePreis();
+            },
+            e -> {
+                verfuegbar = false;
+                updatePreis();
+            });
+    }
+
     /**
      * Führt die Buchung durch.
      */
@@ -423,42 +456,51 @@ public class BookingDialog extends JDialog {
             }
         }
 
+        // Buchung sperrt die Fahrzeugzeile und kann daher warten; die Buttons bleiben
+        // bis zum Ergebnis gesperrt, damit nicht doppelt gebucht wird
+        setAktionenAktiv(false);
         if (isDraftMode) {
-            if (bookingController.draftBuchungFortsetzen(draftVertrag)) {
-                JOptionPane.showMessageDialog(this,
-                    String.format("Buchung erfolgreich fortgesetzt!\n\nMietnummer: %s\nGesamtpreis: %.2f €",
-                        draftVertrag.getMietnummer(), draftVertrag.getGesamtPreis()),
-                    "Buchung erfolgreich",
-                    JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                    "Buchung konnte nicht fortgesetzt werden. Das Fahrzeug ist nicht verfügbar.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            Hintergrund.ausfuehren(this, null, () -> bookingController.draftBuchungFortsetzen(draftVertrag),
+                erfolgreich -> {
+                    if (erfolgreich) {
+                        JOptionPane.showMessageDialog(this,
+                            String.format("Buchung erfolgreich fortgesetzt!\n\nMietnummer: %s\nGesamtpreis: %.2f €",
+                                draftVertrag.getMietnummer(), draftVertrag.getGesamtPreis()),
+                            "Buchung erfolgreich",
+                            JOptionPane.INFORMATION_MESSAGE);
+                        dispose();
+                    } else {
+                        setAktionenAktiv(true);
+                        JOptionPane.showMessageDialog(this,
+                            "Buchung konnte nicht fortgesetzt werden. Das Fahrzeug ist nicht verfügbar.",
+                            "Fehler",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                },
+                this::aktionFehlgeschlagen);
         } else {
-            Mietvertrag vertrag = bookingController.buchungErstellen(
-                authController.getCurrentKunde(),
-                fahrzeug,
-                startDatum,
-                endDatum,
-                optionen
-            );
-
-            if (vertrag != null) {
-                JOptionPane.showMessageDialog(this,
-                    String.format("Buchung erfolgreich!\n\nMietnummer: %s\nGesamtpreis: %.2f €",
-                        vertrag.getMietnummer(), vertrag.getGesamtPreis()),
-                    "Buchung erfolgreich",
-                    JOptionPane.INFORMATION_MESSAGE);
-                dispose();
-            } else {
-                JOptionPane.showMessageDialog(this,
-                    "Buchung konnte nicht erstellt werden. Bitte versuchen Sie es erneut.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            Kunde kunde = authController.getCurrentKunde();
+            LocalDate start = startDatum;
+            LocalDate ende = endDatum;
+            Hintergrund.ausfuehren(this, null,
+                () -> bookingController.buchungErstellen(kunde, fahrzeug, start, ende, optionen),
+                vertrag -> {
+                    if (vertrag != null) {
+                        JOptionPane.showMessageDialog(this,
+                            String.format("Buchung erfolgreich!\n\nMietnummer: %s\nGesamtpreis: %.2f €",
+                                vertrag.getMietnummer(), vertrag.getGesamtPreis()),
+                            "Buchung erfolgreich",
+                            JOptionPane.INFORMATION_MESSAGE);
+                        dispose();
+                    } else {
+                        setAktionenAktiv(true);
+                        JOptionPane.showMessageDialog(this,
+                            "Buchung konnte nicht erstellt werden. Bitte versuchen Sie es erneut.",
+                            "Fehler",
+                            JOptionPane.ERROR_MESSAGE);
+                    }
+                },
+                this::aktionFehlgeschlagen);
         }
     }
 
@@ -481,29 +523,52 @@ public class BookingDialog extends JDialog {
             }
         }
 
-        Mietvertrag vertrag = bookingController.buchungAlsEntwurfSpeichern(
-            authController.getCurrentKunde(),
-            fahrzeug,
-            startDatum,
-            endDatum,
-            optionen
-        );
+        Kunde kunde = authController.getCurrentKunde();
+        LocalDate start = startDatum;
+        LocalDate ende = endDatum;
+        setAktionenAktiv(false);
+        Hintergrund.ausfuehren(this, null,
+            () -> bookingController.buchungAlsEntwurfSpeichern(kunde, fahrzeug, start, ende, optionen),
+            vertrag -> {
+                if (vertrag != null) {
+                    JOptionPane.showMessageDialog(this,
+                        String.format("Entwurf erfolgreich gespeichert!\n\nMietnummer: %s\nGesamtpreis: %.2f €\n\nSie können die Buchung später unter \"Meine Buchungen\" fortsetzen.",
+                            vertrag.getMietnummer(), vertrag.getGesamtPreis()),
+                        "Entwurf gespeichert",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    dispose();
+                } else {
+                    setAktionenAktiv(true);
+                    JOptionPane.showMessageDialog(this,
+                        "Entwurf konnte nicht gespeichert werden. Bitte versuchen Sie es erneut.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            },
+            this::aktionFehlgeschlagen);
+    }
 
-        if (vertrag != null) {
-            JOptionPane.showMessageDialog(this,
-                String.format("Entwurf erfolgreich gespeichert!\n\nMietnummer: %s\nGesamtpreis: %.2f €\n\nSie können die Buchung später unter \"Meine Buchungen\" fortsetzen.",
-                    vertrag.getMietnummer(), vertrag.getGesamtPreis()),
-                "Entwurf gespeichert",
-                JOptionPane.INFORMATION_MESSAGE);
-            dispose();
+    /**
+     * Sperrt oder entsperrt die Aktionsbuttons während einer laufenden Speicherung.
+     */
+    private void setAktionenAktiv(boolean aktiv) {
+        if (aktiv) {
+            // Nach einer fehlgeschlagenen Buchung kann das Fahrzeug inzwischen belegt sein
+            verfuegbarkeitPruefen();
         } else {
-            JOptionPane.showMessageDialog(this,
-                "Entwurf konnte nicht gespeichert werden. Bitte versuchen Sie es erneut.",
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
+            buchenButton.setEnabled(false);
+            entwurfSpeichernButton.setEnabled(false);
         }
     }
 
+    private void aktionFehlgeschlagen(Exception e) {
+        setAktionenAktiv(true);
+        JOptionPane.showMessageDialog(this,
+            "Fehler beim Speichern der Buchung: " + e.getMessage(),
+            "Fehler",
+            JOptionPane.ERROR_MESSAGE);
+    }
+
     /**
      * Setzt den Mietzeitraum.
      */
@@ -518,44 +583,37 @@ public class BookingDialog extends JDialog {
             endDatumLabel.setText("Enddatum: " + end.format(DATE_FORMATTER));
         }
 
-        updatePreis();
+        verfuegbarkeitPruefen();
+    }
+
+    @Override
+    public void dispose() {
+        Hintergrund.abbrechen(verfuegbarkeitsSchluessel);
+        super.dispose();
     }
 
     /**
-     * Öffnet einen Dialog zum Fortsetzen eines Entwurfs-Vertrags.
+     * Öffnet einen Dialog zum Fortsetzen eines Entwurfs-Vertrags mit bereits geladenem Fahrzeug
+     * und geladenen Zusatzoptionen. Greift nicht auf die Datenbank zu und kann daher im
+     * Event Dispatch Thread aufgerufen werden.
      *
      * @param parent Das übergeordnete Fenster
-     * @param system CarRentalSystem-Instanz
      * @param auth AuthController-Instanz
      * @param controller BookingController-Instanz
      * @param draft Der Entwurf-Vertrag
+     * @param fahrzeug Das aktuelle Fahrzeug des Entwurfs (null, wenn es nicht gefunden wurde)
+     * @param zusatzoptionen Die wählbaren Zusatzoptionen
      * @return Der Buchungsdialog oder null bei Fehler
      */
-    public static BookingDialog showDraftDialog(JFrame parent, CarRentalSystem system,
-                                                  AuthController auth, BookingController controller,
-                                                  Mietvertrag draft) {
-        if (draft == null || draft.getFahrzeug() == null) {
-            return null;
-        }
-
-        try {
-            Fahrzeug fahrzeug = system.getFahrzeugDao().findById(draft.getFahrzeug().getId()).orElse(null);
-            if (fahrzeug == null) {
-                JOptionPane.showMessageDialog(parent,
-                    "Fahrzeug des Entwurfs konnte nicht gefunden werden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return null;
-            }
-
-            BookingDialog dialog = new BookingDialog(parent, system, auth, controller, fahrzeug, draft);
-            return dialog;
-        } catch (SQLException e) {
+    static BookingDialog showDraftDialog(JFrame parent, AuthController auth, BookingController controller,
+                                         Mietvertrag draft, Fahrzeug fahrzeug, List<Zusatzoption> zusatzoptionen) {
+        if (fahrzeug == null) {
             JOptionPane.showMessageDialog(parent,
-                "Fehler beim Laden des Entwurfs: " + e.getMessage(),
+                "Fahrzeug des Entwurfs konnte nicht gefunden werden.",
                 "Fehler",
                 JOptionPane.ERROR_MESSAGE);
             return null;
         }
+        return new BookingDialog(parent, auth, controller, fahrzeug, draft, zusatzoptionen);
     }
 }
@@ -1,15 +1,23 @@
 package com.carrental.view;
 
 import com.carrental.controller.CarRentalSystem;
+import com.carrental.controller.FlottenImport;
+import com.carrental.dao.FahrzeugDao;
 import com.carrental.model.*;
 
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Locale;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Panel für die Verwaltung von Fahrzeugen und Fahrzeugtypen.
@@ -22,7 +30,7 @@ public class FahrzeugPanel extends JPanel {
     private JTabbedPane tabbedPane;
     
     // Fahrzeuge Tab
-    private DefaultTableModel fahrzeugTableModel;
+    private SeitenTabellenModell<Fahrzeug> fahrzeugTableModel;
     private JTable fahrzeugTable;
     private JButton editFahrzeugButton;
     private JButton deleteFahrzeugButton;
@@ -32,6 +40,11 @@ public class FahrzeugPanel extends JPanel {
     private DefaultTableModel fahrzeugtypTableModel;
     private JTable fahrzeugtypTable;
 
+    private final JProgressBar fahrzeugLadebalken = Hintergrund.ladebalken();
+    private final JProgressBar fahrzeugtypLadebalken = Hintergrund.ladebalken();
+    /** Schlüssel, über den sich wiederholte Ladevorgänge der Typenliste gegenseitig ersetzen. */
+    private final Object fahrzeugtypSchluessel = new Object();
+
     /**
      * Konstruktor für das Fahrzeugverwaltungs-Panel.
      */
@@ -117,20 +130,31 @@ public class FahrzeugPanel extends JPanel {
         filterButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
         filterButton.addActionListener(e -> showFilterDialog());
         toolbar.add(filterButton);
+
+        JButton importButton = new JButton("CSV-Import");
+        importButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        importButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        importButton.addActionListener(e -> csvImportieren(false));
+        toolbar.add(importButton);
+        toolbar.add(fahrzeugLadebalken);
         
         panel.add(toolbar, BorderLayout.NORTH);
         
         // Tabelle
         String[] columnNames = {"ID", "Kennzeichen", "Hersteller", "Modell", 
                                 "Kategorie", "Zustand", "Tagespreis"};
-        fahrzeugTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        boolean[] sortierbar = new boolean[columnNames.length];
+        java.util.Arrays.fill(sortierbar, true);
+        fahrzeugTableModel = new SeitenTabellenModell<>(columnNames, sortierbar, this::fahrzeugSpalte,
+            fahrzeugQuelle(null), 1, false,
+            e -> JOptionPane.showMessageDialog(this,
+                "Fehler beim Laden der Fahrzeuge: " + e.getMessage(),
+                "Fehler",
+                JOptionPane.ERROR_MESSAGE));
         
         fahrzeugTable = new JTable(fahrzeugTableModel);
+        fahrzeugTableModel.sortierungAnbinden(fahrzeugTable);
+        fahrzeugTableModel.setLadeanzeige(fahrzeugLadebalken);
         fahrzeugTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         fahrzeugTable.getTableHeader().setReorderingAllowed(false);
         fahrzeugTable.setRowHeight(40);
@@ -199,6 +223,13 @@ public class FahrzeugPanel extends JPanel {
         deleteButton.addActionListener(e -> deleteFahrzeugtyp());
         toolbar.add(deleteButton);
         
+        JButton importButton = new JButton("CSV-Import");
+        importButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        importButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        importButton.addActionListener(e -> csvImportieren(true));
+        toolbar.add(importButton);
+        toolbar.add(fahrzeugtypLadebalken);
+        
         panel.add(toolbar, BorderLayout.NORTH);
         
         // Tabelle
@@ -266,32 +297,61 @@ public class FahrzeugPanel extends JPanel {
      * Loads vehicles filtered by a specific state.
      */
     private void loadFahrzeugeByFilter(FahrzeugZustand filterZustand) {
-        fahrzeugTableModel.setRowCount(0);
+        fahrzeugTableModel.setQuelle(fahrzeugQuelle(filterZustand));
+    }
 
-        try {
-            List<Fahrzeug> fahrzeuge = system.getFahrzeugDao().findAll();
+    /**
+     * Datenquelle für die Fahrzeugtabelle; Seiten und Sortierung kommen aus der Datenbank.
+     *
+     * @param zustand Nur Fahrzeuge mit diesem Zustand (null = alle)
+     */
+    private SeitenTabellenModell.Quelle<Fahrzeug> fahrzeugQuelle(FahrzeugZustand zustand) {
+        return new SeitenTabellenModell.Quelle<>() {
+            @Override
+            public int anzahl() throws SQLException {
+                return system.getFahrzeugDao().count(zustand);
+            }
 
-            for (Fahrzeug f : fahrzeuge) {
-                if (f.getZustand() == filterZustand) {
-                    Object[] row = {
-                        f.getId(),
-                        f.getKennzeichen(),
-                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
-                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
-                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
-                        f.getZustand(),
-                        f.getFahrzeugtyp() != null ?
-                            String.format("%.2f €", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
-                    };
-                    fahrzeugTableModel.addRow(row);
-                }
+            @Override
+            public List<Fahrzeug> seite(int offset, int limit, int spalte, boolean absteigend) throws SQLException {
+                return system.getFahrzeugDao().findSeite(zustand, FAHRZEUG_SORTIERUNG[spalte],
+                                                         absteigend, offset, limit);
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Fahrzeuge: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        };
+    }
+
+    /** Sortierspalte in der Datenbank je Tabellenspalte der Fahrzeugtabelle. */
+    private static final FahrzeugDao.Sortierung[] FAHRZEUG_SORTIERUNG = {
+        FahrzeugDao.Sortierung.ID, FahrzeugDao.Sortierung.KENNZEICHEN, FahrzeugDao.Sortierung.HERSTELLER,
+        FahrzeugDao.Sortierung.MODELL, FahrzeugDao.Sortierung.KATEGORIE, FahrzeugDao.Sortierung.ZUSTAND,
+        FahrzeugDao.Sortierung.TAGESPREIS
+    };
+
+    /**
+     * Zellwert der Fahrzeugtabelle.
+     */
+    private Object fahrzeugSpalte(Fahrzeug f, int spalte) {
+        Fahrzeugtyp typ = f.getFahrzeugtyp();
+        return switch (spalte) {
+            case 0 -> f.getId();
+            case 1 -> f.getKennzeichen();
+            case 2 -> typ != null ? typ.getHersteller() : "-";
+            case 3 -> typ != null ? typ.getModellBezeichnung() : "-";
+            case 4 -> typ != null ? typ.getKategorie() : "-";
+            case 5 -> f.getZustand();
+            case 6 -> typ != null ? String.format("%.2f €", typ.getStandardTagesPreis()) : "-";
+            default -> null;
+        };
+    }
+
+    /**
+     * Gibt die ID des ausgewählten Fahrzeugs zurück.
+     *
+     * @return Die ID oder null, wenn nichts ausgewählt ist oder die Zeile noch geladen wird
+     */
+    private Integer ausgewaehlteFahrzeugId() {
+        Fahrzeug fahrzeug = fahrzeugTableModel.getZeile(fahrzeugTable.getSelectedRow());
+        return fahrzeug != null ? fahrzeug.getId() : null;
     }
 
     /**
@@ -305,59 +365,132 @@ public class FahrzeugPanel extends JPanel {
      * Lädt die Fahrzeugliste.
      */
     private void loadFahrzeuge() {
-        fahrzeugTableModel.setRowCount(0);
-        
-        try {
-            List<Fahrzeug> fahrzeuge = system.getFahrzeugDao().findAll();
-            
-            for (Fahrzeug f : fahrzeuge) {
-                Object[] row = {
-                    f.getId(),
-                    f.getKennzeichen(),
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
-                    f.getZustand(),
-                    f.getFahrzeugtyp() != null ? 
-                        String.format("%.2f €", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
-                };
-                fahrzeugTableModel.addRow(row);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Fahrzeuge: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        fahrzeugTableModel.setQuelle(fahrzeugQuelle(null));
     }
 
     /**
      * Lädt die Fahrzeugtypenliste.
      */
     private void loadFahrzeugtypen() {
-        fahrzeugtypTableModel.setRowCount(0);
-        
-        try {
-            List<Fahrzeugtyp> typen = system.getFahrzeugDao().findAllFahrzeugtypen();
-            
-            for (Fahrzeugtyp t : typen) {
-                Object[] row = {
-                    t.getId(),
-                    t.getHersteller(),
-                    t.getModellBezeichnung(),
-                    t.getKategorie(),
-                    t.getAntriebsart(),
-                    t.getSitzplaetze(),
-                    String.format("%.2f €", t.getStandardTagesPreis())
-                };
-                fahrzeugtypTableModel.addRow(row);
+        Hintergrund.ausfuehren(fahrzeugtypLadebalken, fahrzeugtypSchluessel,
+            () -> system.getFahrzeugDao().findAllFahrzeugtypen(),
+            typen -> {
+                fahrzeugtypTableModel.setRowCount(0);
+                for (Fahrzeugtyp t : typen) {
+                    Object[] row = {
+                        t.getId(),
+                        t.getHersteller(),
+                        t.getModellBezeichnung(),
+                        t.getKategorie(),
+                        t.getAntriebsart(),
+                        t.getSitzplaetze(),
+                        String.format("%.2f €", t.getStandardTagesPreis())
+                    };
+                    fahrzeugtypTableModel.addRow(row);
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Fahrzeugtypen"));
+    }
+
+    /**
+     * Importiert Fahrzeugtypen oder Fahrzeuge aus einer CSV-Datei.
+     * Der Import läuft im Hintergrund; ein Dialog zeigt den Fortschritt,
+     * danach werden Ergebnis und abgelehnte Zeilen angezeigt.
+     *
+     * @param fahrzeugtypen true für Fahrzeugtypen, false für Fahrzeuge
+     */
+    private void csvImportieren(boolean fahrzeugtypen) {
+        String art = fahrzeugtypen ? "Fahrzeugtypen" : "Fahrzeuge";
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle(art + " aus CSV importieren");
+        chooser.setFileFilter(new FileNameExtensionFilter("CSV-Dateien (*.csv)", "csv"));
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path datei = chooser.getSelectedFile().toPath();
+
+        JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this),
+                                     art + " importieren", true);
+        dialog.setLayout(new BorderLayout(10, 10));
+        JLabel statusLabel = new JLabel("Lese " + datei.getFileName() + " ...");
+        statusLabel.setFont(GROSSE_DIALOG_SCHRIFT);
+        statusLabel.setBorder(BorderFactory.createEmptyBorder(15, 15, 0, 15));
+        JProgressBar fortschrittBalken = new JProgressBar();
+        fortschrittBalken.setIndeterminate(true);
+        JPanel balkenPanel = new JPanel(new BorderLayout());
+        balkenPanel.setBorder(BorderFactory.createEmptyBorder(0, 15, 15, 15));
+        balkenPanel.add(fortschrittBalken);
+        dialog.add(statusLabel, BorderLayout.NORTH);
+        dialog.add(balkenPanel, BorderLayout.CENTER);
+        dialog.setDefaultCloseOperation(WindowConstants.DO_NOTHING_ON_CLOSE);
+        dialog.setSize(520, 140);
+        dialog.setLocationRelativeTo(this);
+
+        FlottenImport flottenImport = new FlottenImport(system);
+        SwingWorker<FlottenImport.Ergebnis, FlottenImport.Stand> worker = new SwingWorker<>() {
+            @Override
+            protected FlottenImport.Ergebnis doInBackground() throws Exception {
+                try (Reader reader = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+                    return fahrzeugtypen
+                        ? flottenImport.fahrzeugtypenImportieren(reader, stand -> publish(stand))
+                        : flottenImport.fahrzeugeImportieren(reader, stand -> publish(stand));
+                }
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Fahrzeugtypen: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
+
+            @Override
+            protected void process(List<FlottenImport.Stand> staende) {
+                FlottenImport.Stand stand = staende.get(staende.size() - 1);
+                statusLabel.setText(String.format("%d Zeilen gelesen, %d importiert, %d abgelehnt (%.0f Zeilen/s)",
+                    stand.gelesen(), stand.importiert(), stand.abgelehnt(), stand.zeilenProSekunde()));
+            }
+
+            @Override
+            protected void done() {
+                dialog.dispose();
+                try {
+                    importErgebnisAnzeigen(art, get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    Throwable ursache = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(FahrzeugPanel.this,
+                        "Import fehlgeschlagen: " + ursache.getMessage(),
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+                loadData();
+            }
+        };
+        worker.execute();
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Zeigt die Zusammenfassung eines Imports und die abgelehnten Zeilen an.
+     */
+    private void importErgebnisAnzeigen(String art, FlottenImport.Ergebnis ergebnis) {
+        String zusammenfassung = String.format("%s: %d von %d Zeilen importiert, %d abgelehnt (%.1f s, %.0f Zeilen/s).",
+            art, ergebnis.importiert(), ergebnis.gelesen(), ergebnis.abgelehnt().size(),
+            ergebnis.dauerMillis() / 1000.0, ergebnis.zeilenProSekunde());
+        if (ergebnis.abgelehnt().isEmpty()) {
+            JOptionPane.showMessageDialog(this, zusammenfassung, "Import abgeschlossen",
+                JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+
+        StringBuilder details = new StringBuilder();
+        for (FlottenImport.AbgelehnteZeile zeile : ergebnis.abgelehnt()) {
+            details.append("Zeile ").append(zeile.zeile()).append(": ").append(zeile.grund())
+                   .append("  [").append(zeile.inhalt()).append("]\n");
         }
+        JTextArea detailArea = new JTextArea(details.toString(), 15, 70);
+        detailArea.setEditable(false);
+        detailArea.setCaretPosition(0);
+        JPanel inhalt = new JPanel(new BorderLayout(5, 10));
+        inhalt.add(new JLabel(zusammenfassung), BorderLayout.NORTH);
+        inhalt.add(new JScrollPane(detailArea), BorderLayout.CENTER);
+        JOptionPane.showMessageDialog(this, inhalt, "Import abgeschlossen",
+            JOptionPane.WARNING_MESSAGE);
     }
 
     /**
@@ -393,17 +526,10 @@ public class FahrzeugPanel extends JPanel {
         gbc.gridx = 1;
         JComboBox<Fahrzeugtyp> typCombo = new JComboBox<>();
         typCombo.setFont(GROSSE_FIELD_SCHRIFT);
-        try {
-            List<Fahrzeugtyp> typen = system.getFahrzeugDao().findAllFahrzeugtypen();
-            for (Fahrzeugtyp t : typen) {
-                typCombo.addItem(t);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(dialog,
-                "Fehler beim Laden der Fahrzeugtypen: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        // Typen werden nachgeladen, während der Dialog bereits angezeigt wird
+        Hintergrund.ausfuehren(typCombo, null, () -> system.getFahrzeugDao().findAllFahrzeugtypen(),
+            typen -> typen.forEach(typCombo::addItem),
+            Hintergrund.fehlerDialog(dialog, "Fehler beim Laden der Fahrzeugtypen"));
         typCombo.setRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value,
@@ -475,36 +601,38 @@ public class FahrzeugPanel extends JPanel {
                 typ.getModellBezeichnung() + " (" + typ.getKategorie() + ")");
             System.out.println("  Zustand: " + zustand);
 
-            try {
-                Fahrzeug fahrzeug = new Fahrzeug(kennzeichen, typ, zustand);
-
-                System.out.println("DEBUG: Fahrzeugobjekt erstellt:");
-                System.out.println("  Fahrzeug.getFahrzeugtyp().getId(): " + fahrzeug.getFahrzeugtyp().getId());
+            Fahrzeug fahrzeug = new Fahrzeug(kennzeichen, typ, zustand);
 
-                system.getFahrzeugDao().save(fahrzeug);
+            System.out.println("DEBUG: Fahrzeugobjekt erstellt:");
+            System.out.println("  Fahrzeug.getFahrzeugtyp().getId(): " + fahrzeug.getFahrzeugtyp().getId());
 
-                System.out.println("DEBUG: Fahrzeug erfolgreich in Datenbank gespeichert");
+            Hintergrund.ausfuehren(dialog, () -> system.getFahrzeugDao().save(fahrzeug),
+                () -> {
+                    System.out.println("DEBUG: Fahrzeug erfolgreich in Datenbank gespeichert");
 
-                loadFahrzeuge();
-                dialog.dispose();
+                    loadFahrzeuge();
+                    dialog.dispose();
 
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeug erfolgreich hinzugefügt.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException ex) {
-                System.err.println("ERROR: SQLException beim Speichern des Fahrzeugs:");
-                System.err.println("  Message: " + ex.getMessage());
-                System.err.println("  SQL State: " + ex.getSQLState());
-                System.err.println("  Error Code: " + ex.getErrorCode());
-                ex.printStackTrace();
+                    JOptionPane.showMessageDialog(this,
+                        "Fahrzeug erfolgreich hinzugefügt.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+                },
+                ex -> {
+                    System.err.println("ERROR: Fehler beim Speichern des Fahrzeugs:");
+                    System.err.println("  Message: " + ex.getMessage());
+                    if (ex instanceof SQLException sqlEx) {
+                        System.err.println("  SQL State: " + sqlEx.getSQLState());
+                        System.err.println("  Error Code: " + sqlEx.getErrorCode());
+                    }
+                    ex.printStackTrace();
 
-                JOptionPane.showMessageDialog(dialog,
-                    "Fehler beim Speichern: " + ex.getMessage() + "\n" +
-                    "Bitte überprüfen Sie die Konsole für detaillierte Fehlerinformationen.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+                    JOptionPane.showMessageDialog(dialog,
+                        "Fehler beim Speichern: " + ex.getMessage() + "\n" +
+                        "Bitte überprüfen Sie die Konsole für detaillierte Fehlerinformationen.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                });
         });
         buttonPanel.add(saveButton);
         
@@ -526,8 +654,8 @@ public class FahrzeugPanel extends JPanel {
      * Bearbeitet das ausgewählte Fahrzeug.
      */
     private void editFahrzeug() {
-        int selectedRow = fahrzeugTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Integer id = ausgewaehlteFahrzeugId();
+        if (id == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie ein Fahrzeug aus.",
                 "Keine Auswahl",
@@ -535,121 +663,114 @@ public class FahrzeugPanel extends JPanel {
             return;
         }
         
-        int id = ((Number) fahrzeugTableModel.getValueAt(selectedRow, 0)).intValue();
+        Hintergrund.ausfuehren(this, null, () -> system.getFahrzeugDao().findById(id),
+            fahrzeugOpt -> {
+                if (fahrzeugOpt.isEmpty()) {
+                    JOptionPane.showMessageDialog(this,
+                        "Fahrzeug nicht gefunden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                fahrzeugBearbeitenDialog(fahrzeugOpt.get());
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden des Fahrzeugs"));
+    }
+
+    /**
+     * Zeigt den Bearbeitungsdialog für ein geladenes Fahrzeug.
+     */
+    private void fahrzeugBearbeitenDialog(Fahrzeug fahrzeug) {
+        JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
+                                     "Fahrzeug bearbeiten", true);
+        dialog.setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(12, 15, 12, 15);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
         
-        try {
-            Optional<Fahrzeug> fahrzeugOpt = system.getFahrzeugDao().findById(id);
-            if (!fahrzeugOpt.isPresent()) {
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeug nicht gefunden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
+        // Kennzeichen
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        JLabel kennzeichenLabel = new JLabel("Kennzeichen:");
+        kennzeichenLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(kennzeichenLabel, gbc);
+        
+        gbc.gridx = 1;
+        JTextField kennzeichenField = new JTextField(fahrzeug.getKennzeichen(), 20);
+        kennzeichenField.setFont(GROSSE_FIELD_SCHRIFT);
+        dialog.add(kennzeichenField, gbc);
+        
+        // Zustand
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        JLabel zustandLabel = new JLabel("Zustand:");
+        zustandLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(zustandLabel, gbc);
+        
+        gbc.gridx = 1;
+        JComboBox<FahrzeugZustand> zustandCombo = new JComboBox<>(FahrzeugZustand.values());
+        zustandCombo.setFont(GROSSE_FIELD_SCHRIFT);
+        zustandCombo.setSelectedItem(fahrzeug.getZustand());
+        dialog.add(zustandCombo, gbc);
+        
+        // Buttons
+        gbc.gridx = 0;
+        gbc.gridy = 2;
+        gbc.gridwidth = 2;
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        
+        JButton saveButton = new JButton("Speichern");
+        saveButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        saveButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        saveButton.addActionListener(e -> {
+            String kennzeichen = kennzeichenField.getText().trim();
+            FahrzeugZustand zustand = (FahrzeugZustand) zustandCombo.getSelectedItem();
+            
+            if (kennzeichen.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog,
+                    "Bitte geben Sie ein Kennzeichen ein.",
+                    "Eingabefehler",
+                    JOptionPane.WARNING_MESSAGE);
                 return;
             }
             
-            Fahrzeug fahrzeug = fahrzeugOpt.get();
-            
-            JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
-                                         "Fahrzeug bearbeiten", true);
-            dialog.setLayout(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(12, 15, 12, 15);
-            gbc.fill = GridBagConstraints.HORIZONTAL;
+            fahrzeug.setKennzeichen(kennzeichen);
+            fahrzeug.setZustand(zustand);
             
-            // Kennzeichen
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            JLabel kennzeichenLabel = new JLabel("Kennzeichen:");
-            kennzeichenLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(kennzeichenLabel, gbc);
-            
-            gbc.gridx = 1;
-            JTextField kennzeichenField = new JTextField(fahrzeug.getKennzeichen(), 20);
-            kennzeichenField.setFont(GROSSE_FIELD_SCHRIFT);
-            dialog.add(kennzeichenField, gbc);
-            
-            // Zustand
-            gbc.gridx = 0;
-            gbc.gridy = 1;
-            JLabel zustandLabel = new JLabel("Zustand:");
-            zustandLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(zustandLabel, gbc);
-            
-            gbc.gridx = 1;
-            JComboBox<FahrzeugZustand> zustandCombo = new JComboBox<>(FahrzeugZustand.values());
-            zustandCombo.setFont(GROSSE_FIELD_SCHRIFT);
-            zustandCombo.setSelectedItem(fahrzeug.getZustand());
-            dialog.add(zustandCombo, gbc);
-            
-            // Buttons
-            gbc.gridx = 0;
-            gbc.gridy = 2;
-            gbc.gridwidth = 2;
-            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
-            
-            JButton saveButton = new JButton("Speichern");
-            saveButton.setFont(GROSSE_BUTTON_SCHRIFT);
-            saveButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
-            saveButton.addActionListener(e -> {
-                String kennzeichen = kennzeichenField.getText().trim();
-                FahrzeugZustand zustand = (FahrzeugZustand) zustandCombo.getSelectedItem();
-                
-                if (kennzeichen.isEmpty()) {
-                    JOptionPane.showMessageDialog(dialog,
-                        "Bitte geben Sie ein Kennzeichen ein.",
-                        "Eingabefehler",
-                        JOptionPane.WARNING_MESSAGE);
-                    return;
-                }
-                
-                fahrzeug.setKennzeichen(kennzeichen);
-                fahrzeug.setZustand(zustand);
-                
-                try {
-                    system.getFahrzeugDao().update(fahrzeug);
+            Hintergrund.ausfuehren(dialog, () -> system.getFahrzeugDao().update(fahrzeug),
+                () -> {
                     loadFahrzeuge();
                     dialog.dispose();
-                    
+
                     JOptionPane.showMessageDialog(this,
                         "Fahrzeug erfolgreich aktualisiert.",
                         "Erfolg",
                         JOptionPane.INFORMATION_MESSAGE);
-                } catch (SQLException ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                        "Fehler beim Speichern: " + ex.getMessage(),
-                        "Fehler",
-                        JOptionPane.ERROR_MESSAGE);
-                }
-            });
-            buttonPanel.add(saveButton);
-            
-            JButton cancelButton = new JButton("Abbrechen");
-            cancelButton.setFont(GROSSE_BUTTON_SCHRIFT);
-            cancelButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
-            cancelButton.addActionListener(e -> dialog.dispose());
-            buttonPanel.add(cancelButton);
-            
-            dialog.add(buttonPanel, gbc);
-            
-            dialog.pack();
-            dialog.setSize(450, 300);
-            dialog.setLocationRelativeTo(this);
-            dialog.setVisible(true);
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden des Fahrzeugs: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                },
+                Hintergrund.fehlerDialog(dialog, "Fehler beim Speichern"));
+        });
+        buttonPanel.add(saveButton);
+        
+        JButton cancelButton = new JButton("Abbrechen");
+        cancelButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        cancelButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        cancelButton.addActionListener(e -> dialog.dispose());
+        buttonPanel.add(cancelButton);
+        
+        dialog.add(buttonPanel, gbc);
+        
+        dialog.pack();
+        dialog.setSize(450, 300);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
     }
 
     /**
      * Löscht das ausgewählte Fahrzeug.
      */
     private void deleteFahrzeug() {
-        int selectedRow = fahrzeugTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Integer id = ausgewaehlteFahrzeugId();
+        if (id == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie ein Fahrzeug aus.",
                 "Keine Auswahl",
@@ -663,21 +784,16 @@ public class FahrzeugPanel extends JPanel {
             JOptionPane.YES_NO_OPTION);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                int id = ((Number) fahrzeugTableModel.getValueAt(selectedRow, 0)).intValue();
-                system.getFahrzeugDao().delete(id);
-                loadFahrzeuge();
-                
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeug erfolgreich gelöscht.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this,
-                    "Fehler beim Löschen: " + e.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            Hintergrund.ausfuehren(this, () -> system.getFahrzeugDao().delete(id),
+                () -> {
+                    loadFahrzeuge();
+
+                    JOptionPane.showMessageDialog(this,
+                        "Fahrzeug erfolgreich gelöscht.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+                },
+                Hintergrund.fehlerDialog(this, "Fehler beim Löschen"));
         }
     }
 
@@ -685,8 +801,8 @@ public class FahrzeugPanel extends JPanel {
      * Ändert den Zustand eines Fahrzeugs.
      */
     private void changeZustand() {
-        int selectedRow = fahrzeugTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Integer id = ausgewaehlteFahrzeugId();
+        if (id == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie ein Fahrzeug aus.",
                 "Keine Auswahl",
@@ -694,40 +810,37 @@ public class FahrzeugPanel extends JPanel {
             return;
         }
 
-        int id = ((Number) fahrzeugTableModel.getValueAt(selectedRow, 0)).intValue();
-
-        try {
-            Optional<Fahrzeug> fahrzeugOpt = system.getFahrzeugDao().findById(id);
-            if (!fahrzeugOpt.isPresent()) {
-                return;
-            }
-
-            Fahrzeug fahrzeug = fahrzeugOpt.get();
-
-            FahrzeugZustand neuerZustand = (FahrzeugZustand) JOptionPane.showInputDialog(this,
-                "Neuen Zustand wählen:",
-                "Zustand ändern",
-                JOptionPane.QUESTION_MESSAGE,
-                null,
-                FahrzeugZustand.values(),
-                fahrzeug.getZustand());
+        Hintergrund.ausfuehren(this, null, () -> system.getFahrzeugDao().findById(id),
+            fahrzeugOpt -> fahrzeugOpt.ifPresent(this::zustandDialog),
+            Hintergrund.fehlerDialog(this, "Fehler beim Ändern des Zustands"));
+    }
 
-            if (neuerZustand != null) {
-                fahrzeug.setZustand(neuerZustand);
-                system.getFahrzeugDao().updateStatusAndKilometerstand(fahrzeug);
+    /**
+     * Fragt den neuen Zustand eines geladenen Fahrzeugs ab und speichert ihn im Hintergrund.
+     */
+    private void zustandDialog(Fahrzeug fahrzeug) {
+        FahrzeugZustand neuerZustand = (FahrzeugZustand) JOptionPane.showInputDialog(this,
+            "Neuen Zustand wählen:",
+            "Zustand ändern",
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            FahrzeugZustand.values(),
+            fahrzeug.getZustand());
+
+        if (neuerZustand == null) {
+            return;
+        }
+        fahrzeug.setZustand(neuerZustand);
+        Hintergrund.ausfuehren(this, () -> system.getFahrzeugDao().updateStatusAndKilometerstand(fahrzeug),
+            () -> {
                 loadFahrzeuge();
 
                 JOptionPane.showMessageDialog(this,
                     "Zustand erfolgreich geändert.",
                     "Erfolg",
                     JOptionPane.INFORMATION_MESSAGE);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Ändern des Zustands: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Ändern des Zustands"));
     }
 
     /**
@@ -912,25 +1025,22 @@ public class FahrzeugPanel extends JPanel {
                 
                 Fahrzeugtyp typ = new Fahrzeugtyp(hersteller, modell, kategorie, 
                                                    antrieb, sitzplaetze, preis);
-                system.getFahrzeugDao().saveFahrzeugtyp(typ);
-                
-                loadFahrzeugtypen();
-                dialog.dispose();
-                
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeugtyp erfolgreich hinzugefügt.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
+                Hintergrund.ausfuehren(dialog, () -> system.getFahrzeugDao().saveFahrzeugtyp(typ),
+                    () -> {
+                        loadFahrzeugtypen();
+                        dialog.dispose();
+
+                        JOptionPane.showMessageDialog(this,
+                            "Fahrzeugtyp erfolgreich hinzugefügt.",
+                            "Erfolg",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    },
+                    Hintergrund.fehlerDialog(dialog, "Fehler beim Speichern"));
             } catch (NumberFormatException ex) {
                 JOptionPane.showMessageDialog(dialog,
                     "Ungültiger Preis.",
                     "Eingabefehler",
                     JOptionPane.ERROR_MESSAGE);
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(dialog,
-                    "Fehler beim Speichern: " + ex.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
             }
         });
         buttonPanel.add(saveButton);
@@ -964,171 +1074,169 @@ public class FahrzeugPanel extends JPanel {
         
         int id = ((Number) fahrzeugtypTableModel.getValueAt(selectedRow, 0)).intValue();
         
-        try {
-            List<Fahrzeugtyp> typen = system.getFahrzeugDao().findAllFahrzeugtypen();
-            Fahrzeugtyp typ = typen.stream().filter(t -> t.getId() == id).findFirst().orElse(null);
-            
-            if (typ == null) {
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeugtyp nicht gefunden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-            
-            JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
-                                         "Fahrzeugtyp bearbeiten", true);
-            dialog.setLayout(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(12, 15, 12, 15);
-            gbc.fill = GridBagConstraints.HORIZONTAL;
-            
-            // Fields
-            JTextField herstellerField = new JTextField(typ.getHersteller(), 20);
-            herstellerField.setFont(GROSSE_FIELD_SCHRIFT);
-            JTextField modellField = new JTextField(typ.getModellBezeichnung(), 20);
-            modellField.setFont(GROSSE_FIELD_SCHRIFT);
-            JTextField kategorieField = new JTextField(typ.getKategorie(), 20);
-            kategorieField.setFont(GROSSE_FIELD_SCHRIFT);
-            JComboBox<Antriebsart> antriebCombo = new JComboBox<>(Antriebsart.values());
-            antriebCombo.setFont(GROSSE_FIELD_SCHRIFT);
-            antriebCombo.setSelectedItem(typ.getAntriebsart());
-            
-            int sitzplaetzeValue = typ.getSitzplaetze();
-            if (sitzplaetzeValue < 2) sitzplaetzeValue = 2;
-            if (sitzplaetzeValue > 50) sitzplaetzeValue = 50;
-            JSpinner sitzplaetzeSpinner = new JSpinner(new SpinnerNumberModel(sitzplaetzeValue, 2, 50, 1));
-            sitzplaetzeSpinner.setFont(GROSSE_FIELD_SCHRIFT);
-            ((JSpinner.DefaultEditor) sitzplaetzeSpinner.getEditor()).getTextField().setFont(GROSSE_FIELD_SCHRIFT);
-            JTextField preisField = new JTextField(String.format(Locale.US, "%.2f", typ.getStandardTagesPreis()), 20);
-            preisField.setFont(GROSSE_FIELD_SCHRIFT);
-            
-            // Layout
-            int row = 0;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel herstellerLabel = new JLabel("Hersteller:");
-            herstellerLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(herstellerLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(herstellerField, gbc);
-            
-            row++;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel modellLabel = new JLabel("Modell:");
-            modellLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(modellLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(modellField, gbc);
-            
-            row++;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel kategorieLabel = new JLabel("Kategorie:");
-            kategorieLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(kategorieLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(kategorieField, gbc);
-            
-            row++;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel antriebLabel = new JLabel("Antriebsart:");
-            antriebLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(antriebLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(antriebCombo, gbc);
-            
-            row++;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel sitzplaetzeLabel = new JLabel("Sitzplätze:");
-            sitzplaetzeLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(sitzplaetzeLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(sitzplaetzeSpinner, gbc);
-            
-            row++;
-            gbc.gridx = 0; gbc.gridy = row;
-            JLabel preisLabel = new JLabel("Tagespreis (€):");
-            preisLabel.setFont(GROSSE_LABEL_SCHRIFT);
-            dialog.add(preisLabel, gbc);
-            gbc.gridx = 1;
-            dialog.add(preisField, gbc);
-            
-            // Buttons
-            row++;
-            gbc.gridx = 0;
-            gbc.gridy = row;
-            gbc.gridwidth = 2;
-            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
-            
-            JButton saveButton = new JButton("Speichern");
-            saveButton.setFont(GROSSE_BUTTON_SCHRIFT);
-            saveButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
-            saveButton.addActionListener(e -> {
-                try {
-                    String hersteller = herstellerField.getText().trim();
-                    String modell = modellField.getText().trim();
-                    String kategorie = kategorieField.getText().trim();
-                    Antriebsart antrieb = (Antriebsart) antriebCombo.getSelectedItem();
-                    int sitzplaetze = (Integer) sitzplaetzeSpinner.getValue();
-                    double preis = Double.parseDouble(preisField.getText().trim());
-                    
-                    if (hersteller.isEmpty() || modell.isEmpty() || kategorie.isEmpty()) {
-                        JOptionPane.showMessageDialog(dialog,
-                            "Bitte füllen Sie alle Felder aus.",
-                            "Eingabefehler",
-                            JOptionPane.WARNING_MESSAGE);
-                        return;
-                    }
-                    
-                    typ.setHersteller(hersteller);
-                    typ.setModellBezeichnung(modell);
-                    typ.setKategorie(kategorie);
-                    typ.setAntriebsart(antrieb);
-                    typ.setSitzplaetze(sitzplaetze);
-                    typ.setStandardTagesPreis(preis);
-                    
-                    system.getFahrzeugDao().updateFahrzeugtyp(typ);
-                    
-                    loadFahrzeugtypen();
-                    loadFahrzeuge();
-                    dialog.dispose();
-                    
+        Hintergrund.ausfuehren(this, null, () -> system.getFahrzeugDao().findFahrzeugtypById(id),
+            typOpt -> {
+                if (typOpt.isEmpty()) {
                     JOptionPane.showMessageDialog(this,
-                        "Fahrzeugtyp erfolgreich aktualisiert.",
-                        "Erfolg",
-                        JOptionPane.INFORMATION_MESSAGE);
-                } catch (NumberFormatException ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                        "Ungültiger Preis.",
-                        "Eingabefehler",
-                        JOptionPane.ERROR_MESSAGE);
-                } catch (SQLException ex) {
-                    JOptionPane.showMessageDialog(dialog,
-                        "Fehler beim Speichern: " + ex.getMessage(),
+                        "Fahrzeugtyp nicht gefunden.",
                         "Fehler",
                         JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
-            });
-            buttonPanel.add(saveButton);
-            
-            JButton cancelButton = new JButton("Abbrechen");
-            cancelButton.setFont(GROSSE_BUTTON_SCHRIFT);
-            cancelButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
-            cancelButton.addActionListener(e -> dialog.dispose());
-            buttonPanel.add(cancelButton);
-            
-            dialog.add(buttonPanel, gbc);
-            
-            dialog.pack();
-            dialog.setSize(500, 450);
-            dialog.setLocationRelativeTo(this);
-            dialog.setVisible(true);
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden des Fahrzeugtyps: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                fahrzeugtypBearbeitenDialog(typOpt.get());
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden des Fahrzeugtyps"));
+    }
+
+    /**
+     * Zeigt den Bearbeitungsdialog für einen geladenen Fahrzeugtyp.
+     */
+    private void fahrzeugtypBearbeitenDialog(Fahrzeugtyp typ) {
+        JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), 
+                                     "Fahrzeugtyp bearbeiten", true);
+        dialog.setLayout(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(12, 15, 12, 15);
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        
+        // Fields
+        JTextField herstellerField = new JTextField(typ.getHersteller(), 20);
+        herstellerField.setFont(GROSSE_FIELD_SCHRIFT);
+        JTextField modellField = new JTextField(typ.getModellBezeichnung(), 20);
+        modellField.setFont(GROSSE_FIELD_SCHRIFT);
+        JTextField kategorieField = new JTextField(typ.getKategorie(), 20);
+        kategorieField.setFont(GROSSE_FIELD_SCHRIFT);
+        JComboBox<Antriebsart> antriebCombo = new JComboBox<>(Antriebsart.values());
+        antriebCombo.setFont(GROSSE_FIELD_SCHRIFT);
+        antriebCombo.setSelectedItem(typ.getAntriebsart());
+        
+        int sitzplaetzeValue = typ.getSitzplaetze();
+        if (sitzplaetzeValue < 2) sitzplaetzeValue = 2;
+        if (sitzplaetzeValue > 50) sitzplaetzeValue = 50;
+        JSpinner sitzplaetzeSpinner = new JSpinner(new SpinnerNumberModel(sitzplaetzeValue, 2, 50, 1));
+        sitzplaetzeSpinner.setFont(GROSSE_FIELD_SCHRIFT);
+        ((JSpinner.DefaultEditor) sitzplaetzeSpinner.getEditor()).getTextField().setFont(GROSSE_FIELD_SCHRIFT);
+        JTextField preisField = new JTextField(String.format(Locale.US, "%.2f", typ.getStandardTagesPreis()), 20);
+        preisField.setFont(GROSSE_FIELD_SCHRIFT);
+        
+        // Layout
+        int row = 0;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel herstellerLabel = new JLabel("Hersteller:");
+        herstellerLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(herstellerLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(herstellerField, gbc);
+        
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel modellLabel = new JLabel("Modell:");
+        modellLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(modellLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(modellField, gbc);
+        
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel kategorieLabel = new JLabel("Kategorie:");
+        kategorieLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(kategorieLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(kategorieField, gbc);
+        
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel antriebLabel = new JLabel("Antriebsart:");
+        antriebLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(antriebLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(antriebCombo, gbc);
+        
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel sitzplaetzeLabel = new JLabel("Sitzplätze:");
+        sitzplaetzeLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(sitzplaetzeLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(sitzplaetzeSpinner, gbc);
+        
+        row++;
+        gbc.gridx = 0; gbc.gridy = row;
+        JLabel preisLabel = new JLabel("Tagespreis (€):");
+        preisLabel.setFont(GROSSE_LABEL_SCHRIFT);
+        dialog.add(preisLabel, gbc);
+        gbc.gridx = 1;
+        dialog.add(preisField, gbc);
+        
+        // Buttons
+        row++;
+        gbc.gridx = 0;
+        gbc.gridy = row;
+        gbc.gridwidth = 2;
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 20, 10));
+        
+        JButton saveButton = new JButton("Speichern");
+        saveButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        saveButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        saveButton.addActionListener(e -> {
+            try {
+                String hersteller = herstellerField.getText().trim();
+                String modell = modellField.getText().trim();
+                String kategorie = kategorieField.getText().trim();
+                Antriebsart antrieb = (Antriebsart) antriebCombo.getSelectedItem();
+                int sitzplaetze = (Integer) sitzplaetzeSpinner.getValue();
+                double preis = Double.parseDouble(preisField.getText().trim());
+                
+                if (hersteller.isEmpty() || modell.isEmpty() || kategorie.isEmpty()) {
+                    JOptionPane.showMessageDialog(dialog,
+                        "Bitte füllen Sie alle Felder aus.",
+                        "Eingabefehler",
+                        JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+                
+                // Änderungen an einer Kopie; der angezeigte Typ bleibt bei einem Fehler unverändert
+                Fahrzeugtyp geaendert = new Fahrzeugtyp(typ);
+                geaendert.setHersteller(hersteller);
+                geaendert.setModellBezeichnung(modell);
+                geaendert.setKategorie(kategorie);
+                geaendert.setAntriebsart(antrieb);
+                geaendert.setSitzplaetze(sitzplaetze);
+                geaendert.setStandardTagesPreis(preis);
+                
+                Hintergrund.ausfuehren(dialog, () -> system.getFahrzeugDao().updateFahrzeugtyp(geaendert),
+                    () -> {
+                        loadFahrzeugtypen();
+                        loadFahrzeuge();
+                        dialog.dispose();
+
+                        JOptionPane.showMessageDialog(this,
+                            "Fahrzeugtyp erfolgreich aktualisiert.",
+                            "Erfolg",
+                            JOptionPane.INFORMATION_MESSAGE);
+                    },
+                    Hintergrund.fehlerDialog(dialog, "Fehler beim Speichern"));
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(dialog,
+                    "Ungültiger Preis.",
+                    "Eingabefehler",
+                    JOptionPane.ERROR_MESSAGE);
+            }
+        });
+        buttonPanel.add(saveButton);
+        
+        JButton cancelButton = new JButton("Abbrechen");
+        cancelButton.setFont(GROSSE_BUTTON_SCHRIFT);
+        cancelButton.setPreferredSize(GROSSE_BUTTON_GROESSE);
+        cancelButton.addActionListener(e -> dialog.dispose());
+        buttonPanel.add(cancelButton);
+        
+        dialog.add(buttonPanel, gbc);
+        
+        dialog.pack();
+        dialog.setSize(500, 450);
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
     }
 
     /**
@@ -1152,22 +1260,18 @@ public class FahrzeugPanel extends JPanel {
             JOptionPane.WARNING_MESSAGE);
         
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                Long id = ((Number) fahrzeugtypTableModel.getValueAt(selectedRow, 0)).longValue();
-                system.getFahrzeugDao().deleteFahrzeugtyp(id);
-                loadFahrzeugtypen();
-                loadFahrzeuge(); // Refresh Fahrzeuge auch
-                
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeugtyp erfolgreich gelöscht.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this,
-                    "Fehler beim Löschen: " + e.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            Long id = ((Number) fahrzeugtypTableModel.getValueAt(selectedRow, 0)).longValue();
+            Hintergrund.ausfuehren(this, () -> system.getFahrzeugDao().deleteFahrzeugtyp(id),
+                () -> {
+                    loadFahrzeugtypen();
+                    loadFahrzeuge(); // Refresh Fahrzeuge auch
+
+                    JOptionPane.showMessageDialog(this,
+                        "Fahrzeugtyp erfolgreich gelöscht.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+                },
+                Hintergrund.fehlerDialog(this, "Fehler beim Löschen"));
         }
     }
 
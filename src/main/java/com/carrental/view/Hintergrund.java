@@ -0,0 +1,245 @@
+package com.carrental.view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Gemeinsamer Hintergrund-Executor für Datenbankzugriffe aus der Oberfläche.
+ *
+ * Aufgaben laufen auf einem kleinen Thread-Pool; Ergebnis und Fehler werden im
+ * Event Dispatch Thread zugestellt, sodass die Oberfläche während langsamer Abfragen
+ * bedienbar bleibt. Aufgaben mit demselben Schlüssel werden zusammengefasst: eine neue
+ * Aufgabe bricht die noch laufende oder wartende Vorgängerin ab, deren Ergebnis dann
+ * verworfen wird. So lösen schnell aufeinanderfolgende Filteränderungen nur eine
+ * wirksame Abfrage aus.
+ *
+ * Alle Methoden müssen im Event Dispatch Thread aufgerufen werden.
+ */
+public final class Hintergrund {
+
+    private static final Logger LOGGER = Logger.getLogger(Hintergrund.class.getName());
+
+    private static final int THREADS = 4;
+
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(THREADS, new ThreadFactory() {
+        private final AtomicInteger nummer = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "CarRental-Hintergrund-" + nummer.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    });
+
+    /** Laufende Aufgaben je Schlüssel (nur im EDT verwendet). */
+    private static final Map<Object, Aufgabe<?>> LAUFEND = new HashMap<>();
+
+    /** Anzahl laufender Aufgaben je Komponente mit Ladeanzeige (nur im EDT verwendet). */
+    private static final Map<Component, Integer> LADEND = new IdentityHashMap<>();
+
+    private Hintergrund() {
+    }
+
+    /**
+     * Eine gestartete Hintergrundaufgabe.
+     */
+    public static final class Aufgabe<T> {
+        private final Object schluessel;
+        private final Component anzeige;
+        private Future<?> future;
+        private boolean abgebrochen;
+        private boolean beendet;
+
+        private Aufgabe(Object schluessel, Component anzeige) {
+            this.schluessel = schluessel;
+            this.anzeige = anzeige;
+        }
+
+        /**
+         * Bricht die Aufgabe ab. Ein bereits laufender Datenbankzugriff wird unterbrochen,
+         * soweit der Treiber das unterstützt; ein Ergebnis wird in jedem Fall verworfen.
+         */
+        public void abbrechen() {
+            if (beendet) {
+                return;
+            }
+            abgebrochen = true;
+            future.cancel(true);
+            beenden();
+        }
+
+        /**
+         * @return true, wenn die Aufgabe abgebrochen oder durch eine neuere ersetzt wurde
+         */
+        public boolean isAbgebrochen() {
+            return abgebrochen;
+        }
+
+        private void beenden() {
+            if (beendet) {
+                return;
+            }
+            beendet = true;
+            if (schluessel != null && LAUFEND.get(schluessel) == this) {
+                LAUFEND.remove(schluessel);
+            }
+            ladeanzeige(anzeige, false);
+        }
+    }
+
+    /**
+     * Führt eine Aufgabe im Hintergrund aus.
+     *
+     * @param anzeige Ladeanzeige: ein JProgressBar wird eingeblendet, jede andere Komponente
+     *                zeigt einen Warte-Cursor (optional)
+     * @param schluessel Aufgaben mit gleichem Schlüssel ersetzen einander (null = nie ersetzen)
+     * @param arbeit Die blockierende Arbeit, z.B. ein DAO-Aufruf
+     * @param erfolg Erhält das Ergebnis im EDT
+     * @param fehler Erhält einen Fehler im EDT
+     * @return Die gestartete Aufgabe
+     */
+    public static <T> Aufgabe<T> ausfuehren(Component anzeige, Object schluessel, Callable<T> arbeit,
+                                            Consumer<? super T> erfolg, Consumer<Exception> fehler) {
+        if (schluessel != null) {
+            Aufgabe<?> vorgaenger = LAUFEND.get(schluessel);
+            if (vorgaenger != null) {
+                vorgaenger.abbrechen();
+            }
+        }
+
+        Aufgabe<T> aufgabe = new Aufgabe<>(schluessel, anzeige);
+        if (schluessel != null) {
+            LAUFEND.put(schluessel, aufgabe);
+        }
+        ladeanzeige(anzeige, true);
+
+        aufgabe.future = EXECUTOR.submit(() -> {
+            T ergebnis;
+            try {
+                ergebnis = arbeit.call();
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> {
+                    if (!aufgabe.abgebrochen) {
+                        aufgabe.beenden();
+                        fehlerZustellen(fehler, e);
+                    }
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (!aufgabe.abgebrochen) {
+                    aufgabe.beenden();
+                    erfolg.accept(ergebnis);
+                }
+            });
+        });
+        return aufgabe;
+    }
+
+    /**
+     * Führt eine Aufgabe ohne Ergebnis im Hintergrund aus.
+     *
+     * @param anzeige Ladeanzeige wie bei {@link #ausfuehren(Component, Object, Callable, Consumer, Consumer)}
+     * @param arbeit Die blockierende Arbeit
+     * @param danach Wird nach erfolgreicher Ausführung im EDT aufgerufen
+     * @param fehler Erhält einen Fehler im EDT
+     * @return Die gestartete Aufgabe
+     */
+    public static Aufgabe<Void> ausfuehren(Component anzeige, Arbeit arbeit, Runnable danach,
+                                           Consumer<Exception> fehler) {
+        return ausfuehren(anzeige, null, () -> {
+            arbeit.ausfuehren();
+            return null;
+        }, ergebnis -> danach.run(), fehler);
+    }
+
+    /**
+     * Blockierende Arbeit ohne Ergebnis.
+     */
+    @FunctionalInterface
+    public interface Arbeit {
+        void ausfuehren() throws Exception;
+    }
+
+    /**
+     * Bricht die laufende Aufgabe mit dem Schlüssel ab, falls vorhanden.
+     *
+     * @param schluessel Schlüssel der Aufgabe
+     */
+    public static void abbrechen(Object schluessel) {
+        Aufgabe<?> aufgabe = LAUFEND.get(schluessel);
+        if (aufgabe != null) {
+            aufgabe.abbrechen();
+        }
+    }
+
+    /**
+     * Erzeugt eine kleine, zunächst unsichtbare Ladeanzeige für Werkzeugleisten.
+     *
+     * @return Der Fortschrittsbalken
+     */
+    public static JProgressBar ladebalken() {
+        JProgressBar balken = new JProgressBar();
+        balken.setPreferredSize(new Dimension(120, 16));
+        balken.setVisible(false);
+        return balken;
+    }
+
+    /**
+     * Liefert eine Fehlerbehandlung, die eine Fehlermeldung über der Komponente anzeigt.
+     *
+     * @param eltern Komponente für die Positionierung des Dialogs
+     * @param text Einleitender Text, z.B. "Fehler beim Laden der Verträge"
+     * @return Die Fehlerbehandlung
+     */
+    public static Consumer<Exception> fehlerDialog(Component eltern, String text) {
+        return e -> JOptionPane.showMessageDialog(eltern,
+            text + ": " + e.getMessage(),
+            "Fehler",
+            JOptionPane.ERROR_MESSAGE);
+    }
+
+    private static void fehlerZustellen(Consumer<Exception> fehler, Exception e) {
+        if (e instanceof CancellationException || e instanceof InterruptedException) {
+            return;
+        }
+        if (fehler != null) {
+            fehler.accept(e);
+        } else {
+            LOGGER.log(Level.WARNING, "Hintergrundaufgabe fehlgeschlagen", e);
+        }
+    }
+
+    private static void ladeanzeige(Component anzeige, boolean laedt) {
+        if (anzeige == null) {
+            return;
+        }
+        int anzahl = LADEND.getOrDefault(anzeige, 0) + (laedt ? 1 : -1);
+        if (anzahl > 0) {
+            LADEND.put(anzeige, anzahl);
+        } else {
+            LADEND.remove(anzeige);
+        }
+        boolean aktiv = anzahl > 0;
+        if (anzeige instanceof JProgressBar balken) {
+            balken.setIndeterminate(aktiv);
+            balken.setVisible(aktiv);
+        } else {
+            anzeige.setCursor(aktiv ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+        }
+    }
+}
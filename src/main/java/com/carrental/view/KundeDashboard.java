@@ -7,6 +7,7 @@ import com.carrental.model.Fahrzeug;
 import com.carrental.model.FahrzeugZustand;
 import com.carrental.model.Kunde;
 import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsZeile;
 import com.carrental.model.Zusatzoption;
 
 import javax.swing.*;
@@ -48,6 +49,13 @@ public class KundeDashboard extends JPanel {
     private JTabbedPane tabbedPane;
     private JComboBox<String> filterValueCombo;
     private List<String> availableKategorien = new ArrayList<>();
+    /** Verhindert, dass das Neubefüllen der Kategorieauswahl eine weitere Suche auslöst. */
+    private boolean filterWirdBefuellt;
+    private final JProgressBar fahrzeugLadebalken = Hintergrund.ladebalken();
+    /** Schlüssel für Fahrzeugsuche, Verfügbarkeitsprüfung und Buchungsliste; neue Anfragen ersetzen ältere. */
+    private final Object fahrzeugSuche = new Object();
+    private final Object auswahlPruefung = new Object();
+    private final Object buchungenLaden = new Object();
 
     /**
      * Konstruktor für das Kunden-Dashboard.
@@ -157,6 +165,7 @@ public class KundeDashboard extends JPanel {
         verfuegbarkeitButton.setPreferredSize(new Dimension(200, 30));
         verfuegbarkeitButton.addActionListener(e -> performAvailabilitySearch());
         filterPanel.add(verfuegbarkeitButton);
+        filterPanel.add(fahrzeugLadebalken);
 
         panel.add(filterPanel, BorderLayout.NORTH);
 
@@ -174,8 +183,7 @@ public class KundeDashboard extends JPanel {
         fahrzeugTable.getTableHeader().setFont(new Font("Arial", Font.BOLD, 12));
         fahrzeugTable.getSelectionModel().addListSelectionListener(e -> {
             if (!e.getValueIsAdjusting()) {
-                boolean selected = fahrzeugTable.getSelectedRow() != -1;
-                setBuchungButtonState(selected && isSelectedFahrzeugVerfuegbar());
+                auswahlPruefen();
             }
         });
         
@@ -334,30 +342,26 @@ public class KundeDashboard extends JPanel {
         JButton saveButton = new JButton("Speichern");
         saveButton.setFont(new Font("Arial", Font.BOLD, 18));
         saveButton.addActionListener(e -> {
-            try {
-                kunde.setVorname(vornameField.getText().trim());
-                kunde.setNachname(nachnameField.getText().trim());
-                kunde.setEmail(emailField.getText().trim());
-                kunde.setStrasse(strasseField.getText().trim());
-                kunde.setHausnummer(hausnummerField.getText().trim());
-                kunde.setPlz(plzField.getText().trim());
-                kunde.setOrt(ortField.getText().trim());
-                kunde.setFuehrerscheinNummer(fuehrerscheinField.getText().trim());
-                kunde.setGeburtstag(geburtstagCalendar.getSelectedDate());
-
-                system.getKundeDao().update(kunde);
-                updateWelcomeLabel();
-
-                JOptionPane.showMessageDialog(this,
-                    "Daten wurden gespeichert.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(this,
-                    "Speichern fehlgeschlagen: " + ex.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            kunde.setVorname(vornameField.getText().trim());
+            kunde.setNachname(nachnameField.getText().trim());
+            kunde.setEmail(emailField.getText().trim());
+            kunde.setStrasse(strasseField.getText().trim());
+            kunde.setHausnummer(hausnummerField.getText().trim());
+            kunde.setPlz(plzField.getText().trim());
+            kunde.setOrt(ortField.getText().trim());
+            kunde.setFuehrerscheinNummer(fuehrerscheinField.getText().trim());
+            kunde.setGeburtstag(geburtstagCalendar.getSelectedDate());
+
+            Hintergrund.ausfuehren(this, () -> system.getKundeDao().update(kunde),
+                () -> {
+                    updateWelcomeLabel();
+
+                    JOptionPane.showMessageDialog(this,
+                        "Daten wurden gespeichert.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+                },
+                Hintergrund.fehlerDialog(this, "Speichern fehlgeschlagen"));
         });
         actionPanel.add(saveButton);
         panel.add(actionPanel, BorderLayout.SOUTH);
@@ -466,45 +470,69 @@ public class KundeDashboard extends JPanel {
     }
 
     private void loadFahrzeuge(LocalDate start, LocalDate end) {
+        fahrzeugeSuchen(start, end, null);
+    }
+
+    /**
+     * Sucht im Hintergrund die im Zeitraum verfügbaren Fahrzeuge und zeigt sie an.
+     * Eine neue Suche ersetzt eine noch laufende.
+     *
+     * @param kategorie Nur Fahrzeuge dieser Kategorie anzeigen; null zeigt alle an und
+     *                  befüllt die Kategorieauswahl aus demselben Ergebnis neu
+     */
+    private void fahrzeugeSuchen(LocalDate start, LocalDate end, String kategorie) {
         fahrzeugTableModel.setRowCount(0);
         setBuchungButtonState(false);
-
-        List<Fahrzeug> fahrzeuge = bookingController.getVerfuegbareFahrzeugeInZeitraum(start, end);
-
-        for (Fahrzeug f : fahrzeuge) {
-            Object[] row = {
-                f.getId(),
-                f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
-                f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
-                f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
-                f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getSitzplaetze() : "-",
-                f.getFahrzeugtyp() != null ? String.format("%.2f", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
-            };
-            fahrzeugTableModel.addRow(row);
-        }
-
-        updateAvailableFilterOptions();
+        Hintergrund.abbrechen(auswahlPruefung);
+
+        Hintergrund.ausfuehren(fahrzeugLadebalken, fahrzeugSuche,
+            () -> bookingController.getVerfuegbareFahrzeugeInZeitraum(start, end),
+            fahrzeuge -> {
+                fahrzeugTableModel.setRowCount(0);
+                for (Fahrzeug f : fahrzeuge) {
+                    if (kategorie != null && (f.getFahrzeugtyp() == null
+                            || !kategorie.equals(f.getFahrzeugtyp().getKategorie()))) {
+                        continue;
+                    }
+                    Object[] row = {
+                        f.getId(),
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getSitzplaetze() : "-",
+                        f.getFahrzeugtyp() != null ? String.format("%.2f", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
+                    };
+                    fahrzeugTableModel.addRow(row);
+                }
+                if (kategorie == null) {
+                    updateAvailableFilterOptions(fahrzeuge);
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Fahrzeuge"));
     }
 
-    private boolean isSelectedFahrzeugVerfuegbar() {
+    /**
+     * Prüft im Hintergrund, ob das ausgewählte Fahrzeug buchbar ist, und schaltet
+     * den Buchungsbutton entsprechend.
+     */
+    private void auswahlPruefen() {
+        setBuchungButtonState(false);
         int selectedRow = fahrzeugTable.getSelectedRow();
         if (selectedRow == -1) {
-            return false;
+            Hintergrund.abbrechen(auswahlPruefung);
+            return;
         }
         LocalDate[] range = getValidSelectedDates();
         if (range == null) {
-            return false;
+            return;
         }
         int fahrzeugId = (int) fahrzeugTableModel.getValueAt(selectedRow, 0);
-        try {
-            Fahrzeug fahrzeug = system.getFahrzeugDao().findById(fahrzeugId).orElse(null);
-            if (fahrzeug == null) {
-                return false;
-            }
-            return bookingController.isFahrzeugVerfuegbar(fahrzeug, range[0], range[1]);
-        } catch (SQLException e) {
-            return false;
-        }
+        Hintergrund.ausfuehren(null, auswahlPruefung, () -> {
+                Fahrzeug fahrzeug = system.getFahrzeugDao().findById(fahrzeugId).orElse(null);
+                return fahrzeug != null && bookingController.isFahrzeugVerfuegbar(fahrzeug, range[0], range[1]);
+            },
+            this::setBuchungButtonState,
+            e -> setBuchungButtonState(false));
     }
 
 
@@ -512,32 +540,27 @@ public class KundeDashboard extends JPanel {
      * Lädt die Buchungen des aktuellen Kunden.
      */
     private void loadBuchungen() {
-        buchungTableModel.setRowCount(0);
-        
         Kunde kunde = authController.getCurrentKunde();
         if (kunde == null) return;
-        
-        try {
-            List<Mietvertrag> vertraege = system.getMietvertragDao().findByKunde(kunde.getKundennummer());
-            
-            for (Mietvertrag v : vertraege) {
-                String fahrzeugInfo = v.getFahrzeug() != null ? v.getFahrzeug().getKennzeichen() : "-";
-                Object[] row = {
-                    v.getMietnummer(),
-                    fahrzeugInfo,
-                    v.getStartDatum(),
-                    v.getEndDatum(),
-                    String.format("%.2f", v.getGesamtPreis()),
-                    v.getStatus()
-                };
-                buchungTableModel.addRow(row);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Buchungen: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+
+        Hintergrund.ausfuehren(buchungTable, buchungenLaden,
+            () -> system.getMietvertragDao().findZeilenByKunde(kunde.getKundennummer()),
+            vertraege -> {
+                buchungTableModel.setRowCount(0);
+                for (VertragsZeile v : vertraege) {
+                    String fahrzeugInfo = v.kennzeichen() != null ? v.kennzeichen() : "-";
+                    Object[] row = {
+                        v.mietnummer(),
+                        fahrzeugInfo,
+                        v.startDatum(),
+                        v.endDatum(),
+                        String.format("%.2f", v.gesamtPreis()),
+                        v.status()
+                    };
+                    buchungTableModel.addRow(row);
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Buchungen"));
     }
 
     /**
@@ -560,43 +583,49 @@ public class KundeDashboard extends JPanel {
         
         int fahrzeugId = (int) fahrzeugTableModel.getValueAt(selectedRow, 0);
         
-        try {
-            Fahrzeug fahrzeug = system.getFahrzeugDao().findById(fahrzeugId).orElse(null);
-            if (fahrzeug == null) {
-                JOptionPane.showMessageDialog(this,
-                    "Fahrzeug nicht gefunden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+        Hintergrund.ausfuehren(this, null, () -> {
+                Fahrzeug fahrzeug = system.getFahrzeugDao().findById(fahrzeugId).orElse(null);
+                boolean verfuegbar = fahrzeug != null
+                    && bookingController.isFahrzeugVerfuegbar(fahrzeug, range[0], range[1]);
+                List<Zusatzoption> zusatzoptionen = verfuegbar
+                    ? system.getZusatzoptionDao().findAll()
+                    : List.of();
+                return new FahrzeugPruefung(fahrzeug, verfuegbar, zusatzoptionen);
+            },
+            pruefung -> {
+                if (pruefung.fahrzeug() == null) {
+                    JOptionPane.showMessageDialog(this,
+                        "Fahrzeug nicht gefunden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-            if (!bookingController.isFahrzeugVerfuegbar(fahrzeug, range[0], range[1])) {
-                JOptionPane.showMessageDialog(this,
-                    "Das ausgewählte Fahrzeug ist im gewünschten Zeitraum nicht verfügbar.",
-                    "Nicht verfügbar",
-                    JOptionPane.WARNING_MESSAGE);
-                return;
-            }
-            
-            BookingDialog dialog = new BookingDialog(mainFrame, system, authController, 
-                                                     bookingController, fahrzeug);
-            
-            // Zeitraum nach dem Anzeigen setzen
-            SwingUtilities.invokeLater(() -> {
-                dialog.setZeitraum(range[0], range[1]);
-            });
-            
-            dialog.setVisible(true);
-            
-            // Nach Dialog-Schließen Daten aktualisieren
-            loadData();
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden des Fahrzeugs: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                if (!pruefung.verfuegbar()) {
+                    JOptionPane.showMessageDialog(this,
+                        "Das ausgewählte Fahrzeug ist im gewünschten Zeitraum nicht verfügbar.",
+                        "Nicht verfügbar",
+                        JOptionPane.WARNING_MESSAGE);
+                    return;
+                }
+
+                BookingDialog dialog = new BookingDialog(mainFrame, authController, bookingController,
+                                                         pruefung.fahrzeug(), pruefung.zusatzoptionen());
+
+                // Zeitraum nach dem Anzeigen setzen
+                SwingUtilities.invokeLater(() -> {
+                    dialog.setZeitraum(range[0], range[1]);
+                });
+
+                dialog.setVisible(true);
+
+                // Nach Dialog-Schließen Daten aktualisieren
+                loadData();
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Buchungsdaten"));
+    }
+
+    private record FahrzeugPruefung(Fahrzeug fahrzeug, boolean verfuegbar, List<Zusatzoption> zusatzoptionen) {
     }
 
     /**
@@ -620,35 +649,37 @@ public class KundeDashboard extends JPanel {
             JOptionPane.YES_NO_OPTION);
 
         if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                Mietvertrag vertrag = system.getMietvertragDao().findByMietnummer(mietnummer).orElse(null);
-                if (vertrag != null) {
-                    com.carrental.model.VertragsStatus status = vertrag.getStatus();
-                    if (status == com.carrental.model.VertragsStatus.LAUFEND ||
-                        status == com.carrental.model.VertragsStatus.BESTAETIGT) {
-                        JOptionPane.showMessageDialog(this,
-                            "Buchung kann nicht storniert werden.\nBitte wenden Sie sich für Änderungen an den Mitarbeiter.",
-                            "Stornierung nicht möglich",
-                            JOptionPane.ERROR_MESSAGE);
-                        return;
-                    }
+            Hintergrund.ausfuehren(this, null, () -> system.getMietvertragDao().findByMietnummer(mietnummer),
+                vertragOpt -> vertragOpt.ifPresent(this::stornieren),
+                Hintergrund.fehlerDialog(this, "Fehler beim Stornieren"));
+        }
+    }
 
-                    boolean success = bookingController.buchungStornieren(vertrag);
-                    if (success) {
-                        JOptionPane.showMessageDialog(this,
-                            "Buchung erfolgreich storniert.",
-                            "Erfolg",
-                            JOptionPane.INFORMATION_MESSAGE);
-                        loadData();
-                    }
-                }
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this,
-                    "Fehler beim Stornieren: " + e.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+    /**
+     * Storniert eine geladene Buchung im Hintergrund, sofern sie noch nicht bestätigt ist.
+     */
+    private void stornieren(Mietvertrag vertrag) {
+        com.carrental.model.VertragsStatus status = vertrag.getStatus();
+        if (status == com.carrental.model.VertragsStatus.LAUFEND ||
+            status == com.carrental.model.VertragsStatus.BESTAETIGT) {
+            JOptionPane.showMessageDialog(this,
+                "Buchung kann nicht storniert werden.\nBitte wenden Sie sich für Änderungen an den Mitarbeiter.",
+                "Stornierung nicht möglich",
+                JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        Hintergrund.ausfuehren(this, null, () -> bookingController.buchungStornieren(vertrag),
+            success -> {
+                if (success) {
+                    JOptionPane.showMessageDialog(this,
+                        "Buchung erfolgreich storniert.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    loadData();
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Stornieren"));
     }
 
     /**
@@ -666,38 +697,46 @@ public class KundeDashboard extends JPanel {
 
         String mietnummer = (String) buchungTableModel.getValueAt(selectedRow, 0);
 
-        try {
-            Mietvertrag vertrag = system.getMietvertragDao().findByMietnummer(mietnummer).orElse(null);
-            if (vertrag == null) {
-                JOptionPane.showMessageDialog(this,
-                    "Buchung nicht gefunden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+        Hintergrund.ausfuehren(this, null, () -> {
+                Mietvertrag vertrag = system.getMietvertragDao().findByMietnummer(mietnummer).orElse(null);
+                Fahrzeug fahrzeug = vertrag != null && vertrag.getFahrzeug() != null
+                    ? system.getFahrzeugDao().findById(vertrag.getFahrzeug().getId()).orElse(null)
+                    : null;
+                List<Zusatzoption> zusatzoptionen = fahrzeug != null
+                    ? system.getZusatzoptionDao().findAll()
+                    : List.of();
+                return new Entwurf(vertrag, fahrzeug, zusatzoptionen);
+            },
+            entwurf -> {
+                Mietvertrag vertrag = entwurf.vertrag();
+                if (vertrag == null) {
+                    JOptionPane.showMessageDialog(this,
+                        "Buchung nicht gefunden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-            if (vertrag.getStatus() != com.carrental.model.VertragsStatus.ANGELEGT) {
-                JOptionPane.showMessageDialog(this,
-                    "Nur Entwürfe können fortgesetzt werden.",
-                    "Kein Entwurf",
-                    JOptionPane.INFORMATION_MESSAGE);
-                return;
-            }
+                if (vertrag.getStatus() != com.carrental.model.VertragsStatus.ANGELEGT) {
+                    JOptionPane.showMessageDialog(this,
+                        "Nur Entwürfe können fortgesetzt werden.",
+                        "Kein Entwurf",
+                        JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
 
-            BookingDialog dialog = BookingDialog.showDraftDialog(mainFrame, system,
-                authController, bookingController, vertrag);
+                BookingDialog dialog = BookingDialog.showDraftDialog(mainFrame, authController,
+                    bookingController, vertrag, entwurf.fahrzeug(), entwurf.zusatzoptionen());
 
-            if (dialog != null) {
-                dialog.setVisible(true);
-                loadData();
-            }
+                if (dialog != null) {
+                    dialog.setVisible(true);
+                    loadData();
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Buchung"));
+    }
 
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Buchung: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+    private record Entwurf(Mietvertrag vertrag, Fahrzeug fahrzeug, List<Zusatzoption> zusatzoptionen) {
     }
 
     private int addFormRow(JPanel form, GridBagConstraints gbc, int row, String label, JComponent field, Font labelFont) {
@@ -749,38 +788,35 @@ public class KundeDashboard extends JPanel {
     /**
      * 更新可用的过滤选项。
      */
-    private void updateAvailableFilterOptions() {
-        try {
-            List<Fahrzeug> fahrzeuge = bookingController.getVerfuegbareFahrzeugeInZeitraum(
-                startDate != null ? startDate : LocalDate.now().plusDays(1),
-                endDate != null ? endDate : LocalDate.now().plusDays(8));
-
-            availableKategorien.clear();
-            Set<String> kategorieSet = new HashSet<>();
+    private void updateAvailableFilterOptions(List<Fahrzeug> fahrzeuge) {
+        availableKategorien.clear();
+        Set<String> kategorieSet = new HashSet<>();
 
-            for (Fahrzeug f : fahrzeuge) {
-                if (f.getFahrzeugtyp() != null) {
-                    kategorieSet.add(f.getFahrzeugtyp().getKategorie());
-                }
+        for (Fahrzeug f : fahrzeuge) {
+            if (f.getFahrzeugtyp() != null) {
+                kategorieSet.add(f.getFahrzeugtyp().getKategorie());
             }
+        }
 
-            availableKategorien.addAll(kategorieSet);
-            Collections.sort(availableKategorien);
+        availableKategorien.addAll(kategorieSet);
+        Collections.sort(availableKategorien);
 
-            updateFilterValues();
-        } catch (Exception e) {
-            System.err.println("Fehler beim Laden der Filteroptionen: " + e.getMessage());
-        }
+        updateFilterValues();
     }
 
     /**
      * 根据选择的过滤类型更新过滤值下拉框。
      */
     private void updateFilterValues() {
-        filterValueCombo.removeAllItems();
-        filterValueCombo.addItem("Alle");
-        for (String kategorie : availableKategorien) {
-            filterValueCombo.addItem(kategorie);
+        filterWirdBefuellt = true;
+        try {
+            filterValueCombo.removeAllItems();
+            filterValueCombo.addItem("Alle");
+            for (String kategorie : availableKategorien) {
+                filterValueCombo.addItem(kategorie);
+            }
+        } finally {
+            filterWirdBefuellt = false;
         }
     }
 
@@ -788,6 +824,9 @@ public class KundeDashboard extends JPanel {
      * 应用车辆过滤。
      */
     private void applyVehicleFilter() {
+        if (filterWirdBefuellt) {
+            return;
+        }
         String filterValue = (String) filterValueCombo.getSelectedItem();
 
         if (filterValue == null || filterValue.equals("Alle")) {
@@ -800,28 +839,7 @@ public class KundeDashboard extends JPanel {
             return;
         }
 
-        List<Fahrzeug> filteredFahrzeuge = bookingController.getVerfuegbareFahrzeugeInZeitraum(range[0], range[1]);
-        fahrzeugTableModel.setRowCount(0);
-
-        for (Fahrzeug f : filteredFahrzeuge) {
-            if (f.getFahrzeugtyp() == null) {
-                continue;
-            }
-
-            if (filterValue.equals(f.getFahrzeugtyp().getKategorie())) {
-                Object[] row = {
-                    f.getId(),
-                    f.getFahrzeugtyp().getHersteller(),
-                    f.getFahrzeugtyp().getModellBezeichnung(),
-                    f.getFahrzeugtyp().getKategorie(),
-                    f.getFahrzeugtyp().getSitzplaetze(),
-                    String.format("%.2f", f.getFahrzeugtyp().getStandardTagesPreis())
-                };
-                fahrzeugTableModel.addRow(row);
-            }
-        }
-
-        setBuchungButtonState(false);
+        fahrzeugeSuchen(range[0], range[1], filterValue);
     }
 
     /**
@@ -913,26 +931,23 @@ public class KundeDashboard extends JPanel {
                 return;
             }
 
-            try {
-                Kunde kunde = authController.getCurrentKunde();
-                kunde.setPasswort(newPassword);
-                system.getKundeDao().update(kunde);
-
-                JOptionPane.showMessageDialog(dialog,
-                    "Passwort erfolgreich geändert.",
-                    "Erfolg",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-                dialog.dispose();
-
-                Arrays.fill(newPass, '\0');
-                Arrays.fill(confirmPass, '\0');
-            } catch (SQLException ex) {
-                JOptionPane.showMessageDialog(dialog,
-                    "Fehler beim Ändern des Passworts: " + ex.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            Kunde kunde = authController.getCurrentKunde();
+            Hintergrund.ausfuehren(dialog, () -> {
+                    kunde.setPasswort(newPassword);
+                    system.getKundeDao().update(kunde);
+                },
+                () -> {
+                    JOptionPane.showMessageDialog(dialog,
+                        "Passwort erfolgreich geändert.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
+
+                    dialog.dispose();
+
+                    Arrays.fill(newPass, '\0');
+                    Arrays.fill(confirmPass, '\0');
+                },
+                Hintergrund.fehlerDialog(dialog, "Fehler beim Ändern des Passworts"));
         });
         buttonPanel.add(okButton);
 
@@ -966,118 +981,115 @@ public class KundeDashboard extends JPanel {
 
         String mietnummer = (String) buchungTableModel.getValueAt(selectedRow, 0);
 
-        try {
-            Optional<Mietvertrag> vertragOpt = system.getMietvertragDao().findByMietnummer(mietnummer);
-
-            if (vertragOpt.isPresent()) {
-                Mietvertrag vertrag = vertragOpt.get();
-
-                JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this),
-                    "Vertragsdetails", true);
-                dialog.setLayout(new BorderLayout(20, 20));
-                dialog.setSize(800, 600);
-                dialog.setLocationRelativeTo(this);
-
-                JPanel contentPanel = new JPanel();
-                contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-                contentPanel.setBorder(BorderFactory.createEmptyBorder(25, 30, 25, 30));
-
-                StringBuilder details = new StringBuilder();
-                details.append("<html><style>");
-                details.append("body { font-family: Arial, sans-serif; margin: 0; padding: 0; }");
-                details.append(".title { font-size: 24px; font-weight: bold; color: #000000; margin-bottom: 20px; }");
-                details.append(".section-title { font-size: 18px; font-weight: bold; color: #003366; margin-top: 20px; margin-bottom: 10px; border-bottom: 2px solid #003366; padding-bottom: 5px; }");
-                details.append(".info { font-size: 14px; margin: 5px 0; color: #000000; }");
-                details.append(".info-label { font-weight: bold; color: #333333; }");
-                details.append(".price-highlight { font-size: 16px; font-weight: bold; color: #006633; }");
-                details.append(".total-price { font-size: 24px; font-weight: bold; color: #CC0000; margin-top: 25px; }");
-                details.append("</style>");
-
-                details.append("<div class='title'>Vertragsnummer: ").append(vertrag.getMietnummer()).append("</div>");
-
-                details.append("<div class='section-title'>Kunde</div>");
-                details.append("<div class='info'><span class='info-label'>Kunden-ID:</span>     ").append(vertrag.getKunde().getId()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Vorname:</span>       ").append(vertrag.getKunde().getVorname()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Nachname:</span>      ").append(vertrag.getKunde().getNachname()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Email:</span>         ").append(vertrag.getKunde().getEmail()).append("</div>");
-
-                details.append("<div class='section-title'>Fahrzeug</div>");
-                details.append("<div class='info'><span class='info-label'>Kennzeichen:</span>  ").append(vertrag.getFahrzeug().getKennzeichen()).append("</div>");
-
-                // DEBUG OUTPUT - 检查Fahrzeugtyp信息
-                System.out.println("DEBUG Vertragsdetails:");
-                System.out.println("  Mietnummer: " + vertrag.getMietnummer());
-                System.out.println("  Fahrzeug Kennzeichen: " + vertrag.getFahrzeug().getKennzeichen());
-                System.out.println("  Fahrzeugtyp: " + (vertrag.getFahrzeug().getFahrzeugtyp() != null ? "NOT NULL" : "NULL"));
-                if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
-                    com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
-                    System.out.println("    Hersteller: " + typ.getHersteller());
-                    System.out.println("    Modell: " + typ.getModellBezeichnung());
-                    System.out.println("    Kategorie: " + typ.getKategorie());
-                    System.out.println("    Antriebsart: " + typ.getAntriebsart());
-                    System.out.println("    Sitzplätze: " + typ.getSitzplaetze());
-                    System.out.println("    Tagespreis: " + typ.getStandardTagesPreis());
-                }
-                // END DEBUG OUTPUT
-
-                if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
-                    com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
-                    details.append("<div class='info'><span class='info-label'>Hersteller:</span>   ").append(typ.getHersteller()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Modell:</span>       ").append(typ.getModellBezeichnung()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Kategorie:</span>    ").append(typ.getKategorie()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Antriebsart:</span>  ").append(typ.getAntriebsart()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Sitzplätze:</span>   ").append(typ.getSitzplaetze()).append("</div>");
-                    details.append("<div class='info price-highlight'><span class='info-label'>Tagespreis:</span>    ").append(String.format("%.2f €", typ.getStandardTagesPreis())).append("</div>");
-                }
+        Hintergrund.ausfuehren(this, null, () -> system.getMietvertragDao().findByMietnummer(mietnummer),
+            vertragOpt -> vertragOpt.ifPresent(this::buchungDetailsAnzeigen),
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Details"));
+    }
+
+    /**
+     * Zeigt den Detaildialog einer geladenen Buchung.
+     */
+    private void buchungDetailsAnzeigen(Mietvertrag vertrag) {
 
-                details.append("<div class='section-title'>Mietzeitraum</div>");
-                details.append("<div class='info'><span class='info-label'>Startdatum:</span>   ").append(vertrag.getStartDatum()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Enddatum:</span>     ").append(vertrag.getEndDatum()).append("</div>");
+        JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this),
+            "Vertragsdetails", true);
+        dialog.setLayout(new BorderLayout(20, 20));
+        dialog.setSize(800, 600);
+        dialog.setLocationRelativeTo(this);
 
-                details.append("<div class='section-title'>Zusatzoptionen</div>");
-                if (!vertrag.getZusatzoptionen().isEmpty()) {
-                    for (Zusatzoption opt : vertrag.getZusatzoptionen()) {
-                        details.append("<div class='info'>- ").append(opt.getBezeichnung())
-                               .append(" (").append(String.format("%.2f €", opt.getAufpreis())).append(")</div>");
-                    }
-                } else {
-                    details.append("<div class='info'>Keine Zusatzoptionen gewählt</div>");
-                }
+        JPanel contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(25, 30, 25, 30));
+
+        StringBuilder details = new StringBuilder();
+        details.append("<html><style>");
+        details.append("body { font-family: Arial, sans-serif; margin: 0; padding: 0; }");
+        details.append(".title { font-size: 24px; font-weight: bold; color: #000000; margin-bottom: 20px; }");
+        details.append(".section-title { font-size: 18px; font-weight: bold; color: #003366; margin-top: 20px; margin-bottom: 10px; border-bottom: 2px solid #003366; padding-bottom: 5px; }");
+        details.append(".info { font-size: 14px; margin: 5px 0; color: #000000; }");
+        details.append(".info-label { font-weight: bold; color: #333333; }");
+        details.append(".price-highlight { font-size: 16px; font-weight: bold; color: #006633; }");
+        details.append(".total-price { font-size: 24px; font-weight: bold; color: #CC0000; margin-top: 25px; }");
+        details.append("</style>");
+
+        details.append("<div class='title'>Vertragsnummer: ").append(vertrag.getMietnummer()).append("</div>");
+
+        details.append("<div class='section-title'>Kunde</div>");
+        details.append("<div class='info'><span class='info-label'>Kunden-ID:</span>     ").append(vertrag.getKunde().getId()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Vorname:</span>       ").append(vertrag.getKunde().getVorname()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Nachname:</span>      ").append(vertrag.getKunde().getNachname()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Email:</span>         ").append(vertrag.getKunde().getEmail()).append("</div>");
+
+        details.append("<div class='section-title'>Fahrzeug</div>");
+        details.append("<div class='info'><span class='info-label'>Kennzeichen:</span>  ").append(vertrag.getFahrzeug().getKennzeichen()).append("</div>");
+
+        // DEBUG OUTPUT - 检查Fahrzeugtyp信息
+        System.out.println("DEBUG Vertragsdetails:");
+        System.out.println("  Mietnummer: " + vertrag.getMietnummer());
+        System.out.println("  Fahrzeug Kennzeichen: " + vertrag.getFahrzeug().getKennzeichen());
+        System.out.println("  Fahrzeugtyp: " + (vertrag.getFahrzeug().getFahrzeugtyp() != null ? "NOT NULL" : "NULL"));
+        if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
+            com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
+            System.out.println("    Hersteller: " + typ.getHersteller());
+            System.out.println("    Modell: " + typ.getModellBezeichnung());
+            System.out.println("    Kategorie: " + typ.getKategorie());
+            System.out.println("    Antriebsart: " + typ.getAntriebsart());
+            System.out.println("    Sitzplätze: " + typ.getSitzplaetze());
+            System.out.println("    Tagespreis: " + typ.getStandardTagesPreis());
+        }
+        // END DEBUG OUTPUT
+
+        if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
+            com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
+            details.append("<div class='info'><span class='info-label'>Hersteller:</span>   ").append(typ.getHersteller()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Modell:</span>       ").append(typ.getModellBezeichnung()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Kategorie:</span>    ").append(typ.getKategorie()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Antriebsart:</span>  ").append(typ.getAntriebsart()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Sitzplätze:</span>   ").append(typ.getSitzplaetze()).append("</div>");
+            details.append("<div class='info price-highlight'><span class='info-label'>Tagespreis:</span>    ").append(String.format("%.2f €", typ.getStandardTagesPreis())).append("</div>");
+        }
 
-                details.append("<div class='section-title'>Status</div>");
-                details.append("<div class='info' style='font-size: 16px; font-weight: bold;'>").append(vertrag.getStatus()).append("</div>");
+        details.append("<div class='section-title'>Mietzeitraum</div>");
+        details.append("<div class='info'><span class='info-label'>Startdatum:</span>   ").append(vertrag.getStartDatum()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Enddatum:</span>     ").append(vertrag.getEndDatum()).append("</div>");
 
-                details.append("<div class='total-price'>Gesamtpreis: ").append(String.format("%.2f €", vertrag.getGesamtPreis())).append("</div>");
+        details.append("<div class='section-title'>Zusatzoptionen</div>");
+        if (!vertrag.getZusatzoptionen().isEmpty()) {
+            for (Zusatzoption opt : vertrag.getZusatzoptionen()) {
+                details.append("<div class='info'>- ").append(opt.getBezeichnung())
+                       .append(" (").append(String.format("%.2f €", opt.getAufpreis())).append(")</div>");
+            }
+        } else {
+            details.append("<div class='info'>Keine Zusatzoptionen gewählt</div>");
+        }
 
-                details.append("</html>");
+        details.append("<div class='section-title'>Status</div>");
+        details.append("<div class='info' style='font-size: 16px; font-weight: bold;'>").append(vertrag.getStatus()).append("</div>");
 
-                JLabel label = new JLabel(details.toString());
-                label.setFont(new Font("Arial", Font.PLAIN, 14));
+        details.append("<div class='total-price'>Gesamtpreis: ").append(String.format("%.2f €", vertrag.getGesamtPreis())).append("</div>");
 
-                JScrollPane scrollPane = new JScrollPane(label);
-                scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-                scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        details.append("</html>");
 
-                contentPanel.add(scrollPane);
+        JLabel label = new JLabel(details.toString());
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
 
-                JButton closeButton = new JButton("Schließen");
-                closeButton.setFont(new Font("Arial", Font.BOLD, 16));
-                closeButton.setPreferredSize(new Dimension(140, 45));
-                closeButton.addActionListener(e -> dialog.dispose());
+        JScrollPane scrollPane = new JScrollPane(label);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-                JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                buttonPanel.add(closeButton);
+        contentPanel.add(scrollPane);
 
-                dialog.add(contentPanel, BorderLayout.CENTER);
-                dialog.add(buttonPanel, BorderLayout.SOUTH);
+        JButton closeButton = new JButton("Schließen");
+        closeButton.setFont(new Font("Arial", Font.BOLD, 16));
+        closeButton.setPreferredSize(new Dimension(140, 45));
+        closeButton.addActionListener(e -> dialog.dispose());
 
-                dialog.setVisible(true);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Details: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.add(closeButton);
+
+        dialog.add(contentPanel, BorderLayout.CENTER);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+
+        dialog.setVisible(true);
     }
 }
@@ -141,40 +141,53 @@ public class LoginPanel extends JPanel {
             return;
         }
         
-        // Login durchführen
-        boolean success = authController.login(accountName, passwort, employeeMode);
-        
-        if (success) {
-            // Felder leeren
-            accountNameField.setText("");
-            passwortField.setText("");
+        // Login im Hintergrund durchführen (Datenbankzugriff und Passwortprüfung)
+        boolean mitarbeiter = employeeMode;
+        setAnmeldungLaeuft(true);
+        Hintergrund.ausfuehren(this, null, () -> authController.login(accountName, passwort, mitarbeiter),
+            success -> {
+                setAnmeldungLaeuft(false);
+                if (success) {
+                    // Felder leeren
+                    accountNameField.setText("");
+                    passwortField.setText("");
+
+                    // Wenn Kunde angemeldet, Benachrichtigungen anzeigen (falls vorhanden)
+                    if (authController.isKunde()) {
+                        var kunde = authController.getCurrentKunde();
+                        if (kunde != null) {
+                            var notes = mainFrame.getSystem().getAndClearNotifications(kunde.getId());
+                            if (notes != null && !notes.isEmpty()) {
+                                String message = String.join("\n\n", notes);
+                                JOptionPane.showMessageDialog(this,
+                                    message,
+                                    "Nachrichten",
+                                    JOptionPane.INFORMATION_MESSAGE);
+                            }
+                        }
 
-            // Wenn Kunde angemeldet, Benachrichtigungen anzeigen (falls vorhanden)
-            if (authController.isKunde()) {
-                var kunde = authController.getCurrentKunde();
-                if (kunde != null) {
-                    var notes = mainFrame.getSystem().getAndClearNotifications(kunde.getId());
-                    if (notes != null && !notes.isEmpty()) {
-                        String message = String.join("\n\n", notes);
-                        JOptionPane.showMessageDialog(this,
-                            message,
-                            "Nachrichten",
-                            JOptionPane.INFORMATION_MESSAGE);
+                        // Zum Kunden-Dashboard weiterleiten
+                        mainFrame.showKundeDashboard();
+                    } else if (authController.isMitarbeiter()) {
+                        mainFrame.showMitarbeiterDashboard();
                     }
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        "Benutzername oder Passwort ist falsch.",
+                        "Login fehlgeschlagen",
+                        JOptionPane.ERROR_MESSAGE);
+                    passwortField.setText("");
                 }
+            },
+            e -> {
+                setAnmeldungLaeuft(false);
+                Hintergrund.fehlerDialog(this, "Fehler bei der Anmeldung").accept(e);
+            });
+    }
 
-                // Zum Kunden-Dashboard weiterleiten
-                mainFrame.showKundeDashboard();
-            } else if (authController.isMitarbeiter()) {
-                mainFrame.showMitarbeiterDashboard();
-            }
-        } else {
-            JOptionPane.showMessageDialog(this,
-                "Benutzername oder Passwort ist falsch.",
-                "Login fehlgeschlagen",
-                JOptionPane.ERROR_MESSAGE);
-            passwortField.setText("");
-        }
+    private void setAnmeldungLaeuft(boolean laeuft) {
+        loginButton.setEnabled(!laeuft);
+        passwortField.setEnabled(!laeuft);
     }
 
     private void toggleMode() {
@@ -2,6 +2,10 @@ package com.carrental.view;
 
 import com.carrental.controller.AuthController;
 import com.carrental.controller.CarRentalSystem;
+import com.carrental.controller.StatistikService;
+import com.carrental.controller.VertragsExport;
+import com.carrental.dao.KundeDao;
+import com.carrental.dao.MietvertragDao;
 import com.carrental.model.*;
 
 import javax.swing.*;
@@ -9,8 +13,12 @@ import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.sql.SQLException;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Dashboard für Mitarbeiter.
@@ -24,12 +32,28 @@ public class MitarbeiterDashboard extends JPanel {
     private JTabbedPane tabbedPane;
     private DefaultTableModel fahrzeugTableModel;
     private JTable fahrzeugTable;
-    private DefaultTableModel vertragTableModel;
+    private SeitenTabellenModell<VertragsZeile> vertragTableModel;
     private JTable vertragTable;
-    private DefaultTableModel kundenTableModel;
+    private SeitenTabellenModell<Kunde> kundenTableModel;
     private JTable kundenTable;
     private FahrzeugPanel fahrzeugPanel;
     private final com.carrental.controller.BookingController bookingController;
+    /** Schlüssel, über den sich wiederholte Statistikabfragen gegenseitig ersetzen. */
+    private final Object statistikSchluessel = new Object();
+    private final JProgressBar vertragLadebalken = Hintergrund.ladebalken();
+    private final JProgressBar kundenLadebalken = Hintergrund.ladebalken();
+
+    // Statistik-Tab
+    private static final DateTimeFormatter MONAT_FORMAT = DateTimeFormatter.ofPattern("MM/yyyy");
+    private static final DateTimeFormatter STAND_FORMAT = DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm:ss");
+    private JPanel fahrzeugeKarte;
+    private JPanel vertraegeKarte;
+    private JPanel verfuegbareKarte;
+    private JPanel kundenKarte;
+    private JPanel mietdauerKarte;
+    private DefaultTableModel umsatzTableModel;
+    private DefaultTableModel auslastungTableModel;
+    private JLabel statistikStandLabel;
     
     /**
      * Konstruktor für das Mitarbeiter-Dashboard.
@@ -94,7 +118,8 @@ public class MitarbeiterDashboard extends JPanel {
             vertragPanel, "Alle Mietverträge anzeigen und verwalten");
         
         // Tab 3: Statistiken
-        JPanel statistikPanel = createStatistikPanel();
+        JScrollPane statistikPanel = new JScrollPane(createStatistikPanel());
+        statistikPanel.getVerticalScrollBar().setUnitIncrement(16);
         tabbedPane.addTab("Statistiken", createStatistikIcon(),
             statistikPanel, "Statistiken und Auswertungen");
 
@@ -185,20 +210,32 @@ public class MitarbeiterDashboard extends JPanel {
         statusButton.setFont(new Font("Arial", Font.BOLD, 16));
         statusButton.addActionListener(e -> changeVertragStatus());
         toolbar.add(statusButton);
+
+        JButton exportButton = new JButton("Exportieren");
+        exportButton.setFont(new Font("Arial", Font.BOLD, 16));
+        exportButton.addActionListener(e -> vertraegeExportieren());
+        toolbar.add(exportButton);
+        toolbar.add(vertragLadebalken);
         
         panel.add(toolbar, BorderLayout.NORTH);
         
         // Tabelle
         String[] columnNames = {"Kunden-ID", "Mietnummer", "Kunde", "Fahrzeug", "Startdatum",
                                 "Enddatum", "Gesamtpreis", "Status"};
-        vertragTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        boolean[] sortierbar = new boolean[columnNames.length];
+        for (int i = 0; i < sortierbar.length; i++) {
+            sortierbar[i] = VERTRAG_SORTIERUNG[i] != null;
+        }
+        vertragTableModel = new SeitenTabellenModell<>(columnNames, sortierbar, this::vertragSpalte,
+            vertragQuelle(null), 4, true,
+            e -> JOptionPane.showMessageDialog(this,
+                "Fehler beim Laden der Verträge: " + e.getMessage(),
+                "Fehler",
+                JOptionPane.ERROR_MESSAGE));
         
         vertragTable = new JTable(vertragTableModel);
+        vertragTableModel.sortierungAnbinden(vertragTable);
+        vertragTableModel.setLadeanzeige(vertragLadebalken);
         vertragTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         vertragTable.getTableHeader().setReorderingAllowed(false);
         vertragTable.setRowHeight(35);
@@ -220,7 +257,7 @@ public class MitarbeiterDashboard extends JPanel {
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
         // Statistikkarten
-        JPanel fahrzeugeKarte = createClickableStatistikKarte("Gesamte Fahrzeuge", "0", new Color(52, 152, 219));
+        fahrzeugeKarte = createClickableStatistikKarte("Gesamte Fahrzeuge", "0", new Color(52, 152, 219));
         fahrzeugeKarte.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
@@ -231,7 +268,7 @@ public class MitarbeiterDashboard extends JPanel {
         panel.add(fahrzeugeKarte);
         panel.add(Box.createVerticalStrut(15));
 
-        JPanel vertraegeKarte = createClickableStatistikKarte("Aktive Verträge", "0", new Color(46, 204, 113));
+        vertraegeKarte = createClickableStatistikKarte("Aktive Verträge", "0", new Color(46, 204, 113));
         vertraegeKarte.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
@@ -242,7 +279,7 @@ public class MitarbeiterDashboard extends JPanel {
         panel.add(vertraegeKarte);
         panel.add(Box.createVerticalStrut(15));
 
-        JPanel verfuegbareKarte = createClickableStatistikKarte("Verfügbare Fahrzeuge", "0", new Color(241, 196, 15));
+        verfuegbareKarte = createClickableStatistikKarte("Verfügbare Fahrzeuge", "0", new Color(241, 196, 15));
         verfuegbareKarte.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
@@ -254,7 +291,7 @@ public class MitarbeiterDashboard extends JPanel {
         panel.add(verfuegbareKarte);
         panel.add(Box.createVerticalStrut(15));
 
-        JPanel kundenKarte = createClickableStatistikKarte("Registrierte Kunden", "0", new Color(155, 89, 182));
+        kundenKarte = createClickableStatistikKarte("Registrierte Kunden", "0", new Color(155, 89, 182));
         kundenKarte.addMouseListener(new java.awt.event.MouseAdapter() {
             @Override
             public void mouseClicked(java.awt.event.MouseEvent e) {
@@ -262,14 +299,53 @@ public class MitarbeiterDashboard extends JPanel {
             }
         });
         panel.add(kundenKarte);
+        panel.add(Box.createVerticalStrut(15));
+
+        mietdauerKarte = createStatistikKarte("Ø Mietdauer (Tage)", "0", new Color(230, 126, 34));
+        panel.add(mietdauerKarte);
+        panel.add(Box.createVerticalStrut(15));
+
+        // Umsatz und Auslastung
+        umsatzTableModel = new DefaultTableModel(new String[] {"Monat", "Verträge", "Umsatz"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        auslastungTableModel = new DefaultTableModel(
+                new String[] {"Kategorie", "Fahrzeuge", "Belegte Tage", "Auslastung"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JPanel tabellenPanel = new JPanel(new GridLayout(1, 2, 15, 0));
+        tabellenPanel.add(createStatistikTabelle("Umsatz pro Monat (letzte "
+            + StatistikService.UMSATZ_MONATE + " Monate)", umsatzTableModel));
+        tabellenPanel.add(createStatistikTabelle("Auslastung pro Kategorie (letzte "
+            + StatistikService.AUSLASTUNG_TAGE + " Tage)", auslastungTableModel));
+        tabellenPanel.setPreferredSize(new Dimension(0, 320));
+        tabellenPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 320));
+        tabellenPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+        panel.add(tabellenPanel);
+        panel.add(Box.createVerticalStrut(15));
         panel.add(Box.createVerticalGlue());
 
         // Aktualisieren-Button
+        JPanel aktualisierenPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        aktualisierenPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
         JButton refreshButton = new JButton("Statistiken aktualisieren");
         refreshButton.setFont(new Font("Arial", Font.BOLD, 16));
-        refreshButton.setAlignmentX(Component.CENTER_ALIGNMENT);
-        refreshButton.addActionListener(e -> loadStatistiken());
-        panel.add(refreshButton);
+        refreshButton.addActionListener(e -> {
+            // Ausdrücklich angefordert: nicht die gemeinsame Momentaufnahme verwenden
+            system.getStatistikService().invalidieren();
+            loadStatistiken();
+        });
+        aktualisierenPanel.add(refreshButton);
+        statistikStandLabel = new JLabel(" ");
+        statistikStandLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        aktualisierenPanel.add(statistikStandLabel);
+        panel.add(aktualisierenPanel);
 
         return panel;
     }
@@ -293,6 +369,7 @@ public class MitarbeiterDashboard extends JPanel {
         detailsButton.setFont(new Font("Arial", Font.BOLD, 16));
         detailsButton.addActionListener(e -> showKundeDetails());
         toolbar.add(detailsButton);
+        toolbar.add(kundenLadebalken);
 
         panel.add(toolbar, BorderLayout.NORTH);
 
@@ -300,14 +377,20 @@ public class MitarbeiterDashboard extends JPanel {
         String[] columnNames = {"ID", "Kundennummer", "Vorname", "Nachname", "Email",
                                 "Straße", "Hausnummer", "PLZ", "Ort", "Geburtstag",
                                 "Führerschein", "Aktiv"};
-        kundenTableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        boolean[] sortierbar = new boolean[columnNames.length];
+        for (int i = 0; i < sortierbar.length; i++) {
+            sortierbar[i] = KUNDEN_SORTIERUNG[i] != null;
+        }
+        kundenTableModel = new SeitenTabellenModell<>(columnNames, sortierbar, this::kundeSpalte,
+            kundenQuelle(), 0, false,
+            e -> JOptionPane.showMessageDialog(this,
+                "Fehler beim Laden der Kunden: " + e.getMessage(),
+                "Fehler",
+                JOptionPane.ERROR_MESSAGE));
 
         kundenTable = new JTable(kundenTableModel);
+        kundenTableModel.sortierungAnbinden(kundenTable);
+        kundenTableModel.setLadeanzeige(kundenLadebalken);
         kundenTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         kundenTable.getTableHeader().setReorderingAllowed(false);
         kundenTable.setRowHeight(35);
@@ -344,6 +427,24 @@ public class MitarbeiterDashboard extends JPanel {
         return karte;
     }
 
+    /**
+     * Erstellt eine Tabelle mit Überschrift für den Statistik-Tab.
+     */
+    private JPanel createStatistikTabelle(String titel, DefaultTableModel modell) {
+        JPanel tabellenPanel = new JPanel(new BorderLayout(0, 5));
+        JLabel titelLabel = new JLabel(titel);
+        titelLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        tabellenPanel.add(titelLabel, BorderLayout.NORTH);
+
+        JTable tabelle = new JTable(modell);
+        tabelle.getTableHeader().setReorderingAllowed(false);
+        tabelle.setRowHeight(28);
+        tabelle.setFont(new Font("Arial", Font.PLAIN, 14));
+        tabelle.getTableHeader().setFont(new Font("Arial", Font.BOLD, 14));
+        tabellenPanel.add(new JScrollPane(tabelle), BorderLayout.CENTER);
+        return tabellenPanel;
+    }
+
     /**
      * Erstellt eine klickbare Statistikkarte.
      */
@@ -376,42 +477,60 @@ public class MitarbeiterDashboard extends JPanel {
      * Lädt die Kundenliste.
      */
     private void loadKunden() {
-        kundenTableModel.setRowCount(0);
-
-        try {
-            List<Kunde> kunden = system.getKundeDao().findAll();
-
-            for (Kunde k : kunden) {
-                Object[] row = {
-                    k.getId(),
-                    k.getKundennummer(),
-                    k.getVorname(),
-                    k.getNachname(),
-                    k.getEmail(),
-                    k.getStrasse(),
-                    k.getHausnummer(),
-                    k.getPlz(),
-                    k.getOrt(),
-                    k.getGeburtstag(),
-                    k.getFuehrerscheinNummer(),
-                    k.isIstAktiv() ? "Ja" : "Nein"
-                };
-                kundenTableModel.addRow(row);
+        kundenTableModel.neuLaden();
+    }
+
+    /** Sortierspalte in der Datenbank je Tabellenspalte der Kundentabelle (null = nicht sortierbar). */
+    private static final KundeDao.Sortierung[] KUNDEN_SORTIERUNG = {
+        KundeDao.Sortierung.ID, KundeDao.Sortierung.KUNDENNUMMER, KundeDao.Sortierung.VORNAME,
+        KundeDao.Sortierung.NACHNAME, KundeDao.Sortierung.EMAIL, null, null, null, KundeDao.Sortierung.ORT,
+        KundeDao.Sortierung.GEBURTSTAG, null, null
+    };
+
+    /**
+     * Datenquelle für die Kundentabelle; Seiten und Sortierung kommen aus der Datenbank.
+     */
+    private SeitenTabellenModell.Quelle<Kunde> kundenQuelle() {
+        return new SeitenTabellenModell.Quelle<>() {
+            @Override
+            public int anzahl() throws SQLException {
+                return system.getKundeDao().count();
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Kunden: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+
+            @Override
+            public List<Kunde> seite(int offset, int limit, int spalte, boolean absteigend) throws SQLException {
+                return system.getKundeDao().findSeite(KUNDEN_SORTIERUNG[spalte], absteigend, offset, limit);
+            }
+        };
+    }
+
+    /**
+     * Zellwert der Kundentabelle.
+     */
+    private Object kundeSpalte(Kunde k, int spalte) {
+        return switch (spalte) {
+            case 0 -> k.getId();
+            case 1 -> k.getKundennummer();
+            case 2 -> k.getVorname();
+            case 3 -> k.getNachname();
+            case 4 -> k.getEmail();
+            case 5 -> k.getStrasse();
+            case 6 -> k.getHausnummer();
+            case 7 -> k.getPlz();
+            case 8 -> k.getOrt();
+            case 9 -> k.getGeburtstag();
+            case 10 -> k.getFuehrerscheinNummer();
+            case 11 -> k.isIstAktiv() ? "Ja" : "Nein";
+            default -> null;
+        };
     }
 
     /**
      * Zeigt Details eines Kunden.
      */
     private void showKundeDetails() {
-        int selectedRow = kundenTable.getSelectedRow();
-        if (selectedRow == -1) {
+        Kunde ausgewaehlt = kundenTableModel.getZeile(kundenTable.getSelectedRow());
+        if (ausgewaehlt == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie einen Kunden aus.",
                 "Keine Auswahl",
@@ -419,38 +538,35 @@ public class MitarbeiterDashboard extends JPanel {
             return;
         }
 
-        int id = (int) kundenTableModel.getValueAt(selectedRow, 0);
-
-        try {
-            Optional<Kunde> kundeOpt = system.getKundeDao().findById(id);
-
-            if (kundeOpt.isPresent()) {
-                Kunde kunde = kundeOpt.get();
-                StringBuilder details = new StringBuilder();
-                details.append("Kunden-ID: ").append(kunde.getId()).append("\n");
-                details.append("Kundennummer: ").append(kunde.getKundennummer()).append("\n");
-                details.append("Name: ").append(kunde.getVorname()).append(" ").append(kunde.getNachname()).append("\n");
-                details.append("Email: ").append(kunde.getEmail()).append("\n");
-                details.append("\nAdresse:\n");
-                details.append("  Straße:     ").append(kunde.getStrasse()).append("\n");
-                details.append("  Hausnummer: ").append(kunde.getHausnummer()).append("\n");
-                details.append("  PLZ:        ").append(kunde.getPlz()).append("\n");
-                details.append("  Ort:        ").append(kunde.getOrt()).append("\n");
-                details.append("\nGeburtstag:     ").append(kunde.getGeburtstag()).append("\n");
-                details.append("Führerschein:  ").append(kunde.getFuehrerscheinNummer()).append("\n");
-                details.append("Konto aktiv:    ").append(kunde.isIstAktiv() ? "Ja" : "Nein").append("\n");
+        int id = ausgewaehlt.getId();
 
-                JOptionPane.showMessageDialog(this,
-                    details.toString(),
-                    "Kundendetails",
-                    JOptionPane.INFORMATION_MESSAGE);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Details: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        Hintergrund.ausfuehren(this, null, () -> system.getKundeDao().findById(id),
+            kundeOpt -> kundeOpt.ifPresent(this::kundeDetailsAnzeigen),
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Details"));
+    }
+
+    /**
+     * Zeigt die Details eines geladenen Kunden.
+     */
+    private void kundeDetailsAnzeigen(Kunde kunde) {
+        StringBuilder details = new StringBuilder();
+        details.append("Kunden-ID: ").append(kunde.getId()).append("\n");
+        details.append("Kundennummer: ").append(kunde.getKundennummer()).append("\n");
+        details.append("Name: ").append(kunde.getVorname()).append(" ").append(kunde.getNachname()).append("\n");
+        details.append("Email: ").append(kunde.getEmail()).append("\n");
+        details.append("\nAdresse:\n");
+        details.append("  Straße:     ").append(kunde.getStrasse()).append("\n");
+        details.append("  Hausnummer: ").append(kunde.getHausnummer()).append("\n");
+        details.append("  PLZ:        ").append(kunde.getPlz()).append("\n");
+        details.append("  Ort:        ").append(kunde.getOrt()).append("\n");
+        details.append("\nGeburtstag:     ").append(kunde.getGeburtstag()).append("\n");
+        details.append("Führerschein:  ").append(kunde.getFuehrerscheinNummer()).append("\n");
+        details.append("Konto aktiv:    ").append(kunde.isIstAktiv() ? "Ja" : "Nein").append("\n");
+
+        JOptionPane.showMessageDialog(this,
+            details.toString(),
+            "Kundendetails",
+            JOptionPane.INFORMATION_MESSAGE);
     }
 
     /**
@@ -460,98 +576,263 @@ public class MitarbeiterDashboard extends JPanel {
         if (fahrzeugTableModel == null) {
             return; // FahrzeugPanel handles its own tables; safeguard legacy call path
         }
-        fahrzeugTableModel.setRowCount(0);
-        
-        try {
-            List<Fahrzeug> fahrzeuge = system.getFahrzeugDao().findAll();
-            
-            for (Fahrzeug f : fahrzeuge) {
-                Object[] row = {
-                    f.getId(),
-                    f.getKennzeichen(),
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
-                    f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
-                    f.getZustand(),
-                    f.getFahrzeugtyp() != null ? 
-                        String.format("%.2f €", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
-                };
-                fahrzeugTableModel.addRow(row);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Fahrzeuge: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        Hintergrund.ausfuehren(this, null, () -> system.getFahrzeugDao().findAll(),
+            fahrzeuge -> {
+                fahrzeugTableModel.setRowCount(0);
+                for (Fahrzeug f : fahrzeuge) {
+                    Object[] row = {
+                        f.getId(),
+                        f.getKennzeichen(),
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getHersteller() : "-",
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getModellBezeichnung() : "-",
+                        f.getFahrzeugtyp() != null ? f.getFahrzeugtyp().getKategorie() : "-",
+                        f.getZustand(),
+                        f.getFahrzeugtyp() != null ?
+                            String.format("%.2f €", f.getFahrzeugtyp().getStandardTagesPreis()) : "-"
+                    };
+                    fahrzeugTableModel.addRow(row);
+                }
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Fahrzeuge"));
     }
 
     /**
      * Lädt die Vertragsliste.
      */
     private void loadVertraege() {
-        vertragTableModel.setRowCount(0);
-        
-        try {
-            List<Mietvertrag> vertraege = system.getMietvertragDao().findAll();
-            
-            for (Mietvertrag v : vertraege) {
-                String kundenId = v.getKunde() != null ? String.valueOf(v.getKunde().getId()) : "-";
-                String kundenname = v.getKunde() != null ? 
-                    v.getKunde().getVorname() + " " + v.getKunde().getNachname() : "-";
-                String fahrzeuginfo = v.getFahrzeug() != null ? v.getFahrzeug().getKennzeichen() : "-";
-                
-                Object[] row = {
-                    kundenId,
-                    v.getMietnummer(),
-                    kundenname,
-                    fahrzeuginfo,
-                    v.getStartDatum(),
-                    v.getEndDatum(),
-                    String.format("%.2f €", v.getGesamtPreis()),
-                    v.getStatus()
-                };
-                vertragTableModel.addRow(row);
+        vertragTableModel.setQuelle(vertragQuelle(null));
+    }
+
+    /** Sortierspalte in der Datenbank je Tabellenspalte der Vertragstabelle (null = nicht sortierbar). */
+    private static final MietvertragDao.Sortierung[] VERTRAG_SORTIERUNG = {
+        null, MietvertragDao.Sortierung.MIETNUMMER, MietvertragDao.Sortierung.KUNDE,
+        MietvertragDao.Sortierung.FAHRZEUG, MietvertragDao.Sortierung.START_DATUM,
+        MietvertragDao.Sortierung.END_DATUM, MietvertragDao.Sortierung.GESAMTPREIS,
+        MietvertragDao.Sortierung.STATUS
+    };
+
+    /**
+     * Datenquelle für die Vertragstabelle; Seiten und Sortierung kommen aus der Datenbank.
+     * Geladen werden nur die angezeigten Spalten als {@link VertragsZeile}.
+     *
+     * @param status Nur Verträge mit diesem Status (null = alle)
+     */
+    private SeitenTabellenModell.Quelle<VertragsZeile> vertragQuelle(VertragsStatus status) {
+        Set<VertragsStatus> filter = status != null ? EnumSet.of(status) : null;
+        return new SeitenTabellenModell.Quelle<>() {
+            @Override
+            public int anzahl() throws SQLException {
+                return system.getMietvertragDao().count(filter);
             }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Verträge: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
+
+            @Override
+            public List<VertragsZeile> seite(int offset, int limit, int spalte, boolean absteigend)
+                    throws SQLException {
+                return system.getMietvertragDao().findZeilenSeite(filter, VERTRAG_SORTIERUNG[spalte],
+                                                                  absteigend, offset, limit);
+            }
+        };
+    }
+
+    /**
+     * Zellwert der Vertragstabelle.
+     */
+    private Object vertragSpalte(VertragsZeile v, int spalte) {
+        return switch (spalte) {
+            case 0 -> v.hatKunde() ? String.valueOf(v.kundeId()) : "-";
+            case 1 -> v.mietnummer();
+            case 2 -> v.hatKunde() ? v.kundeName() : "-";
+            case 3 -> v.kennzeichen() != null ? v.kennzeichen() : "-";
+            case 4 -> v.startDatum();
+            case 5 -> v.endDatum();
+            case 6 -> String.format("%.2f €", v.gesamtPreis());
+            case 7 -> v.status();
+            default -> null;
+        };
+    }
+
+    /**
+     * Exportiert Verträge nach Zeitraum und Status als CSV oder JSON.
+     * Der Export läuft im Hintergrund über einen Datenbank-Cursor; anschließend wird
+     * der Umsatz je Kategorie angezeigt und optional als Bericht gespeichert.
+     */
+    private void vertraegeExportieren() {
+        JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Verträge exportieren", true);
+        dialog.setLayout(new BorderLayout(10, 10));
+
+        JPanel contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
+
+        JCheckBox zeitraumCheck = new JCheckBox("Nur Verträge im Zeitraum:");
+        zeitraumCheck.setFont(new Font("Arial", Font.BOLD, 16));
+        contentPanel.add(zeitraumCheck);
+        CalendarDateChooser vonChooser = new CalendarDateChooser(LocalDate.now().withDayOfYear(1), null);
+        CalendarDateChooser bisChooser = new CalendarDateChooser(LocalDate.now(), null);
+        contentPanel.add(vonChooser);
+        contentPanel.add(bisChooser);
+        contentPanel.add(Box.createVerticalStrut(15));
+
+        JLabel statusLabel = new JLabel("Status:");
+        statusLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        contentPanel.add(statusLabel);
+        JPanel statusPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        java.util.Map<VertragsStatus, JCheckBox> statusChecks = new java.util.EnumMap<>(VertragsStatus.class);
+        for (VertragsStatus status : VertragsStatus.values()) {
+            JCheckBox check = new JCheckBox(status.name(), status != VertragsStatus.STORNIERT);
+            statusChecks.put(status, check);
+            statusPanel.add(check);
         }
+        contentPanel.add(statusPanel);
+        contentPanel.add(Box.createVerticalStrut(15));
+
+        JPanel formatPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JLabel formatLabel = new JLabel("Format:");
+        formatLabel.setFont(new Font("Arial", Font.BOLD, 16));
+        formatPanel.add(formatLabel);
+        JComboBox<VertragsExport.Format> formatBox = new JComboBox<>(VertragsExport.Format.values());
+        formatPanel.add(formatBox);
+        JCheckBox berichtCheck = new JCheckBox("Umsatzbericht zusätzlich speichern", true);
+        formatPanel.add(berichtCheck);
+        contentPanel.add(formatPanel);
+
+        dialog.add(contentPanel, BorderLayout.CENTER);
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
+        JButton exportButton = new JButton("Exportieren");
+        exportButton.setFont(new Font("Arial", Font.BOLD, 14));
+        exportButton.addActionListener(e -> {
+            Set<VertragsStatus> status = EnumSet.noneOf(VertragsStatus.class);
+            statusChecks.forEach((s, check) -> {
+                if (check.isSelected()) {
+                    status.add(s);
+                }
+            });
+            if (status.isEmpty()) {
+                JOptionPane.showMessageDialog(dialog, "Bitte mindestens einen Status auswählen.",
+                    "Hinweis", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            LocalDate von = zeitraumCheck.isSelected() ? vonChooser.getSelectedDate() : null;
+            LocalDate bis = zeitraumCheck.isSelected() ? bisChooser.getSelectedDate() : null;
+            if (von != null && bis != null && bis.isBefore(von)) {
+                JOptionPane.showMessageDialog(dialog, "Das Enddatum liegt vor dem Startdatum.",
+                    "Hinweis", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
+            VertragsExport.Format format = (VertragsExport.Format) formatBox.getSelectedItem();
+
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Export speichern");
+            chooser.setSelectedFile(new java.io.File("vertraege." + format.getEndung()));
+            if (chooser.showSaveDialog(dialog) != JFileChooser.APPROVE_OPTION) {
+                return;
+            }
+            dialog.dispose();
+            exportStarten(chooser.getSelectedFile().toPath(), format,
+                new VertragsExport.Filter(von, bis, status), berichtCheck.isSelected());
+        });
+        buttonPanel.add(exportButton);
+
+        JButton cancelButton = new JButton("Abbrechen");
+        cancelButton.setFont(new Font("Arial", Font.BOLD, 14));
+        cancelButton.addActionListener(e -> dialog.dispose());
+        buttonPanel.add(cancelButton);
+
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(this);
+        dialog.setVisible(true);
+    }
+
+    /**
+     * Führt den Export im Hintergrund aus und zeigt danach die Umsatzübersicht an.
+     */
+    private void exportStarten(java.nio.file.Path ziel, VertragsExport.Format format,
+                               VertragsExport.Filter filter, boolean mitBericht) {
+        VertragsExport export = new VertragsExport(system);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<VertragsExport.Ergebnis, Void>() {
+            private java.nio.file.Path bericht;
+
+            @Override
+            protected VertragsExport.Ergebnis doInBackground() throws Exception {
+                VertragsExport.Ergebnis ergebnis = export.exportieren(ziel, format, filter);
+                if (mitBericht) {
+                    String name = ziel.getFileName().toString().replaceFirst("\\.[^.]*$", "");
+                    bericht = ziel.resolveSibling(name + "-umsatz.csv");
+                    export.umsatzberichtSchreiben(bericht, ergebnis);
+                }
+                return ergebnis;
+            }
+
+            @Override
+            protected void done() {
+                setCursor(Cursor.getDefaultCursor());
+                try {
+                    VertragsExport.Ergebnis ergebnis = get();
+                    StringBuilder text = new StringBuilder();
+                    text.append(String.format("%d Verträge nach %s exportiert (%.1f s).%n%n",
+                        ergebnis.vertraege(), ziel.getFileName(), ergebnis.dauerMillis() / 1000.0));
+                    text.append(String.format("Umsatz gesamt (ohne Stornierungen): %.2f €%n", ergebnis.umsatzGesamt()));
+                    for (VertragsExport.Umsatz u : ergebnis.proKategorie()) {
+                        text.append(String.format("  %s: %.2f € (%d Verträge)%n", u.bezeichnung(), u.umsatz(), u.vertraege()));
+                    }
+                    if (bericht != null) {
+                        text.append(String.format("%nUmsatz je Fahrzeug gespeichert in %s", bericht.getFileName()));
+                    }
+                    JOptionPane.showMessageDialog(MitarbeiterDashboard.this, text.toString(),
+                        "Export abgeschlossen", JOptionPane.INFORMATION_MESSAGE);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (java.util.concurrent.ExecutionException ex) {
+                    Throwable ursache = ex.getCause() != null ? ex.getCause() : ex;
+                    JOptionPane.showMessageDialog(MitarbeiterDashboard.this,
+                        "Export fehlgeschlagen: " + ursache.getMessage(),
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
     }
 
     /**
      * Lädt Statistiken.
      */
     private void loadStatistiken() {
-        try {
-            List<Fahrzeug> fahrzeuge = system.getFahrzeugDao().findAll();
-            List<Mietvertrag> vertraege = system.getMietvertragDao().findAll();
-            List<Kunde> kunden = system.getKundeDao().findAll();
-            
-            long verfuegbareFahrzeuge = fahrzeuge.stream()
-                .filter(f -> f.getZustand() == FahrzeugZustand.VERFUEGBAR)
-                .count();
-            
-            long aktiveVertraege = vertraege.stream()
-                .filter(v -> v.getStatus() == VertragsStatus.LAUFEND || 
-                             v.getStatus() == VertragsStatus.BESTAETIGT)
-                .count();
-            
-            // Statistikkarten aktualisieren
-            Component[] components = ((JPanel) tabbedPane.getComponentAt(2)).getComponents();
-            updateStatistikKarte((JPanel) components[0], String.valueOf(fahrzeuge.size()));
-            updateStatistikKarte((JPanel) components[2], String.valueOf(aktiveVertraege));
-            updateStatistikKarte((JPanel) components[4], String.valueOf(verfuegbareFahrzeuge));
-            updateStatistikKarte((JPanel) components[6], String.valueOf(kunden.size()));
-            
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Statistiken: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        Hintergrund.ausfuehren(this, statistikSchluessel, () -> system.getStatistikService().getMomentaufnahme(),
+            kennzahlen -> {
+                // Statistikkarten aktualisieren
+                updateStatistikKarte(fahrzeugeKarte, String.valueOf(kennzahlen.flottengroesse()));
+                updateStatistikKarte(vertraegeKarte, String.valueOf(kennzahlen.aktiveVertraege()));
+                updateStatistikKarte(verfuegbareKarte, String.valueOf(kennzahlen.verfuegbareFahrzeuge()));
+                updateStatistikKarte(kundenKarte, String.valueOf(kennzahlen.kunden()));
+                updateStatistikKarte(mietdauerKarte,
+                    String.format("%.1f", kennzahlen.durchschnittlicheMietdauer()));
+
+                umsatzTableModel.setRowCount(0);
+                for (Kennzahlen.MonatsUmsatz m : kennzahlen.umsatzProMonat()) {
+                    umsatzTableModel.addRow(new Object[] {
+                        m.monat().format(MONAT_FORMAT),
+                        m.vertraege(),
+                        String.format("%.2f €", m.umsatz())
+                    });
+                }
+
+                auslastungTableModel.setRowCount(0);
+                for (Kennzahlen.KategorieAuslastung k : kennzahlen.auslastungProKategorie()) {
+                    auslastungTableModel.addRow(new Object[] {
+                        k.kategorie() != null ? k.kategorie() : "-",
+                        k.fahrzeuge(),
+                        k.belegteTage(),
+                        String.format("%.1f %%", k.auslastung() * 100)
+                    });
+                }
+
+                statistikStandLabel.setText("Stand: " + STAND_FORMAT.format(
+                    kennzahlen.erstellt().atZone(ZoneId.systemDefault())));
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Statistiken"));
     }
 
     /**
@@ -598,8 +879,8 @@ public class MitarbeiterDashboard extends JPanel {
      * Zeigt Details eines Vertrags.
      */
     private void showVertragDetails() {
-        int selectedRow = vertragTable.getSelectedRow();
-        if (selectedRow == -1) {
+        VertragsZeile ausgewaehlt = vertragTableModel.getZeile(vertragTable.getSelectedRow());
+        if (ausgewaehlt == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie einen Vertrag aus.",
                 "Keine Auswahl",
@@ -607,104 +888,101 @@ public class MitarbeiterDashboard extends JPanel {
             return;
         }
 
-        String mietnummer = (String) vertragTableModel.getValueAt(selectedRow, 1);
-
-        try {
-            Optional<Mietvertrag> vertragOpt = system.getMietvertragDao().findByMietnummer(mietnummer);
-
-            if (vertragOpt.isPresent()) {
-                Mietvertrag vertrag = vertragOpt.get();
-
-                JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this),
-                    "Vertragsdetails", true);
-                dialog.setLayout(new BorderLayout(20, 20));
-                dialog.setSize(800, 600);
-                dialog.setLocationRelativeTo(this);
-
-                JPanel contentPanel = new JPanel();
-                contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
-                contentPanel.setBorder(BorderFactory.createEmptyBorder(25, 30, 25, 30));
-
-                StringBuilder details = new StringBuilder();
-                details.append("<html><style>");
-                details.append("body { font-family: Arial, sans-serif; margin: 0; padding: 0; }");
-                details.append(".title { font-size: 24px; font-weight: bold; color: #000000; margin-bottom: 20px; }");
-                details.append(".section-title { font-size: 18px; font-weight: bold; color: #003366; margin-top: 20px; margin-bottom: 10px; border-bottom: 2px solid #003366; padding-bottom: 5px; }");
-                details.append(".info { font-size: 14px; margin: 5px 0; color: #000000; }");
-                details.append(".info-label { font-weight: bold; color: #333333; }");
-                details.append(".price-highlight { font-size: 16px; font-weight: bold; color: #006633; }");
-                details.append(".total-price { font-size: 24px; font-weight: bold; color: #CC0000; margin-top: 25px; }");
-                details.append("</style>");
-
-                details.append("<div class='title'>Vertragsnummer: ").append(vertrag.getMietnummer()).append("</div>");
-
-                details.append("<div class='section-title'>Kunde</div>");
-                details.append("<div class='info'><span class='info-label'>Kunden-ID:</span>     ").append(vertrag.getKunde().getId()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Vorname:</span>       ").append(vertrag.getKunde().getVorname()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Nachname:</span>      ").append(vertrag.getKunde().getNachname()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Email:</span>         ").append(vertrag.getKunde().getEmail()).append("</div>");
-
-                details.append("<div class='section-title'>Fahrzeug</div>");
-                details.append("<div class='info'><span class='info-label'>Kennzeichen:</span>  ").append(vertrag.getFahrzeug().getKennzeichen()).append("</div>");
-                if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
-                    com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
-                    details.append("<div class='info'><span class='info-label'>Hersteller:</span>   ").append(typ.getHersteller()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Modell:</span>       ").append(typ.getModellBezeichnung()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Kategorie:</span>    ").append(typ.getKategorie()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Antriebsart:</span>  ").append(typ.getAntriebsart()).append("</div>");
-                    details.append("<div class='info'><span class='info-label'>Sitzplätze:</span>   ").append(typ.getSitzplaetze()).append("</div>");
-                    details.append("<div class='info price-highlight'><span class='info-label'>Tagespreis:</span>    ").append(String.format("%.2f €", typ.getStandardTagesPreis())).append("</div>");
-                }
+        String mietnummer = ausgewaehlt.mietnummer();
 
-                details.append("<div class='section-title'>Mietzeitraum</div>");
-                details.append("<div class='info'><span class='info-label'>Startdatum:</span>   ").append(vertrag.getStartDatum()).append("</div>");
-                details.append("<div class='info'><span class='info-label'>Enddatum:</span>     ").append(vertrag.getEndDatum()).append("</div>");
+        Hintergrund.ausfuehren(this, null, () -> system.getMietvertragDao().findByMietnummer(mietnummer),
+            vertragOpt -> vertragOpt.ifPresent(this::vertragDetailsAnzeigen),
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden der Details"));
+    }
 
-                details.append("<div class='section-title'>Zusatzoptionen</div>");
-                if (!vertrag.getZusatzoptionen().isEmpty()) {
-                    for (Zusatzoption opt : vertrag.getZusatzoptionen()) {
-                        details.append("<div class='info'>- ").append(opt.getBezeichnung())
-                               .append(" (").append(String.format("%.2f €", opt.getAufpreis())).append(")</div>");
-                    }
-                } else {
-                    details.append("<div class='info'>Keine Zusatzoptionen gewählt</div>");
-                }
+    /**
+     * Zeigt den Detaildialog eines geladenen Vertrags.
+     */
+    private void vertragDetailsAnzeigen(Mietvertrag vertrag) {
 
-                details.append("<div class='section-title'>Status</div>");
-                details.append("<div class='info' style='font-size: 16px; font-weight: bold;'>").append(vertrag.getStatus()).append("</div>");
+        JDialog dialog = new JDialog((JFrame) SwingUtilities.getWindowAncestor(this),
+            "Vertragsdetails", true);
+        dialog.setLayout(new BorderLayout(20, 20));
+        dialog.setSize(800, 600);
+        dialog.setLocationRelativeTo(this);
 
-                details.append("<div class='total-price'>Gesamtpreis: ").append(String.format("%.2f €", vertrag.getGesamtPreis())).append("</div>");
+        JPanel contentPanel = new JPanel();
+        contentPanel.setLayout(new BoxLayout(contentPanel, BoxLayout.Y_AXIS));
+        contentPanel.setBorder(BorderFactory.createEmptyBorder(25, 30, 25, 30));
+
+        StringBuilder details = new StringBuilder();
+        details.append("<html><style>");
+        details.append("body { font-family: Arial, sans-serif; margin: 0; padding: 0; }");
+        details.append(".title { font-size: 24px; font-weight: bold; color: #000000; margin-bottom: 20px; }");
+        details.append(".section-title { font-size: 18px; font-weight: bold; color: #003366; margin-top: 20px; margin-bottom: 10px; border-bottom: 2px solid #003366; padding-bottom: 5px; }");
+        details.append(".info { font-size: 14px; margin: 5px 0; color: #000000; }");
+        details.append(".info-label { font-weight: bold; color: #333333; }");
+        details.append(".price-highlight { font-size: 16px; font-weight: bold; color: #006633; }");
+        details.append(".total-price { font-size: 24px; font-weight: bold; color: #CC0000; margin-top: 25px; }");
+        details.append("</style>");
+
+        details.append("<div class='title'>Vertragsnummer: ").append(vertrag.getMietnummer()).append("</div>");
+
+        details.append("<div class='section-title'>Kunde</div>");
+        details.append("<div class='info'><span class='info-label'>Kunden-ID:</span>     ").append(vertrag.getKunde().getId()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Vorname:</span>       ").append(vertrag.getKunde().getVorname()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Nachname:</span>      ").append(vertrag.getKunde().getNachname()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Email:</span>         ").append(vertrag.getKunde().getEmail()).append("</div>");
+
+        details.append("<div class='section-title'>Fahrzeug</div>");
+        details.append("<div class='info'><span class='info-label'>Kennzeichen:</span>  ").append(vertrag.getFahrzeug().getKennzeichen()).append("</div>");
+        if (vertrag.getFahrzeug().getFahrzeugtyp() != null) {
+            com.carrental.model.Fahrzeugtyp typ = vertrag.getFahrzeug().getFahrzeugtyp();
+            details.append("<div class='info'><span class='info-label'>Hersteller:</span>   ").append(typ.getHersteller()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Modell:</span>       ").append(typ.getModellBezeichnung()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Kategorie:</span>    ").append(typ.getKategorie()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Antriebsart:</span>  ").append(typ.getAntriebsart()).append("</div>");
+            details.append("<div class='info'><span class='info-label'>Sitzplätze:</span>   ").append(typ.getSitzplaetze()).append("</div>");
+            details.append("<div class='info price-highlight'><span class='info-label'>Tagespreis:</span>    ").append(String.format("%.2f €", typ.getStandardTagesPreis())).append("</div>");
+        }
 
-                details.append("</html>");
+        details.append("<div class='section-title'>Mietzeitraum</div>");
+        details.append("<div class='info'><span class='info-label'>Startdatum:</span>   ").append(vertrag.getStartDatum()).append("</div>");
+        details.append("<div class='info'><span class='info-label'>Enddatum:</span>     ").append(vertrag.getEndDatum()).append("</div>");
 
-                JLabel label = new JLabel(details.toString());
-                label.setFont(DETAIL_VALUE_FONT);
+        details.append("<div class='section-title'>Zusatzoptionen</div>");
+        if (!vertrag.getZusatzoptionen().isEmpty()) {
+            for (Zusatzoption opt : vertrag.getZusatzoptionen()) {
+                details.append("<div class='info'>- ").append(opt.getBezeichnung())
+                       .append(" (").append(String.format("%.2f €", opt.getAufpreis())).append(")</div>");
+            }
+        } else {
+            details.append("<div class='info'>Keine Zusatzoptionen gewählt</div>");
+        }
 
-                JScrollPane scrollPane = new JScrollPane(label);
-                scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-                scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
+        details.append("<div class='section-title'>Status</div>");
+        details.append("<div class='info' style='font-size: 16px; font-weight: bold;'>").append(vertrag.getStatus()).append("</div>");
 
-                contentPanel.add(scrollPane);
+        details.append("<div class='total-price'>Gesamtpreis: ").append(String.format("%.2f €", vertrag.getGesamtPreis())).append("</div>");
 
-                JButton closeButton = new JButton("Schließen");
-                closeButton.setFont(new Font("Arial", Font.BOLD, 16));
-                closeButton.setPreferredSize(new Dimension(140, 45));
-                closeButton.addActionListener(e -> dialog.dispose());
+        details.append("</html>");
 
-                JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-                buttonPanel.add(closeButton);
+        JLabel label = new JLabel(details.toString());
+        label.setFont(DETAIL_VALUE_FONT);
 
-                dialog.add(contentPanel, BorderLayout.CENTER);
-                dialog.add(buttonPanel, BorderLayout.SOUTH);
+        JScrollPane scrollPane = new JScrollPane(label);
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
+        scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_AS_NEEDED);
 
-                dialog.setVisible(true);
-            }
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Laden der Details: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+        contentPanel.add(scrollPane);
+
+        JButton closeButton = new JButton("Schließen");
+        closeButton.setFont(new Font("Arial", Font.BOLD, 16));
+        closeButton.setPreferredSize(new Dimension(140, 45));
+        closeButton.addActionListener(e -> dialog.dispose());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        buttonPanel.add(closeButton);
+
+        dialog.add(contentPanel, BorderLayout.CENTER);
+        dialog.add(buttonPanel, BorderLayout.SOUTH);
+
+        dialog.setVisible(true);
     }
 
     private static final Font GROSSE_SCHRIFT = new Font("Arial", Font.PLAIN, 18);
@@ -776,37 +1054,7 @@ public class MitarbeiterDashboard extends JPanel {
         if (selected.equals("Alle")) {
             loadVertraege();
         } else {
-            try {
-                VertragsStatus status = VertragsStatus.valueOf(selected);
-                vertragTableModel.setRowCount(0);
-
-                List<Mietvertrag> vertraege = system.getMietvertragDao().findAll();
-                for (Mietvertrag v : vertraege) {
-                    if (v.getStatus() == status) {
-                        String kundenId = v.getKunde() != null ? String.valueOf(v.getKunde().getId()) : "-";
-                        String kundenname = v.getKunde() != null ?
-                            v.getKunde().getVorname() + " " + v.getKunde().getNachname() : "-";
-                        String fahrzeuginfo = v.getFahrzeug() != null ? v.getFahrzeug().getKennzeichen() : "-";
-
-                        Object[] row = {
-                            kundenId,
-                            v.getMietnummer(),
-                            kundenname,
-                            fahrzeuginfo,
-                            v.getStartDatum(),
-                            v.getEndDatum(),
-                            String.format("%.2f €", v.getGesamtPreis()),
-                            v.getStatus()
-                        };
-                        vertragTableModel.addRow(row);
-                    }
-                }
-            } catch (SQLException e) {
-                JOptionPane.showMessageDialog(this,
-                    "Fehler beim Filtern: " + e.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-            }
+            vertragTableModel.setQuelle(vertragQuelle(VertragsStatus.valueOf(selected)));
         }
     }
 
@@ -814,8 +1062,8 @@ public class MitarbeiterDashboard extends JPanel {
      * Ändert den Status des ausgewählten Mietvertrags.
      */
     private void changeVertragStatus() {
-        int selectedRow = vertragTable.getSelectedRow();
-        if (selectedRow == -1) {
+        VertragsZeile ausgewaehlt = vertragTableModel.getZeile(vertragTable.getSelectedRow());
+        if (ausgewaehlt == null) {
             JOptionPane.showMessageDialog(this,
                 "Bitte wählen Sie einen Vertrag aus.",
                 "Keine Auswahl",
@@ -823,158 +1071,160 @@ public class MitarbeiterDashboard extends JPanel {
             return;
         }
 
-        String mietnummer = (String) vertragTableModel.getValueAt(selectedRow, 0);
-        try {
-            Optional<Mietvertrag> vertragOpt = system.getMietvertragDao().findByMietnummer(mietnummer);
-            if (vertragOpt.isEmpty()) {
-                JOptionPane.showMessageDialog(this,
-                    "Vertrag nicht gefunden.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+        String mietnummer = ausgewaehlt.mietnummer();
+        Hintergrund.ausfuehren(this, null, () -> system.getMietvertragDao().findByMietnummer(mietnummer),
+            vertragOpt -> {
+                if (vertragOpt.isEmpty()) {
+                    JOptionPane.showMessageDialog(this,
+                        "Vertrag nicht gefunden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                statusDialogAnzeigen(vertragOpt.get());
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Laden des Vertrags"));
+    }
 
-            Mietvertrag vertrag = vertragOpt.get();
-            if (vertrag.getFahrzeug() == null) {
-                JOptionPane.showMessageDialog(this,
-                    "Dem Vertrag ist kein Fahrzeug zugeordnet.",
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-                return;
-            }
+    /**
+     * Fragt den neuen Vertrags- und Fahrzeugstatus ab und speichert ihn im Hintergrund.
+     */
+    private void statusDialogAnzeigen(Mietvertrag vertrag) {
+        if (vertrag.getFahrzeug() == null) {
+            JOptionPane.showMessageDialog(this,
+                "Dem Vertrag ist kein Fahrzeug zugeordnet.",
+                "Fehler",
+                JOptionPane.ERROR_MESSAGE);
+            return;
+        }
 
-            JPanel panel = new JPanel(new GridBagLayout());
-            GridBagConstraints gbc = new GridBagConstraints();
-            gbc.insets = new Insets(6, 6, 6, 6);
-            gbc.gridx = 0;
-            gbc.gridy = 0;
-            gbc.anchor = GridBagConstraints.WEST;
-            panel.add(new JLabel("Vertragsstatus:"), gbc);
-
-            gbc.gridx = 1;
-            VertragsStatus[] statusOptions = VertragsStatus.values();
-            JComboBox<VertragsStatus> statusCombo = new JComboBox<>(statusOptions);
-            statusCombo.setSelectedItem(vertrag.getStatus());
-            panel.add(statusCombo, gbc);
-
-            gbc.gridx = 0;
-            gbc.gridy = 1;
-            panel.add(new JLabel("Fahrzeugstatus:"), gbc);
-
-            gbc.gridx = 1;
-            JComboBox<FahrzeugZustand> zustandCombo = new JComboBox<>(FahrzeugZustand.values());
-            zustandCombo.setSelectedItem(vertrag.getFahrzeug().getZustand());
-            panel.add(zustandCombo, gbc);
-
-            int result = JOptionPane.showConfirmDialog(this,
-                panel,
-                "Status ändern",
-                JOptionPane.OK_CANCEL_OPTION,
-                JOptionPane.PLAIN_MESSAGE);
-
-            if (result != JOptionPane.OK_OPTION) {
-                return;
-            }
+        JPanel panel = new JPanel(new GridBagLayout());
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(6, 6, 6, 6);
+        gbc.gridx = 0;
+        gbc.gridy = 0;
+        gbc.anchor = GridBagConstraints.WEST;
+        panel.add(new JLabel("Vertragsstatus:"), gbc);
+
+        gbc.gridx = 1;
+        VertragsStatus[] statusOptions = VertragsStatus.values();
+        JComboBox<VertragsStatus> statusCombo = new JComboBox<>(statusOptions);
+        statusCombo.setSelectedItem(vertrag.getStatus());
+        panel.add(statusCombo, gbc);
+
+        gbc.gridx = 0;
+        gbc.gridy = 1;
+        panel.add(new JLabel("Fahrzeugstatus:"), gbc);
+
+        gbc.gridx = 1;
+        JComboBox<FahrzeugZustand> zustandCombo = new JComboBox<>(FahrzeugZustand.values());
+        zustandCombo.setSelectedItem(vertrag.getFahrzeug().getZustand());
+        panel.add(zustandCombo, gbc);
+
+        int result = JOptionPane.showConfirmDialog(this,
+            panel,
+            "Status ändern",
+            JOptionPane.OK_CANCEL_OPTION,
+            JOptionPane.PLAIN_MESSAGE);
+
+        if (result != JOptionPane.OK_OPTION) {
+            return;
+        }
 
-            VertragsStatus selectedStatus = (VertragsStatus) statusCombo.getSelectedItem();
-            FahrzeugZustand selectedZustand = (FahrzeugZustand) zustandCombo.getSelectedItem();
-            if (selectedStatus == null || selectedZustand == null) {
-                return;
-            }
+        VertragsStatus selectedStatus = (VertragsStatus) statusCombo.getSelectedItem();
+        FahrzeugZustand selectedZustand = (FahrzeugZustand) zustandCombo.getSelectedItem();
+        if (selectedStatus == null || selectedZustand == null) {
+            return;
+        }
 
-            if (isAktiverVertragStatus(selectedStatus)) {
-                if (hasVertragskonflikt(vertrag)) {
+        Hintergrund.ausfuehren(this, null, () -> statusSpeichern(vertrag, selectedStatus, selectedZustand),
+            gespeichert -> {
+                if (!gespeichert) {
                     JOptionPane.showMessageDialog(this,
                         "Der Vertrag überschneidet sich mit einem anderen aktiven Vertrag für dieses Fahrzeug.",
                         "Konflikt",
                         JOptionPane.ERROR_MESSAGE);
                     return;
                 }
-                // Aktiver Vertrag => Fahrzeug muss vermietet sein
-                selectedZustand = FahrzeugZustand.VERMIETET;
-            } else {
-                // Inaktive Verträge: Fahrzeug nur dann verfügbar setzen, wenn keine aktiven Verträge existieren
-                if (!hasAndereAktiveVertraege(vertrag)) {
-                    if (selectedZustand != FahrzeugZustand.WARTUNG) {
-                        selectedZustand = FahrzeugZustand.VERFUEGBAR;
-                    }
-                } else {
-                    selectedZustand = FahrzeugZustand.VERMIETET;
+                loadVertraege();
+                if (fahrzeugPanel != null) {
+                    fahrzeugPanel.refreshFahrzeuge();
                 }
-            }
-
-            vertrag.setStatus(selectedStatus);
-            system.getMietvertragDao().update(vertrag);
-
-            vertrag.getFahrzeug().setZustand(selectedZustand);
-            system.getFahrzeugDao().updateStatusAndKilometerstand(vertrag.getFahrzeug());
+                JOptionPane.showMessageDialog(this,
+                    "Status erfolgreich geändert.",
+                    "Erfolg",
+                    JOptionPane.INFORMATION_MESSAGE);
+            },
+            Hintergrund.fehlerDialog(this, "Fehler beim Aktualisieren"));
+    }
 
-            // Optional: Benachrichtigung für Kunden
-            if (vertrag.getKunde() != null) {
-                system.addNotification(vertrag.getKunde().getId(),
-                    "Status Ihres Mietvertrags " + vertrag.getMietnummer() + " wurde geändert zu: " + selectedStatus);
+    /**
+     * Prüft auf Konflikte und speichert den neuen Status. Läuft im Hintergrund.
+     *
+     * @return false, wenn sich der Vertrag mit einem anderen aktiven Vertrag überschneidet
+     */
+    private boolean statusSpeichern(Mietvertrag vertrag, VertragsStatus selectedStatus,
+                                    FahrzeugZustand selectedZustand) throws SQLException {
+        if (isAktiverVertragStatus(selectedStatus)) {
+            if (hasVertragskonflikt(vertrag)) {
+                return false;
             }
-
-            loadVertraege();
-            if (fahrzeugPanel != null) {
-                fahrzeugPanel.refreshFahrzeuge();
+            // Aktiver Vertrag => Fahrzeug muss vermietet sein
+            selectedZustand = FahrzeugZustand.VERMIETET;
+        } else {
+            // Inaktive Verträge: Fahrzeug nur dann verfügbar setzen, wenn keine aktiven Verträge existieren
+            if (!hasAndereAktiveVertraege(vertrag)) {
+                if (selectedZustand != FahrzeugZustand.WARTUNG) {
+                    selectedZustand = FahrzeugZustand.VERFUEGBAR;
+                }
+            } else {
+                selectedZustand = FahrzeugZustand.VERMIETET;
             }
-            JOptionPane.showMessageDialog(this,
-                "Status erfolgreich geändert.",
-                "Erfolg",
-                JOptionPane.INFORMATION_MESSAGE);
+        }
 
-        } catch (SQLException e) {
-            JOptionPane.showMessageDialog(this,
-                "Fehler beim Aktualisieren: " + e.getMessage(),
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
+        vertrag.setStatus(selectedStatus);
+        system.getMietvertragDao().update(vertrag);
+        system.getBelegungsIndex().aktualisieren(vertrag);
+        system.getAuslastungsZeitreihe().aktualisieren(vertrag);
+
+        vertrag.getFahrzeug().setZustand(selectedZustand);
+        system.getFahrzeugDao().updateStatusAndKilometerstand(vertrag.getFahrzeug());
+
+        // Optional: Benachrichtigung für Kunden
+        if (vertrag.getKunde() != null) {
+            system.addNotification(vertrag.getKunde().getId(),
+                "Status Ihres Mietvertrags " + vertrag.getMietnummer() + " wurde geändert zu: " + selectedStatus);
         }
+        return true;
     }
 
+    private static final Set<VertragsStatus> AKTIVE_VERTRAGSSTATUS =
+        EnumSet.of(VertragsStatus.BESTAETIGT, VertragsStatus.LAUFEND);
+
     private boolean isAktiverVertragStatus(VertragsStatus status) {
-        return status == VertragsStatus.BESTAETIGT || status == VertragsStatus.LAUFEND;
+        return AKTIVE_VERTRAGSSTATUS.contains(status);
     }
 
     private boolean hasVertragskonflikt(Mietvertrag zielVertrag) throws SQLException {
-        List<Mietvertrag> vertraege = system.getMietvertragDao().findAll();
-        for (Mietvertrag v : vertraege) {
-            if (v.getId() == zielVertrag.getId()) {
-                continue;
-            }
-            if (v.getFahrzeug() == null || zielVertrag.getFahrzeug() == null) {
-                continue;
-            }
-            if (v.getFahrzeug().getId() == zielVertrag.getFahrzeug().getId() &&
-                isAktiverVertragStatus(v.getStatus())) {
-                if (hasDateOverlap(zielVertrag.getStartDatum(), zielVertrag.getEndDatum(),
-                                   v.getStartDatum(), v.getEndDatum())) {
-                    return true;
-                }
-            }
+        if (zielVertrag.getFahrzeug() == null) {
+            return false;
         }
-        return false;
+        return system.getMietvertragDao().existsAktiverKonflikt(
+            zielVertrag.getFahrzeug().getId(),
+            zielVertrag.getStartDatum(),
+            zielVertrag.getEndDatum(),
+            zielVertrag.getId(),
+            AKTIVE_VERTRAGSSTATUS);
     }
 
     private boolean hasAndereAktiveVertraege(Mietvertrag zielVertrag) throws SQLException {
-        List<Mietvertrag> vertraege = system.getMietvertragDao().findAll();
-        for (Mietvertrag v : vertraege) {
-            if (v.getId() == zielVertrag.getId()) {
-                continue;
-            }
-            if (v.getFahrzeug() == null || zielVertrag.getFahrzeug() == null) {
-                continue;
-            }
-            if (v.getFahrzeug().getId() == zielVertrag.getFahrzeug().getId() &&
-                isAktiverVertragStatus(v.getStatus())) {
-                return true;
-            }
+        if (zielVertrag.getFahrzeug() == null) {
+            return false;
         }
-        return false;
-    }
-
-    private boolean hasDateOverlap(LocalDate start1, LocalDate end1, LocalDate start2, LocalDate end2) {
-        return !start1.isAfter(end2) && !end1.isBefore(start2);
+        return system.getMietvertragDao().existsAndereAktiveVertraege(
+            zielVertrag.getFahrzeug().getId(),
+            zielVertrag.getId(),
+            AKTIVE_VERTRAGSSTATUS);
     }
 
     /**
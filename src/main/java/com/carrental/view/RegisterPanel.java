@@ -1,7 +1,6 @@
 package com.carrental.view;
 
 import com.carrental.controller.AuthController;
-import com.carrental.model.Kunde;
 
 import javax.swing.*;
 import java.awt.*;
@@ -191,27 +190,35 @@ public class RegisterPanel extends JPanel {
             return;
         }
         
-        // Registrierung durchführen
-        Kunde kunde = authController.registrieren(accountName, passwort, vorname, nachname, 
-                                                  email, geburtstag, fuehrerschein);
-        
-        if (kunde != null) {
-            JOptionPane.showMessageDialog(this,
-                "Registrierung erfolgreich! Sie können sich jetzt anmelden.",
-                "Erfolg",
-                JOptionPane.INFORMATION_MESSAGE);
+        // Registrierung im Hintergrund durchführen
+        registerButton.setEnabled(false);
+        Hintergrund.ausfuehren(this, null,
+            () -> authController.registrieren(accountName, passwort, vorname, nachname,
+                                              email, geburtstag, fuehrerschein),
+            kunde -> {
+                registerButton.setEnabled(true);
+                if (kunde != null) {
+                    JOptionPane.showMessageDialog(this,
+                        "Registrierung erfolgreich! Sie können sich jetzt anmelden.",
+                        "Erfolg",
+                        JOptionPane.INFORMATION_MESSAGE);
             
-            // Felder leeren
-            clearFields();
+                    // Felder leeren
+                    clearFields();
             
-            // Zurück zum Login
-            mainFrame.showLoginPanel();
-        } else {
-            JOptionPane.showMessageDialog(this,
-                "Registrierung fehlgeschlagen. Bitte überprüfen Sie Ihre Angaben.",
-                "Fehler",
-                JOptionPane.ERROR_MESSAGE);
-        }
+                    // Zurück zum Login
+                    mainFrame.showLoginPanel();
+                } else {
+                    JOptionPane.showMessageDialog(this,
+                        "Registrierung fehlgeschlagen. Bitte überprüfen Sie Ihre Angaben.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                }
+            },
+            e -> {
+                registerButton.setEnabled(true);
+                Hintergrund.fehlerDialog(this, "Registrierung fehlgeschlagen").accept(e);
+            });
     }
 
     /**
@@ -0,0 +1,276 @@
+package com.carrental.view;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Tabellenmodell, das seine Zeilen seitenweise aus der Datenbank nachlädt.
+ *
+ * Beim Laden wird nur die Anzahl der Zeilen abgefragt; die eigentlichen Daten werden erst
+ * geholt, wenn die Tabelle eine Zeile darstellen will (also beim Scrollen). Alle Abfragen
+ * laufen über {@link Hintergrund} außerhalb des Event Dispatch Threads; noch nicht geladene
+ * Zeilen erscheinen so lange leer. Sortiert wird serverseitig über einen Klick auf den
+ * Spaltenkopf. Es werden höchstens {@link #MAX_SEITEN} Seiten im Speicher gehalten.
+ *
+ * @param <T> Der Zeilentyp
+ */
+public class SeitenTabellenModell<T> extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Standardanzahl Zeilen pro Seite. */
+    public static final int STANDARD_SEITEN_GROESSE = 100;
+
+    /** Maximale Anzahl zwischengespeicherter Seiten. */
+    private static final int MAX_SEITEN = 20;
+
+    /**
+     * Liefert Anzahl und Seiten der Zeilen. Wird im Hintergrund aufgerufen.
+     */
+    public interface Quelle<T> {
+
+        /**
+         * @return Gesamtanzahl der Zeilen
+         * @throws SQLException Bei Datenbankfehlern
+         */
+        int anzahl() throws SQLException;
+
+        /**
+         * @param offset Erste Zeile der Seite
+         * @param limit Anzahl Zeilen der Seite
+         * @param sortierSpalte Spaltenindex der Tabelle, nach dem sortiert wird
+         * @param absteigend true für absteigende Sortierung
+         * @return Die Zeilen der Seite
+         * @throws SQLException Bei Datenbankfehlern
+         */
+        List<T> seite(int offset, int limit, int sortierSpalte, boolean absteigend) throws SQLException;
+    }
+
+    /**
+     * Liefert den Wert einer Spalte für eine Zeile.
+     */
+    @FunctionalInterface
+    public interface Spaltenwerte<T> {
+        Object wert(T zeile, int spalte);
+    }
+
+    private final String[] spalten;
+    private final boolean[] sortierbar;
+    private final Spaltenwerte<T> spaltenwerte;
+    private final int seitenGroesse;
+    private final Consumer<Exception> fehlerBehandlung;
+    private Component ladeanzeige;
+
+    private Quelle<T> quelle;
+    private int anzahl;
+    private int sortierSpalte;
+    private boolean absteigend;
+    /** Wird bei jedem Neuladen erhöht, damit verspätete Ergebnisse verworfen werden. */
+    private int generation;
+
+    private final Map<Integer, List<T>> seiten = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+            return size() > MAX_SEITEN;
+        }
+    };
+    private final Set<Integer> ladend = new HashSet<>();
+
+    /**
+     * @param spalten Spaltenüberschriften
+     * @param sortierbar Je Spalte, ob serverseitig danach sortiert werden kann
+     * @param spaltenwerte Liefert die Zellwerte einer Zeile
+     * @param quelle Datenquelle
+     * @param sortierSpalte Anfängliche Sortierspalte
+     * @param absteigend Anfängliche Sortierrichtung
+     * @param fehlerBehandlung Wird im EDT mit Ladefehlern aufgerufen
+     */
+    public SeitenTabellenModell(String[] spalten, boolean[] sortierbar, Spaltenwerte<T> spaltenwerte,
+                                Quelle<T> quelle, int sortierSpalte, boolean absteigend,
+                                Consumer<Exception> fehlerBehandlung) {
+        if (spalten.length != sortierbar.length) {
+            throw new IllegalArgumentException("Spalten und Sortierbarkeit passen nicht zusammen.");
+        }
+        this.spalten = spalten;
+        this.sortierbar = sortierbar;
+        this.spaltenwerte = spaltenwerte;
+        this.quelle = quelle;
+        this.sortierSpalte = sortierSpalte;
+        this.absteigend = absteigend;
+        this.seitenGroesse = STANDARD_SEITEN_GROESSE;
+        this.fehlerBehandlung = fehlerBehandlung;
+    }
+
+    /**
+     * Verwirft alle geladenen Seiten und lädt Anzahl und erste Seite neu.
+     * Ein noch laufendes Neuladen wird abgebrochen, sodass schnell aufeinanderfolgende
+     * Filter- oder Sortierwechsel nur eine wirksame Abfrage auslösen.
+     */
+    public void neuLaden() {
+        int meineGeneration = ++generation;
+        Quelle<T> q = quelle;
+        int spalte = sortierSpalte;
+        boolean abst = absteigend;
+        Hintergrund.ausfuehren(ladeanzeige, this, () -> {
+                int neueAnzahl = q.anzahl();
+                List<T> ersteSeite = neueAnzahl > 0 ? q.seite(0, seitenGroesse, spalte, abst) : List.<T>of();
+                return new ErsteSeite<>(neueAnzahl, ersteSeite);
+            },
+            ergebnis -> {
+                if (meineGeneration != generation) {
+                    return;
+                }
+                seiten.clear();
+                ladend.clear();
+                anzahl = ergebnis.anzahl();
+                seiten.put(0, ergebnis.zeilen());
+                fireTableDataChanged();
+            },
+            fehlerBehandlung);
+    }
+
+    private record ErsteSeite<T>(int anzahl, List<T> zeilen) {
+    }
+
+    /**
+     * Setzt die Ladeanzeige, die beim Neuladen eingeblendet wird.
+     *
+     * @param ladeanzeige Fortschrittsbalken oder Komponente für den Warte-Cursor
+     */
+    public void setLadeanzeige(Component ladeanzeige) {
+        this.ladeanzeige = ladeanzeige;
+    }
+
+    /**
+     * Wechselt die Datenquelle (z.B. bei einem Filter) und lädt neu.
+     *
+     * @param quelle Die neue Datenquelle
+     */
+    public void setQuelle(Quelle<T> quelle) {
+        this.quelle = quelle;
+        neuLaden();
+    }
+
+    /**
+     * Sortiert nach der Spalte; ein erneuter Aufruf mit derselben Spalte kehrt die Richtung um.
+     *
+     * @param spalte Spaltenindex im Modell
+     */
+    public void sortieren(int spalte) {
+        if (spalte < 0 || spalte >= spalten.length || !sortierbar[spalte]) {
+            return;
+        }
+        absteigend = spalte == sortierSpalte && !absteigend;
+        sortierSpalte = spalte;
+        fireTableStructureChanged();
+        neuLaden();
+    }
+
+    /**
+     * Sortiert beim Klick auf den Spaltenkopf der Tabelle.
+     *
+     * @param tabelle Tabelle, die dieses Modell anzeigt
+     */
+    public void sortierungAnbinden(JTable tabelle) {
+        JTableHeader kopf = tabelle.getTableHeader();
+        kopf.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int spalte = kopf.columnAtPoint(e.getPoint());
+                if (spalte >= 0) {
+                    sortieren(tabelle.convertColumnIndexToModel(spalte));
+                }
+            }
+        });
+    }
+
+    /**
+     * Gibt die Zeile zurück, falls ihre Seite bereits geladen ist.
+     *
+     * @param zeile Zeilenindex
+     * @return Die Zeile oder null, wenn sie noch geladen wird
+     */
+    public T getZeile(int zeile) {
+        if (zeile < 0 || zeile >= anzahl) {
+            return null;
+        }
+        int seite = zeile / seitenGroesse;
+        List<T> daten = seiten.get(seite);
+        if (daten == null) {
+            seiteAnfordern(seite);
+            return null;
+        }
+        int index = zeile % seitenGroesse;
+        return index < daten.size() ? daten.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return anzahl;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return spalten.length;
+    }
+
+    @Override
+    public String getColumnName(int spalte) {
+        if (spalte == sortierSpalte) {
+            return spalten[spalte] + (absteigend ? " ▼" : " ▲");
+        }
+        return spalten[spalte];
+    }
+
+    @Override
+    public Object getValueAt(int zeile, int spalte) {
+        T daten = getZeile(zeile);
+        return daten != null ? spaltenwerte.wert(daten, spalte) : null;
+    }
+
+    @Override
+    public boolean isCellEditable(int zeile, int spalte) {
+        return false;
+    }
+
+    private void seiteAnfordern(int seite) {
+        if (!ladend.add(seite)) {
+            return;
+        }
+        int meineGeneration = generation;
+        Quelle<T> q = quelle;
+        int spalte = sortierSpalte;
+        boolean abst = absteigend;
+        // Seite bleibt bei einem Fehler als ladend markiert, damit sie nicht bei jedem
+        // Neuzeichnen erneut angefordert wird; erst neuLaden() versucht es wieder
+        Hintergrund.ausfuehren(null, null, () -> q.seite(seite * seitenGroesse, seitenGroesse, spalte, abst),
+            zeilen -> {
+                if (meineGeneration != generation) {
+                    return;
+                }
+                seiten.put(seite, zeilen);
+                ladend.remove(seite);
+                int erste = seite * seitenGroesse;
+                int letzte = Math.min(anzahl, erste + seitenGroesse) - 1;
+                if (erste <= letzte) {
+                    fireTableRowsUpdated(erste, letzte);
+                }
+            },
+            e -> {
+                if (meineGeneration == generation) {
+                    fehlerBehandlung.accept(e);
+                }
+            });
+    }
+}
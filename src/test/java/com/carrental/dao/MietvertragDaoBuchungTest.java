@@ -0,0 +1,219 @@
+package com.carrental.dao;
+
+import com.carrental.model.Fahrzeug;
+import com.carrental.model.FahrzeugZustand;
+import com.carrental.model.Kunde;
+import com.carrental.model.Mietvertrag;
+import com.carrental.model.VertragsStatus;
+import com.carrental.util.ConnectionPool;
+import com.carrental.util.DatabaseConfig;
+import com.carrental.util.SchemaSkript;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lasttest für {@link MietvertragDao#buchen(Mietvertrag, FahrzeugZustand)}: viele Threads buchen
+ * gleichzeitig zufällige, sich häufig überschneidende Zeiträume. Geprüft wird, dass kein Fahrzeug
+ * zwei sich überschneidende belegende Verträge erhält.
+ *
+ * Die eingebettete HSQLDB läuft im MVCC-Modus, damit sich Transaktionen wie in Db2 nur
+ * zeilenweise sperren; das Schema stammt aus {@code docs/database/schema.sql}.
+ * Nach jedem Test werden die vom DAO angelegten Verbindungspools geschlossen.
+ */
+class MietvertragDaoBuchungTest {
+
+    private static final String USER = "test";
+    private static final String PASSWORT = "test";
+
+    private static final int THREADS = 8;
+    private static final int BUCHUNGEN_PRO_THREAD = 100;
+    private static final int KUNDEN = 2_000;
+    private static final int ZEITRAUM_TAGE = 60;
+
+    private String url;
+    private Connection verbindung;
+
+    @BeforeEach
+    void datenbankAnlegen() throws SQLException, IOException {
+        url = "jdbc:hsqldb:mem:buchung_" + UUID.randomUUID() + ";sql.syntax_db2=true;hsqldb.tx=mvcc";
+        // Die Verbindung hält die In-Memory-Datenbank für die Dauer des Tests offen
+        verbindung = DriverManager.getConnection(url, USER, PASSWORT);
+        SchemaSkript.ausfuehren(verbindung);
+    }
+
+    @AfterEach
+    void datenbankSchliessen() throws SQLException {
+        // Sonst baut der Housekeeper des Pools die In-Memory-Datenbank nach SHUTDOWN neu auf
+        ConnectionPool.shutdownAll();
+        try (Statement stmt = verbindung.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        } finally {
+            verbindung.close();
+        }
+    }
+
+    @Test
+    void einFahrzeugWirdNieDoppeltGebucht() throws Exception {
+        buchenUndPruefen(1);
+    }
+
+    @Test
+    void vieleFahrzeugeWerdenNieDoppeltGebucht() throws Exception {
+        buchenUndPruefen(32);
+    }
+
+    private void buchenUndPruefen(int anzahlFahrzeuge) throws Exception {
+        List<Integer> fahrzeugIds = fahrzeugeAnlegen(anzahlFahrzeuge);
+        List<Integer> kundenIds = kundenAnlegen();
+        MietvertragDao dao = new MietvertragDao(new DatabaseConfig(url, USER, PASSWORT, false,
+                1, THREADS + 2, 300_000L, 30_000L, true, 60_000L, 64));
+        LocalDate basis = LocalDate.now().plusDays(1);
+
+        AtomicInteger mietnummer = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Callable<Map<MietvertragDao.BuchungsErgebnis, Integer>>> aufgaben = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long seed = t;
+            aufgaben.add(() -> {
+                Random random = new Random(seed);
+                Map<MietvertragDao.BuchungsErgebnis, Integer> ergebnisse =
+                        new EnumMap<>(MietvertragDao.BuchungsErgebnis.class);
+                start.await();
+                for (int i = 0; i < BUCHUNGEN_PRO_THREAD; i++) {
+                    Mietvertrag vertrag = vertrag(
+                            kundenIds.get(random.nextInt(kundenIds.size())),
+                            fahrzeugIds.get(random.nextInt(fahrzeugIds.size())),
+                            basis.plusDays(random.nextInt(ZEITRAUM_TAGE)), 1 + random.nextInt(7),
+                            String.format("T-%08d", mietnummer.incrementAndGet()));
+                    ergebnisse.merge(dao.buchen(vertrag, FahrzeugZustand.VERMIETET), 1, Integer::sum);
+                }
+                return ergebnisse;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int gebucht = 0;
+        try {
+            List<Future<Map<MietvertragDao.BuchungsErgebnis, Integer>>> futures = new ArrayList<>();
+            for (Callable<Map<MietvertragDao.BuchungsErgebnis, Integer>> aufgabe : aufgaben) {
+                futures.add(executor.submit(aufgabe));
+            }
+            start.countDown();
+            for (Future<Map<MietvertragDao.BuchungsErgebnis, Integer>> future : futures) {
+                gebucht += future.get(2, TimeUnit.MINUTES)
+                        .getOrDefault(MietvertragDao.BuchungsErgebnis.GEBUCHT, 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(0, zaehlen("SELECT COUNT(*) FROM Mietvertrag a " +
+                "INNER JOIN Mietvertrag b ON a.Fahrzeug_ID = b.Fahrzeug_ID AND a.ID < b.ID " +
+                "AND a.StartDatum <= b.EndDatum AND b.StartDatum <= a.EndDatum"),
+                "Überschneidende Verträge bei " + anzahlFahrzeuge + " Fahrzeugen");
+        assertEquals(gebucht, zaehlen("SELECT COUNT(*) FROM Mietvertrag"),
+                "Jede erfolgreiche Buchung muss genau einen Vertrag anlegen");
+        // 800 Buchungsversuche übersteigen die Kapazität deutlich, es muss Konflikte gegeben haben
+        assertTrue(gebucht > 0 && gebucht < THREADS * BUCHUNGEN_PRO_THREAD,
+                "Unerwartete Anzahl erfolgreicher Buchungen: " + gebucht);
+    }
+
+    private static Mietvertrag vertrag(int kundeId, int fahrzeugId, LocalDate start, int tage, String nummer) {
+        Kunde kunde = new Kunde(0, null, null, null, null, null);
+        kunde.setId(kundeId);
+        Fahrzeug fahrzeug = new Fahrzeug();
+        fahrzeug.setId(fahrzeugId);
+
+        Mietvertrag vertrag = new Mietvertrag(kunde, fahrzeug, start, start.plusDays(tage));
+        vertrag.setMietnummer(nummer);
+        vertrag.setStatus(VertragsStatus.BESTAETIGT);
+        vertrag.setGesamtPreis(50.0 * tage);
+        return vertrag;
+    }
+
+    private List<Integer> fahrzeugeAnlegen(int anzahl) throws SQLException {
+        int typId;
+        try (PreparedStatement stmt = verbindung.prepareStatement(
+                "INSERT INTO Fahrzeugtyp (Hersteller, ModellBezeichnung, Kategorie, StandardTagesPreis, " +
+                "Sitzplaetze, Antriebsart, ReichweiteKm) VALUES ('Test', 'Flotte', 'Kompakt', 50.00, " +
+                "5, 'VERBRENNER', 700)", Statement.RETURN_GENERATED_KEYS)) {
+            stmt.executeUpdate();
+            try (ResultSet rs = stmt.getGeneratedKeys()) {
+                rs.next();
+                typId = rs.getInt(1);
+            }
+        }
+        try (PreparedStatement stmt = verbindung.prepareStatement(
+                "INSERT INTO Fahrzeug (Kennzeichen, AktuellerKilometerstand, Zustand, TuevDatum, " +
+                "Fahrzeugtyp_ID) VALUES (?, 10000, 'VERFUEGBAR', ?, ?)")) {
+            for (int i = 0; i < anzahl; i++) {
+                stmt.setString(1, String.format("T-%06d", i));
+                stmt.setDate(2, Date.valueOf(LocalDate.now().plusYears(1)));
+                stmt.setInt(3, typId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return ids("SELECT ID FROM Fahrzeug WHERE Kennzeichen LIKE 'T-%' ORDER BY ID");
+    }
+
+    private List<Integer> kundenAnlegen() throws SQLException {
+        try (PreparedStatement stmt = verbindung.prepareStatement(
+                "INSERT INTO Kunde (AccountName, Passwort, Vorname, Nachname, Kundennummer) " +
+                "VALUES (?, 'test', 'Test', 'Kunde', ?)")) {
+            for (int i = 0; i < KUNDEN; i++) {
+                stmt.setString(1, "test" + i);
+                stmt.setInt(2, 900_000 + i);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+        return ids("SELECT ID FROM Kunde WHERE AccountName LIKE 'test%' ORDER BY ID");
+    }
+
+    private List<Integer> ids(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement stmt = verbindung.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                ids.add(rs.getInt(1));
+            }
+        }
+        return ids;
+    }
+
+    private int zaehlen(String sql) throws SQLException {
+        try (Statement stmt = verbindung.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}